@@ -9,4 +9,24 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Security security = new Security();
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public static class Security {
+
+        private boolean gatewayClaimsEnabled = false;
+
+        public boolean isGatewayClaimsEnabled() {
+            return gatewayClaimsEnabled;
+        }
+
+        public void setGatewayClaimsEnabled(boolean gatewayClaimsEnabled) {
+            this.gatewayClaimsEnabled = gatewayClaimsEnabled;
+        }
+    }
+}
@@ -9,12 +9,18 @@ import java.util.HashSet;
 import java.util.Set;
 import javax.persistence.*;
 import javax.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 /**
  * A Collection.
  */
 @Entity
 @Table(name = "collection")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 public class Collection implements Serializable {
 
     private static final long serialVersionUID = 1L;
@@ -25,7 +31,11 @@ public class Collection implements Serializable {
     @Column(name = "id")
     private Long id;
 
+    /**
+     * The slug of the collection, in its public URL.
+     */
     @NotNull
+    @NaturalId(mutable = true)
     @Column(name = "name", nullable = false, unique = true)
     private String name;
 
@@ -1,10 +1,7 @@
 package com.orthoworks.api.repository;
 
-import java.util.Optional;
-
 import com.orthoworks.api.domain.Collection;
 import org.springframework.data.jpa.repository.*;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -12,7 +9,4 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CollectionRepository extends JpaRepository<Collection, Long> {
-    @Query(value = "select c from collection c where c.name = :name", nativeQuery = true)
-    Optional<Collection> findBySlug(@Param("name") String id);
-}
+public interface CollectionRepository extends CollectionRepositoryWithNaturalId, JpaRepository<Collection, Long> {}
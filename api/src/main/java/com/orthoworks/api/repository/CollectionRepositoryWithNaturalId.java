@@ -0,0 +1,19 @@
+package com.orthoworks.api.repository;
+
+import com.orthoworks.api.domain.Collection;
+import java.util.Optional;
+
+/**
+ * The lookups of the collections by their natural id, their name (slug).
+ */
+public interface CollectionRepositoryWithNaturalId {
+    /**
+     * Finds the collection by its name, with the unique index on {@code collection.name}. The name is resolved to the id
+     * with the natural id cache, and the collection is read from the second-level cache: the cached entries are updated,
+     * or evicted, when a collection is saved or deleted.
+     *
+     * @param name the name (slug) of the collection.
+     * @return the collection, or an empty {@link Optional} if no collection has the name.
+     */
+    Optional<Collection> findBySlug(String name);
+}
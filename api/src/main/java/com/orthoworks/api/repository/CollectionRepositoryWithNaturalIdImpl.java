@@ -0,0 +1,20 @@
+package com.orthoworks.api.repository;
+
+import com.orthoworks.api.domain.Collection;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import org.hibernate.Session;
+
+public class CollectionRepositoryWithNaturalIdImpl implements CollectionRepositoryWithNaturalId {
+
+    private final EntityManager entityManager;
+
+    public CollectionRepositoryWithNaturalIdImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<Collection> findBySlug(String name) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Collection.class).loadOptional(name);
+    }
+}
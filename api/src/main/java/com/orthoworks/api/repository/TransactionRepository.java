@@ -1,6 +1,8 @@
 package com.orthoworks.api.repository;
 
 import com.orthoworks.api.domain.Transaction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +11,17 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {}
+public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+    /**
+     * The transactions without a result, with an anti-join on the outputs. The collection and the (missing) result are
+     * fetched with the page, so they aren't loaded once per transaction.
+     */
+    @Query(
+        value = "select transaction from Transaction transaction " +
+        "left join fetch transaction.collection left join fetch transaction.result " +
+        "where not exists (select output from Output output where output.transaction = transaction)",
+        countQuery = "select count(transaction) from Transaction transaction " +
+        "where not exists (select output from Output output where output.transaction = transaction)"
+    )
+    Page<Transaction> findAllWhereResultIsNull(Pageable pageable);
+}
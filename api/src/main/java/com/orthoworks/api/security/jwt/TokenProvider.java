@@ -6,9 +6,13 @@ import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.Key;
+import java.security.MessageDigest;
 import java.util.*;
 import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -29,6 +33,8 @@ public class TokenProvider {
 
     private static final String INVALID_JWT_TOKEN = "Invalid JWT token.";
 
+    private static final String GATEWAY_CLAIMS_ALGORITHM = "HmacSHA256";
+
     private final Key key;
 
     private final JwtParser jwtParser;
@@ -96,6 +102,63 @@ public class TokenProvider {
         return new UsernamePasswordAuthenticationToken(principal, token, authorities);
     }
 
+    /**
+     * Returns the authentication described by the {@value JWTFilter#GATEWAY_CLAIMS_HEADER} header, which the gateway adds to
+     * the requests it has already authenticated, so the token doesn't need to be parsed and verified again.
+     * <p>
+     * The header holds the expiration, the authorities and the subject of the token, and their HMAC - computed with the
+     * key of the tokens, over the SHA-256 digest of the token followed by the claims - so it's only valid along with the
+     * token it was created for.
+     *
+     * @param gatewayClaims the value of the header.
+     * @param token the token of the request.
+     * @return the authentication, or {@code null} if the header isn't valid for the token, or the token is expired.
+     */
+    public Authentication getGatewayClaimsAuthentication(String gatewayClaims, String token) {
+        try {
+            int separator = gatewayClaims.indexOf('.');
+            if (separator < 0) {
+                log.trace("Invalid gateway claims: no signature");
+                return null;
+            }
+            byte[] claims = Base64.getUrlDecoder().decode(gatewayClaims.substring(0, separator));
+            byte[] signature = Base64.getUrlDecoder().decode(gatewayClaims.substring(separator + 1));
+            if (!MessageDigest.isEqual(signGatewayClaims(claims, token), signature)) {
+                log.trace("Invalid gateway claims: invalid signature");
+                return null;
+            }
+            String[] parts = new String(claims, StandardCharsets.UTF_8).split("\n", -1);
+            if (parts.length != 3 || Long.parseLong(parts[0]) <= System.currentTimeMillis()) {
+                log.trace("Invalid gateway claims: malformed or expired");
+                return null;
+            }
+
+            Collection<? extends GrantedAuthority> authorities = Arrays
+                .stream(parts[1].split(","))
+                .filter(auth -> !auth.trim().isEmpty())
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+            User principal = new User(parts[2], "", authorities);
+
+            return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        } catch (IllegalArgumentException e) {
+            log.trace("Invalid gateway claims", e);
+            return null;
+        }
+    }
+
+    private byte[] signGatewayClaims(byte[] claims, String token) {
+        try {
+            Mac mac = Mac.getInstance(GATEWAY_CLAIMS_ALGORITHM);
+            mac.init(new SecretKeySpec(key.getEncoded(), GATEWAY_CLAIMS_ALGORITHM));
+            mac.update(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+            return mac.doFinal(claims);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign the gateway claims", e);
+        }
+    }
+
     public boolean validateToken(String authToken) {
         try {
             jwtParser.parseClaimsJws(authToken);
@@ -8,8 +8,6 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
@@ -18,7 +16,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -165,18 +162,14 @@ public class TransactionResource {
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         @RequestParam(required = false) String filter
     ) {
+        Page<Transaction> page;
         if ("result-is-null".equals(filter)) {
-            log.debug("REST request to get all Transactions where result is null");
-            return new ResponseEntity<>(
-                StreamSupport
-                    .stream(transactionRepository.findAll().spliterator(), false)
-                    .filter(transaction -> transaction.getResult() == null)
-                    .collect(Collectors.toList()),
-                HttpStatus.OK
-            );
+            log.debug("REST request to get a page of Transactions where result is null");
+            page = transactionRepository.findAllWhereResultIsNull(pageable);
+        } else {
+            log.debug("REST request to get a page of Transactions");
+            page = transactionRepository.findAll(pageable);
         }
-        log.debug("REST request to get a page of Transactions");
-        Page<Transaction> page = transactionRepository.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
@@ -7,7 +7,13 @@ import com.orthoworks.api.security.AuthoritiesConstants;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.util.Base64;
 import java.util.Collections;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -15,6 +21,7 @@ import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -22,6 +29,8 @@ import tech.jhipster.config.JHipsterProperties;
 
 class JWTFilterTest {
 
+    private Key key;
+
     private TokenProvider tokenProvider;
 
     private JWTFilter jwtFilter;
@@ -35,7 +44,8 @@ class JWTFilterTest {
         SecurityMetersService securityMetersService = new SecurityMetersService(new SimpleMeterRegistry());
 
         tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
-        ReflectionTestUtils.setField(tokenProvider, "key", Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)));
+        key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
+        ReflectionTestUtils.setField(tokenProvider, "key", key);
 
         ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", 60000);
         jwtFilter = new JWTFilter(tokenProvider);
@@ -114,4 +124,90 @@ class JWTFilterTest {
         assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
+
+    @Test
+    void testJWTFilterGatewayClaims() throws Exception {
+        // the token itself isn't verified, when the gateway vouches for it
+        String jwt = "verified_by_the_gateway";
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+        request.addHeader(JWTFilter.GATEWAY_CLAIMS_HEADER, createGatewayClaims(jwt, "test-user"));
+        request.setRequestURI("/api/test");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+        new JWTFilter(tokenProvider, true).doFilter(request, response, filterChain);
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("test-user");
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.USER);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getCredentials()).hasToString(jwt);
+    }
+
+    @Test
+    void testJWTFilterGatewayClaimsDisabled() throws Exception {
+        String jwt = "verified_by_the_gateway";
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+        request.addHeader(JWTFilter.GATEWAY_CLAIMS_HEADER, createGatewayClaims(jwt, "test-user"));
+        request.setRequestURI("/api/test");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+        jwtFilter.doFilter(request, response, filterChain);
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void testJWTFilterGatewayClaimsOfAnotherToken() throws Exception {
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+            "test-user",
+            "test-password",
+            Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+        );
+        String jwt = tokenProvider.createToken(authentication, false);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+        request.addHeader(JWTFilter.GATEWAY_CLAIMS_HEADER, createGatewayClaims("another_jwt", "another-user"));
+        request.setRequestURI("/api/test");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+        new JWTFilter(tokenProvider, true).doFilter(request, response, filterChain);
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("test-user");
+    }
+
+    @Test
+    void testJWTFilterTamperedGatewayClaims() throws Exception {
+        String jwt = "verified_by_the_gateway";
+        String userClaims = createGatewayClaims(jwt, "test-user");
+        String adminClaims = createGatewayClaims(jwt, "test-user", AuthoritiesConstants.ADMIN);
+        // the claims of an admin, with the signature of the claims of a user
+        String tamperedClaims = adminClaims.substring(0, adminClaims.indexOf('.')) + userClaims.substring(userClaims.indexOf('.'));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
+        request.addHeader(JWTFilter.GATEWAY_CLAIMS_HEADER, tamperedClaims);
+        request.setRequestURI("/api/test");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+        new JWTFilter(tokenProvider, true).doFilter(request, response, filterChain);
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    /**
+     * Creates the header the gateway adds to the requests it relays.
+     */
+    private String createGatewayClaims(String jwt, String subject) throws Exception {
+        return createGatewayClaims(jwt, subject, AuthoritiesConstants.USER);
+    }
+
+    private String createGatewayClaims(String jwt, String subject, String authorities) throws Exception {
+        byte[] claims = (System.currentTimeMillis() + 60000 + "\n" + authorities + "\n" + subject).getBytes(StandardCharsets.UTF_8);
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key.getEncoded(), "HmacSHA256"));
+        mac.update(MessageDigest.getInstance("SHA-256").digest(jwt.getBytes(StandardCharsets.UTF_8)));
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(claims) + "." + encoder.encodeToString(mac.doFinal(claims));
+    }
 }
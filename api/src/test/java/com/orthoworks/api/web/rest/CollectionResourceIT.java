@@ -328,9 +328,9 @@ class CollectionResourceIT {
         // Initialize the database
         collectionRepository.saveAndFlush(collection);
 
-        // Get the collection
+        // Get the collection, by its slug
         restCollectionMockMvc
-            .perform(get(ENTITY_API_URL_ID, collection.getId()))
+            .perform(get(ENTITY_API_URL_ID, collection.getName()))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.id").value(collection.getId().intValue()))
@@ -352,6 +352,33 @@ class CollectionResourceIT {
         restCollectionMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getCollectionByItsNewSlug() throws Exception {
+        // Initialize the database
+        collectionRepository.saveAndFlush(collection);
+        assertThat(collectionRepository.findBySlug(DEFAULT_NAME)).contains(collection);
+
+        // Rename the collection
+        Collection updatedCollection = collectionRepository.findById(collection.getId()).get();
+        em.detach(updatedCollection);
+        restCollectionMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, updatedCollection.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(new Collection().id(collection.getId()).name(UPDATED_NAME)))
+            )
+            .andExpect(status().isOk());
+        em.flush();
+
+        // The old slug isn't found anymore
+        restCollectionMockMvc.perform(get(ENTITY_API_URL_ID, DEFAULT_NAME)).andExpect(status().isNotFound());
+        restCollectionMockMvc
+            .perform(get(ENTITY_API_URL_ID, UPDATED_NAME))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(collection.getId().intValue()));
+    }
+
     @Test
     @Transactional
     void putNewCollection() throws Exception {
@@ -2,19 +2,24 @@ package com.orthoworks.api.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.orthoworks.api.IntegrationTest;
+import com.orthoworks.api.domain.Collection;
 import com.orthoworks.api.domain.Transaction;
 import com.orthoworks.api.domain.enumeration.TransactionStatus;
 import com.orthoworks.api.repository.TransactionRepository;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -172,6 +177,40 @@ class TransactionResourceIT {
             .andExpect(jsonPath("$.[*].date").value(hasItem(DEFAULT_DATE.toString())));
     }
 
+    @Test
+    @Transactional
+    void getAllTransactionsWhereResultIsNull() throws Exception {
+        // Initialize the database: some transactions, each one with its own collection, and one of them with a result
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Collection collection = CollectionResourceIT.createEntity(em).name("transaction-" + i);
+            em.persist(collection);
+            transactions.add(transactionRepository.save(createEntity(em).collection(collection)));
+        }
+        Transaction transactionWithResult = transactions.get(0);
+        em.persist(OutputResourceIT.createEntity(em).transaction(transactionWithResult));
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            restTransactionMockMvc
+                .perform(get(ENTITY_API_URL + "?filter=result-is-null&sort=id,asc&page=0&size=3"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "4"))
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$.[*].id").value(not(hasItem(transactionWithResult.getId().intValue()))))
+                .andExpect(jsonPath("$.[0].collection.name").value("transaction-1"));
+
+            // the page and its count, whatever the number of transactions and collections
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
     @Test
     @Transactional
     void getTransaction() throws Exception {
@@ -9,4 +9,43 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Security security = new Security();
+
+    private final InvoiceRevenue invoiceRevenue = new InvoiceRevenue();
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public InvoiceRevenue getInvoiceRevenue() {
+        return invoiceRevenue;
+    }
+
+    public static class Security {
+
+        private boolean gatewayClaimsEnabled = false;
+
+        public boolean isGatewayClaimsEnabled() {
+            return gatewayClaimsEnabled;
+        }
+
+        public void setGatewayClaimsEnabled(boolean gatewayClaimsEnabled) {
+            this.gatewayClaimsEnabled = gatewayClaimsEnabled;
+        }
+    }
+
+    public static class InvoiceRevenue {
+
+        private String rebuildCron = "-";
+
+        public String getRebuildCron() {
+            return rebuildCron;
+        }
+
+        public void setRebuildCron(String rebuildCron) {
+            this.rebuildCron = rebuildCron;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.orthoworks.invoice.config;
 
+import com.orthoworks.invoice.repository.InvoiceRepository;
 import java.time.Duration;
 import org.ehcache.config.builders.*;
 import org.ehcache.jsr107.Eh107Configuration;
@@ -46,6 +47,8 @@ public class CacheConfiguration {
     @Bean
     public JCacheManagerCustomizer cacheManagerCustomizer() {
         return cm -> {
+            createCache(cm, com.orthoworks.invoice.domain.Invoice.class.getName());
+            createCache(cm, InvoiceRepository.INVOICE_IDS_BY_CODE_CACHE);
             // jhipster-needle-ehcache-add-entry
         };
     }
@@ -57,6 +60,8 @@ public class CacheConfiguration {
         } else {
             cm.createCache(cacheName, jcacheConfiguration);
         }
+        // the hits, misses and evictions of every region are bound to Micrometer, as the cache.* meters
+        cm.enableStatistics(cacheName, true);
     }
 
     @Autowired(required = false)
@@ -0,0 +1,102 @@
+package com.orthoworks.invoice.domain;
+
+import com.orthoworks.invoice.domain.enumeration.InvoiceStatus;
+import com.orthoworks.invoice.domain.enumeration.PaymentMethod;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import javax.persistence.*;
+
+/**
+ * The revenue of the {@link Invoice}s of a day, with a status and a payment method: their number and the sum of their
+ * payment amounts. It's kept up to date incrementally, as the invoices are saved and deleted.
+ */
+@Entity
+@Table(name = "invoice_revenue")
+@IdClass(InvoiceRevenueId.class)
+public class InvoiceRevenue implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "date")
+    private LocalDate date;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status")
+    private InvoiceStatus status;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method")
+    private PaymentMethod paymentMethod;
+
+    @Column(name = "invoice_count", nullable = false)
+    private long invoiceCount;
+
+    @Column(name = "revenue", precision = 21, scale = 2, nullable = false)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    public InvoiceRevenue() {
+        // Empty constructor needed for JPA.
+    }
+
+    /**
+     * @param id the id of an empty revenue.
+     */
+    public InvoiceRevenue(InvoiceRevenueId id) {
+        this.date = id.getDate();
+        this.status = id.getStatus();
+        this.paymentMethod = id.getPaymentMethod();
+    }
+
+    public LocalDate getDate() {
+        return this.date;
+    }
+
+    public InvoiceStatus getStatus() {
+        return this.status;
+    }
+
+    public PaymentMethod getPaymentMethod() {
+        return this.paymentMethod;
+    }
+
+    public long getInvoiceCount() {
+        return this.invoiceCount;
+    }
+
+    public BigDecimal getRevenue() {
+        return this.revenue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InvoiceRevenue)) {
+            return false;
+        }
+        InvoiceRevenue other = (InvoiceRevenue) o;
+        return date != null && date.equals(other.date) && status == other.status && paymentMethod == other.paymentMethod;
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "InvoiceRevenue{" +
+            "date='" + getDate() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", paymentMethod='" + getPaymentMethod() + "'" +
+            ", invoiceCount=" + getInvoiceCount() +
+            ", revenue=" + getRevenue() +
+            "}";
+    }
+}
@@ -0,0 +1,88 @@
+package com.orthoworks.invoice.domain;
+
+import com.orthoworks.invoice.domain.enumeration.InvoiceStatus;
+import com.orthoworks.invoice.domain.enumeration.PaymentMethod;
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Objects;
+
+/**
+ * The id of an {@link InvoiceRevenue}: the UTC day, status and payment method of the invoices.
+ */
+public class InvoiceRevenueId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate date;
+
+    private InvoiceStatus status;
+
+    private PaymentMethod paymentMethod;
+
+    public InvoiceRevenueId() {
+        // Empty constructor needed for JPA.
+    }
+
+    public InvoiceRevenueId(LocalDate date, InvoiceStatus status, PaymentMethod paymentMethod) {
+        this.date = date;
+        this.status = status;
+        this.paymentMethod = paymentMethod;
+    }
+
+    /**
+     * @param invoice the invoice.
+     * @return the id of the revenue the invoice is counted in, by the UTC day of its date.
+     */
+    public static InvoiceRevenueId of(Invoice invoice) {
+        return new InvoiceRevenueId(toDate(invoice.getDate()), invoice.getStatus(), invoice.getPaymentMethod());
+    }
+
+    /**
+     * @param date the date of an invoice.
+     * @return the UTC day of the date.
+     */
+    public static LocalDate toDate(Instant date) {
+        return LocalDate.ofInstant(date, ZoneOffset.UTC);
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public InvoiceStatus getStatus() {
+        return status;
+    }
+
+    public PaymentMethod getPaymentMethod() {
+        return paymentMethod;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof InvoiceRevenueId)) {
+            return false;
+        }
+        InvoiceRevenueId other = (InvoiceRevenueId) o;
+        return Objects.equals(date, other.date) && status == other.status && paymentMethod == other.paymentMethod;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(date, status, paymentMethod);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "InvoiceRevenueId{" +
+            "date='" + getDate() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", paymentMethod='" + getPaymentMethod() + "'" +
+            "}";
+    }
+}
@@ -1,6 +1,7 @@
 package com.orthoworks.invoice.repository;
 
 import com.orthoworks.invoice.domain.Invoice;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +10,19 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface InvoiceRepository extends JpaRepository<Invoice, Long> {}
+public interface InvoiceRepository extends InvoiceRepositoryWithExport, JpaRepository<Invoice, Long> {
+    /**
+     * The cache of the ids of the invoices resolved by code, kept by {@link com.orthoworks.invoice.service.InvoiceService}.
+     */
+    String INVOICE_IDS_BY_CODE_CACHE = "invoiceIdsByCode";
+
+    /**
+     * Finds the invoice by its code, read from the unique index {@code ux_invoice__code}. The result isn't put in the query
+     * cache, which is invalidated by any change of the invoice table: {@link com.orthoworks.invoice.service.InvoiceService}
+     * keeps the id of the invoice by code in the {@link #INVOICE_IDS_BY_CODE_CACHE} cache instead, evicted by code.
+     *
+     * @param code the code of the invoice.
+     * @return the invoice, or an empty {@link Optional} if no invoice has the code.
+     */
+    Optional<Invoice> findOneByCode(String code);
+}
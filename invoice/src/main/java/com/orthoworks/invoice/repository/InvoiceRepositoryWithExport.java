@@ -0,0 +1,27 @@
+package com.orthoworks.invoice.repository;
+
+import com.orthoworks.invoice.domain.Invoice;
+import com.orthoworks.invoice.domain.enumeration.InvoiceStatus;
+import com.orthoworks.invoice.domain.enumeration.PaymentMethod;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.stream.Stream;
+
+public interface InvoiceRepositoryWithExport {
+    /**
+     * The number of rows fetched by a round trip of the export cursor.
+     */
+    int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * Streams the invoices with a server-side cursor, ordered by date. The invoices are read-only, and aren't put in the
+     * second-level cache. The stream must be read and closed within a transaction.
+     *
+     * @param from the first date, inclusive, or {@code null}.
+     * @param to the last date, exclusive, or {@code null}.
+     * @param statuses the statuses of the invoices, all of them if it's empty.
+     * @param paymentMethods the payment methods of the invoices, all of them if it's empty.
+     * @return the invoices.
+     */
+    Stream<Invoice> streamAll(Instant from, Instant to, Collection<InvoiceStatus> statuses, Collection<PaymentMethod> paymentMethods);
+}
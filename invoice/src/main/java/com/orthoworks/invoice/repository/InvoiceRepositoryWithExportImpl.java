@@ -0,0 +1,65 @@
+package com.orthoworks.invoice.repository;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import com.orthoworks.invoice.domain.Invoice;
+import com.orthoworks.invoice.domain.Invoice_;
+import com.orthoworks.invoice.domain.enumeration.InvoiceStatus;
+import com.orthoworks.invoice.domain.enumeration.PaymentMethod;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import org.hibernate.CacheMode;
+
+public class InvoiceRepositoryWithExportImpl implements InvoiceRepositoryWithExport {
+
+    private final EntityManager entityManager;
+
+    public InvoiceRepositoryWithExportImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Stream<Invoice> streamAll(
+        Instant from,
+        Instant to,
+        Collection<InvoiceStatus> statuses,
+        Collection<PaymentMethod> paymentMethods
+    ) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Invoice> query = builder.createQuery(Invoice.class);
+        Root<Invoice> invoice = query.from(Invoice.class);
+        List<Predicate> predicates = new ArrayList<>();
+        if (from != null) {
+            predicates.add(builder.greaterThanOrEqualTo(invoice.get(Invoice_.date), from));
+        }
+        if (to != null) {
+            predicates.add(builder.lessThan(invoice.get(Invoice_.date), to));
+        }
+        if (!statuses.isEmpty()) {
+            predicates.add(invoice.get(Invoice_.status).in(statuses));
+        }
+        if (!paymentMethods.isEmpty()) {
+            predicates.add(invoice.get(Invoice_.paymentMethod).in(paymentMethods));
+        }
+        query
+            .where(predicates.toArray(new Predicate[0]))
+            .orderBy(builder.asc(invoice.get(Invoice_.date)), builder.asc(invoice.get(Invoice_.id)));
+        return entityManager
+            .createQuery(query)
+            .setHint(HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+            .setHint(HINT_READONLY, true)
+            // an export would evict the whole second-level cache region
+            .setHint(HINT_CACHE_MODE, CacheMode.IGNORE)
+            .getResultStream();
+    }
+}
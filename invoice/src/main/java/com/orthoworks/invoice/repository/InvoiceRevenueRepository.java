@@ -0,0 +1,38 @@
+package com.orthoworks.invoice.repository;
+
+import com.orthoworks.invoice.domain.InvoiceRevenue;
+import com.orthoworks.invoice.domain.InvoiceRevenueId;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data SQL repository for the InvoiceRevenue entity.
+ */
+@Repository
+public interface InvoiceRevenueRepository extends InvoiceRevenueRepositoryWithUpsert, JpaRepository<InvoiceRevenue, InvoiceRevenueId> {
+    /**
+     * @param from the first day, inclusive.
+     * @param to the last day, exclusive.
+     * @return the revenues of the days, read from the primary key index.
+     */
+    @Query(
+        "select invoiceRevenue from InvoiceRevenue invoiceRevenue where invoiceRevenue.date >= :from and invoiceRevenue.date < :to " +
+        "order by invoiceRevenue.date, invoiceRevenue.status, invoiceRevenue.paymentMethod"
+    )
+    List<InvoiceRevenue> findAllByDateRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Computes the revenues again from the invoices, once they were {@link #deleteAllInBatch() deleted}.
+     */
+    @Modifying
+    @Query(
+        value = "insert into invoice_revenue (date, status, payment_method, invoice_count, revenue) " +
+        "select cast(invoice.date as date), invoice.status, invoice.payment_method, count(*), sum(invoice.payment_amount) " +
+        "from invoice invoice group by cast(invoice.date as date), invoice.status, invoice.payment_method",
+        nativeQuery = true
+    )
+    int insertAllFromInvoices();
+}
@@ -0,0 +1,21 @@
+package com.orthoworks.invoice.repository;
+
+import com.orthoworks.invoice.domain.enumeration.InvoiceStatus;
+import com.orthoworks.invoice.domain.enumeration.PaymentMethod;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface InvoiceRevenueRepositoryWithUpsert {
+    /**
+     * Adds invoices to a revenue, creating it if it doesn't exist yet, in a single statement of the current transaction - an
+     * {@code insert ... on conflict do update} on PostgreSQL, a {@code merge} on H2 - so the concurrent transactions don't
+     * overwrite each other.
+     *
+     * @param date the day of the invoices.
+     * @param status the status of the invoices.
+     * @param paymentMethod the payment method of the invoices.
+     * @param invoiceCount the number of invoices, negative to remove them.
+     * @param revenue the sum of the payment amounts of the invoices, negative to remove them.
+     */
+    void add(LocalDate date, InvoiceStatus status, PaymentMethod paymentMethod, long invoiceCount, BigDecimal revenue);
+}
@@ -0,0 +1,51 @@
+package com.orthoworks.invoice.repository;
+
+import com.orthoworks.invoice.domain.InvoiceRevenue;
+import com.orthoworks.invoice.domain.enumeration.InvoiceStatus;
+import com.orthoworks.invoice.domain.enumeration.PaymentMethod;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import javax.persistence.EntityManager;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+public class InvoiceRevenueRepositoryWithUpsertImpl implements InvoiceRevenueRepositoryWithUpsert {
+
+    private static final String INSERT_ON_CONFLICT =
+        "insert into invoice_revenue (date, status, payment_method, invoice_count, revenue) " +
+        "values (:date, :status, :paymentMethod, :invoiceCount, :revenue) " +
+        "on conflict (date, status, payment_method) do update set " +
+        "invoice_count = invoice_revenue.invoice_count + excluded.invoice_count, revenue = invoice_revenue.revenue + excluded.revenue";
+
+    private static final String MERGE =
+        "merge into invoice_revenue using (select 1) source " +
+        "on (invoice_revenue.date = :date and invoice_revenue.status = :status and invoice_revenue.payment_method = :paymentMethod) " +
+        "when matched then update set " +
+        "invoice_count = invoice_revenue.invoice_count + :invoiceCount, revenue = invoice_revenue.revenue + :revenue " +
+        "when not matched then insert (date, status, payment_method, invoice_count, revenue) " +
+        "values (:date, :status, :paymentMethod, :invoiceCount, :revenue)";
+
+    private final EntityManager entityManager;
+
+    public InvoiceRevenueRepositoryWithUpsertImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public void add(LocalDate date, InvoiceStatus status, PaymentMethod paymentMethod, long invoiceCount, BigDecimal revenue) {
+        Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        entityManager
+            .createNativeQuery(dialect instanceof H2Dialect ? MERGE : INSERT_ON_CONFLICT)
+            .setParameter("date", date)
+            .setParameter("status", status.name())
+            .setParameter("paymentMethod", paymentMethod.name())
+            .setParameter("invoiceCount", invoiceCount)
+            .setParameter("revenue", revenue)
+            .unwrap(NativeQuery.class)
+            // only the revenues are changed, the other cached entities are kept
+            .addSynchronizedEntityClass(InvoiceRevenue.class)
+            .executeUpdate();
+    }
+}
@@ -9,13 +9,16 @@ public class JWTConfigurer extends SecurityConfigurerAdapter<DefaultSecurityFilt
 
     private final TokenProvider tokenProvider;
 
-    public JWTConfigurer(TokenProvider tokenProvider) {
+    private final boolean gatewayClaimsEnabled;
+
+    public JWTConfigurer(TokenProvider tokenProvider, boolean gatewayClaimsEnabled) {
         this.tokenProvider = tokenProvider;
+        this.gatewayClaimsEnabled = gatewayClaimsEnabled;
     }
 
     @Override
     public void configure(HttpSecurity http) {
-        JWTFilter customFilter = new JWTFilter(tokenProvider);
+        JWTFilter customFilter = new JWTFilter(tokenProvider, gatewayClaimsEnabled);
         http.addFilterBefore(customFilter, UsernamePasswordAuthenticationFilter.class);
     }
 }
@@ -19,10 +19,24 @@ public class JWTFilter extends GenericFilterBean {
 
     public static final String AUTHORIZATION_HEADER = "Authorization";
 
+    public static final String GATEWAY_CLAIMS_HEADER = "X-Gateway-Claims";
+
     private final TokenProvider tokenProvider;
 
+    private final boolean gatewayClaimsEnabled;
+
     public JWTFilter(TokenProvider tokenProvider) {
+        this(tokenProvider, false);
+    }
+
+    /**
+     * @param tokenProvider verifies the tokens.
+     * @param gatewayClaimsEnabled if the {@value #GATEWAY_CLAIMS_HEADER} header, added by the gateway, is trusted - the token
+     * is verified if the header is missing or invalid.
+     */
+    public JWTFilter(TokenProvider tokenProvider, boolean gatewayClaimsEnabled) {
         this.tokenProvider = tokenProvider;
+        this.gatewayClaimsEnabled = gatewayClaimsEnabled;
     }
 
     @Override
@@ -30,13 +44,29 @@ public class JWTFilter extends GenericFilterBean {
         throws IOException, ServletException {
         HttpServletRequest httpServletRequest = (HttpServletRequest) servletRequest;
         String jwt = resolveToken(httpServletRequest);
-        if (StringUtils.hasText(jwt) && this.tokenProvider.validateToken(jwt)) {
-            Authentication authentication = this.tokenProvider.getAuthentication(jwt);
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (StringUtils.hasText(jwt)) {
+            Authentication authentication = resolveGatewayClaims(httpServletRequest, jwt);
+            if (authentication == null && this.tokenProvider.validateToken(jwt)) {
+                authentication = this.tokenProvider.getAuthentication(jwt);
+            }
+            if (authentication != null) {
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
         filterChain.doFilter(servletRequest, servletResponse);
     }
 
+    private Authentication resolveGatewayClaims(HttpServletRequest request, String jwt) {
+        if (!gatewayClaimsEnabled) {
+            return null;
+        }
+        String gatewayClaims = request.getHeader(GATEWAY_CLAIMS_HEADER);
+        if (!StringUtils.hasText(gatewayClaims)) {
+            return null;
+        }
+        return this.tokenProvider.getGatewayClaimsAuthentication(gatewayClaims, jwt);
+    }
+
     private String resolveToken(HttpServletRequest request) {
         String bearerToken = request.getHeader(AUTHORIZATION_HEADER);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -0,0 +1,100 @@
+package com.orthoworks.invoice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.orthoworks.invoice.domain.Invoice;
+import com.orthoworks.invoice.domain.enumeration.InvoiceStatus;
+import com.orthoworks.invoice.domain.enumeration.PaymentMethod;
+import com.orthoworks.invoice.repository.InvoiceRepository;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service exporting the {@link Invoice}s as CSV or NDJSON.
+ * <p>
+ * The invoices are read with a server-side cursor and written as they're read, and the persistence context is cleared
+ * after every chunk, so the memory used doesn't depend on the number of invoices.
+ */
+@Service
+@Transactional(readOnly = true)
+public class InvoiceExportService {
+
+    private final Logger log = LoggerFactory.getLogger(InvoiceExportService.class);
+
+    private final InvoiceRepository invoiceRepository;
+
+    private final EntityManager entityManager;
+
+    private final ObjectWriter csvWriter;
+
+    private final ObjectWriter jsonWriter;
+
+    public InvoiceExportService(InvoiceRepository invoiceRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.invoiceRepository = invoiceRepository;
+        this.entityManager = entityManager;
+        this.csvWriter = InvoiceFileFormat.CSV_MAPPER.writerFor(Invoice.class).with(InvoiceFileFormat.csvSchema());
+        // the invoices are written as by the REST API, one per line
+        this.jsonWriter = objectMapper.writerFor(Invoice.class).withRootValueSeparator("\n");
+    }
+
+    /**
+     * Export the invoices, ordered by date.
+     *
+     * @param from the first date, inclusive, or {@code null}.
+     * @param to the last date, exclusive, or {@code null}.
+     * @param statuses the statuses of the invoices, all of them if it's empty.
+     * @param paymentMethods the payment methods of the invoices, all of them if it's empty.
+     * @param format the format of the export.
+     * @param out the stream the export is written to, it's closed once the export is done.
+     * @return the number of exported invoices.
+     * @throws IOException if the export couldn't be written.
+     */
+    public long export(
+        Instant from,
+        Instant to,
+        Collection<InvoiceStatus> statuses,
+        Collection<PaymentMethod> paymentMethods,
+        InvoiceFileFormat format,
+        OutputStream out
+    ) throws IOException {
+        log.debug(
+            "Request to export Invoices as {}, from {} to {}, with status {} and payment method {}",
+            format,
+            from,
+            to,
+            statuses,
+            paymentMethods
+        );
+        long count = 0;
+        try (
+            Stream<Invoice> invoices = invoiceRepository.streamAll(from, to, statuses, paymentMethods);
+            SequenceWriter writer = (format == InvoiceFileFormat.CSV ? csvWriter : jsonWriter).writeValues(out)
+        ) {
+            Iterator<Invoice> iterator = invoices.iterator();
+            while (iterator.hasNext()) {
+                writer.write(iterator.next());
+                if (++count % InvoiceRepository.EXPORT_FETCH_SIZE == 0) {
+                    // the written invoices aren't needed anymore
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+            if (format == InvoiceFileFormat.NDJSON && count > 0) {
+                // the separator is only written between the invoices
+                writer.flush();
+                out.write('\n');
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,81 @@
+package com.orthoworks.invoice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.util.MimeType;
+
+/**
+ * The file formats the {@link com.orthoworks.invoice.domain.Invoice}s are exported to and imported from.
+ */
+public enum InvoiceFileFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    /**
+     * The columns of the CSV files, in order.
+     */
+    public static final List<String> CSV_COLUMNS = List.of(
+        "id",
+        "code",
+        "date",
+        "details",
+        "status",
+        "paymentMethod",
+        "paymentDate",
+        "paymentAmount"
+    );
+
+    static final CsvMapper CSV_MAPPER = CsvMapper
+        .builder()
+        .addModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .enable(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN)
+        .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+        .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL, CsvParser.Feature.SKIP_EMPTY_LINES)
+        .build();
+
+    private final String contentType;
+    private final String extension;
+
+    InvoiceFileFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @param contentType the content type of a file, with or without parameters.
+     * @return the format of the file, or an empty {@link Optional} if it's unknown.
+     */
+    public static Optional<InvoiceFileFormat> fromContentType(String contentType) {
+        if (contentType == null) {
+            return Optional.empty();
+        }
+        MimeType mimeType = MimeType.valueOf(contentType);
+        return Arrays.stream(values()).filter(format -> mimeType.equalsTypeAndSubtype(MimeType.valueOf(format.contentType))).findFirst();
+    }
+
+    /**
+     * @return the schema of the CSV files written, with a header.
+     */
+    static CsvSchema csvSchema() {
+        CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+        CSV_COLUMNS.forEach(schema::addColumn);
+        return schema.build();
+    }
+}
@@ -0,0 +1,186 @@
+package com.orthoworks.invoice.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.orthoworks.invoice.domain.Invoice;
+import com.orthoworks.invoice.service.dto.InvoiceImportReportDTO;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.validation.Validator;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service importing {@link Invoice}s in bulk, from CSV or NDJSON.
+ * <p>
+ * The rows are parsed as they're read and validated against the constraints of {@link Invoice}. The valid ones are saved
+ * by chunks of {@link #CHUNK_SIZE}, each in its own transaction, so the inserts are batched by
+ * {@code hibernate.jdbc.batch_size}, their revenues are updated once per chunk, and a failed chunk doesn't roll back the
+ * ones saved before. The rows of a failed chunk are then saved one by one, each in its own transaction, so only the rows
+ * which can't be saved - like a duplicate code - are rejected.
+ */
+@Service
+public class InvoiceImportService {
+
+    /**
+     * The number of invoices saved by a transaction, a multiple of the JDBC batch size and of the sequence allocation size.
+     */
+    public static final int CHUNK_SIZE = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(InvoiceImportService.class);
+
+    private final EntityManager entityManager;
+
+    private final Validator validator;
+
+    private final InvoiceRevenueService invoiceRevenueService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectReader csvReader;
+
+    private final ObjectReader jsonReader;
+
+    public InvoiceImportService(
+        EntityManager entityManager,
+        Validator validator,
+        InvoiceRevenueService invoiceRevenueService,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper
+    ) {
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.invoiceRevenueService = invoiceRevenueService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // the columns are read from the header, in any order
+        this.csvReader = InvoiceFileFormat.CSV_MAPPER.readerFor(Invoice.class).with(CsvSchema.emptySchema().withHeader());
+        this.jsonReader = objectMapper.readerFor(Invoice.class);
+    }
+
+    /**
+     * Import invoices. The ids of the rows are ignored, the invoices are created.
+     *
+     * @param format the format of the rows.
+     * @param in the rows.
+     * @return the report of the import.
+     * @throws IOException if the rows couldn't be read.
+     */
+    public InvoiceImportReportDTO importInvoices(InvoiceFileFormat format, InputStream in) throws IOException {
+        log.debug("Request to import Invoices from {}", format);
+        InvoiceImportReportDTO report = new InvoiceImportReportDTO();
+        Chunk chunk = new Chunk();
+        // the row being read, from 1
+        long row = 1;
+        try (MappingIterator<Invoice> rows = (format == InvoiceFileFormat.CSV ? csvReader : jsonReader).readValues(in)) {
+            for (; rows.hasNextValue(); row++) {
+                try {
+                    Invoice invoice = rows.nextValue();
+                    List<String> violations = invoice != null ? validate(invoice.id(null)) : List.of("The row is empty");
+                    if (violations.isEmpty()) {
+                        chunk.add(row, invoice);
+                    } else {
+                        report.reject(row, violations);
+                    }
+                } catch (JsonMappingException e) {
+                    // the rest of the row is skipped, the next one can be read
+                    report.reject(row, List.of(e.getOriginalMessage()));
+                }
+                if (chunk.invoices.size() == CHUNK_SIZE) {
+                    save(chunk, report);
+                }
+            }
+        } catch (JsonParseException e) {
+            report.reject(row, List.of("The rest of the file couldn't be read: " + e.getOriginalMessage()));
+        }
+        save(chunk, report);
+        log.debug("Imported {} Invoices, rejected {} rows", report.getImported(), report.getRejected());
+        return report;
+    }
+
+    private List<String> validate(Invoice invoice) {
+        return validator
+            .validate(invoice)
+            .stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.toList());
+    }
+
+    private void save(Chunk chunk, InvoiceImportReportDTO report) {
+        if (chunk.invoices.isEmpty()) {
+            return;
+        }
+        try {
+            persist(chunk.invoices);
+            report.addImported(chunk.invoices.size());
+        } catch (DataAccessException | PersistenceException e) {
+            log.debug(
+                "Could not save the Invoices of {} rows from row {}, saving them one by one: {}",
+                chunk.rows.size(),
+                chunk.rows.get(0),
+                e.toString()
+            );
+            for (int i = 0; i < chunk.rows.size(); i++) {
+                saveOne(chunk.rows.get(i), chunk.invoices.get(i), report);
+            }
+        }
+        chunk.clear();
+    }
+
+    /**
+     * Save the invoice of a row of a failed chunk in its own transaction, so only the rows which can't be saved are rejected.
+     */
+    private void saveOne(long row, Invoice invoice, InvoiceImportReportDTO report) {
+        try {
+            // the id allocated by the rolled back chunk isn't reused
+            persist(List.of(invoice.id(null)));
+            report.addImported(1);
+        } catch (DataAccessException | PersistenceException e) {
+            log.warn("Could not save the Invoice of row {}: {}", row, e.toString());
+            report.reject(row, List.of("The row couldn't be saved: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+        }
+    }
+
+    private void persist(List<Invoice> invoices) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // the imported invoices would evict the cached ones
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            invoices.forEach(entityManager::persist);
+            invoiceRevenueService.addAll(invoices);
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private static class Chunk {
+
+        private final List<Long> rows = new ArrayList<>(CHUNK_SIZE);
+        private final List<Invoice> invoices = new ArrayList<>(CHUNK_SIZE);
+
+        void add(long row, Invoice invoice) {
+            rows.add(row);
+            invoices.add(invoice);
+        }
+
+        void clear() {
+            rows.clear();
+            invoices.clear();
+        }
+    }
+}
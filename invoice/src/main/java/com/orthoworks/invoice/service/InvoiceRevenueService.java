@@ -0,0 +1,117 @@
+package com.orthoworks.invoice.service;
+
+import com.orthoworks.invoice.domain.Invoice;
+import com.orthoworks.invoice.domain.InvoiceRevenue;
+import com.orthoworks.invoice.domain.InvoiceRevenueId;
+import com.orthoworks.invoice.repository.InvoiceRevenueRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service keeping the {@link InvoiceRevenue}s up to date, within the transactions which save and delete the invoices.
+ * <p>
+ * A revenue is changed by a single upsert, which creates it or adds to its count and sum, in the transaction of the
+ * invoice, so the concurrent transactions don't lose each other's changes, and a rolled back transaction leaves no revenue
+ * behind.
+ */
+@Service
+@Transactional
+public class InvoiceRevenueService {
+
+    private final Logger log = LoggerFactory.getLogger(InvoiceRevenueService.class);
+
+    private final InvoiceRevenueRepository invoiceRevenueRepository;
+
+    public InvoiceRevenueService(InvoiceRevenueRepository invoiceRevenueRepository) {
+        this.invoiceRevenueRepository = invoiceRevenueRepository;
+    }
+
+    /**
+     * Count a new invoice in its revenue.
+     *
+     * @param invoice the saved invoice.
+     */
+    public void add(Invoice invoice) {
+        add(InvoiceRevenueId.of(invoice), 1, invoice.getPaymentAmount());
+    }
+
+    /**
+     * Count new invoices in their revenues, with a single update by revenue.
+     *
+     * @param invoices the saved invoices.
+     */
+    public void addAll(Collection<Invoice> invoices) {
+        Map<InvoiceRevenueId, List<Invoice>> invoicesByRevenue = invoices.stream().collect(Collectors.groupingBy(InvoiceRevenueId::of));
+        invoicesByRevenue.forEach((id, revenueInvoices) -> {
+            BigDecimal revenue = revenueInvoices.stream().map(Invoice::getPaymentAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+            add(id, revenueInvoices.size(), revenue);
+        });
+    }
+
+    /**
+     * Move a changed invoice from its previous revenue to its current one, if its date, status, payment method or payment
+     * amount changed.
+     *
+     * @param previousId the id of the previous revenue of the invoice.
+     * @param previousPaymentAmount the previous payment amount of the invoice.
+     * @param invoice the changed invoice.
+     */
+    public void update(InvoiceRevenueId previousId, BigDecimal previousPaymentAmount, Invoice invoice) {
+        InvoiceRevenueId id = InvoiceRevenueId.of(invoice);
+        if (id.equals(previousId)) {
+            if (previousPaymentAmount.compareTo(invoice.getPaymentAmount()) != 0) {
+                add(id, 0, invoice.getPaymentAmount().subtract(previousPaymentAmount));
+            }
+        } else {
+            add(previousId, -1, previousPaymentAmount.negate());
+            add(id, 1, invoice.getPaymentAmount());
+        }
+    }
+
+    /**
+     * Remove a deleted invoice from its revenue.
+     *
+     * @param invoice the deleted invoice.
+     */
+    public void remove(Invoice invoice) {
+        add(InvoiceRevenueId.of(invoice), -1, invoice.getPaymentAmount().negate());
+    }
+
+    private void add(InvoiceRevenueId id, long invoiceCount, BigDecimal revenue) {
+        invoiceRevenueRepository.add(id.getDate(), id.getStatus(), id.getPaymentMethod(), invoiceCount, revenue);
+    }
+
+    /**
+     * Get the revenues of a range of days.
+     *
+     * @param from the first day, inclusive.
+     * @param to the last day, exclusive.
+     * @return the revenues, by day, status and payment method.
+     */
+    @Transactional(readOnly = true)
+    public List<InvoiceRevenue> findAll(LocalDate from, LocalDate to) {
+        log.debug("Request to get the InvoiceRevenues from {} to {}", from, to);
+        return invoiceRevenueRepository.findAllByDateRange(from, to);
+    }
+
+    /**
+     * Compute all the revenues again from the invoices, to backfill them or to fix the invoices changed without
+     * {@link InvoiceService}. It's scheduled by {@code application.invoice-revenue.rebuild-cron}, and disabled by default.
+     */
+    @Scheduled(cron = "${application.invoice-revenue.rebuild-cron:-}")
+    public void rebuild() {
+        log.debug("Request to rebuild the InvoiceRevenues");
+        invoiceRevenueRepository.deleteAllInBatch();
+        int revenues = invoiceRevenueRepository.insertAllFromInvoices();
+        log.info("Rebuilt {} invoice revenues", revenues);
+    }
+}
@@ -1,10 +1,15 @@
 package com.orthoworks.invoice.service;
 
 import com.orthoworks.invoice.domain.Invoice;
+import com.orthoworks.invoice.domain.InvoiceRevenueId;
 import com.orthoworks.invoice.repository.InvoiceRepository;
+import java.math.BigDecimal;
+import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -21,26 +26,72 @@ public class InvoiceService {
 
     private final InvoiceRepository invoiceRepository;
 
-    public InvoiceService(InvoiceRepository invoiceRepository) {
+    private final InvoiceRevenueService invoiceRevenueService;
+
+    private final CacheManager cacheManager;
+
+    public InvoiceService(InvoiceRepository invoiceRepository, InvoiceRevenueService invoiceRevenueService, CacheManager cacheManager) {
         this.invoiceRepository = invoiceRepository;
+        this.invoiceRevenueService = invoiceRevenueService;
+        this.cacheManager = cacheManager;
     }
 
     /**
-     * Save a invoice.
+     * Save a invoice, and count it in its revenue.
      *
      * @param invoice the entity to save.
      * @return the persisted entity.
      */
     public Invoice save(Invoice invoice) {
         log.debug("Request to save Invoice : {}", invoice);
-        return invoiceRepository.save(invoice);
+        if (invoice.getId() != null) {
+            Optional<Invoice> updated = update(invoice);
+            if (updated.isPresent()) {
+                return updated.get();
+            }
+        }
+        Invoice result = invoiceRepository.save(invoice);
+        invoiceRevenueService.add(result);
+        clearInvoiceIdsByCode(result.getCode());
+        return result;
+    }
+
+    /**
+     * Update a invoice: the managed invoice is read, from the second-level cache if it's there, and its changes are
+     * flushed with the transaction - instead of checking that it exists and merging it, which reads it once more.
+     *
+     * @param invoice the entity to update.
+     * @return the persisted entity, or an empty {@link Optional} if it doesn't exist.
+     */
+    public Optional<Invoice> update(Invoice invoice) {
+        log.debug("Request to update Invoice : {}", invoice);
+
+        return invoiceRepository
+            .findById(invoice.getId())
+            .map(existingInvoice -> {
+                InvoiceRevenueId previousRevenueId = InvoiceRevenueId.of(existingInvoice);
+                BigDecimal previousPaymentAmount = existingInvoice.getPaymentAmount();
+                String previousCode = existingInvoice.getCode();
+                existingInvoice
+                    .code(invoice.getCode())
+                    .date(invoice.getDate())
+                    .details(invoice.getDetails())
+                    .status(invoice.getStatus())
+                    .paymentMethod(invoice.getPaymentMethod())
+                    .paymentDate(invoice.getPaymentDate())
+                    .paymentAmount(invoice.getPaymentAmount());
+                invoiceRevenueService.update(previousRevenueId, previousPaymentAmount, existingInvoice);
+                clearInvoiceIdsByCode(previousCode, existingInvoice.getCode());
+                return existingInvoice;
+            });
     }
 
     /**
-     * Partially update a invoice.
+     * Partially update a invoice. The changes of the managed invoice are flushed with the transaction, and only the
+     * changed columns are written, see {@link org.hibernate.annotations.DynamicUpdate}.
      *
      * @param invoice the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or an empty {@link Optional} if it doesn't exist.
      */
     public Optional<Invoice> partialUpdate(Invoice invoice) {
         log.debug("Request to partially update Invoice : {}", invoice);
@@ -48,6 +99,9 @@ public class InvoiceService {
         return invoiceRepository
             .findById(invoice.getId())
             .map(existingInvoice -> {
+                InvoiceRevenueId previousRevenueId = InvoiceRevenueId.of(existingInvoice);
+                BigDecimal previousPaymentAmount = existingInvoice.getPaymentAmount();
+                String previousCode = existingInvoice.getCode();
                 if (invoice.getCode() != null) {
                     existingInvoice.setCode(invoice.getCode());
                 }
@@ -69,10 +123,11 @@ public class InvoiceService {
                 if (invoice.getPaymentAmount() != null) {
                     existingInvoice.setPaymentAmount(invoice.getPaymentAmount());
                 }
+                invoiceRevenueService.update(previousRevenueId, previousPaymentAmount, existingInvoice);
+                clearInvoiceIdsByCode(previousCode, existingInvoice.getCode());
 
                 return existingInvoice;
-            })
-            .map(invoiceRepository::save);
+            });
     }
 
     /**
@@ -100,12 +155,70 @@ public class InvoiceService {
     }
 
     /**
-     * Delete the invoice by id.
+     * Get one invoice by code. The id of the invoice is kept in the {@link InvoiceRepository#INVOICE_IDS_BY_CODE_CACHE}
+     * cache once it's resolved, so the repeated lookups read the invoice by its id. The concurrent lookups of a code
+     * that isn't cached yet wait for a single query to resolve it. The unknown codes aren't cached.
+     * <p>
+     * A cached id is checked against the code of the invoice read, because it may have been cached again by a lookup
+     * concurrent with the change of the invoice: a stale id is evicted, and the code resolved again.
+     *
+     * @param code the code of the entity.
+     * @return the entity.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Invoice> findOneByCode(String code) {
+        log.debug("Request to get Invoice by code : {}", code);
+        Cache invoiceIdsByCode = invoiceIdsByCodeCache();
+        Long id = resolveInvoiceId(invoiceIdsByCode, code);
+        Optional<Invoice> invoice = findOneWithCode(id, code);
+        if (id != null && invoice.isEmpty()) {
+            invoiceIdsByCode.evict(code);
+            id = resolveInvoiceId(invoiceIdsByCode, code);
+            invoice = findOneWithCode(id, code);
+        }
+        return invoice;
+    }
+
+    private Long resolveInvoiceId(Cache invoiceIdsByCode, String code) {
+        // the cache runs the loader once per code, the concurrent lookups of the code wait for its result
+        Long id = invoiceIdsByCode.get(code, () -> invoiceRepository.findOneByCode(code).map(Invoice::getId).orElse(null));
+        if (id == null) {
+            invoiceIdsByCode.evict(code);
+        }
+        return id;
+    }
+
+    private Optional<Invoice> findOneWithCode(Long id, String code) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return invoiceRepository.findById(id).filter(invoice -> code.equals(invoice.getCode()));
+    }
+
+    /**
+     * Delete the invoice by id, and remove it from its revenue.
      *
      * @param id the id of the entity.
      */
     public void delete(Long id) {
         log.debug("Request to delete Invoice : {}", id);
+        invoiceRepository
+            .findById(id)
+            .ifPresent(invoice -> {
+                invoiceRevenueService.remove(invoice);
+                clearInvoiceIdsByCode(invoice.getCode());
+            });
         invoiceRepository.deleteById(id);
     }
+
+    private void clearInvoiceIdsByCode(String... codes) {
+        Cache invoiceIdsByCode = invoiceIdsByCodeCache();
+        for (String code : codes) {
+            invoiceIdsByCode.evict(code);
+        }
+    }
+
+    private Cache invoiceIdsByCodeCache() {
+        return Objects.requireNonNull(cacheManager.getCache(InvoiceRepository.INVOICE_IDS_BY_CODE_CACHE));
+    }
 }
@@ -0,0 +1,71 @@
+package com.orthoworks.invoice.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A DTO representing the report of an invoice import - the numbers of imported and rejected rows, and the errors of the
+ * rejected rows.
+ */
+public class InvoiceImportReportDTO {
+
+    /**
+     * The maximum number of reported row errors, the other rejected rows are only counted.
+     */
+    public static final int MAX_ROW_ERRORS = 1000;
+
+    private long imported;
+    private long rejected;
+    private final List<RowError> errors = new ArrayList<>();
+
+    public long getImported() {
+        return imported;
+    }
+
+    public void addImported(long imported) {
+        this.imported += imported;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Rejects a row.
+     *
+     * @param row the number of the row, from 1, the header of a CSV file isn't counted.
+     * @param messages why the row is rejected.
+     */
+    public void reject(long row, List<String> messages) {
+        rejected++;
+        if (errors.size() < MAX_ROW_ERRORS) {
+            errors.add(new RowError(row, messages));
+        }
+    }
+
+    /**
+     * The errors of a rejected row.
+     */
+    public static class RowError {
+
+        private final long row;
+        private final List<String> messages;
+
+        public RowError(long row, List<String> messages) {
+            this.row = row;
+            this.messages = messages;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public List<String> getMessages() {
+            return messages;
+        }
+    }
+}
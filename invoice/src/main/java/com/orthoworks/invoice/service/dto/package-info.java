@@ -0,0 +1,4 @@
+/**
+ * Data Transfer Objects.
+ */
+package com.orthoworks.invoice.service.dto;
@@ -1,14 +1,29 @@
 package com.orthoworks.invoice.web.rest;
 
 import com.orthoworks.invoice.domain.Invoice;
+import com.orthoworks.invoice.domain.InvoiceRevenue;
+import com.orthoworks.invoice.domain.enumeration.InvoiceStatus;
+import com.orthoworks.invoice.domain.enumeration.PaymentMethod;
 import com.orthoworks.invoice.repository.InvoiceRepository;
+import com.orthoworks.invoice.service.InvoiceExportService;
+import com.orthoworks.invoice.service.InvoiceFileFormat;
+import com.orthoworks.invoice.service.InvoiceImportService;
+import com.orthoworks.invoice.service.InvoiceRevenueService;
 import com.orthoworks.invoice.service.InvoiceService;
+import com.orthoworks.invoice.service.dto.InvoiceImportReportDTO;
 import com.orthoworks.invoice.web.rest.errors.BadRequestAlertException;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
@@ -16,6 +31,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -43,9 +59,24 @@ public class InvoiceResource {
 
     private final InvoiceRepository invoiceRepository;
 
-    public InvoiceResource(InvoiceService invoiceService, InvoiceRepository invoiceRepository) {
+    private final InvoiceExportService invoiceExportService;
+
+    private final InvoiceImportService invoiceImportService;
+
+    private final InvoiceRevenueService invoiceRevenueService;
+
+    public InvoiceResource(
+        InvoiceService invoiceService,
+        InvoiceRepository invoiceRepository,
+        InvoiceExportService invoiceExportService,
+        InvoiceImportService invoiceImportService,
+        InvoiceRevenueService invoiceRevenueService
+    ) {
         this.invoiceService = invoiceService;
         this.invoiceRepository = invoiceRepository;
+        this.invoiceExportService = invoiceExportService;
+        this.invoiceImportService = invoiceImportService;
+        this.invoiceRevenueService = invoiceRevenueService;
     }
 
     /**
@@ -68,6 +99,24 @@ public class InvoiceResource {
             .body(result);
     }
 
+    /**
+     * {@code POST  /invoices/import} : Import invoices from a CSV or NDJSON body. The rows are read as they're received, and
+     * the valid ones are saved by chunks, each in its own transaction.
+     *
+     * @param request the request, with the rows in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the report of the import.
+     * @throws IOException if the body couldn't be read.
+     */
+    @PostMapping(value = "/invoices/import", consumes = { "text/csv", "application/x-ndjson" })
+    public ResponseEntity<InvoiceImportReportDTO> importInvoices(HttpServletRequest request) throws IOException {
+        log.debug("REST request to import Invoices from {}", request.getContentType());
+        InvoiceFileFormat format = InvoiceFileFormat
+            .fromContentType(request.getContentType())
+            .orElseThrow(() -> new BadRequestAlertException("Invalid import format", ENTITY_NAME, "formatinvalid"));
+        InvoiceImportReportDTO report = invoiceImportService.importInvoices(format, request.getInputStream());
+        return ResponseEntity.ok().body(report);
+    }
+
     /**
      * {@code PUT  /invoices/:id} : Updates an existing invoice.
      *
@@ -91,11 +140,9 @@ public class InvoiceResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!invoiceRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Invoice result = invoiceService.save(invoice);
+        Invoice result = invoiceService
+            .update(invoice)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, invoice.getId().toString()))
@@ -126,16 +173,13 @@ public class InvoiceResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!invoiceRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
-
-        Optional<Invoice> result = invoiceService.partialUpdate(invoice);
-
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, invoice.getId().toString())
-        );
+        Invoice result = invoiceService
+            .partialUpdate(invoice)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, invoice.getId().toString()))
+            .body(result);
     }
 
     /**
@@ -152,6 +196,61 @@ public class InvoiceResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /invoices/export} : export the invoices, ordered by date. The invoices are streamed to the response as
+     * they're read, instead of being paged.
+     *
+     * @param from the first date of the invoices, inclusive.
+     * @param to the last date of the invoices, exclusive.
+     * @param status the statuses of the invoices, all of them if there's none.
+     * @param paymentMethod the payment methods of the invoices, all of them if there's none.
+     * @param format the format of the export, {@code csv} or {@code ndjson}.
+     * @param response the response the invoices are written to, with status {@code 200 (OK)},
+     * or with status {@code 400 (Bad Request)} if the format is unknown.
+     * @throws IOException if the invoices couldn't be written.
+     */
+    @GetMapping("/invoices/export")
+    public void exportInvoices(
+        @RequestParam(required = false) Instant from,
+        @RequestParam(required = false) Instant to,
+        @RequestParam(required = false, defaultValue = "") Set<InvoiceStatus> status,
+        @RequestParam(required = false, defaultValue = "") Set<PaymentMethod> paymentMethod,
+        @RequestParam(defaultValue = "csv") String format,
+        HttpServletResponse response
+    ) throws IOException {
+        log.debug("REST request to export Invoices as {}", format);
+        InvoiceFileFormat exportFormat;
+        try {
+            exportFormat = InvoiceFileFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid export format", ENTITY_NAME, "formatinvalid");
+        }
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment().filename("invoices." + exportFormat.getExtension()).build().toString()
+        );
+        invoiceExportService.export(from, to, status, paymentMethod, exportFormat, response.getOutputStream());
+    }
+
+    /**
+     * {@code GET  /invoices/stats} : get the revenue of the invoices of a range of days, by day, status and payment method.
+     * It's read from the revenues kept up to date as the invoices change, instead of summing the invoices.
+     *
+     * @param from the first day, inclusive.
+     * @param to the last day, exclusive.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of revenues in body,
+     * or with status {@code 400 (Bad Request)} if the range is invalid.
+     */
+    @GetMapping("/invoices/stats")
+    public ResponseEntity<List<InvoiceRevenue>> getInvoiceStats(@RequestParam LocalDate from, @RequestParam LocalDate to) {
+        log.debug("REST request to get the Invoice stats from {} to {}", from, to);
+        if (from.isAfter(to)) {
+            throw new BadRequestAlertException("Invalid range", ENTITY_NAME, "rangeinvalid");
+        }
+        return ResponseEntity.ok().body(invoiceRevenueService.findAll(from, to));
+    }
+
     /**
      * {@code GET  /invoices/:id} : get the "id" invoice.
      *
@@ -165,6 +264,19 @@ public class InvoiceResource {
         return ResponseUtil.wrapOrNotFound(invoice);
     }
 
+    /**
+     * {@code GET  /invoices/by-code/:code} : get the invoice with the "code" code, for the payment webhooks.
+     *
+     * @param code the code of the invoice to retrieve.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the invoice, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/invoices/by-code/{code}")
+    public ResponseEntity<Invoice> getInvoiceByCode(@PathVariable String code) {
+        log.debug("REST request to get Invoice by code : {}", code);
+        Optional<Invoice> invoice = invoiceService.findOneByCode(code);
+        return ResponseUtil.wrapOrNotFound(invoice);
+    }
+
     /**
      * {@code DELETE  /invoices/:id} : delete the "id" invoice.
      *
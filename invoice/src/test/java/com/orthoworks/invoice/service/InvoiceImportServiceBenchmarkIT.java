@@ -0,0 +1,143 @@
+package com.orthoworks.invoice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.orthoworks.invoice.IntegrationTest;
+import com.orthoworks.invoice.domain.Invoice;
+import com.orthoworks.invoice.domain.enumeration.InvoiceStatus;
+import com.orthoworks.invoice.domain.enumeration.PaymentMethod;
+import com.orthoworks.invoice.repository.InvoiceRepository;
+import com.orthoworks.invoice.repository.InvoiceRevenueRepository;
+import com.orthoworks.invoice.service.dto.InvoiceImportReportDTO;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Measures the rows imported per second by {@link InvoiceImportService}, on the in-memory H2 database of the tests, and
+ * compares it with saving the invoices one by one with {@link InvoiceService#save(Invoice)}, on a hundredth of the rows.
+ * <p>
+ * Run it with {@code ./mvnw verify -Dit.test=InvoiceImportServiceBenchmarkIT -Dbenchmark.rows=1000000} - it may run for
+ * longer than the default timeout of the tests.
+ */
+@IntegrationTest
+@EnabledIfSystemProperty(named = "benchmark.rows", matches = "\\d+")
+class InvoiceImportServiceBenchmarkIT {
+
+    private static final String CSV_HEADER = "code,date,details,status,paymentMethod,paymentDate,paymentAmount\n";
+
+    private final Logger log = LoggerFactory.getLogger(InvoiceImportServiceBenchmarkIT.class);
+
+    @Autowired
+    private InvoiceImportService invoiceImportService;
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private InvoiceRevenueRepository invoiceRevenueRepository;
+
+    @AfterEach
+    void cleanup() {
+        invoiceRepository.deleteAllInBatch();
+        invoiceRevenueRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.MINUTES)
+    void importInvoices() throws Exception {
+        int rows = Integer.parseInt(System.getProperty("benchmark.rows"));
+
+        long start = System.nanoTime();
+        InvoiceImportReportDTO report = invoiceImportService.importInvoices(InvoiceFileFormat.CSV, csvRows(rows));
+        double importedPerSecond = rows / ((System.nanoTime() - start) / 1e9);
+
+        assertThat(report.getImported()).isEqualTo(rows);
+        assertThat(report.getRejected()).isZero();
+
+        int savedRows = Math.max(rows / 100, 1);
+        start = System.nanoTime();
+        for (int row = 1; row <= savedRows; row++) {
+            invoiceService.save(invoice(row).code("SAVED-" + row));
+        }
+        double savedPerSecond = savedRows / ((System.nanoTime() - start) / 1e9);
+
+        log.info(
+            "Imported {} rows at {} rows/s, saved {} rows one by one at {} rows/s",
+            rows,
+            (long) importedPerSecond,
+            savedRows,
+            (long) savedPerSecond
+        );
+    }
+
+    private static Invoice invoice(int row) {
+        return new Invoice()
+            .code("INV-" + row)
+            .date(Instant.ofEpochSecond(row))
+            .details("Invoice " + row)
+            .status(InvoiceStatus.values()[row % InvoiceStatus.values().length])
+            .paymentMethod(PaymentMethod.values()[row % PaymentMethod.values().length])
+            .paymentDate(Instant.ofEpochSecond(row))
+            .paymentAmount(BigDecimal.valueOf(row, 2));
+    }
+
+    /**
+     * @return the CSV rows of the invoices, generated as they're read.
+     */
+    private static InputStream csvRows(int rows) {
+        return new InputStream() {
+            private int row = 0;
+            private byte[] line = CSV_HEADER.getBytes(StandardCharsets.UTF_8);
+            private int position = 0;
+
+            @Override
+            public int read() {
+                byte[] b = new byte[1];
+                return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (position == line.length) {
+                    if (row == rows) {
+                        return -1;
+                    }
+                    row++;
+                    line = csvRow(invoice(row)).getBytes(StandardCharsets.UTF_8);
+                    position = 0;
+                }
+                int read = Math.min(len, line.length - position);
+                System.arraycopy(line, position, b, off, read);
+                position += read;
+                return read;
+            }
+        };
+    }
+
+    private static String csvRow(Invoice invoice) {
+        return String.join(
+            ",",
+            invoice.getCode(),
+            invoice.getDate().toString(),
+            invoice.getDetails(),
+            invoice.getStatus().name(),
+            invoice.getPaymentMethod().name(),
+            invoice.getPaymentDate().toString(),
+            invoice.getPaymentAmount().toPlainString()
+        ) +
+        "\n";
+    }
+}
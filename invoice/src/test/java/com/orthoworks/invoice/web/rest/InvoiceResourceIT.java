@@ -2,7 +2,12 @@ package com.orthoworks.invoice.web.rest;
 
 import static com.orthoworks.invoice.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -11,6 +16,9 @@ import com.orthoworks.invoice.domain.Invoice;
 import com.orthoworks.invoice.domain.enumeration.InvoiceStatus;
 import com.orthoworks.invoice.domain.enumeration.PaymentMethod;
 import com.orthoworks.invoice.repository.InvoiceRepository;
+import com.orthoworks.invoice.service.InvoiceFileFormat;
+import com.orthoworks.invoice.service.InvoiceRevenueService;
+import com.orthoworks.invoice.service.InvoiceService;
 import java.math.BigDecimal;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -22,9 +30,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -58,6 +68,10 @@ class InvoiceResourceIT {
 
     private static final String ENTITY_API_URL = "/api/invoices";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+    private static final String ENTITY_API_URL_CODE = ENTITY_API_URL + "/by-code/{code}";
+
+    private static final String STATS_OF = "$.[?(@.status == '%s' && @.paymentMethod == '%s')].invoiceCount";
+    private static final String REVENUES_OF = "$.[?(@.status == '%s' && @.paymentMethod == '%s')].revenue";
 
     private static Random random = new Random();
     private static AtomicLong count = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
@@ -65,6 +79,12 @@ class InvoiceResourceIT {
     @Autowired
     private InvoiceRepository invoiceRepository;
 
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private InvoiceRevenueService invoiceRevenueService;
+
     @Autowired
     private EntityManager em;
 
@@ -136,6 +156,111 @@ class InvoiceResourceIT {
         assertThat(testInvoice.getPaymentAmount()).isEqualByComparingTo(DEFAULT_PAYMENT_AMOUNT);
     }
 
+    @Test
+    @Transactional
+    void importInvoicesFromCsv() throws Exception {
+        int databaseSizeBeforeImport = invoiceRepository.findAll().size();
+        String csv =
+            "code,date,status,paymentMethod,paymentDate,paymentAmount,details\n" +
+            String.join(",", DEFAULT_CODE, DEFAULT_DATE.toString(), "PAID", "CREDIT_CARD", DEFAULT_PAYMENT_DATE.toString(), "1.50", "") +
+            "\n" +
+            String.join(",", UPDATED_CODE, UPDATED_DATE.toString(), "UNKNOWN", "CREDIT_CARD", UPDATED_PAYMENT_DATE.toString(), "2", "") +
+            "\n" +
+            String.join(",", "", UPDATED_DATE.toString(), "ISSUED", "CREDIT_CARD", UPDATED_PAYMENT_DATE.toString(), "2", "") +
+            "\n" +
+            String.join(
+                ",",
+                UPDATED_CODE,
+                DEFAULT_DATE.toString(),
+                "ISSUED",
+                "CASH_ON_DELIVERY",
+                DEFAULT_PAYMENT_DATE.toString(),
+                "2",
+                "details"
+            ) +
+            "\n";
+
+        // Import the invoices, the rows with an unknown status and without code are rejected
+        restInvoiceMockMvc
+            .perform(post(ENTITY_API_URL + "/import").contentType("text/csv").content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(2))
+            .andExpect(jsonPath("$.rejected").value(2))
+            .andExpect(jsonPath("$.errors[0].row").value(2))
+            .andExpect(jsonPath("$.errors[1].row").value(3))
+            .andExpect(jsonPath("$.errors[1].messages[0]").value(startsWith("code: ")));
+
+        // Validate the Invoices in the database
+        List<Invoice> invoiceList = invoiceRepository.findAll();
+        assertThat(invoiceList).hasSize(databaseSizeBeforeImport + 2);
+        Invoice testInvoice = invoiceList.get(invoiceList.size() - 2);
+        assertThat(testInvoice.getCode()).isEqualTo(DEFAULT_CODE);
+        assertThat(testInvoice.getDate()).isEqualTo(DEFAULT_DATE);
+        assertThat(testInvoice.getDetails()).isNull();
+        assertThat(testInvoice.getStatus()).isEqualTo(InvoiceStatus.PAID);
+        assertThat(testInvoice.getPaymentMethod()).isEqualTo(PaymentMethod.CREDIT_CARD);
+        assertThat(testInvoice.getPaymentDate()).isEqualTo(DEFAULT_PAYMENT_DATE);
+        assertThat(testInvoice.getPaymentAmount()).isEqualByComparingTo(new BigDecimal("1.50"));
+        assertThat(invoiceList.get(invoiceList.size() - 1).getDetails()).isEqualTo("details");
+    }
+
+    @Test
+    @Transactional
+    void importInvoicesFromNdjson() throws Exception {
+        int databaseSizeBeforeImport = invoiceRepository.findAll().size();
+        // the ids are ignored, the invoices are created
+        String ndjson =
+            new String(TestUtil.convertObjectToJsonBytes(invoice.id(1L))) +
+            "\n" +
+            new String(TestUtil.convertObjectToJsonBytes(createUpdatedEntity(em).paymentAmount(null))) +
+            "\n";
+
+        restInvoiceMockMvc
+            .perform(post(ENTITY_API_URL + "/import").contentType("application/x-ndjson").content(ndjson))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.imported").value(1))
+            .andExpect(jsonPath("$.rejected").value(1))
+            .andExpect(jsonPath("$.errors[0].row").value(2))
+            .andExpect(jsonPath("$.errors[0].messages").value(hasItem(startsWith("paymentAmount: "))));
+
+        List<Invoice> invoiceList = invoiceRepository.findAll();
+        assertThat(invoiceList).hasSize(databaseSizeBeforeImport + 1);
+        assertThat(invoiceList.get(invoiceList.size() - 1).getId()).isNotEqualTo(1L);
+        assertThat(invoiceList.get(invoiceList.size() - 1).getCode()).isEqualTo(DEFAULT_CODE);
+    }
+
+    @Test
+    void importInvoicesWithADuplicateCode() throws Exception {
+        // not transactional: the chunk is saved in its own transaction, and its rows again one by one once it fails
+        String row = "," + DEFAULT_DATE + ",PAID,CREDIT_CARD," + DEFAULT_PAYMENT_DATE + ",1,\n";
+        String csv =
+            "code,date,status,paymentMethod,paymentDate,paymentAmount,details\n" +
+            "IMPORT-DUPLICATE-1" +
+            row +
+            "IMPORT-DUPLICATE-1" +
+            row +
+            "IMPORT-DUPLICATE-2" +
+            row;
+
+        try {
+            // only the row with the duplicate code is rejected, with its own error
+            restInvoiceMockMvc
+                .perform(post(ENTITY_API_URL + "/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(2))
+                .andExpect(jsonPath("$.errors[0].messages[0]").value(startsWith("The row couldn't be saved: ")));
+
+            assertThat(invoiceRepository.findOneByCode("IMPORT-DUPLICATE-1")).isPresent();
+            assertThat(invoiceRepository.findOneByCode("IMPORT-DUPLICATE-2")).isPresent();
+        } finally {
+            invoiceRepository.findOneByCode("IMPORT-DUPLICATE-1").ifPresent(invoiceRepository::delete);
+            invoiceRepository.findOneByCode("IMPORT-DUPLICATE-2").ifPresent(invoiceRepository::delete);
+            invoiceRevenueService.rebuild();
+        }
+    }
+
     @Test
     @Transactional
     void createInvoiceWithExistingId() throws Exception {
@@ -277,6 +402,80 @@ class InvoiceResourceIT {
             .andExpect(jsonPath("$.[*].paymentAmount").value(hasItem(sameNumber(DEFAULT_PAYMENT_AMOUNT))));
     }
 
+    @Test
+    @Transactional
+    void exportInvoicesAsCsv() throws Exception {
+        // Initialize the database
+        invoiceRepository.saveAndFlush(invoice);
+        Invoice otherInvoice = invoiceRepository.saveAndFlush(createUpdatedEntity(em));
+
+        // Export the invoices of the default status
+        restInvoiceMockMvc
+            .perform(get(ENTITY_API_URL + "/export?status={status}&format=csv", DEFAULT_STATUS))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"invoices.csv\""))
+            .andExpect(content().string(startsWith(String.join(",", InvoiceFileFormat.CSV_COLUMNS) + "\n")))
+            .andExpect(
+                content()
+                    .string(
+                        containsString(
+                            invoice.getId() +
+                            "," +
+                            DEFAULT_CODE +
+                            "," +
+                            DEFAULT_DATE +
+                            "," +
+                            DEFAULT_DETAILS +
+                            "," +
+                            DEFAULT_STATUS +
+                            "," +
+                            DEFAULT_PAYMENT_METHOD +
+                            "," +
+                            DEFAULT_PAYMENT_DATE +
+                            ","
+                        )
+                    )
+            )
+            .andExpect(content().string(not(containsString(UPDATED_CODE))));
+
+        // Export the invoices of the updated date
+        restInvoiceMockMvc
+            .perform(get(ENTITY_API_URL + "/export?from={from}", UPDATED_DATE))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString(otherInvoice.getId() + "," + UPDATED_CODE + ",")))
+            .andExpect(content().string(not(containsString(DEFAULT_CODE))));
+    }
+
+    @Test
+    @Transactional
+    void exportInvoicesAsNdjson() throws Exception {
+        // Initialize the database
+        invoiceRepository.saveAndFlush(invoice);
+        invoiceRepository.saveAndFlush(createUpdatedEntity(em));
+
+        // Export the invoices of the default payment method, before the updated date
+        MvcResult result = restInvoiceMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/export?paymentMethod={paymentMethod}&to={to}&format=ndjson", DEFAULT_PAYMENT_METHOD, UPDATED_DATE)
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andReturn();
+
+        String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).isNotEmpty();
+        assertThat(lines).allMatch(line -> line.contains("\"paymentMethod\":\"" + DEFAULT_PAYMENT_METHOD + "\""));
+        assertThat(lines).anyMatch(line -> line.startsWith("{\"id\":" + invoice.getId() + ","));
+        assertThat(lines).noneMatch(line -> line.contains(UPDATED_CODE));
+    }
+
+    @Test
+    @Transactional
+    void exportInvoicesWithAnUnknownFormat() throws Exception {
+        restInvoiceMockMvc.perform(get(ENTITY_API_URL + "/export?format=xml")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getInvoice() throws Exception {
@@ -305,6 +504,56 @@ class InvoiceResourceIT {
         restInvoiceMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getInvoiceByCode() throws Exception {
+        // Initialize the database
+        invoiceRepository.saveAndFlush(invoice);
+
+        // Get the invoice twice, the second time by its cached id
+        for (int lookup = 0; lookup < 2; lookup++) {
+            restInvoiceMockMvc
+                .perform(get(ENTITY_API_URL_CODE, DEFAULT_CODE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(jsonPath("$.id").value(invoice.getId().intValue()))
+                .andExpect(jsonPath("$.code").value(DEFAULT_CODE))
+                .andExpect(jsonPath("$.status").value(DEFAULT_STATUS.toString()))
+                .andExpect(jsonPath("$.paymentAmount").value(sameNumber(DEFAULT_PAYMENT_AMOUNT)));
+        }
+    }
+
+    @Test
+    @Transactional
+    void getInvoiceByItsNewCode() throws Exception {
+        // Initialize the database, and cache the id of the invoice
+        invoiceService.save(invoice);
+        restInvoiceMockMvc.perform(get(ENTITY_API_URL_CODE, DEFAULT_CODE)).andExpect(status().isOk());
+
+        // Change the code of the invoice
+        Invoice partialUpdatedInvoice = new Invoice().id(invoice.getId()).code(UPDATED_CODE);
+        restInvoiceMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedInvoice.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedInvoice))
+            )
+            .andExpect(status().isOk());
+
+        // The invoice is only found by its new code
+        restInvoiceMockMvc.perform(get(ENTITY_API_URL_CODE, DEFAULT_CODE)).andExpect(status().isNotFound());
+        restInvoiceMockMvc
+            .perform(get(ENTITY_API_URL_CODE, UPDATED_CODE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(invoice.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingInvoiceByCode() throws Exception {
+        restInvoiceMockMvc.perform(get(ENTITY_API_URL_CODE, "UNKNOWN")).andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     void putNewInvoice() throws Exception {
@@ -553,4 +802,59 @@ class InvoiceResourceIT {
         List<Invoice> invoiceList = invoiceRepository.findAll();
         assertThat(invoiceList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    @Transactional
+    void getInvoiceStats() throws Exception {
+        // Create two invoices of the default day, then cancel one and delete the other
+        Invoice paidInvoice = invoiceService.save(createEntity(em));
+        Invoice deletedInvoice = invoiceService.save(createEntity(em).code(UPDATED_CODE).paymentAmount(UPDATED_PAYMENT_AMOUNT));
+        Invoice cancelledInvoice = new Invoice().id(paidInvoice.getId()).status(InvoiceStatus.CANCELLED);
+        restInvoiceMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, paidInvoice.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(cancelledInvoice))
+            )
+            .andExpect(status().isOk());
+        restInvoiceMockMvc.perform(delete(ENTITY_API_URL_ID, deletedInvoice.getId())).andExpect(status().isNoContent());
+
+        // Get the stats of the default day
+        restInvoiceMockMvc
+            .perform(get(ENTITY_API_URL + "/stats?from=1970-01-01&to=1970-01-02"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].date").value(everyItem(is("1970-01-01"))))
+            .andExpect(jsonPath(STATS_OF, "CANCELLED", DEFAULT_PAYMENT_METHOD.toString()).value(hasItem(1)))
+            .andExpect(
+                jsonPath(REVENUES_OF, "CANCELLED", DEFAULT_PAYMENT_METHOD.toString()).value(hasItem(sameNumber(DEFAULT_PAYMENT_AMOUNT)))
+            )
+            .andExpect(jsonPath(STATS_OF, "PAID", DEFAULT_PAYMENT_METHOD.toString()).value(hasItem(0)))
+            .andExpect(jsonPath(REVENUES_OF, "PAID", DEFAULT_PAYMENT_METHOD.toString()).value(hasItem(sameNumber(BigDecimal.ZERO))));
+    }
+
+    @Test
+    @Transactional
+    void rebuildInvoiceStats() throws Exception {
+        // Initialize the database without counting the invoices
+        invoiceRepository.saveAndFlush(invoice);
+        invoiceRepository.saveAndFlush(createEntity(em).code(UPDATED_CODE).paymentAmount(UPDATED_PAYMENT_AMOUNT));
+
+        invoiceRevenueService.rebuild();
+
+        restInvoiceMockMvc
+            .perform(get(ENTITY_API_URL + "/stats?from=1970-01-01&to=1970-01-02"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath(STATS_OF, DEFAULT_STATUS.toString(), DEFAULT_PAYMENT_METHOD.toString()).value(hasItem(2)))
+            .andExpect(
+                jsonPath(REVENUES_OF, DEFAULT_STATUS.toString(), DEFAULT_PAYMENT_METHOD.toString())
+                    .value(hasItem(sameNumber(DEFAULT_PAYMENT_AMOUNT.add(UPDATED_PAYMENT_AMOUNT))))
+            );
+    }
+
+    @Test
+    @Transactional
+    void getInvoiceStatsOfAnInvalidRange() throws Exception {
+        restInvoiceMockMvc.perform(get(ENTITY_API_URL + "/stats?from=1970-01-02&to=1970-01-01")).andExpect(status().isBadRequest());
+    }
 }
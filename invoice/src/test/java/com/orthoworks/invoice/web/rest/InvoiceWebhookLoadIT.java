@@ -0,0 +1,126 @@
+package com.orthoworks.invoice.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import com.orthoworks.invoice.IntegrationTest;
+import com.orthoworks.invoice.domain.Invoice;
+import com.orthoworks.invoice.repository.InvoiceRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Simulates a storm of payment webhooks, each looking its invoice up by code, and checks that every code is resolved
+ * by a single query, even by concurrent first lookups: the repeated lookups of the same invoices read them by their
+ * cached id.
+ * <p>
+ * The webhooks are sent by a pool of {@link #WEBHOOK_THREADS} threads, over {@link #INVOICES} invoices, and their
+ * throughput is logged. Run a bigger storm with {@code ./mvnw verify -Dit.test=InvoiceWebhookLoadIT -Dwebhook.lookups=100000},
+ * which may take longer than the default timeout of the tests.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+class InvoiceWebhookLoadIT {
+
+    private static final int INVOICES = 20;
+
+    private static final int WEBHOOK_THREADS = 8;
+
+    private static final String CODE_PREFIX = "WEBHOOK-";
+
+    private final Logger log = LoggerFactory.getLogger(InvoiceWebhookLoadIT.class);
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restInvoiceMockMvc;
+
+    private List<Invoice> invoices;
+
+    @BeforeEach
+    void setup() {
+        invoices =
+            invoiceRepository.saveAll(
+                IntStream
+                    .range(0, INVOICES)
+                    .mapToObj(invoice -> InvoiceResourceIT.createEntity(em).code(CODE_PREFIX + invoice))
+                    .collect(Collectors.toList())
+            );
+        Objects.requireNonNull(cacheManager.getCache(InvoiceRepository.INVOICE_IDS_BY_CODE_CACHE)).clear();
+    }
+
+    @AfterEach
+    void cleanup() {
+        invoiceRepository.deleteAllInBatch(invoices);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.MINUTES)
+    void testWebhookStormResolvesEachCodeOnce() throws Exception {
+        int lookups = Integer.getInteger("webhook.lookups", 2000);
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        ExecutorService webhooks = Executors.newFixedThreadPool(WEBHOOK_THREADS);
+        try {
+            long start = System.nanoTime();
+            List<Future<Integer>> statuses = new ArrayList<>(lookups);
+            for (int lookup = 0; lookup < lookups; lookup++) {
+                String code = CODE_PREFIX + (lookup % INVOICES);
+                statuses.add(
+                    webhooks.submit(() ->
+                        restInvoiceMockMvc
+                            .perform(get("/api/invoices/by-code/{code}", code).with(user("webhook")))
+                            .andReturn()
+                            .getResponse()
+                            .getStatus()
+                    )
+                );
+            }
+            for (Future<Integer> status : statuses) {
+                assertThat(status.get(1, TimeUnit.MINUTES)).isEqualTo(HttpStatus.OK.value());
+            }
+            double lookupsPerSecond = lookups / ((System.nanoTime() - start) / 1e9);
+
+            log.info(
+                "Looked {} invoices up by code at {} lookups/s, with {} queries by code",
+                lookups,
+                (long) lookupsPerSecond,
+                statistics.getQueryExecutionCount()
+            );
+            assertThat(statistics.getQueryExecutionCount()).isEqualTo(INVOICES);
+        } finally {
+            webhooks.shutdownNow();
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package com.orthoworks.store.config;
 
+import com.orthoworks.store.repository.CountStrategy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Orthoworks.
@@ -9,4 +16,380 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  * See {@link tech.jhipster.config.JHipsterProperties} for a good example.
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
-public class ApplicationProperties {}
+public class ApplicationProperties {
+
+    private final Pagination pagination = new Pagination();
+
+    private final Streaming streaming = new Streaming();
+
+    private final Bulk bulk = new Bulk();
+
+    private final Security security = new Security();
+
+    private final Cache cache = new Cache();
+
+    private final RateLimiting rateLimiting = new RateLimiting();
+
+    private final Coalescing coalescing = new Coalescing();
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public Streaming getStreaming() {
+        return streaming;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public Security getSecurity() {
+        return security;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public RateLimiting getRateLimiting() {
+        return rateLimiting;
+    }
+
+    public Coalescing getCoalescing() {
+        return coalescing;
+    }
+
+    public static class Pagination {
+
+        private final Count count = new Count();
+
+        public Count getCount() {
+            return count;
+        }
+
+        public static class Count {
+
+            private CountStrategy defaultStrategy = CountStrategy.EXACT;
+
+            private Map<String, CountStrategy> strategies = new HashMap<>();
+
+            private Duration cacheTimeToLive = Duration.ofSeconds(30);
+
+            public CountStrategy getDefaultStrategy() {
+                return defaultStrategy;
+            }
+
+            public void setDefaultStrategy(CountStrategy defaultStrategy) {
+                this.defaultStrategy = defaultStrategy;
+            }
+
+            public Map<String, CountStrategy> getStrategies() {
+                return strategies;
+            }
+
+            public void setStrategies(Map<String, CountStrategy> strategies) {
+                this.strategies = strategies;
+            }
+
+            public Duration getCacheTimeToLive() {
+                return cacheTimeToLive;
+            }
+
+            public void setCacheTimeToLive(Duration cacheTimeToLive) {
+                this.cacheTimeToLive = cacheTimeToLive;
+            }
+        }
+    }
+
+    public static class Streaming {
+
+        private int prefetch = 256;
+
+        public int getPrefetch() {
+            return prefetch;
+        }
+
+        public void setPrefetch(int prefetch) {
+            this.prefetch = prefetch;
+        }
+    }
+
+    public static class Bulk {
+
+        private int chunkSize = 500;
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    public static class Security {
+
+        private boolean gatewayClaimsEnabled = false;
+
+        private final PasswordHashing passwordHashing = new PasswordHashing();
+
+        public boolean isGatewayClaimsEnabled() {
+            return gatewayClaimsEnabled;
+        }
+
+        public void setGatewayClaimsEnabled(boolean gatewayClaimsEnabled) {
+            this.gatewayClaimsEnabled = gatewayClaimsEnabled;
+        }
+
+        public PasswordHashing getPasswordHashing() {
+            return passwordHashing;
+        }
+
+        public static class PasswordHashing {
+
+            private int threadCap = Runtime.getRuntime().availableProcessors();
+
+            private int queueCapacity = 100;
+
+            public int getThreadCap() {
+                return threadCap;
+            }
+
+            public void setThreadCap(int threadCap) {
+                this.threadCap = threadCap;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+        }
+    }
+
+    public static class Cache {
+
+        private final Users users = new Users();
+
+        private final Responses responses = new Responses();
+
+        public Users getUsers() {
+            return users;
+        }
+
+        public Responses getResponses() {
+            return responses;
+        }
+
+        public static class Users {
+
+            private Duration timeToLive = Duration.ofSeconds(60);
+
+            private int maxEntries = 10000;
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+        }
+
+        public static class Responses {
+
+            private Duration timeToLive = Duration.ofSeconds(10);
+
+            private Duration staleWhileRevalidate = Duration.ofSeconds(60);
+
+            private int maxEntries = 1000;
+
+            private DataSize maxEntrySize = DataSize.ofMegabytes(1);
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getStaleWhileRevalidate() {
+                return staleWhileRevalidate;
+            }
+
+            public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+                this.staleWhileRevalidate = staleWhileRevalidate;
+            }
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public DataSize getMaxEntrySize() {
+                return maxEntrySize;
+            }
+
+            public void setMaxEntrySize(DataSize maxEntrySize) {
+                this.maxEntrySize = maxEntrySize;
+            }
+        }
+    }
+
+    public static class RateLimiting {
+
+        private boolean enabled = false;
+
+        private long maxBuckets = 100000;
+
+        private List<String> trustedProxies = new ArrayList<>();
+
+        private List<Rule> rules = new ArrayList<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxBuckets() {
+            return maxBuckets;
+        }
+
+        public void setMaxBuckets(long maxBuckets) {
+            this.maxBuckets = maxBuckets;
+        }
+
+        public List<String> getTrustedProxies() {
+            return trustedProxies;
+        }
+
+        public void setTrustedProxies(List<String> trustedProxies) {
+            this.trustedProxies = trustedProxies;
+        }
+
+        public List<Rule> getRules() {
+            return rules;
+        }
+
+        public void setRules(List<Rule> rules) {
+            this.rules = rules;
+        }
+
+        public static class Rule {
+
+            private String name;
+
+            private List<String> paths = new ArrayList<>();
+
+            private Limit route;
+
+            private Limit user;
+
+            private Limit ip;
+
+            public String getName() {
+                return name;
+            }
+
+            public void setName(String name) {
+                this.name = name;
+            }
+
+            public List<String> getPaths() {
+                return paths;
+            }
+
+            public void setPaths(List<String> paths) {
+                this.paths = paths;
+            }
+
+            public Limit getRoute() {
+                return route;
+            }
+
+            public void setRoute(Limit route) {
+                this.route = route;
+            }
+
+            public Limit getUser() {
+                return user;
+            }
+
+            public void setUser(Limit user) {
+                this.user = user;
+            }
+
+            public Limit getIp() {
+                return ip;
+            }
+
+            public void setIp(Limit ip) {
+                this.ip = ip;
+            }
+        }
+
+        public static class Limit {
+
+            private long capacity;
+
+            private Duration period = Duration.ofMinutes(1);
+
+            public long getCapacity() {
+                return capacity;
+            }
+
+            public void setCapacity(long capacity) {
+                this.capacity = capacity;
+            }
+
+            public Duration getPeriod() {
+                return period;
+            }
+
+            public void setPeriod(Duration period) {
+                this.period = period;
+            }
+        }
+    }
+
+    public static class Coalescing {
+
+        private boolean enabled = true;
+
+        private Map<String, Boolean> repositories = new HashMap<>();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Map<String, Boolean> getRepositories() {
+            return repositories;
+        }
+
+        public void setRepositories(Map<String, Boolean> repositories) {
+            this.repositories = repositories;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.orthoworks.store.config;
 
+import com.orthoworks.store.repository.UserCache;
+import com.orthoworks.store.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
@@ -8,4 +11,11 @@ import org.springframework.context.annotation.*;
 
 @Configuration
 @EnableCaching
-public class CacheConfiguration {}
+public class CacheConfiguration {
+
+    @Bean
+    public UserCache userCache(UserRepository userRepository, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Cache.Users users = applicationProperties.getCache().getUsers();
+        return new UserCache(userRepository, users.getTimeToLive(), users.getMaxEntries(), meterRegistry);
+    }
+}
@@ -1,5 +1,8 @@
 package com.orthoworks.store.config;
 
+import com.orthoworks.store.repository.EntityCounter;
+import com.orthoworks.store.repository.RequestCoalescer;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.r2dbc.spi.ConnectionFactory;
 import java.sql.SQLException;
 import java.time.Duration;
@@ -24,6 +27,7 @@ import org.springframework.data.convert.ReadingConverter;
 import org.springframework.data.convert.WritingConverter;
 import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
 import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.core.ReactiveDataAccessStrategy;
 import org.springframework.data.r2dbc.dialect.DialectResolver;
 import org.springframework.data.r2dbc.dialect.R2dbcDialect;
@@ -107,6 +111,30 @@ public class DatabaseConfiguration {
         return SqlRenderer.create(factory.createRenderContext());
     }
 
+    @Bean
+    public EntityCounter entityCounter(
+        R2dbcEntityTemplate r2dbcEntityTemplate,
+        SqlRenderer sqlRenderer,
+        R2dbcDialect dialect,
+        ApplicationProperties applicationProperties
+    ) {
+        ApplicationProperties.Pagination.Count count = applicationProperties.getPagination().getCount();
+        return new EntityCounter(
+            r2dbcEntityTemplate,
+            sqlRenderer,
+            dialect,
+            count.getDefaultStrategy(),
+            count.getStrategies(),
+            count.getCacheTimeToLive()
+        );
+    }
+
+    @Bean
+    public RequestCoalescer requestCoalescer(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.Coalescing coalescing = applicationProperties.getCoalescing();
+        return new RequestCoalescer(coalescing.isEnabled(), coalescing.getRepositories(), meterRegistry);
+    }
+
     @WritingConverter
     public enum InstantWriteConverter implements Converter<Instant, LocalDateTime> {
         INSTANCE;
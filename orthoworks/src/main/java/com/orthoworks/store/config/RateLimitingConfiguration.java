@@ -0,0 +1,82 @@
+package com.orthoworks.store.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.orthoworks.store.web.filter.RateLimitingFilter;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Refill;
+import io.github.bucket4j.grid.jcache.JCacheProxyManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.expiry.AccessedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Limits the rate of the requests, with token buckets kept in a local Caffeine JCache.
+ * <p>
+ * The buckets which aren't used for an hour are dropped, as well as the least used buckets, once there are more than
+ * {@code application.rate-limiting.max-buckets} of them.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.rate-limiting", name = "enabled", havingValue = "true")
+public class RateLimitingConfiguration {
+
+    private static final String BUCKETS_CACHE_NAME = "rate-limiting-buckets";
+
+    private final Logger log = LoggerFactory.getLogger(RateLimitingConfiguration.class);
+
+    private final ApplicationProperties.RateLimiting rateLimiting;
+
+    public RateLimitingConfiguration(ApplicationProperties applicationProperties) {
+        this.rateLimiting = applicationProperties.getRateLimiting();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager rateLimitingCacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+    }
+
+    @Bean
+    public RateLimitingFilter rateLimitingFilter(CacheManager rateLimitingCacheManager, MeterRegistry meterRegistry) {
+        CaffeineConfiguration<String, byte[]> configuration = new CaffeineConfiguration<>();
+        configuration.setTypes(String.class, byte[].class);
+        configuration.setStoreByValue(false);
+        configuration.setMaximumSize(OptionalLong.of(rateLimiting.getMaxBuckets()));
+        configuration.setExpiryPolicyFactory(AccessedExpiryPolicy.factoryOf(new Duration(TimeUnit.HOURS, 1)));
+        Cache<String, byte[]> buckets = rateLimitingCacheManager.createCache(BUCKETS_CACHE_NAME, configuration);
+
+        List<RateLimitingFilter.Rule> rules = rateLimiting
+            .getRules()
+            .stream()
+            .map(rule ->
+                new RateLimitingFilter.Rule(
+                    rule.getName(),
+                    rule.getPaths(),
+                    toBandwidth(rule.getRoute()),
+                    toBandwidth(rule.getUser()),
+                    toBandwidth(rule.getIp())
+                )
+            )
+            .collect(Collectors.toList());
+        log.debug("Limiting the rate of the requests with {} rules", rules.size());
+        return new RateLimitingFilter(rules, rateLimiting.getTrustedProxies(), new JCacheProxyManager<>(buckets), meterRegistry);
+    }
+
+    private static Bandwidth toBandwidth(ApplicationProperties.RateLimiting.Limit limit) {
+        if (limit == null) {
+            return null;
+        }
+        return Bandwidth.classic(limit.getCapacity(), Refill.greedy(limit.getCapacity(), limit.getPeriod()));
+    }
+}
@@ -3,9 +3,12 @@ package com.orthoworks.store.config;
 import static org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers.pathMatchers;
 
 import com.orthoworks.store.security.AuthoritiesConstants;
+import com.orthoworks.store.security.PasswordHasher;
 import com.orthoworks.store.security.jwt.JWTFilter;
+import com.orthoworks.store.security.jwt.JWTRelayGatewayFilterFactory;
 import com.orthoworks.store.security.jwt.TokenProvider;
 import com.orthoworks.store.web.filter.SpaWebFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.HttpMethod;
@@ -32,22 +35,30 @@ public class SecurityConfiguration {
 
     private final JHipsterProperties jHipsterProperties;
 
+    private final ApplicationProperties applicationProperties;
+
     private final ReactiveUserDetailsService userDetailsService;
 
     private final TokenProvider tokenProvider;
 
     private final SecurityProblemSupport problemSupport;
 
+    private final MeterRegistry meterRegistry;
+
     public SecurityConfiguration(
         ReactiveUserDetailsService userDetailsService,
         TokenProvider tokenProvider,
         JHipsterProperties jHipsterProperties,
-        SecurityProblemSupport problemSupport
+        ApplicationProperties applicationProperties,
+        SecurityProblemSupport problemSupport,
+        MeterRegistry meterRegistry
     ) {
         this.userDetailsService = userDetailsService;
         this.tokenProvider = tokenProvider;
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
         this.problemSupport = problemSupport;
+        this.meterRegistry = meterRegistry;
     }
 
     @Bean
@@ -55,13 +66,27 @@ public class SecurityConfiguration {
         return new BCryptPasswordEncoder();
     }
 
+    @Bean
+    public PasswordHasher passwordHasher() {
+        ApplicationProperties.Security.PasswordHashing passwordHashing = applicationProperties.getSecurity().getPasswordHashing();
+        return new PasswordHasher(passwordEncoder(), passwordHashing.getThreadCap(), passwordHashing.getQueueCapacity(), meterRegistry);
+    }
+
     @Bean
     public ReactiveAuthenticationManager reactiveAuthenticationManager() {
         UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(
             userDetailsService
         );
-        authenticationManager.setPasswordEncoder(passwordEncoder());
-        return authenticationManager;
+        // the passwords are checked on the bounded password hashing scheduler, instead of the shared bounded elastic one
+        PasswordHasher passwordHasher = passwordHasher();
+        authenticationManager.setPasswordEncoder(passwordHasher.getPasswordEncoder());
+        authenticationManager.setScheduler(passwordHasher.getScheduler());
+        return authentication -> authenticationManager.authenticate(authentication).doOnError(passwordHasher::trackRejected);
+    }
+
+    @Bean
+    public JWTRelayGatewayFilterFactory jwtRelayGatewayFilterFactory() {
+        return new JWTRelayGatewayFilterFactory(tokenProvider, applicationProperties.getSecurity().isGatewayClaimsEnabled());
     }
 
     @Bean
@@ -1,7 +1,14 @@
 package com.orthoworks.store.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.orthoworks.store.web.filter.ResponseCacheFilter;
+import com.orthoworks.store.web.util.BulkInserter;
+import com.orthoworks.store.web.util.ResponseCache;
+import com.orthoworks.store.web.util.StreamingJsonEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import javax.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.web.reactive.ResourceHandlerRegistrationCustomizer;
@@ -13,6 +20,8 @@ import org.springframework.core.env.Environment;
 import org.springframework.core.env.Profiles;
 import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
 import org.springframework.data.web.ReactiveSortHandlerMethodArgumentResolver;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsWebFilter;
@@ -37,8 +46,19 @@ public class WebConfigurer implements WebFluxConfigurer {
 
     private final JHipsterProperties jHipsterProperties;
 
-    public WebConfigurer(Environment env, JHipsterProperties jHipsterProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    private final ObjectMapper objectMapper;
+
+    public WebConfigurer(
+        Environment env,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        ObjectMapper objectMapper
+    ) {
         this.jHipsterProperties = jHipsterProperties;
+        this.applicationProperties = applicationProperties;
+        this.objectMapper = objectMapper;
         if (env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT))) {
             try {
                 H2ConfigurationHelper.initH2Console();
@@ -66,6 +86,41 @@ public class WebConfigurer implements WebFluxConfigurer {
         return new CorsWebFilter(source);
     }
 
+    /**
+     * Streams the {@link reactor.core.publisher.Flux} response bodies - as a JSON array or as NDJSON - instead of collecting
+     * them first, see {@link StreamingJsonEncoder}.
+     */
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new StreamingJsonEncoder(objectMapper, applicationProperties.getStreaming().getPrefetch()));
+    }
+
+    @Bean
+    public BulkInserter bulkInserter(Validator validator, TransactionalOperator transactionalOperator) {
+        return new BulkInserter(validator, transactionalOperator, applicationProperties.getBulk().getChunkSize());
+    }
+
+    @Bean
+    public ResponseCache responseCache(MeterRegistry meterRegistry) {
+        ApplicationProperties.Cache.Responses responses = applicationProperties.getCache().getResponses();
+        return new ResponseCache(
+            responses.getTimeToLive(),
+            responses.getStaleWhileRevalidate(),
+            responses.getMaxEntries(),
+            responses.getMaxEntrySize().toBytes(),
+            meterRegistry
+        );
+    }
+
+    /**
+     * Caches the responses of the public catalog, the collections and the features, which are invalidated by their
+     * resources.
+     */
+    @Bean
+    public ResponseCacheFilter responseCacheFilter(ResponseCache responseCache) {
+        return new ResponseCacheFilter(responseCache, List.of("/api/collections/**", "/api/features/**"));
+    }
+
     // TODO: remove when this is supported in spring-boot
     @Bean
     HandlerMethodArgumentResolver reactivePageableHandlerMethodArgumentResolver() {
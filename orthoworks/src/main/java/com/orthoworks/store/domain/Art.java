@@ -9,6 +9,7 @@ import java.util.Set;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -41,6 +42,13 @@ public class Art implements Serializable {
     @Column("type")
     private Type type;
 
+    /**
+     * Incremented by every update, see {@link com.orthoworks.store.repository.EntityManager#update}.
+     */
+    @Version
+    @Column("version")
+    private Long version;
+
     @Transient
     @JsonIgnoreProperties(value = { "features", "arts" }, allowSetters = true)
     private Set<Collection> collections = new HashSet<>();
@@ -112,6 +120,19 @@ public class Art implements Serializable {
         this.type = type;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Art version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Set<Collection> getCollections() {
         return this.collections;
     }
@@ -165,6 +186,7 @@ public class Art implements Serializable {
             ", handle='" + getHandle() + "'" +
             ", assetType='" + getAssetType() + "'" +
             ", type='" + getType() + "'" +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -42,6 +42,12 @@ public class Brand implements Serializable {
     @Column("image_content_type")
     private String imageContentType;
 
+    /**
+     * The size of the image in bytes, it's also set by the list queries, which don't select the image itself.
+     */
+    @Transient
+    private Long imageSize;
+
     @Column("rating")
     private Integer rating;
 
@@ -147,6 +153,19 @@ public class Brand implements Serializable {
         this.imageContentType = imageContentType;
     }
 
+    public Long getImageSize() {
+        return this.imageSize;
+    }
+
+    public Brand imageSize(Long imageSize) {
+        this.setImageSize(imageSize);
+        return this;
+    }
+
+    public void setImageSize(Long imageSize) {
+        this.imageSize = imageSize;
+    }
+
     public Integer getRating() {
         return this.rating;
     }
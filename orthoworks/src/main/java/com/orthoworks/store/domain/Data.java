@@ -31,6 +31,12 @@ public class Data implements Serializable {
     @Column("file_content_type")
     private String fileContentType;
 
+    /**
+     * The size of the file in bytes, it's also set by the list queries, which don't select the file itself.
+     */
+    @Transient
+    private Long fileSize;
+
     @Transient
     @JsonIgnoreProperties(value = { "data", "collection", "result" }, allowSetters = true)
     private Transaction transaction;
@@ -92,6 +98,19 @@ public class Data implements Serializable {
         this.fileContentType = fileContentType;
     }
 
+    public Long getFileSize() {
+        return this.fileSize;
+    }
+
+    public Data fileSize(Long fileSize) {
+        this.setFileSize(fileSize);
+        return this;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
     public Transaction getTransaction() {
         return this.transaction;
     }
@@ -1,6 +1,7 @@
 package com.orthoworks.store.repository;
 
 import com.orthoworks.store.domain.Address;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -46,4 +47,19 @@ interface AddressRepositoryInternal {
     Mono<Address> findById(Long id);
 
     Flux<Address> findAllBy(Pageable pageable, Criteria criteria);
+
+    Mono<Page<Address>> findPageBy(Pageable pageable);
+
+    /**
+     * Updates all the columns of the address with a single statement, see {@link EntityManager#update}.
+     *
+     * @param address the address, with its id.
+     * @return the updated address, or an empty {@link Mono} if no address has the id.
+     */
+    Mono<Address> update(Address address);
+
+    /**
+     * Like {@link #update(Address)}, but only the non-null columns are updated.
+     */
+    Mono<Address> updateNonNull(Address address);
 }
@@ -13,6 +13,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -76,19 +77,43 @@ class AddressRepositoryInternalImpl extends SimpleR2dbcRepository<Address, Long>
         return createQuery(pageable, criteria).all();
     }
 
+    @Override
+    public Mono<Page<Address>> findPageBy(Pageable pageable) {
+        return entityManager.createPage(
+            additionalColumns -> createQuery(pageable, null, additionalColumns),
+            this::process,
+            Address.class,
+            pageable,
+            null
+        );
+    }
+
     RowsFetchSpec<Address> createQuery(Pageable pageable, Criteria criteria) {
+        return createQuery(pageable, criteria, List.of()).map(this::process);
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, Criteria criteria, List<Expression> additionalColumns) {
+        return entityManager.createQuery(
+            Address.class,
+            EntityManager.QueryShape.FULL,
+            additionalColumns,
+            () -> createSelectFrom(additionalColumns),
+            pageable,
+            criteria
+        );
+    }
+
+    private SelectFromAndJoinCondition createSelectFrom(List<Expression> additionalColumns) {
         List<Expression> columns = AddressSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(CustomerSqlHelper.getColumns(customerTable, "customer"));
-        SelectFromAndJoinCondition selectFrom = Select
+        columns.addAll(additionalColumns);
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(customerTable)
             .on(Column.create("customer_id", entityTable))
             .equals(Column.create("id", customerTable));
-
-        String select = entityManager.createSelect(selectFrom, Address.class, pageable, criteria);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -102,8 +127,8 @@ class AddressRepositoryInternalImpl extends SimpleR2dbcRepository<Address, Long>
     }
 
     private Address process(Row row, RowMetadata metadata) {
-        Address entity = addressMapper.apply(row, "e");
-        entity.setCustomer(customerMapper.apply(row, "customer"));
+        Address entity = addressMapper.apply(row, metadata, "e");
+        entity.setCustomer(customerMapper.apply(row, metadata, "customer"));
         return entity;
     }
 
@@ -111,4 +136,14 @@ class AddressRepositoryInternalImpl extends SimpleR2dbcRepository<Address, Long>
     public <S extends Address> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Address> update(Address address) {
+        return entityManager.update(address, false, null, () -> findById(address.getId()));
+    }
+
+    @Override
+    public Mono<Address> updateNonNull(Address address) {
+        return entityManager.update(address, true, null, () -> findById(address.getId()));
+    }
 }
@@ -1,6 +1,8 @@
 package com.orthoworks.store.repository;
 
 import com.orthoworks.store.domain.Art;
+import java.util.List;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -26,6 +28,9 @@ public interface ArtRepository extends ReactiveCrudRepository<Art, Long>, ArtRep
     @Override
     Flux<Art> findAllWithEagerRelationships(Pageable page);
 
+    @Override
+    Mono<Page<Art>> findPageWithEagerRelationships(Pageable page);
+
     @Query(
         "SELECT entity.* FROM art entity JOIN rel_art__collection joinTable ON entity.id = joinTable.art_id WHERE joinTable.collection_id = :id"
     )
@@ -47,6 +52,8 @@ public interface ArtRepository extends ReactiveCrudRepository<Art, Long>, ArtRep
 interface ArtRepositoryInternal {
     <S extends Art> Mono<S> save(S entity);
 
+    <S extends Art> Flux<S> insertAll(List<S> entities);
+
     Flux<Art> findAllBy(Pageable pageable);
 
     Flux<Art> findAll();
@@ -55,11 +62,35 @@ interface ArtRepositoryInternal {
 
     Flux<Art> findAllBy(Pageable pageable, Criteria criteria);
 
+    Mono<Page<Art>> findPageBy(Pageable pageable);
+
     Mono<Art> findOneWithEagerRelationships(Long id);
 
+    /**
+     * Like {@link #findOneWithEagerRelationships(Long)}, but the concurrent lookups of the same id share a single query, see
+     * {@link RequestCoalescer}. The art is shared, it must not be modified.
+     */
+    Mono<Art> findOneWithEagerRelationshipsCoalesced(Long id);
+
     Flux<Art> findAllWithEagerRelationships();
 
     Flux<Art> findAllWithEagerRelationships(Pageable page);
 
+    Mono<Page<Art>> findPageWithEagerRelationships(Pageable page);
+
     Mono<Void> deleteById(Long id);
+
+    /**
+     * Updates all the columns of the art with a single statement, see {@link EntityManager#update}, and its collections.
+     *
+     * @param art the art, with its id.
+     * @param expectedVersion the version the art must have, or {@code null} to update it whatever its version.
+     * @return the updated art, or an empty {@link Mono} if no art has the id - and the expected version.
+     */
+    Mono<Art> update(Art art, Long expectedVersion);
+
+    /**
+     * Like {@link #update(Art, Long)}, but only the non-null columns are updated, and the collections are left as is.
+     */
+    Mono<Art> updateNonNull(Art art, Long expectedVersion);
 }
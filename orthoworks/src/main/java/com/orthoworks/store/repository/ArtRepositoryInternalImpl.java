@@ -8,6 +8,7 @@ import com.orthoworks.store.domain.Collection;
 import com.orthoworks.store.domain.enumeration.AssetType;
 import com.orthoworks.store.domain.enumeration.Type;
 import com.orthoworks.store.repository.rowmapper.ArtRowMapper;
+import com.orthoworks.store.repository.rowmapper.CollectionRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.util.ArrayList;
@@ -16,6 +17,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -42,10 +44,13 @@ class ArtRepositoryInternalImpl extends SimpleR2dbcRepository<Art, Long> impleme
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final RequestCoalescer requestCoalescer;
 
     private final ArtRowMapper artMapper;
+    private final CollectionRowMapper collectionMapper;
 
     private static final Table entityTable = Table.aliased("art", EntityManager.ENTITY_ALIAS);
+    private static final Table collectionTable = Table.aliased("collection", "collection");
 
     private static final EntityManager.LinkTable collectionLink = new EntityManager.LinkTable(
         "rel_art__collection",
@@ -56,7 +61,9 @@ class ArtRepositoryInternalImpl extends SimpleR2dbcRepository<Art, Long> impleme
     public ArtRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
+        RequestCoalescer requestCoalescer,
         ArtRowMapper artMapper,
+        CollectionRowMapper collectionMapper,
         R2dbcEntityOperations entityOperations,
         R2dbcConverter converter
     ) {
@@ -68,7 +75,9 @@ class ArtRepositoryInternalImpl extends SimpleR2dbcRepository<Art, Long> impleme
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
+        this.requestCoalescer = requestCoalescer;
         this.artMapper = artMapper;
+        this.collectionMapper = collectionMapper;
     }
 
     @Override
@@ -81,12 +90,36 @@ class ArtRepositoryInternalImpl extends SimpleR2dbcRepository<Art, Long> impleme
         return createQuery(pageable, criteria).all();
     }
 
+    @Override
+    public Mono<Page<Art>> findPageBy(Pageable pageable) {
+        return entityManager.createPage(
+            additionalColumns -> createQuery(pageable, null, additionalColumns),
+            this::process,
+            Art.class,
+            pageable,
+            null
+        );
+    }
+
     RowsFetchSpec<Art> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = ArtSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+        return createQuery(pageable, criteria, List.of()).map(this::process);
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, Criteria criteria, List<Expression> additionalColumns) {
+        return entityManager.createQuery(
+            Art.class,
+            EntityManager.QueryShape.FULL,
+            additionalColumns,
+            () -> createSelectFrom(additionalColumns),
+            pageable,
+            criteria
+        );
+    }
 
-        String select = entityManager.createSelect(selectFrom, Art.class, pageable, criteria);
-        return db.sql(select).map(this::process);
+    private SelectFromAndJoin createSelectFrom(List<Expression> additionalColumns) {
+        List<Expression> columns = ArtSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(additionalColumns);
+        return Select.builder().select(columns).from(entityTable);
     }
 
     @Override
@@ -101,21 +134,43 @@ class ArtRepositoryInternalImpl extends SimpleR2dbcRepository<Art, Long> impleme
 
     @Override
     public Mono<Art> findOneWithEagerRelationships(Long id) {
-        return findById(id);
+        return fetchRelationships(findById(id).flux()).next();
+    }
+
+    @Override
+    public Mono<Art> findOneWithEagerRelationshipsCoalesced(Long id) {
+        return requestCoalescer.coalesce("art", id, () -> findOneWithEagerRelationships(id));
     }
 
     @Override
     public Flux<Art> findAllWithEagerRelationships() {
-        return findAll();
+        return fetchRelationships(findAll());
     }
 
     @Override
     public Flux<Art> findAllWithEagerRelationships(Pageable page) {
-        return findAllBy(page);
+        return fetchRelationships(findAllBy(page));
+    }
+
+    @Override
+    public Mono<Page<Art>> findPageWithEagerRelationships(Pageable page) {
+        return findPageBy(page).flatMap(result -> fetchRelationships(Flux.fromIterable(result.getContent())).then(Mono.just(result)));
+    }
+
+    private Flux<Art> fetchRelationships(Flux<Art> entities) {
+        return entityManager.fetchLinkedEntities(
+            entities,
+            Art::getId,
+            collectionLink,
+            collectionTable,
+            CollectionSqlHelper.getColumns(collectionTable, "collection"),
+            (row, metadata) -> collectionMapper.apply(row, metadata, "collection"),
+            (art, collection) -> art.getCollections().add(collection)
+        );
     }
 
     private Art process(Row row, RowMetadata metadata) {
-        Art entity = artMapper.apply(row, "e");
+        Art entity = artMapper.apply(row, metadata, "e");
         return entity;
     }
 
@@ -124,6 +179,23 @@ class ArtRepositoryInternalImpl extends SimpleR2dbcRepository<Art, Long> impleme
         return super.save(entity).flatMap((S e) -> updateRelations(e));
     }
 
+    @Override
+    public Mono<Art> update(Art art, Long expectedVersion) {
+        return entityManager
+            .update(art, false, expectedVersion, () -> findById(art.getId()))
+            .flatMap(updated -> updateRelations(updated.collections(art.getCollections())));
+    }
+
+    @Override
+    public Mono<Art> updateNonNull(Art art, Long expectedVersion) {
+        return entityManager.update(art, true, expectedVersion, () -> findById(art.getId()));
+    }
+
+    @Override
+    public <S extends Art> Flux<S> insertAll(List<S> entities) {
+        return entityManager.insertAll(entities).concatMap(entity -> updateRelations(entity));
+    }
+
     protected <S extends Art> Mono<S> updateRelations(S entity) {
         Mono<Void> result = entityManager
             .updateLinkTable(collectionLink, entity.getId(), entity.getCollections().stream().map(Collection::getId))
@@ -15,6 +15,7 @@ public class ArtSqlHelper {
         columns.add(Column.aliased("handle", table, columnPrefix + "_handle"));
         columns.add(Column.aliased("asset_type", table, columnPrefix + "_asset_type"));
         columns.add(Column.aliased("type", table, columnPrefix + "_type"));
+        columns.add(Column.aliased("version", table, columnPrefix + "_version"));
 
         return columns;
     }
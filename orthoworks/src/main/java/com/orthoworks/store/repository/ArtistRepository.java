@@ -38,4 +38,17 @@ interface ArtistRepositoryInternal {
     Mono<Artist> findById(Long id);
 
     Flux<Artist> findAllBy(Pageable pageable, Criteria criteria);
+
+    /**
+     * Updates all the columns of the artist with a single statement, see {@link EntityManager#update}.
+     *
+     * @param artist the artist, with its id.
+     * @return the updated artist, or an empty {@link Mono} if no artist has the id.
+     */
+    Mono<Artist> update(Artist artist);
+
+    /**
+     * Like {@link #update(Artist)}, but only the non-null columns are updated.
+     */
+    Mono<Artist> updateNonNull(Artist artist);
 }
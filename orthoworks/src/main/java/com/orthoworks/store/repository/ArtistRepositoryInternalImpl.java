@@ -73,11 +73,14 @@ class ArtistRepositoryInternalImpl extends SimpleR2dbcRepository<Artist, Long> i
     }
 
     RowsFetchSpec<Artist> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = ArtistSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+        return entityManager
+            .createQuery(Artist.class, EntityManager.QueryShape.FULL, List.of(), this::createSelectFrom, pageable, criteria)
+            .map(this::process);
+    }
 
-        String select = entityManager.createSelect(selectFrom, Artist.class, pageable, criteria);
-        return db.sql(select).map(this::process);
+    private SelectFromAndJoin createSelectFrom() {
+        List<Expression> columns = ArtistSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        return Select.builder().select(columns).from(entityTable);
     }
 
     @Override
@@ -91,7 +94,7 @@ class ArtistRepositoryInternalImpl extends SimpleR2dbcRepository<Artist, Long> i
     }
 
     private Artist process(Row row, RowMetadata metadata) {
-        Artist entity = artistMapper.apply(row, "e");
+        Artist entity = artistMapper.apply(row, metadata, "e");
         return entity;
     }
 
@@ -99,4 +102,14 @@ class ArtistRepositoryInternalImpl extends SimpleR2dbcRepository<Artist, Long> i
     public <S extends Artist> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Artist> update(Artist artist) {
+        return entityManager.update(artist, false, null, () -> findById(artist.getId()));
+    }
+
+    @Override
+    public Mono<Artist> updateNonNull(Artist artist) {
+        return entityManager.update(artist, true, null, () -> findById(artist.getId()));
+    }
 }
@@ -1,6 +1,7 @@
 package com.orthoworks.store.repository;
 
 import com.orthoworks.store.domain.BrandCategory;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -26,6 +27,9 @@ public interface BrandCategoryRepository extends ReactiveCrudRepository<BrandCat
     @Override
     Flux<BrandCategory> findAllWithEagerRelationships(Pageable page);
 
+    @Override
+    Mono<Page<BrandCategory>> findPageWithEagerRelationships(Pageable page);
+
     @Query("SELECT * FROM brand_category entity WHERE entity.parent_id = :id")
     Flux<BrandCategory> findByParent(Long id);
 
@@ -61,11 +65,28 @@ interface BrandCategoryRepositoryInternal {
 
     Flux<BrandCategory> findAllBy(Pageable pageable, Criteria criteria);
 
+    Mono<Page<BrandCategory>> findPageBy(Pageable pageable);
+
     Mono<BrandCategory> findOneWithEagerRelationships(Long id);
 
     Flux<BrandCategory> findAllWithEagerRelationships();
 
     Flux<BrandCategory> findAllWithEagerRelationships(Pageable page);
 
+    Mono<Page<BrandCategory>> findPageWithEagerRelationships(Pageable page);
+
     Mono<Void> deleteById(Long id);
+
+    /**
+     * Updates all the columns of the brand category with a single statement, see {@link EntityManager#update}, and its brands.
+     *
+     * @param brandCategory the brand category, with its id.
+     * @return the updated brand category, or an empty {@link Mono} if no brand category has the id.
+     */
+    Mono<BrandCategory> update(BrandCategory brandCategory);
+
+    /**
+     * Like {@link #update(BrandCategory)}, but only the non-null columns are updated, and the brands are left as is.
+     */
+    Mono<BrandCategory> updateNonNull(BrandCategory brandCategory);
 }
@@ -6,7 +6,7 @@ import static org.springframework.data.relational.core.query.Query.query;
 import com.orthoworks.store.domain.Brand;
 import com.orthoworks.store.domain.BrandCategory;
 import com.orthoworks.store.repository.rowmapper.BrandCategoryRowMapper;
-import com.orthoworks.store.repository.rowmapper.BrandCategoryRowMapper;
+import com.orthoworks.store.repository.rowmapper.BrandRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.time.LocalDate;
@@ -16,6 +16,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -44,9 +45,11 @@ class BrandCategoryRepositoryInternalImpl extends SimpleR2dbcRepository<BrandCat
     private final EntityManager entityManager;
 
     private final BrandCategoryRowMapper brandcategoryMapper;
+    private final BrandRowMapper brandMapper;
 
     private static final Table entityTable = Table.aliased("brand_category", EntityManager.ENTITY_ALIAS);
     private static final Table parentTable = Table.aliased("brand_category", "parent");
+    private static final Table brandTable = Table.aliased("brand", "brand");
 
     private static final EntityManager.LinkTable brandLink = new EntityManager.LinkTable(
         "rel_brand_category__brand",
@@ -58,6 +61,7 @@ class BrandCategoryRepositoryInternalImpl extends SimpleR2dbcRepository<BrandCat
         R2dbcEntityTemplate template,
         EntityManager entityManager,
         BrandCategoryRowMapper brandcategoryMapper,
+        BrandRowMapper brandMapper,
         R2dbcEntityOperations entityOperations,
         R2dbcConverter converter
     ) {
@@ -70,6 +74,7 @@ class BrandCategoryRepositoryInternalImpl extends SimpleR2dbcRepository<BrandCat
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
         this.brandcategoryMapper = brandcategoryMapper;
+        this.brandMapper = brandMapper;
     }
 
     @Override
@@ -82,19 +87,43 @@ class BrandCategoryRepositoryInternalImpl extends SimpleR2dbcRepository<BrandCat
         return createQuery(pageable, criteria).all();
     }
 
+    @Override
+    public Mono<Page<BrandCategory>> findPageBy(Pageable pageable) {
+        return entityManager.createPage(
+            additionalColumns -> createQuery(pageable, null, additionalColumns),
+            this::process,
+            BrandCategory.class,
+            pageable,
+            null
+        );
+    }
+
     RowsFetchSpec<BrandCategory> createQuery(Pageable pageable, Criteria criteria) {
+        return createQuery(pageable, criteria, List.of()).map(this::process);
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, Criteria criteria, List<Expression> additionalColumns) {
+        return entityManager.createQuery(
+            BrandCategory.class,
+            EntityManager.QueryShape.FULL,
+            additionalColumns,
+            () -> createSelectFrom(additionalColumns),
+            pageable,
+            criteria
+        );
+    }
+
+    private SelectFromAndJoinCondition createSelectFrom(List<Expression> additionalColumns) {
         List<Expression> columns = BrandCategorySqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(BrandCategorySqlHelper.getColumns(parentTable, "parent"));
-        SelectFromAndJoinCondition selectFrom = Select
+        columns.addAll(additionalColumns);
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(parentTable)
             .on(Column.create("parent_id", entityTable))
             .equals(Column.create("id", parentTable));
-
-        String select = entityManager.createSelect(selectFrom, BrandCategory.class, pageable, criteria);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -109,22 +138,39 @@ class BrandCategoryRepositoryInternalImpl extends SimpleR2dbcRepository<BrandCat
 
     @Override
     public Mono<BrandCategory> findOneWithEagerRelationships(Long id) {
-        return findById(id);
+        return fetchRelationships(findById(id).flux()).next();
     }
 
     @Override
     public Flux<BrandCategory> findAllWithEagerRelationships() {
-        return findAll();
+        return fetchRelationships(findAll());
     }
 
     @Override
     public Flux<BrandCategory> findAllWithEagerRelationships(Pageable page) {
-        return findAllBy(page);
+        return fetchRelationships(findAllBy(page));
+    }
+
+    @Override
+    public Mono<Page<BrandCategory>> findPageWithEagerRelationships(Pageable page) {
+        return findPageBy(page).flatMap(result -> fetchRelationships(Flux.fromIterable(result.getContent())).then(Mono.just(result)));
+    }
+
+    private Flux<BrandCategory> fetchRelationships(Flux<BrandCategory> entities) {
+        return entityManager.fetchLinkedEntities(
+            entities,
+            BrandCategory::getId,
+            brandLink,
+            brandTable,
+            BrandSqlHelper.getSummaryColumns(brandTable, "brand"),
+            (row, metadata) -> brandMapper.apply(row, metadata, "brand"),
+            (brandCategory, brand) -> brandCategory.getBrands().add(brand)
+        );
     }
 
     private BrandCategory process(Row row, RowMetadata metadata) {
-        BrandCategory entity = brandcategoryMapper.apply(row, "e");
-        entity.setParent(brandcategoryMapper.apply(row, "parent"));
+        BrandCategory entity = brandcategoryMapper.apply(row, metadata, "e");
+        entity.setParent(brandcategoryMapper.apply(row, metadata, "parent"));
         return entity;
     }
 
@@ -133,6 +179,18 @@ class BrandCategoryRepositoryInternalImpl extends SimpleR2dbcRepository<BrandCat
         return super.save(entity).flatMap((S e) -> updateRelations(e));
     }
 
+    @Override
+    public Mono<BrandCategory> update(BrandCategory brandCategory) {
+        return entityManager
+            .update(brandCategory, false, null, () -> findById(brandCategory.getId()))
+            .flatMap(updated -> updateRelations(updated.brands(brandCategory.getBrands())));
+    }
+
+    @Override
+    public Mono<BrandCategory> updateNonNull(BrandCategory brandCategory) {
+        return entityManager.update(brandCategory, true, null, () -> findById(brandCategory.getId()));
+    }
+
     protected <S extends BrandCategory> Mono<S> updateRelations(S entity) {
         Mono<Void> result = entityManager.updateLinkTable(brandLink, entity.getId(), entity.getBrands().stream().map(Brand::getId)).then();
         return result.thenReturn(entity);
@@ -1,6 +1,8 @@
 package com.orthoworks.store.repository;
 
 import com.orthoworks.store.domain.Brand;
+import java.nio.ByteBuffer;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -40,4 +42,33 @@ interface BrandRepositoryInternal {
     Mono<Brand> findById(Long id);
 
     Flux<Brand> findAllBy(Pageable pageable, Criteria criteria);
+
+    Mono<Page<Brand>> findPageBy(Pageable pageable);
+
+    /**
+     * Find the brand by id, with the size of its image, but without the image itself.
+     * @param id the id of the brand.
+     * @return the brand.
+     */
+    Mono<Brand> findSummaryById(Long id);
+
+    /**
+     * Streams the image of the brand, as it's read from the database.
+     * @param id the id of the brand.
+     * @return the content of the image, empty if the brand or its image doesn't exist.
+     */
+    Flux<ByteBuffer> findImageById(Long id);
+
+    /**
+     * Updates all the columns of the brand with a single statement, see {@link EntityManager#update}.
+     *
+     * @param brand the brand, with its id.
+     * @return the updated brand, or an empty {@link Mono} if no brand has the id.
+     */
+    Mono<Brand> update(Brand brand);
+
+    /**
+     * Like {@link #update(Brand)}, but only the non-null columns are updated.
+     */
+    Mono<Brand> updateNonNull(Brand brand);
 }
@@ -6,9 +6,11 @@ import com.orthoworks.store.domain.Brand;
 import com.orthoworks.store.domain.enumeration.BrandStatus;
 import com.orthoworks.store.domain.enumeration.Size;
 import com.orthoworks.store.repository.rowmapper.BrandRowMapper;
+import io.r2dbc.spi.Blob;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +18,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -72,20 +75,58 @@ class BrandRepositoryInternalImpl extends SimpleR2dbcRepository<Brand, Long> imp
 
     @Override
     public Flux<Brand> findAllBy(Pageable pageable, Criteria criteria) {
-        return createQuery(pageable, criteria).all();
+        return createSummaryQuery(pageable, criteria, List.of()).map(this::process).all();
+    }
+
+    @Override
+    public Mono<Page<Brand>> findPageBy(Pageable pageable) {
+        return entityManager.createPage(
+            additionalColumns -> createSummaryQuery(pageable, null, additionalColumns),
+            this::process,
+            Brand.class,
+            pageable,
+            null
+        );
     }
 
     RowsFetchSpec<Brand> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = BrandSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+        return createQuery(pageable, criteria, List.of()).map(this::process);
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, Criteria criteria, List<Expression> additionalColumns) {
+        return entityManager.createQuery(
+            Brand.class,
+            EntityManager.QueryShape.FULL,
+            additionalColumns,
+            () -> createSelectFrom(BrandSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS), additionalColumns),
+            pageable,
+            criteria
+        );
+    }
+
+    /**
+     * Creates a query of the list and summary projections, which selects the size of the image, instead of the image.
+     */
+    DatabaseClient.GenericExecuteSpec createSummaryQuery(Pageable pageable, Criteria criteria, List<Expression> additionalColumns) {
+        return entityManager.createQuery(
+            Brand.class,
+            EntityManager.QueryShape.SUMMARY,
+            additionalColumns,
+            () -> createSelectFrom(BrandSqlHelper.getSummaryColumns(entityTable, EntityManager.ENTITY_ALIAS), additionalColumns),
+            pageable,
+            criteria
+        );
+    }
 
-        String select = entityManager.createSelect(selectFrom, Brand.class, pageable, criteria);
-        return db.sql(select).map(this::process);
+    private SelectFromAndJoin createSelectFrom(List<Expression> entityColumns, List<Expression> additionalColumns) {
+        List<Expression> columns = new ArrayList<>(entityColumns);
+        columns.addAll(additionalColumns);
+        return Select.builder().select(columns).from(entityTable);
     }
 
     @Override
     public Flux<Brand> findAll() {
-        return findAllBy(null, null);
+        return createQuery(null, null).all();
     }
 
     @Override
@@ -93,8 +134,23 @@ class BrandRepositoryInternalImpl extends SimpleR2dbcRepository<Brand, Long> imp
         return createQuery(null, where(EntityManager.ENTITY_ALIAS + ".id").is(id)).one();
     }
 
+    @Override
+    public Mono<Brand> findSummaryById(Long id) {
+        return createSummaryQuery(null, where(EntityManager.ENTITY_ALIAS + ".id").is(id), List.of()).map(this::process).one();
+    }
+
+    @Override
+    public Flux<ByteBuffer> findImageById(Long id) {
+        return db
+            .sql("SELECT image FROM brand WHERE id = :id AND image IS NOT NULL")
+            .bind("id", id)
+            .map((row, metadata) -> row.get(0, Blob.class))
+            .one()
+            .flatMapMany(Blob::stream);
+    }
+
     private Brand process(Row row, RowMetadata metadata) {
-        Brand entity = brandMapper.apply(row, "e");
+        Brand entity = brandMapper.apply(row, metadata, "e");
         return entity;
     }
 
@@ -102,4 +158,14 @@ class BrandRepositoryInternalImpl extends SimpleR2dbcRepository<Brand, Long> imp
     public <S extends Brand> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Brand> update(Brand brand) {
+        return entityManager.update(brand, false, null, () -> findById(brand.getId()));
+    }
+
+    @Override
+    public Mono<Brand> updateNonNull(Brand brand) {
+        return entityManager.update(brand, true, null, () -> findById(brand.getId()));
+    }
 }
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SimpleFunction;
 import org.springframework.data.relational.core.sql.Table;
 
 public class BrandSqlHelper {
@@ -25,4 +26,25 @@ public class BrandSqlHelper {
 
         return columns;
     }
+
+    /**
+     * The columns of the list and summary queries: instead of the image, only its size is selected, see {@link #getColumns}.
+     */
+    public static List<Expression> getSummaryColumns(Table table, String columnPrefix) {
+        List<Expression> columns = new ArrayList<>();
+        columns.add(Column.aliased("id", table, columnPrefix + "_id"));
+        columns.add(Column.aliased("title", table, columnPrefix + "_title"));
+        columns.add(Column.aliased("keywords", table, columnPrefix + "_keywords"));
+        columns.add(Column.aliased("description", table, columnPrefix + "_description"));
+        columns.add(SimpleFunction.create("OCTET_LENGTH", List.of(table.column("image"))).as(columnPrefix + "_image_size"));
+        columns.add(Column.aliased("image_content_type", table, columnPrefix + "_image_content_type"));
+        columns.add(Column.aliased("rating", table, columnPrefix + "_rating"));
+        columns.add(Column.aliased("status", table, columnPrefix + "_status"));
+        columns.add(Column.aliased("price", table, columnPrefix + "_price"));
+        columns.add(Column.aliased("brand_size", table, columnPrefix + "_brand_size"));
+        columns.add(Column.aliased("date_added", table, columnPrefix + "_date_added"));
+        columns.add(Column.aliased("date_modified", table, columnPrefix + "_date_modified"));
+
+        return columns;
+    }
 }
@@ -1,6 +1,8 @@
 package com.orthoworks.store.repository;
 
 import com.orthoworks.store.domain.Collection;
+import java.util.List;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -33,11 +35,34 @@ public interface CollectionRepository extends ReactiveCrudRepository<Collection,
 interface CollectionRepositoryInternal {
     <S extends Collection> Mono<S> save(S entity);
 
+    <S extends Collection> Flux<S> insertAll(List<S> entities);
+
     Flux<Collection> findAllBy(Pageable pageable);
 
     Flux<Collection> findAll();
 
     Mono<Collection> findById(String id);
 
+    /**
+     * Like {@link #findById(String)}, but the concurrent lookups of the same name share a single query, see
+     * {@link RequestCoalescer}. The collection is shared, it must not be modified.
+     */
+    Mono<Collection> findByIdCoalesced(String id);
+
     Flux<Collection> findAllBy(Pageable pageable, Criteria criteria);
+
+    Mono<Page<Collection>> findPageBy(Pageable pageable);
+
+    /**
+     * Updates all the columns of the collection with a single statement, see {@link EntityManager#update}.
+     *
+     * @param collection the collection, with its id.
+     * @return the updated collection, or an empty {@link Mono} if no collection has the id.
+     */
+    Mono<Collection> update(Collection collection);
+
+    /**
+     * Like {@link #update(Collection)}, but only the non-null columns are updated.
+     */
+    Mono<Collection> updateNonNull(Collection collection);
 }
@@ -15,6 +15,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -43,6 +44,7 @@ class CollectionRepositoryInternalImpl extends SimpleR2dbcRepository<Collection,
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
+    private final RequestCoalescer requestCoalescer;
 
     private final CollectionRowMapper collectionMapper;
 
@@ -51,6 +53,7 @@ class CollectionRepositoryInternalImpl extends SimpleR2dbcRepository<Collection,
     public CollectionRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
+        RequestCoalescer requestCoalescer,
         CollectionRowMapper collectionMapper,
         R2dbcEntityOperations entityOperations,
         R2dbcConverter converter
@@ -63,6 +66,7 @@ class CollectionRepositoryInternalImpl extends SimpleR2dbcRepository<Collection,
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
+        this.requestCoalescer = requestCoalescer;
         this.collectionMapper = collectionMapper;
     }
 
@@ -76,12 +80,36 @@ class CollectionRepositoryInternalImpl extends SimpleR2dbcRepository<Collection,
         return createQuery(pageable, criteria).all();
     }
 
+    @Override
+    public Mono<Page<Collection>> findPageBy(Pageable pageable) {
+        return entityManager.createPage(
+            additionalColumns -> createQuery(pageable, null, additionalColumns),
+            this::process,
+            Collection.class,
+            pageable,
+            null
+        );
+    }
+
     RowsFetchSpec<Collection> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = CollectionSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+        return createQuery(pageable, criteria, List.of()).map(this::process);
+    }
 
-        String select = entityManager.createSelect(selectFrom, Collection.class, pageable, criteria);
-        return db.sql(select).map(this::process);
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, Criteria criteria, List<Expression> additionalColumns) {
+        return entityManager.createQuery(
+            Collection.class,
+            EntityManager.QueryShape.FULL,
+            additionalColumns,
+            () -> createSelectFrom(additionalColumns),
+            pageable,
+            criteria
+        );
+    }
+
+    private SelectFromAndJoin createSelectFrom(List<Expression> additionalColumns) {
+        List<Expression> columns = CollectionSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(additionalColumns);
+        return Select.builder().select(columns).from(entityTable);
     }
 
     @Override
@@ -95,8 +123,13 @@ class CollectionRepositoryInternalImpl extends SimpleR2dbcRepository<Collection,
         return createQuery(null, where(EntityManager.ENTITY_ALIAS + ".name").is(id)).one();
     }
 
+    @Override
+    public Mono<Collection> findByIdCoalesced(String id) {
+        return requestCoalescer.coalesce("collection", id, () -> findById(id));
+    }
+
     private Collection process(Row row, RowMetadata metadata) {
-        Collection entity = collectionMapper.apply(row, "e");
+        Collection entity = collectionMapper.apply(row, metadata, "e");
         return entity;
     }
 
@@ -104,4 +137,19 @@ class CollectionRepositoryInternalImpl extends SimpleR2dbcRepository<Collection,
     public <S extends Collection> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Collection> update(Collection collection) {
+        return entityManager.update(collection, false, null, () -> super.findById(collection.getId()));
+    }
+
+    @Override
+    public Mono<Collection> updateNonNull(Collection collection) {
+        return entityManager.update(collection, true, null, () -> super.findById(collection.getId()));
+    }
+
+    @Override
+    public <S extends Collection> Flux<S> insertAll(List<S> entities) {
+        return entityManager.insertAll(entities);
+    }
 }
@@ -38,4 +38,17 @@ interface CollectorRepositoryInternal {
     Mono<Collector> findById(Long id);
 
     Flux<Collector> findAllBy(Pageable pageable, Criteria criteria);
+
+    /**
+     * Updates all the columns of the collector with a single statement, see {@link EntityManager#update}.
+     *
+     * @param collector the collector, with its id.
+     * @return the updated collector, or an empty {@link Mono} if no collector has the id.
+     */
+    Mono<Collector> update(Collector collector);
+
+    /**
+     * Like {@link #update(Collector)}, but only the non-null columns are updated.
+     */
+    Mono<Collector> updateNonNull(Collector collector);
 }
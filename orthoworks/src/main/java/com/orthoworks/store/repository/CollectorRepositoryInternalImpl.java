@@ -73,11 +73,14 @@ class CollectorRepositoryInternalImpl extends SimpleR2dbcRepository<Collector, L
     }
 
     RowsFetchSpec<Collector> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = CollectorSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+        return entityManager
+            .createQuery(Collector.class, EntityManager.QueryShape.FULL, List.of(), this::createSelectFrom, pageable, criteria)
+            .map(this::process);
+    }
 
-        String select = entityManager.createSelect(selectFrom, Collector.class, pageable, criteria);
-        return db.sql(select).map(this::process);
+    private SelectFromAndJoin createSelectFrom() {
+        List<Expression> columns = CollectorSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        return Select.builder().select(columns).from(entityTable);
     }
 
     @Override
@@ -91,7 +94,7 @@ class CollectorRepositoryInternalImpl extends SimpleR2dbcRepository<Collector, L
     }
 
     private Collector process(Row row, RowMetadata metadata) {
-        Collector entity = collectorMapper.apply(row, "e");
+        Collector entity = collectorMapper.apply(row, metadata, "e");
         return entity;
     }
 
@@ -99,4 +102,14 @@ class CollectorRepositoryInternalImpl extends SimpleR2dbcRepository<Collector, L
     public <S extends Collector> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Collector> update(Collector collector) {
+        return entityManager.update(collector, false, null, () -> findById(collector.getId()));
+    }
+
+    @Override
+    public Mono<Collector> updateNonNull(Collector collector) {
+        return entityManager.update(collector, true, null, () -> findById(collector.getId()));
+    }
 }
@@ -0,0 +1,22 @@
+package com.orthoworks.store.repository;
+
+/**
+ * How the total number of entities is computed for a page, see {@link EntityCounter}.
+ */
+public enum CountStrategy {
+    /**
+     * The exact number, computed by a {@code COUNT(*) OVER()} column of the page query itself.
+     */
+    EXACT,
+
+    /**
+     * The exact number, computed by a separate count query, and reused until its time to live expires.
+     */
+    CACHED,
+
+    /**
+     * The row estimate of the query planner statistics, falls back to the exact number if the database doesn't have one, or
+     * if the page is filtered.
+     */
+    ESTIMATED,
+}
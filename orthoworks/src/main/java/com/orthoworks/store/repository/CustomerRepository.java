@@ -1,6 +1,7 @@
 package com.orthoworks.store.repository;
 
 import com.orthoworks.store.domain.Customer;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -40,4 +41,19 @@ interface CustomerRepositoryInternal {
     Mono<Customer> findById(Long id);
 
     Flux<Customer> findAllBy(Pageable pageable, Criteria criteria);
+
+    Mono<Page<Customer>> findPageBy(Pageable pageable);
+
+    /**
+     * Updates all the columns of the customer with a single statement, see {@link EntityManager#update}.
+     *
+     * @param customer the customer, with its id.
+     * @return the updated customer, or an empty {@link Mono} if no customer has the id.
+     */
+    Mono<Customer> update(Customer customer);
+
+    /**
+     * Like {@link #update(Customer)}, but only the non-null columns are updated.
+     */
+    Mono<Customer> updateNonNull(Customer customer);
 }
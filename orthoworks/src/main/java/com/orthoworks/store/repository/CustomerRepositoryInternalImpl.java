@@ -13,6 +13,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -72,12 +73,36 @@ class CustomerRepositoryInternalImpl extends SimpleR2dbcRepository<Customer, Lon
         return createQuery(pageable, criteria).all();
     }
 
+    @Override
+    public Mono<Page<Customer>> findPageBy(Pageable pageable) {
+        return entityManager.createPage(
+            additionalColumns -> createQuery(pageable, null, additionalColumns),
+            this::process,
+            Customer.class,
+            pageable,
+            null
+        );
+    }
+
     RowsFetchSpec<Customer> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = CustomerSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+        return createQuery(pageable, criteria, List.of()).map(this::process);
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, Criteria criteria, List<Expression> additionalColumns) {
+        return entityManager.createQuery(
+            Customer.class,
+            EntityManager.QueryShape.FULL,
+            additionalColumns,
+            () -> createSelectFrom(additionalColumns),
+            pageable,
+            criteria
+        );
+    }
 
-        String select = entityManager.createSelect(selectFrom, Customer.class, pageable, criteria);
-        return db.sql(select).map(this::process);
+    private SelectFromAndJoin createSelectFrom(List<Expression> additionalColumns) {
+        List<Expression> columns = CustomerSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(additionalColumns);
+        return Select.builder().select(columns).from(entityTable);
     }
 
     @Override
@@ -91,7 +116,7 @@ class CustomerRepositoryInternalImpl extends SimpleR2dbcRepository<Customer, Lon
     }
 
     private Customer process(Row row, RowMetadata metadata) {
-        Customer entity = customerMapper.apply(row, "e");
+        Customer entity = customerMapper.apply(row, metadata, "e");
         return entity;
     }
 
@@ -99,4 +124,14 @@ class CustomerRepositoryInternalImpl extends SimpleR2dbcRepository<Customer, Lon
     public <S extends Customer> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Customer> update(Customer customer) {
+        return entityManager.update(customer, false, null, () -> findById(customer.getId()));
+    }
+
+    @Override
+    public Mono<Customer> updateNonNull(Customer customer) {
+        return entityManager.update(customer, true, null, () -> findById(customer.getId()));
+    }
 }
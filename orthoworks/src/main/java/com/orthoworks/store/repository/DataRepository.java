@@ -1,6 +1,9 @@
 package com.orthoworks.store.repository;
 
 import com.orthoworks.store.domain.Data;
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -39,6 +42,8 @@ public interface DataRepository extends ReactiveCrudRepository<Data, Long>, Data
 interface DataRepositoryInternal {
     <S extends Data> Mono<S> save(S entity);
 
+    <S extends Data> Flux<S> insertAll(List<S> entities);
+
     Flux<Data> findAllBy(Pageable pageable);
 
     Flux<Data> findAll();
@@ -46,4 +51,33 @@ interface DataRepositoryInternal {
     Mono<Data> findById(Long id);
 
     Flux<Data> findAllBy(Pageable pageable, Criteria criteria);
+
+    Mono<Page<Data>> findPageBy(Pageable pageable);
+
+    /**
+     * Find the data by id, with the size of its file, but without the file itself.
+     * @param id the id of the data.
+     * @return the data.
+     */
+    Mono<Data> findSummaryById(Long id);
+
+    /**
+     * Streams the file of the data, as it's read from the database.
+     * @param id the id of the data.
+     * @return the content of the file, empty if the data or its file doesn't exist.
+     */
+    Flux<ByteBuffer> findFileById(Long id);
+
+    /**
+     * Updates all the columns of the data with a single statement, see {@link EntityManager#update}.
+     *
+     * @param data the data, with its id.
+     * @return the updated data, or an empty {@link Mono} if no data has the id.
+     */
+    Mono<Data> update(Data data);
+
+    /**
+     * Like {@link #update(Data)}, but only the non-null columns are updated.
+     */
+    Mono<Data> updateNonNull(Data data);
 }
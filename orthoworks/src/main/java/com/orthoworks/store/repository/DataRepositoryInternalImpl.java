@@ -5,14 +5,17 @@ import static org.springframework.data.relational.core.query.Criteria.where;
 import com.orthoworks.store.domain.Data;
 import com.orthoworks.store.repository.rowmapper.DataRowMapper;
 import com.orthoworks.store.repository.rowmapper.TransactionRowMapper;
+import io.r2dbc.spi.Blob;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -73,27 +76,65 @@ class DataRepositoryInternalImpl extends SimpleR2dbcRepository<Data, Long> imple
 
     @Override
     public Flux<Data> findAllBy(Pageable pageable, Criteria criteria) {
-        return createQuery(pageable, criteria).all();
+        return createSummaryQuery(pageable, criteria, List.of()).map(this::process).all();
+    }
+
+    @Override
+    public Mono<Page<Data>> findPageBy(Pageable pageable) {
+        return entityManager.createPage(
+            additionalColumns -> createSummaryQuery(pageable, null, additionalColumns),
+            this::process,
+            Data.class,
+            pageable,
+            null
+        );
     }
 
     RowsFetchSpec<Data> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = DataSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        return createQuery(pageable, criteria, List.of()).map(this::process);
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, Criteria criteria, List<Expression> additionalColumns) {
+        return entityManager.createQuery(
+            Data.class,
+            EntityManager.QueryShape.FULL,
+            additionalColumns,
+            () -> createSelectFrom(DataSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS), additionalColumns),
+            pageable,
+            criteria
+        );
+    }
+
+    /**
+     * Creates a query of the list and summary projections, which selects the size of the file, instead of the file.
+     */
+    DatabaseClient.GenericExecuteSpec createSummaryQuery(Pageable pageable, Criteria criteria, List<Expression> additionalColumns) {
+        return entityManager.createQuery(
+            Data.class,
+            EntityManager.QueryShape.SUMMARY,
+            additionalColumns,
+            () -> createSelectFrom(DataSqlHelper.getSummaryColumns(entityTable, EntityManager.ENTITY_ALIAS), additionalColumns),
+            pageable,
+            criteria
+        );
+    }
+
+    private SelectFromAndJoinCondition createSelectFrom(List<Expression> entityColumns, List<Expression> additionalColumns) {
+        List<Expression> columns = new ArrayList<>(entityColumns);
         columns.addAll(TransactionSqlHelper.getColumns(transactionTable, "transaction"));
-        SelectFromAndJoinCondition selectFrom = Select
+        columns.addAll(additionalColumns);
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(transactionTable)
             .on(Column.create("transaction_id", entityTable))
             .equals(Column.create("id", transactionTable));
-
-        String select = entityManager.createSelect(selectFrom, Data.class, pageable, criteria);
-        return db.sql(select).map(this::process);
     }
 
     @Override
     public Flux<Data> findAll() {
-        return findAllBy(null, null);
+        return createQuery(null, null).all();
     }
 
     @Override
@@ -101,9 +142,24 @@ class DataRepositoryInternalImpl extends SimpleR2dbcRepository<Data, Long> imple
         return createQuery(null, where(EntityManager.ENTITY_ALIAS + ".id").is(id)).one();
     }
 
+    @Override
+    public Mono<Data> findSummaryById(Long id) {
+        return createSummaryQuery(null, where(EntityManager.ENTITY_ALIAS + ".id").is(id), List.of()).map(this::process).one();
+    }
+
+    @Override
+    public Flux<ByteBuffer> findFileById(Long id) {
+        return db
+            .sql("SELECT file FROM data WHERE id = :id AND file IS NOT NULL")
+            .bind("id", id)
+            .map((row, metadata) -> row.get(0, Blob.class))
+            .one()
+            .flatMapMany(Blob::stream);
+    }
+
     private Data process(Row row, RowMetadata metadata) {
-        Data entity = dataMapper.apply(row, "e");
-        entity.setTransaction(transactionMapper.apply(row, "transaction"));
+        Data entity = dataMapper.apply(row, metadata, "e");
+        entity.setTransaction(transactionMapper.apply(row, metadata, "transaction"));
         return entity;
     }
 
@@ -111,4 +167,19 @@ class DataRepositoryInternalImpl extends SimpleR2dbcRepository<Data, Long> imple
     public <S extends Data> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Data> update(Data data) {
+        return entityManager.update(data, false, null, () -> findById(data.getId()));
+    }
+
+    @Override
+    public Mono<Data> updateNonNull(Data data) {
+        return entityManager.update(data, true, null, () -> findById(data.getId()));
+    }
+
+    @Override
+    public <S extends Data> Flux<S> insertAll(List<S> entities) {
+        return entityManager.insertAll(entities);
+    }
 }
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SimpleFunction;
 import org.springframework.data.relational.core.sql.Table;
 
 public class DataSqlHelper {
@@ -18,4 +19,18 @@ public class DataSqlHelper {
         columns.add(Column.aliased("transaction_id", table, columnPrefix + "_transaction_id"));
         return columns;
     }
+
+    /**
+     * The columns of the list and summary queries: instead of the file, only its size is selected, see {@link #getColumns}.
+     */
+    public static List<Expression> getSummaryColumns(Table table, String columnPrefix) {
+        List<Expression> columns = new ArrayList<>();
+        columns.add(Column.aliased("id", table, columnPrefix + "_id"));
+        columns.add(Column.aliased("name", table, columnPrefix + "_name"));
+        columns.add(SimpleFunction.create("OCTET_LENGTH", List.of(table.column("file"))).as(columnPrefix + "_file_size"));
+        columns.add(Column.aliased("file_content_type", table, columnPrefix + "_file_content_type"));
+
+        columns.add(Column.aliased("transaction_id", table, columnPrefix + "_transaction_id"));
+        return columns;
+    }
 }
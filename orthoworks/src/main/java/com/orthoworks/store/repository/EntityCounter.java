@@ -0,0 +1,166 @@
+package com.orthoworks.store.repository;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.Functions;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
+import org.springframework.data.relational.core.sql.Table;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import reactor.core.publisher.Mono;
+
+/**
+ * Counts the entities of a table, with the {@link CountStrategy} configured for the entity.
+ * <p>
+ * The criteria of the count must only refer to the columns of the entity table, with the {@link EntityManager#ENTITY_ALIAS} alias.
+ */
+public class EntityCounter {
+
+    private static final int MAX_CACHED_COUNTS = 1000;
+
+    private final Logger log = LoggerFactory.getLogger(EntityCounter.class);
+
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+    private final SqlRenderer sqlRenderer;
+    private final R2dbcDialect dialect;
+    private final CountStrategy defaultStrategy;
+    private final Map<String, CountStrategy> strategies = new HashMap<>();
+    private final Duration cacheTimeToLive;
+    private final ConcurrentMap<String, CachedCount> cachedCounts = new ConcurrentHashMap<>();
+
+    /**
+     * @param r2dbcEntityTemplate runs the count queries.
+     * @param sqlRenderer renders the count queries.
+     * @param dialect the dialect of the database, the planner estimates are only read from PostgreSQL.
+     * @param defaultStrategy the strategy of the entities, which don't have their own.
+     * @param strategies the strategy of each entity, by entity name - case, dashes and underscores are ignored.
+     * @param cacheTimeToLive how long the {@link CountStrategy#CACHED cached} counts are reused.
+     */
+    public EntityCounter(
+        R2dbcEntityTemplate r2dbcEntityTemplate,
+        SqlRenderer sqlRenderer,
+        R2dbcDialect dialect,
+        CountStrategy defaultStrategy,
+        Map<String, CountStrategy> strategies,
+        Duration cacheTimeToLive
+    ) {
+        this.r2dbcEntityTemplate = r2dbcEntityTemplate;
+        this.sqlRenderer = sqlRenderer;
+        this.dialect = dialect;
+        this.defaultStrategy = defaultStrategy;
+        strategies.forEach((entityName, strategy) -> this.strategies.put(normalize(entityName), strategy));
+        this.cacheTimeToLive = cacheTimeToLive;
+    }
+
+    /**
+     * @param entityType the type of the entity.
+     * @return the count strategy of the entity.
+     */
+    public CountStrategy getStrategy(Class<?> entityType) {
+        return strategies.getOrDefault(normalize(entityType.getSimpleName()), defaultStrategy);
+    }
+
+    /**
+     * Counts the entities matching the criteria, with the count strategy of the entity.
+     * @param entityType the type of the entity.
+     * @param criteria the criteria, or null, if every entity is counted.
+     * @return the number of entities.
+     */
+    public Mono<Long> count(Class<?> entityType, Criteria criteria) {
+        switch (getStrategy(entityType)) {
+            case CACHED:
+                return countCached(entityType, criteria);
+            case ESTIMATED:
+                return countEstimated(entityType, criteria);
+            default:
+                return countExact(entityType, criteria);
+        }
+    }
+
+    /**
+     * Counts the entities matching the criteria, ignoring the count strategy of the entity.
+     * @param entityType the type of the entity.
+     * @param criteria the criteria, or null, if every entity is counted.
+     * @return the exact number of entities.
+     */
+    public Mono<Long> countExact(Class<?> entityType, Criteria criteria) {
+        Table table = Table.create(getTableName(entityType)).as(EntityManager.ENTITY_ALIAS);
+        SelectFromAndJoin select = Select.builder().select(Functions.count(Expressions.asterisk())).from(table);
+        String sql = sqlRenderer.render(criteria != null ? select.where(Conditions.just(criteria.toString())).build() : select.build());
+        return r2dbcEntityTemplate.getDatabaseClient().sql(sql).map((row, metadata) -> row.get(0, Long.class)).one();
+    }
+
+    private Mono<Long> countCached(Class<?> entityType, Criteria criteria) {
+        String key = getTableName(entityType) + (criteria != null ? " WHERE " + criteria : "");
+        CachedCount cached = cachedCounts.get(key);
+        if (cached != null && !cached.isExpired()) {
+            return Mono.just(cached.count);
+        }
+        return countExact(entityType, criteria)
+            .doOnNext(count -> {
+                if (cachedCounts.size() >= MAX_CACHED_COUNTS) {
+                    cachedCounts.clear();
+                }
+                cachedCounts.put(key, new CachedCount(count, System.nanoTime() + cacheTimeToLive.toNanos()));
+            });
+    }
+
+    private Mono<Long> countEstimated(Class<?> entityType, Criteria criteria) {
+        if (criteria != null || !(dialect instanceof PostgresDialect)) {
+            return countExact(entityType, criteria);
+        }
+        // reltuples is -1 (or 0 before PostgreSQL 14) until the table is vacuumed or analyzed
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .sql("SELECT CAST(reltuples AS BIGINT) FROM pg_class WHERE oid = to_regclass(:table)")
+            .bind("table", getTableName(entityType))
+            .map((row, metadata) -> row.get(0, Long.class))
+            .one()
+            .filter(estimate -> estimate > 0)
+            .switchIfEmpty(
+                Mono.defer(() -> {
+                    log.debug("No planner estimate for {}, counting the rows", entityType.getSimpleName());
+                    return countExact(entityType, null);
+                })
+            );
+    }
+
+    private String getTableName(Class<?> entityType) {
+        RelationalPersistentEntity<?> entity = r2dbcEntityTemplate
+            .getConverter()
+            .getMappingContext()
+            .getRequiredPersistentEntity(entityType);
+        return entity.getTableName().getReference();
+    }
+
+    private static String normalize(String entityName) {
+        return entityName.replaceAll("[^A-Za-z0-9]", "").toLowerCase();
+    }
+
+    private static class CachedCount {
+
+        private final long count;
+        private final long expiresAt;
+
+        CachedCount(long count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
@@ -1,34 +1,78 @@
 package com.orthoworks.store.repository;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.validation.constraints.NotNull;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.core.StatementMapper;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
 import org.springframework.data.r2dbc.mapping.OutboundRow;
 import org.springframework.data.r2dbc.query.UpdateMapper;
+import org.springframework.data.relational.core.dialect.LimitClause;
 import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
 import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.CriteriaDefinition;
+import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.IdentifierProcessing;
 import org.springframework.data.relational.core.sql.OrderByField;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectOrdered;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectWhere;
 import org.springframework.data.relational.core.sql.SqlIdentifier;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.data.util.ClassTypeInformation;
+import org.springframework.data.util.Pair;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.Parameter;
+import org.springframework.r2dbc.core.binding.BindMarkers;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 /**
  * Helper class to create SQL selects based on the entity, paging parameters and criteria.
@@ -40,6 +84,39 @@ public class EntityManager {
     public static final String ENTITY_ALIAS = "e";
     public static final String ALIAS_PREFIX = "e_";
 
+    public static final String SQL_TEMPLATE_CACHE_METER_NAME = "repository.sql.template.cache";
+    public static final String SQL_TEMPLATE_RENDER_METER_NAME = "repository.sql.template.render";
+
+    /**
+     * The maximum number of cached SQL templates - one per query shape - and of the column layouts of their results.
+     */
+    public static final int MAX_CACHED_SQL_TEMPLATES = 1000;
+
+    private static final String LINK_ALIAS = "link";
+    private static final String LINK_ID_ALIAS = "link_entity_id";
+    private static final int LINK_BATCH_SIZE = 500;
+    private static final String KEYSET_PARAMETER_PREFIX = "keyset_";
+    private static final String CRITERIA_PARAMETER_PREFIX = "criteria_";
+    private static final String LIMIT_PARAMETER = "limit";
+    private static final String OFFSET_PARAMETER = "offset";
+    private static final String TOTAL_COUNT_ALIAS = "total_count";
+    private static final Expression TOTAL_COUNT_COLUMN = Expressions.just("COUNT(*) OVER() AS " + TOTAL_COUNT_ALIAS);
+
+    /**
+     * The shape of the select statement of a {@link #createQuery(Class, QueryShape, List, Supplier, Pageable, Criteria) query}: it
+     * identifies the statement in the cache of the rendered SQL.
+     */
+    public enum QueryShape {
+        /**
+         * Selects all the columns of the entity.
+         */
+        FULL,
+        /**
+         * Selects the columns of the list and summary projections, without the large columns of the entity.
+         */
+        SUMMARY,
+    }
+
     public static class LinkTable {
 
         final String tableName;
@@ -56,16 +133,75 @@ public class EntityManager {
         }
     }
 
+    /**
+     * The number of links inserted and deleted by {@link #updateLinkTable(LinkTable, Long, Stream)}.
+     */
+    public static class LinkTableUpdate {
+
+        private final int inserted;
+        private final int deleted;
+
+        public LinkTableUpdate(int inserted, int deleted) {
+            this.inserted = inserted;
+            this.deleted = deleted;
+        }
+
+        public int getInserted() {
+            return inserted;
+        }
+
+        public int getDeleted() {
+            return deleted;
+        }
+
+        @Override
+        public String toString() {
+            return "LinkTableUpdate{inserted=" + inserted + ", deleted=" + deleted + "}";
+        }
+    }
+
     private final SqlRenderer sqlRenderer;
     private final UpdateMapper updateMapper;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final StatementMapper statementMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityCounter entityCounter;
+    private final R2dbcDialect dialect;
+    private final ConcurrentMap<List<Object>, String> sqlTemplates = new ConcurrentHashMap<>();
+    private final Counter sqlTemplateHits;
+    private final Counter sqlTemplateMisses;
+    private final Timer sqlTemplateRenderTimer;
 
-    public EntityManager(SqlRenderer sqlRenderer, UpdateMapper updateMapper, R2dbcEntityTemplate r2dbcEntityTemplate) {
+    public EntityManager(
+        SqlRenderer sqlRenderer,
+        UpdateMapper updateMapper,
+        R2dbcEntityTemplate r2dbcEntityTemplate,
+        ObjectMapper objectMapper,
+        EntityCounter entityCounter,
+        R2dbcDialect dialect,
+        MeterRegistry meterRegistry
+    ) {
         this.sqlRenderer = sqlRenderer;
         this.updateMapper = updateMapper;
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
         this.statementMapper = r2dbcEntityTemplate.getDataAccessStrategy().getStatementMapper();
+        this.objectMapper = objectMapper;
+        this.entityCounter = entityCounter;
+        this.dialect = dialect;
+        this.sqlTemplateHits = sqlTemplateCacheCounter("hit").register(meterRegistry);
+        this.sqlTemplateMisses = sqlTemplateCacheCounter("miss").register(meterRegistry);
+        this.sqlTemplateRenderTimer =
+            Timer
+                .builder(SQL_TEMPLATE_RENDER_METER_NAME)
+                .description("Time spent rendering the SQL of the queries, which weren't cached yet.")
+                .register(meterRegistry);
+    }
+
+    private static Counter.Builder sqlTemplateCacheCounter(String result) {
+        return Counter
+            .builder(SQL_TEMPLATE_CACHE_METER_NAME)
+            .description("Lookups of the rendered SQL of the queries in the template cache.")
+            .tag("result", result);
     }
 
     /**
@@ -130,6 +266,345 @@ public class EntityManager {
         }
     }
 
+    /**
+     * Creates an SQL query from the given fragment and pagination parameters, with all of its parameters bound.
+     * If the pageable is a {@link KeysetPageable}, the rows are selected after its cursor, instead of skipping an offset.
+     * <p>
+     * The values of the criteria, the cursor, and - on PostgreSQL and H2 - the limit and the offset are bound as parameters,
+     * so the SQL only depends on the shape of the query: the entity, the select statement, the additional columns, the sort,
+     * and the comparisons of the criteria. It's rendered once for every shape, and then reused from a cache.
+     * @param entityType the entity type which holds the table name.
+     * @param shape the shape of the select statement created by {@code selectFrom}, it's part of the cache key.
+     * @param additionalColumns the additional columns of the select statement, they are part of the cache key, so they must be
+     * constants - like the columns of {@link #createPage(Function, BiFunction, Class, Pageable, Criteria)}.
+     * @param selectFrom creates a representation of the select statement, it's only called if the SQL isn't cached yet, so it must
+     * always create the same statement for the entity type, the shape and the additional columns.
+     * @param pageable page parameter, or null, if everything needs to be returned
+     * @param criteria the criteria, or null, if everything needs to be returned
+     * @return the query, which can be mapped to the entity.
+     */
+    public DatabaseClient.GenericExecuteSpec createQuery(
+        Class<?> entityType,
+        QueryShape shape,
+        List<Expression> additionalColumns,
+        Supplier<? extends SelectWhere> selectFrom,
+        Pageable pageable,
+        Criteria criteria
+    ) {
+        Map<String, Parameter> bindings = new LinkedHashMap<>();
+        List<String> conditions = new ArrayList<>();
+        if (criteria != null) {
+            String condition = createCriteriaCondition(criteria, bindings);
+            if (!condition.isEmpty()) {
+                conditions.add("(" + condition + ")");
+            }
+        }
+        if (pageable instanceof KeysetPageable) {
+            String condition = createKeysetCondition(entityType, (KeysetPageable) pageable, bindings);
+            if (condition != null) {
+                conditions.add(condition);
+            }
+        }
+        String where = String.join(" AND ", conditions);
+        Sort sort = pageable != null ? pageable.getSort() : Sort.unsorted();
+        String limit = createLimitClause(pageable, bindings);
+
+        String sql = getSqlTemplate(
+            Arrays.asList(entityType, shape, additionalColumns, where, sort, limit),
+            () -> {
+                SelectWhere select = selectFrom.get();
+                return createSelectImpl(where.isEmpty() ? select : select.where(Conditions.just(where)), entityType, sort) + limit;
+            }
+        );
+        return bind(sql, bindings);
+    }
+
+    /**
+     * Fetches a page of entities, together with the total number of entities, counted with the {@link CountStrategy} of the entity.
+     * With the {@link CountStrategy#EXACT exact} strategy, the total is a {@code COUNT(*) OVER()} column of the page query, so
+     * the page is fetched with a single statement - unless it's past the last entity, and the query returns no rows at all.
+     * @param <T> the type of the entity.
+     * @param queryFactory creates the page query, selecting the given additional columns after the columns of the entity.
+     * @param mapper converts a row to an entity.
+     * @param entityType the entity type which holds the table name.
+     * @param pageable page parameter.
+     * @param criteria the criteria, or null, if every entity is paged - it must only refer to the columns of the entity table.
+     * @return the page.
+     */
+    public <T> Mono<Page<T>> createPage(
+        Function<List<Expression>, DatabaseClient.GenericExecuteSpec> queryFactory,
+        BiFunction<Row, RowMetadata, T> mapper,
+        Class<?> entityType,
+        Pageable pageable,
+        Criteria criteria
+    ) {
+        if (entityCounter.getStrategy(entityType) != CountStrategy.EXACT) {
+            return queryFactory
+                .apply(List.of())
+                .map(mapper)
+                .all()
+                .collectList()
+                .flatMap(content -> entityCounter.count(entityType, criteria).map(total -> new PageImpl<>(content, pageable, total)));
+        }
+        return queryFactory
+            .apply(List.of(TOTAL_COUNT_COLUMN))
+            .map((row, metadata) -> Tuples.of(mapper.apply(row, metadata), row.get(TOTAL_COUNT_ALIAS, Long.class)))
+            .all()
+            .collectList()
+            .flatMap(rows -> {
+                List<T> content = rows.stream().map(Tuple2::getT1).collect(Collectors.toList());
+                Mono<Long> total;
+                if (!rows.isEmpty()) {
+                    total = Mono.just(rows.get(0).getT2());
+                } else if (pageable.getOffset() > 0) {
+                    total = entityCounter.countExact(entityType, criteria);
+                } else {
+                    total = Mono.just(0L);
+                }
+                return total.map(count -> new PageImpl<>(content, pageable, count));
+            });
+    }
+
+    /**
+     * Creates the opaque cursor of the given entity, which can be used to fetch the next {@link KeysetPageable keyset page}.
+     * @param entity the last entity of a page.
+     * @param sort the sort of the page, see {@link KeysetPageable#getSort()}.
+     * @return the cursor, which contains the value of every sort property of the entity.
+     */
+    @SuppressWarnings("unchecked")
+    public String createCursor(Object entity, Sort sort) {
+        RelationalPersistentEntity<Object> persistentEntity = (RelationalPersistentEntity<Object>) getRequiredPersistentEntity(
+            entity.getClass()
+        );
+        PersistentPropertyAccessor<Object> accessor = persistentEntity.getPropertyAccessor(entity);
+        List<Object> values = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Object value = accessor.getProperty(persistentEntity.getRequiredPersistentProperty(order.getProperty()));
+            // a tree keeps the numbers as they are, a BigDecimal isn't rounded to a double
+            values.add(objectMapper.valueToTree(value));
+        }
+        return KeysetPageable.encodeCursor(values);
+    }
+
+    /**
+     * Checks that the entities can be paged by keyset with the given sort. {@code a > :a} is never true for a NULL
+     * {@code a}, so the rows with a NULL sort value would be skipped: every sort property must be the id, a primitive or a
+     * {@link NotNull} property.
+     * @param entityType the entity type which holds the table name.
+     * @param sort the sort of the page, see {@link KeysetPageable#getSort()}.
+     * @throws IllegalArgumentException if a sort property is unknown or nullable.
+     */
+    public void checkKeysetSort(Class<?> entityType, Sort sort) {
+        RelationalPersistentEntity<?> entity = getRequiredPersistentEntity(entityType);
+        for (Sort.Order order : sort) {
+            RelationalPersistentProperty property = entity.getPersistentProperty(order.getProperty());
+            if (property == null) {
+                throw new IllegalArgumentException("Unknown sort property: " + order.getProperty());
+            }
+            if (!property.isIdProperty() && !property.getType().isPrimitive() && !property.isAnnotationPresent(NotNull.class)) {
+                throw new IllegalArgumentException("The nullable property " + order.getProperty() + " can't sort a keyset page");
+            }
+        }
+    }
+
+    /**
+     * Creates the condition which selects the rows after the cursor of the page - {@code (a, b) > (:a, :b)} if every
+     * column is sorted in the same direction, and {@code a > :a OR (a = :a AND b < :b)} otherwise.
+     */
+    private String createKeysetCondition(Class<?> entityType, KeysetPageable pageable, Map<String, Parameter> bindings) {
+        checkKeysetSort(entityType, pageable.getSort());
+        if (pageable.getAfter() == null) {
+            return null;
+        }
+        RelationalPersistentEntity<?> entity = getRequiredPersistentEntity(entityType);
+        List<Sort.Order> orders = pageable.getSort().toList();
+        List<String> columns = new ArrayList<>();
+        List<Parameter> values = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            RelationalPersistentProperty property = entity.getRequiredPersistentProperty(orders.get(i).getProperty());
+            columns.add(ENTITY_ALIAS + "." + property.getColumnName().getReference());
+            values.add(toParameter(pageable.getAfter().get(i), property));
+        }
+
+        boolean ascending = orders.get(0).isAscending();
+        if (orders.stream().allMatch(order -> order.isAscending() == ascending)) {
+            List<String> markers = new ArrayList<>();
+            values.forEach(value -> markers.add(addBinding(bindings, KEYSET_PARAMETER_PREFIX, value)));
+            return "(" + String.join(", ", columns) + ") " + (ascending ? ">" : "<") + " (" + String.join(", ", markers) + ")";
+        }
+        List<String> alternatives = new ArrayList<>();
+        for (int i = 0; i < orders.size(); i++) {
+            List<String> terms = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                terms.add(columns.get(j) + " = " + addBinding(bindings, KEYSET_PARAMETER_PREFIX, values.get(j)));
+            }
+            String comparator = orders.get(i).isAscending() ? " > " : " < ";
+            terms.add(columns.get(i) + comparator + addBinding(bindings, KEYSET_PARAMETER_PREFIX, values.get(i)));
+            alternatives.add("(" + String.join(" AND ", terms) + ")");
+        }
+        return "(" + String.join(" OR ", alternatives) + ")";
+    }
+
+    /**
+     * Creates the condition of the criteria, with a bind marker instead of every value - unlike {@link Criteria#toString()},
+     * which inlines the values.
+     */
+    private String createCriteriaCondition(CriteriaDefinition criteria, Map<String, Parameter> bindings) {
+        Deque<CriteriaDefinition> chain = new ArrayDeque<>();
+        for (CriteriaDefinition current = criteria; current != null; current = current.getPrevious()) {
+            chain.addFirst(current);
+        }
+        StringBuilder condition = new StringBuilder();
+        for (CriteriaDefinition current : chain) {
+            String part;
+            if (current.isGroup()) {
+                part = createGroupCondition(current.getGroup(), bindings);
+            } else if (current.getColumn() != null) {
+                part = createComparison(current, bindings);
+            } else {
+                part = "";
+            }
+            if (!part.isEmpty()) {
+                if (condition.length() > 0) {
+                    condition.append(current.getCombinator() == CriteriaDefinition.Combinator.OR ? " OR " : " AND ");
+                }
+                condition.append(part);
+            }
+        }
+        return condition.toString();
+    }
+
+    private String createGroupCondition(List<CriteriaDefinition> group, Map<String, Parameter> bindings) {
+        StringBuilder condition = new StringBuilder();
+        for (CriteriaDefinition criteria : group) {
+            String part = createCriteriaCondition(criteria, bindings);
+            if (!part.isEmpty()) {
+                if (condition.length() > 0) {
+                    condition.append(criteria.getCombinator() == CriteriaDefinition.Combinator.OR ? " OR " : " AND ");
+                }
+                condition.append("(").append(part).append(")");
+            }
+        }
+        return condition.length() > 0 ? "(" + condition + ")" : "";
+    }
+
+    private String createComparison(CriteriaDefinition criteria, Map<String, Parameter> bindings) {
+        CriteriaDefinition.Comparator comparator = criteria.getComparator();
+        String column = criteria.getColumn().getReference();
+        Object value = criteria.getValue();
+        if (comparator == CriteriaDefinition.Comparator.INITIAL) {
+            return "";
+        }
+        if (value == null && comparator == CriteriaDefinition.Comparator.EQ) {
+            return column + " IS NULL";
+        }
+        if (value == null && comparator == CriteriaDefinition.Comparator.NEQ) {
+            return column + " IS NOT NULL";
+        }
+        switch (comparator) {
+            case IS_NULL:
+            case IS_NOT_NULL:
+            case IS_TRUE:
+            case IS_FALSE:
+                return column + " " + comparator.getComparator();
+            case IN:
+            case NOT_IN:
+                List<Object> values = new ArrayList<>();
+                for (Object element : value instanceof Collection ? (Collection<?>) value : List.of(value)) {
+                    values.add(writeValue(element));
+                }
+                String markers = addBinding(bindings, CRITERIA_PARAMETER_PREFIX, Parameter.from(values));
+                return column + " " + comparator.getComparator() + " (" + markers + ")";
+            case BETWEEN:
+            case NOT_BETWEEN:
+                Pair<?, ?> range = (Pair<?, ?>) value;
+                String from = addCriteriaBinding(bindings, range.getFirst(), criteria.isIgnoreCase());
+                String to = addCriteriaBinding(bindings, range.getSecond(), criteria.isIgnoreCase());
+                return ignoreCase(column, criteria.isIgnoreCase()) + " " + comparator.getComparator() + " " + from + " AND " + to;
+            default:
+                String marker = addCriteriaBinding(bindings, value, criteria.isIgnoreCase());
+                return ignoreCase(column, criteria.isIgnoreCase()) + " " + comparator.getComparator() + " " + marker;
+        }
+    }
+
+    private String addCriteriaBinding(Map<String, Parameter> bindings, Object value, boolean ignoreCase) {
+        Object converted = writeValue(value);
+        String marker = addBinding(
+            bindings,
+            CRITERIA_PARAMETER_PREFIX,
+            converted != null ? Parameter.from(converted) : Parameter.empty(Object.class)
+        );
+        return ignoreCase(marker, ignoreCase);
+    }
+
+    private static String ignoreCase(String expression, boolean ignoreCase) {
+        return ignoreCase ? "UPPER(" + expression + ")" : expression;
+    }
+
+    private Object writeValue(Object value) {
+        return r2dbcEntityTemplate.getConverter().writeValue(value, ClassTypeInformation.OBJECT);
+    }
+
+    /**
+     * Creates the limit clause of the query - with bind markers on PostgreSQL and H2, otherwise the values are part of the SQL.
+     * A {@link KeysetPageable} has no offset, as its rows are selected by the keyset condition.
+     */
+    private String createLimitClause(Pageable pageable, Map<String, Parameter> bindings) {
+        if (pageable == null || pageable.isUnpaged()) {
+            return "";
+        }
+        boolean keyset = pageable instanceof KeysetPageable;
+        if (!(dialect instanceof PostgresDialect)) {
+            LimitClause limitClause = dialect.limit();
+            int limit = pageable.getPageSize();
+            return " " + (keyset ? limitClause.getLimit(limit) : limitClause.getLimitOffset(limit, pageable.getOffset()));
+        }
+        bindings.put(LIMIT_PARAMETER, Parameter.from(pageable.getPageSize()));
+        if (keyset) {
+            return " LIMIT :" + LIMIT_PARAMETER;
+        }
+        bindings.put(OFFSET_PARAMETER, Parameter.from(pageable.getOffset()));
+        return " LIMIT :" + LIMIT_PARAMETER + " OFFSET :" + OFFSET_PARAMETER;
+    }
+
+    /**
+     * Returns the SQL of the given key from the cache, or renders it - the cache isn't evicted, as the number of query
+     * shapes is bounded by the code, but it stops growing after {@value #MAX_CACHED_SQL_TEMPLATES} entries.
+     */
+    private String getSqlTemplate(List<Object> key, Supplier<String> renderer) {
+        String sql = sqlTemplates.get(key);
+        if (sql != null) {
+            sqlTemplateHits.increment();
+            return sql;
+        }
+        sqlTemplateMisses.increment();
+        sql = sqlTemplateRenderTimer.record(renderer);
+        if (sqlTemplates.size() < MAX_CACHED_SQL_TEMPLATES) {
+            sqlTemplates.putIfAbsent(key, sql);
+        }
+        return sql;
+    }
+
+    private Parameter toParameter(Object cursorValue, RelationalPersistentProperty property) {
+        R2dbcConverter converter = r2dbcEntityTemplate.getConverter();
+        Object value = converter.writeValue(objectMapper.convertValue(cursorValue, property.getType()), ClassTypeInformation.OBJECT);
+        return value != null ? Parameter.from(value) : Parameter.empty(converter.getTargetType(property.getType()));
+    }
+
+    private static String addBinding(Map<String, Parameter> bindings, String prefix, Parameter value) {
+        String name = prefix + bindings.size();
+        bindings.put(name, value);
+        return ":" + name;
+    }
+
+    private DatabaseClient.GenericExecuteSpec bind(String sql, Map<String, Parameter> bindings) {
+        DatabaseClient.GenericExecuteSpec spec = r2dbcEntityTemplate.getDatabaseClient().sql(sql);
+        for (Entry<String, Parameter> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec;
+    }
+
     private String createSelectImpl(SelectOrdered selectFrom, Class<?> entityType, Sort sortParameter) {
         if (sortParameter != null && sortParameter.isSorted()) {
             RelationalPersistentEntity<?> entity = getPersistentEntity(entityType);
@@ -146,6 +621,10 @@ public class EntityManager {
         return r2dbcEntityTemplate.getConverter().getMappingContext().getPersistentEntity(entityType);
     }
 
+    private RelationalPersistentEntity<?> getRequiredPersistentEntity(Class<?> entityType) {
+        return r2dbcEntityTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(entityType);
+    }
+
     /**
      * Delete all the entity with the given type, and return the number of deletions.
      * @param entityType the entity type which holds the table name.
@@ -184,31 +663,284 @@ public class EntityManager {
         return r2dbcEntityTemplate.insert(entity);
     }
 
+    /**
+     * Inserts the given entities with a single {@code INSERT} statement, which is batched - through {@link Statement#add()} -
+     * with the values of every entity, and sets the generated ids.
+     * The statement should run in a transaction, as the entities inserted before a failing one aren't removed.
+     * @param <S> the type of the persisted entities.
+     * @param entities the entities to be inserted into the database, all of the same type, and without id.
+     * @return the persisted entities, in the same order.
+     */
+    public <S> Flux<S> insertAll(List<S> entities) {
+        if (entities.isEmpty()) {
+            return Flux.empty();
+        }
+        RelationalPersistentEntity<?> persistentEntity = getRequiredPersistentEntity(entities.get(0).getClass());
+        RelationalPersistentProperty idProperty = persistentEntity.getRequiredIdProperty();
+        RelationalPersistentProperty versionProperty = persistentEntity.getVersionProperty();
+        R2dbcConverter converter = r2dbcEntityTemplate.getConverter();
+        List<OutboundRow> rows = entities
+            .stream()
+            .map(entity -> {
+                PersistentPropertyAccessor<S> accessor = persistentEntity.getPropertyAccessor(entity);
+                if (versionProperty != null && accessor.getProperty(versionProperty) == null) {
+                    accessor.setProperty(versionProperty, converter.getConversionService().convert(0L, versionProperty.getType()));
+                }
+                OutboundRow row = r2dbcEntityTemplate.getDataAccessStrategy().getOutboundRow(entity);
+                row.remove(idProperty.getColumnName());
+                return row;
+            })
+            .collect(Collectors.toList());
+        List<SqlIdentifier> columns = new ArrayList<>(rows.get(0).keySet());
+        String insert = getSqlTemplate(
+            Arrays.asList(OutboundRow.class, persistentEntity.getType(), columns),
+            () -> {
+                BindMarkers bindMarkers = dialect.getBindMarkersFactory().create();
+                IdentifierProcessing identifierProcessing = dialect.getIdentifierProcessing();
+                return (
+                    "INSERT INTO " +
+                    persistentEntity.getTableName().toSql(identifierProcessing) +
+                    columns.stream().map(column -> column.toSql(identifierProcessing)).collect(Collectors.joining(", ", " (", ")")) +
+                    columns.stream().map(column -> bindMarkers.next().getPlaceholder()).collect(Collectors.joining(", ", " VALUES (", ")"))
+                );
+            }
+        );
+        String idColumn = idProperty.getColumnName().getReference(dialect.getIdentifierProcessing());
+
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .inConnectionMany(connection -> {
+                Statement statement = connection.createStatement(insert).returnGeneratedValues(idColumn);
+                for (int i = 0; i < rows.size(); i++) {
+                    if (i > 0) {
+                        statement.add();
+                    }
+                    for (int index = 0; index < columns.size(); index++) {
+                        Parameter parameter = rows.get(i).get(columns.get(index));
+                        if (parameter.hasValue()) {
+                            statement.bind(index, parameter.getValue());
+                        } else {
+                            statement.bindNull(index, parameter.getType());
+                        }
+                    }
+                }
+                return Flux.from(statement.execute()).concatMap(result -> result.map((row, metadata) -> row.get(0, idProperty.getType())));
+            })
+            .zipWithIterable(entities, (id, entity) -> {
+                persistentEntity.getPropertyAccessor(entity).setProperty(idProperty, id);
+                return entity;
+            });
+    }
+
+    /**
+     * Updates the entity with a single {@code UPDATE} statement, {@code WHERE id = ?} - and {@code AND version = ?} if an
+     * expected version is given - instead of checking that it exists, and reading it, before saving it. The version of a
+     * versioned entity is incremented.
+     * On PostgreSQL the updated row is returned by the statement itself ({@code RETURNING *}), on the other databases it's
+     * read again, once updated.
+     * @param <S> the type of the entity.
+     * @param entity the entity, with its id.
+     * @param nonNullOnly whether only the non-null properties are written, for a partial update, or all of them.
+     * @param expectedVersion the version the entity must have, or null, if it's updated whatever its version.
+     * @param reload reads the updated entity, on the databases which don't support {@code RETURNING}.
+     * @return the updated entity, or an empty {@link Mono} if no entity has the id - and the expected version.
+     */
+    @SuppressWarnings("unchecked")
+    public <S> Mono<S> update(S entity, boolean nonNullOnly, Long expectedVersion, Supplier<Mono<S>> reload) {
+        RelationalPersistentEntity<?> persistentEntity = getRequiredPersistentEntity(entity.getClass());
+        RelationalPersistentProperty idProperty = persistentEntity.getRequiredIdProperty();
+        RelationalPersistentProperty versionProperty = persistentEntity.getVersionProperty();
+        Assert.isTrue(expectedVersion == null || versionProperty != null, "The entity doesn't have a version");
+        Object id = persistentEntity.getIdentifierAccessor(entity).getRequiredIdentifier();
+
+        OutboundRow row = r2dbcEntityTemplate.getDataAccessStrategy().getOutboundRow(entity);
+        row.remove(idProperty.getColumnName());
+        if (versionProperty != null) {
+            row.remove(versionProperty.getColumnName());
+        }
+        List<SqlIdentifier> columns = row
+            .entrySet()
+            .stream()
+            .filter(column -> !nonNullOnly || column.getValue().hasValue())
+            .map(Entry::getKey)
+            .collect(Collectors.toList());
+        if (columns.isEmpty() && versionProperty == null) {
+            return reload.get();
+        }
+        // H2Dialect extends PostgresDialect, but H2 1.4 can't parse RETURNING
+        boolean returning = dialect instanceof PostgresDialect && !(dialect instanceof H2Dialect);
+        String update = getSqlTemplate(
+            Arrays.asList("update", persistentEntity.getType(), columns, expectedVersion != null),
+            () -> {
+                BindMarkers bindMarkers = dialect.getBindMarkersFactory().create();
+                IdentifierProcessing identifierProcessing = dialect.getIdentifierProcessing();
+                List<String> assignments = columns
+                    .stream()
+                    .map(column -> column.toSql(identifierProcessing) + " = " + bindMarkers.next().getPlaceholder())
+                    .collect(Collectors.toList());
+                String versionColumn = versionProperty != null ? versionProperty.getColumnName().toSql(identifierProcessing) : null;
+                if (versionColumn != null) {
+                    assignments.add(versionColumn + " = " + versionColumn + " + 1");
+                }
+                String sql =
+                    "UPDATE " +
+                    persistentEntity.getTableName().toSql(identifierProcessing) +
+                    " SET " +
+                    String.join(", ", assignments) +
+                    " WHERE " +
+                    idProperty.getColumnName().toSql(identifierProcessing) +
+                    " = " +
+                    bindMarkers.next().getPlaceholder();
+                if (expectedVersion != null) {
+                    sql += " AND " + versionColumn + " = " + bindMarkers.next().getPlaceholder();
+                }
+                return returning ? sql + " RETURNING *" : sql;
+            }
+        );
+        List<Parameter> parameters = columns.stream().map(row::get).collect(Collectors.toCollection(ArrayList::new));
+        parameters.add(Parameter.from(id));
+        if (expectedVersion != null) {
+            parameters.add(Parameter.from(expectedVersion));
+        }
+
+        DatabaseClient db = r2dbcEntityTemplate.getDatabaseClient();
+        if (returning) {
+            Class<S> entityType = (Class<S>) persistentEntity.getType();
+            R2dbcConverter converter = r2dbcEntityTemplate.getConverter();
+            return db
+                .inConnectionMany(connection ->
+                    Flux
+                        .from(bind(connection.createStatement(update), parameters).execute())
+                        .concatMap(result -> result.map((updated, metadata) -> converter.read(entityType, updated, metadata)))
+                )
+                .next();
+        }
+        return db
+            .inConnectionMany(connection ->
+                Flux.from(bind(connection.createStatement(update), parameters).execute()).concatMap(Result::getRowsUpdated)
+            )
+            .next()
+            .filter(rowsUpdated -> rowsUpdated > 0)
+            .flatMap(rowsUpdated -> reload.get());
+    }
+
+    private static Statement bind(Statement statement, List<Parameter> parameters) {
+        for (int index = 0; index < parameters.size(); index++) {
+            Parameter parameter = parameters.get(index);
+            if (parameter.hasValue()) {
+                statement.bind(index, parameter.getValue());
+            } else {
+                statement.bindNull(index, parameter.getType());
+            }
+        }
+        return statement;
+    }
+
     /**
      * Updates the table, which links the entity with the referred entities.
+     * The existing links are compared with the referred entities, so only the removed links are deleted - with a single
+     * statement - and only the added links are inserted, with a multi-row {@code INSERT} per {@value #LINK_BATCH_SIZE} links.
      * @param table describes the link table, it contains a table name, the column name for the id, and for the referred entity id.
      * @param entityId the id of the entity, for which the links are created.
      * @param referencedIds the id of the referred entities.
-     * @return the number of inserted rows.
-     */
-    public Mono<Integer> updateLinkTable(LinkTable table, Long entityId, Stream<Long> referencedIds) {
-        return deleteFromLinkTable(table, entityId)
-            .then(
-                Flux
-                    .fromStream(referencedIds)
-                    .flatMap((Long referenceId) -> {
-                        StatementMapper.InsertSpec insert = r2dbcEntityTemplate
-                            .getDataAccessStrategy()
-                            .getStatementMapper()
-                            .createInsert(table.tableName)
-                            .withColumn(table.idColumn, Parameter.from(entityId))
-                            .withColumn(table.referenceColumn, Parameter.from(referenceId));
-
-                        return r2dbcEntityTemplate.getDatabaseClient().sql(statementMapper.getMappedObject(insert)).fetch().rowsUpdated();
-                    })
-                    .collectList()
-                    .map((List<Integer> updates) -> updates.stream().reduce(Integer::sum).orElse(0))
-            );
+     * @return the number of inserted and deleted rows.
+     */
+    public Mono<LinkTableUpdate> updateLinkTable(LinkTable table, Long entityId, Stream<Long> referencedIds) {
+        Assert.notNull(entityId, "entityId is null");
+        Set<Long> requestedIds = referencedIds.filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
+        String where = " WHERE " + table.idColumn + " = :entityId";
+        String insert = "INSERT INTO " + table.tableName + " (" + table.idColumn + ", " + table.referenceColumn + ") VALUES :links";
+        DatabaseClient db = r2dbcEntityTemplate.getDatabaseClient();
+        return db
+            .sql("SELECT " + table.referenceColumn + " FROM " + table.tableName + where)
+            .bind("entityId", entityId)
+            .map((row, metadata) -> row.get(0, Long.class))
+            .all()
+            .collect(Collectors.toSet())
+            .flatMap(existingIds -> {
+                List<Long> removedIds = existingIds.stream().filter(id -> !requestedIds.contains(id)).collect(Collectors.toList());
+                List<Object[]> addedLinks = requestedIds
+                    .stream()
+                    .filter(id -> !existingIds.contains(id))
+                    .map(id -> new Object[] { entityId, id })
+                    .collect(Collectors.toList());
+
+                Mono<Integer> deleted = removedIds.isEmpty()
+                    ? Mono.just(0)
+                    : db
+                        .sql("DELETE FROM " + table.tableName + where + " AND " + table.referenceColumn + " IN (:removedIds)")
+                        .bind("entityId", entityId)
+                        .bind("removedIds", removedIds)
+                        .fetch()
+                        .rowsUpdated();
+                Mono<Integer> inserted = Flux
+                    .fromIterable(addedLinks)
+                    .buffer(LINK_BATCH_SIZE)
+                    .concatMap(links -> db.sql(insert).bind("links", links).fetch().rowsUpdated())
+                    .reduce(0, Integer::sum);
+                return deleted.flatMap(deletedRows -> inserted.map(insertedRows -> new LinkTableUpdate(insertedRows, deletedRows)));
+            });
+    }
+
+    /**
+     * Loads the entities referred through the given link table, and attaches them to the given entities.
+     * The referred entities are fetched in batches with a single {@code IN (...)} query per batch, so the number of
+     * statements doesn't depend on the number of entities.
+     * @param <E> the type of the entity which owns the link table.
+     * @param <R> the type of the referred entity.
+     * @param entities the entities, for which the relations are loaded.
+     * @param idGetter returns the id of an entity.
+     * @param table describes the link table, it contains a table name, the column name for the id, and for the referred entity id -
+     * the SQL is cached for every link table, so it must be a constant.
+     * @param referredTable the aliased table of the referred entity, the alias is used as column prefix.
+     * @param referredColumns the columns of the referred entity, see the {@code *SqlHelper} classes.
+     * @param referredMapper converts a row to a referred entity.
+     * @param linker attaches a referred entity to an entity.
+     * @return the entities, in the same order, with their relations populated.
+     */
+    public <E, R> Flux<E> fetchLinkedEntities(
+        Flux<E> entities,
+        Function<E, Long> idGetter,
+        LinkTable table,
+        Table referredTable,
+        List<Expression> referredColumns,
+        BiFunction<Row, RowMetadata, R> referredMapper,
+        BiConsumer<E, R> linker
+    ) {
+        String select = getSqlTemplate(
+            Arrays.asList(LinkTable.class, table, referredTable.getReferenceName()),
+            () -> {
+                Table linkTable = Table.aliased(table.tableName, LINK_ALIAS);
+                List<Expression> columns = new ArrayList<>(referredColumns);
+                columns.add(Column.aliased(table.idColumn, linkTable, LINK_ID_ALIAS));
+                return createSelect(
+                    Select
+                        .builder()
+                        .select(columns)
+                        .from(referredTable)
+                        .join(linkTable)
+                        .on(Column.create(table.referenceColumn, linkTable))
+                        .equals(Column.create("id", referredTable))
+                        .where(Conditions.just(LINK_ALIAS + "." + table.idColumn + " IN (:ids)"))
+                        .build()
+                );
+            }
+        );
+
+        return entities
+            .buffer(LINK_BATCH_SIZE)
+            .concatMap(batch -> {
+                Map<Long, E> entitiesById = new HashMap<>();
+                batch.forEach(entity -> entitiesById.put(idGetter.apply(entity), entity));
+                return r2dbcEntityTemplate
+                    .getDatabaseClient()
+                    .sql(select)
+                    .bind("ids", entitiesById.keySet())
+                    .map((row, metadata) -> Tuples.of(row.get(LINK_ID_ALIAS, Long.class), referredMapper.apply(row, metadata)))
+                    .all()
+                    .doOnNext(link -> linker.accept(entitiesById.get(link.getT1()), link.getT2()))
+                    .thenMany(Flux.fromIterable(batch));
+            });
     }
 
     public Mono<Void> deleteFromLinkTable(LinkTable table, Long entityId) {
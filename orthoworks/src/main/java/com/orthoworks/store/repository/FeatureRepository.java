@@ -1,6 +1,7 @@
 package com.orthoworks.store.repository;
 
 import com.orthoworks.store.domain.Feature;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -37,6 +38,8 @@ public interface FeatureRepository extends ReactiveCrudRepository<Feature, Long>
 interface FeatureRepositoryInternal {
     <S extends Feature> Mono<S> save(S entity);
 
+    <S extends Feature> Flux<S> insertAll(List<S> entities);
+
     Flux<Feature> findAllBy(Pageable pageable);
 
     Flux<Feature> findAll();
@@ -44,4 +47,17 @@ interface FeatureRepositoryInternal {
     Mono<Feature> findById(Long id);
 
     Flux<Feature> findAllBy(Pageable pageable, Criteria criteria);
+
+    /**
+     * Updates all the columns of the feature with a single statement, see {@link EntityManager#update}.
+     *
+     * @param feature the feature, with its id.
+     * @return the updated feature, or an empty {@link Mono} if no feature has the id.
+     */
+    Mono<Feature> update(Feature feature);
+
+    /**
+     * Like {@link #update(Feature)}, but only the non-null columns are updated.
+     */
+    Mono<Feature> updateNonNull(Feature feature);
 }
@@ -77,18 +77,21 @@ class FeatureRepositoryInternalImpl extends SimpleR2dbcRepository<Feature, Long>
     }
 
     RowsFetchSpec<Feature> createQuery(Pageable pageable, Criteria criteria) {
+        return entityManager
+            .createQuery(Feature.class, EntityManager.QueryShape.FULL, List.of(), this::createSelectFrom, pageable, criteria)
+            .map(this::process);
+    }
+
+    private SelectFromAndJoinCondition createSelectFrom() {
         List<Expression> columns = FeatureSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(CollectionSqlHelper.getColumns(collectionTable, "collection"));
-        SelectFromAndJoinCondition selectFrom = Select
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(collectionTable)
             .on(Column.create("collection_id", entityTable))
             .equals(Column.create("id", collectionTable));
-
-        String select = entityManager.createSelect(selectFrom, Feature.class, pageable, criteria);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -102,8 +105,8 @@ class FeatureRepositoryInternalImpl extends SimpleR2dbcRepository<Feature, Long>
     }
 
     private Feature process(Row row, RowMetadata metadata) {
-        Feature entity = featureMapper.apply(row, "e");
-        entity.setCollection(collectionMapper.apply(row, "collection"));
+        Feature entity = featureMapper.apply(row, metadata, "e");
+        entity.setCollection(collectionMapper.apply(row, metadata, "collection"));
         return entity;
     }
 
@@ -111,4 +114,19 @@ class FeatureRepositoryInternalImpl extends SimpleR2dbcRepository<Feature, Long>
     public <S extends Feature> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Feature> update(Feature feature) {
+        return entityManager.update(feature, false, null, () -> findById(feature.getId()));
+    }
+
+    @Override
+    public Mono<Feature> updateNonNull(Feature feature) {
+        return entityManager.update(feature, true, null, () -> findById(feature.getId()));
+    }
+
+    @Override
+    public <S extends Feature> Flux<S> insertAll(List<S> entities) {
+        return entityManager.insertAll(entities);
+    }
 }
@@ -1,6 +1,7 @@
 package com.orthoworks.store.repository;
 
 import com.orthoworks.store.domain.Invoice;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -40,4 +41,19 @@ interface InvoiceRepositoryInternal {
     Mono<Invoice> findById(Long id);
 
     Flux<Invoice> findAllBy(Pageable pageable, Criteria criteria);
+
+    Mono<Page<Invoice>> findPageBy(Pageable pageable);
+
+    /**
+     * Updates all the columns of the invoice with a single statement, see {@link EntityManager#update}.
+     *
+     * @param invoice the invoice, with its id.
+     * @return the updated invoice, or an empty {@link Mono} if no invoice has the id.
+     */
+    Mono<Invoice> update(Invoice invoice);
+
+    /**
+     * Like {@link #update(Invoice)}, but only the non-null columns are updated.
+     */
+    Mono<Invoice> updateNonNull(Invoice invoice);
 }
@@ -16,6 +16,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -75,12 +76,36 @@ class InvoiceRepositoryInternalImpl extends SimpleR2dbcRepository<Invoice, Long>
         return createQuery(pageable, criteria).all();
     }
 
+    @Override
+    public Mono<Page<Invoice>> findPageBy(Pageable pageable) {
+        return entityManager.createPage(
+            additionalColumns -> createQuery(pageable, null, additionalColumns),
+            this::process,
+            Invoice.class,
+            pageable,
+            null
+        );
+    }
+
     RowsFetchSpec<Invoice> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = InvoiceSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+        return createQuery(pageable, criteria, List.of()).map(this::process);
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, Criteria criteria, List<Expression> additionalColumns) {
+        return entityManager.createQuery(
+            Invoice.class,
+            EntityManager.QueryShape.FULL,
+            additionalColumns,
+            () -> createSelectFrom(additionalColumns),
+            pageable,
+            criteria
+        );
+    }
 
-        String select = entityManager.createSelect(selectFrom, Invoice.class, pageable, criteria);
-        return db.sql(select).map(this::process);
+    private SelectFromAndJoin createSelectFrom(List<Expression> additionalColumns) {
+        List<Expression> columns = InvoiceSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(additionalColumns);
+        return Select.builder().select(columns).from(entityTable);
     }
 
     @Override
@@ -94,7 +119,7 @@ class InvoiceRepositoryInternalImpl extends SimpleR2dbcRepository<Invoice, Long>
     }
 
     private Invoice process(Row row, RowMetadata metadata) {
-        Invoice entity = invoiceMapper.apply(row, "e");
+        Invoice entity = invoiceMapper.apply(row, metadata, "e");
         return entity;
     }
 
@@ -102,4 +127,14 @@ class InvoiceRepositoryInternalImpl extends SimpleR2dbcRepository<Invoice, Long>
     public <S extends Invoice> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Invoice> update(Invoice invoice) {
+        return entityManager.update(invoice, false, null, () -> findById(invoice.getId()));
+    }
+
+    @Override
+    public Mono<Invoice> updateNonNull(Invoice invoice) {
+        return entityManager.update(invoice, true, null, () -> findById(invoice.getId()));
+    }
 }
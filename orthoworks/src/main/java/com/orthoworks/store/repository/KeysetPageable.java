@@ -0,0 +1,99 @@
+package com.orthoworks.store.repository;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+/**
+ * A {@link Pageable} for keyset (seek) pagination: instead of skipping {@code offset} rows, the page starts right after the row
+ * identified by a cursor, made of the sort key and the id of the last row of the previous page.
+ * <p>
+ * The cursor is opaque to the clients, see {@link EntityManager#createCursor(Object, Sort)} to create it from an entity.
+ */
+public class KeysetPageable extends PageRequest {
+
+    private static final long serialVersionUID = 1L;
+
+    // the decimals are read as BigDecimal, and the integers as Long, so they're converted to the sort properties without loss
+    private static final ObjectMapper CURSOR_MAPPER = new ObjectMapper()
+        .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS, DeserializationFeature.USE_LONG_FOR_INTS);
+
+    private final transient List<Object> after;
+
+    protected KeysetPageable(int size, Sort sort, List<Object> after) {
+        super(0, size, sort);
+        this.after = after;
+    }
+
+    /**
+     * Creates a keyset page from the page size and the sort of the given {@link Pageable}. The id is added as the last sort
+     * column, so the sort key is always unique.
+     * @param pageable page parameter, the page number is ignored.
+     * @param cursor the cursor of the last row of the previous page, or null/blank for the first page.
+     * @return the keyset page.
+     * @throws IllegalArgumentException if the cursor is not valid for the sort.
+     */
+    public static KeysetPageable of(Pageable pageable, String cursor) {
+        Sort sort = pageable.getSort().getOrderFor("id") == null ? pageable.getSort().and(Sort.by("id")) : pageable.getSort();
+        if (cursor == null || cursor.isBlank()) {
+            return new KeysetPageable(pageable.getPageSize(), sort, null);
+        }
+        List<Object> after = decodeCursor(cursor);
+        if (after.size() != sort.stream().count()) {
+            throw new IllegalArgumentException("The cursor doesn't match the sort of the page");
+        }
+        return new KeysetPageable(pageable.getPageSize(), sort, after);
+    }
+
+    /**
+     * @return the sort key values of the last row of the previous page, in the order of the sort, or null for the first page.
+     */
+    public List<Object> getAfter() {
+        return after;
+    }
+
+    static String encodeCursor(List<Object> values) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(CURSOR_MAPPER.writeValueAsBytes(values));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<Object> decodeCursor(String cursor) {
+        try {
+            return CURSOR_MAPPER.readValue(Base64.getUrlDecoder().decode(cursor), List.class);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof KeysetPageable)) {
+            return false;
+        }
+        return super.equals(obj) && Objects.equals(after, ((KeysetPageable) obj).after);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * super.hashCode() + Objects.hashCode(after);
+    }
+
+    @Override
+    public String toString() {
+        return "Keyset page request [size: " + getPageSize() + ", sort: " + getSort() + ", after: " + after + "]";
+    }
+}
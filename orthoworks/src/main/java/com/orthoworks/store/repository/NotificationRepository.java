@@ -38,4 +38,17 @@ interface NotificationRepositoryInternal {
     Mono<Notification> findById(Long id);
 
     Flux<Notification> findAllBy(Pageable pageable, Criteria criteria);
+
+    /**
+     * Updates all the columns of the notification with a single statement, see {@link EntityManager#update}.
+     *
+     * @param notification the notification, with its id.
+     * @return the updated notification, or an empty {@link Mono} if no notification has the id.
+     */
+    Mono<Notification> update(Notification notification);
+
+    /**
+     * Like {@link #update(Notification)}, but only the non-null columns are updated.
+     */
+    Mono<Notification> updateNonNull(Notification notification);
 }
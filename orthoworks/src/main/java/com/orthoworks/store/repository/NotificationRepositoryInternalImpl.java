@@ -74,11 +74,14 @@ class NotificationRepositoryInternalImpl extends SimpleR2dbcRepository<Notificat
     }
 
     RowsFetchSpec<Notification> createQuery(Pageable pageable, Criteria criteria) {
-        List<Expression> columns = NotificationSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+        return entityManager
+            .createQuery(Notification.class, EntityManager.QueryShape.FULL, List.of(), this::createSelectFrom, pageable, criteria)
+            .map(this::process);
+    }
 
-        String select = entityManager.createSelect(selectFrom, Notification.class, pageable, criteria);
-        return db.sql(select).map(this::process);
+    private SelectFromAndJoin createSelectFrom() {
+        List<Expression> columns = NotificationSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        return Select.builder().select(columns).from(entityTable);
     }
 
     @Override
@@ -92,7 +95,7 @@ class NotificationRepositoryInternalImpl extends SimpleR2dbcRepository<Notificat
     }
 
     private Notification process(Row row, RowMetadata metadata) {
-        Notification entity = notificationMapper.apply(row, "e");
+        Notification entity = notificationMapper.apply(row, metadata, "e");
         return entity;
     }
 
@@ -100,4 +103,14 @@ class NotificationRepositoryInternalImpl extends SimpleR2dbcRepository<Notificat
     public <S extends Notification> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Notification> update(Notification notification) {
+        return entityManager.update(notification, false, null, () -> findById(notification.getId()));
+    }
+
+    @Override
+    public Mono<Notification> updateNonNull(Notification notification) {
+        return entityManager.update(notification, true, null, () -> findById(notification.getId()));
+    }
 }
@@ -1,6 +1,7 @@
 package com.orthoworks.store.repository;
 
 import com.orthoworks.store.domain.Output;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -46,4 +47,19 @@ interface OutputRepositoryInternal {
     Mono<Output> findById(Long id);
 
     Flux<Output> findAllBy(Pageable pageable, Criteria criteria);
+
+    Mono<Page<Output>> findPageBy(Pageable pageable);
+
+    /**
+     * Updates all the columns of the output with a single statement, see {@link EntityManager#update}.
+     *
+     * @param output the output, with its id.
+     * @return the updated output, or an empty {@link Mono} if no output has the id.
+     */
+    Mono<Output> update(Output output);
+
+    /**
+     * Like {@link #update(Output)}, but only the non-null columns are updated.
+     */
+    Mono<Output> updateNonNull(Output output);
 }
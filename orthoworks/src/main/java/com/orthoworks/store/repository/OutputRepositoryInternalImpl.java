@@ -14,6 +14,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -77,19 +78,43 @@ class OutputRepositoryInternalImpl extends SimpleR2dbcRepository<Output, Long> i
         return createQuery(pageable, criteria).all();
     }
 
+    @Override
+    public Mono<Page<Output>> findPageBy(Pageable pageable) {
+        return entityManager.createPage(
+            additionalColumns -> createQuery(pageable, null, additionalColumns),
+            this::process,
+            Output.class,
+            pageable,
+            null
+        );
+    }
+
     RowsFetchSpec<Output> createQuery(Pageable pageable, Criteria criteria) {
+        return createQuery(pageable, criteria, List.of()).map(this::process);
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, Criteria criteria, List<Expression> additionalColumns) {
+        return entityManager.createQuery(
+            Output.class,
+            EntityManager.QueryShape.FULL,
+            additionalColumns,
+            () -> createSelectFrom(additionalColumns),
+            pageable,
+            criteria
+        );
+    }
+
+    private SelectFromAndJoinCondition createSelectFrom(List<Expression> additionalColumns) {
         List<Expression> columns = OutputSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(TransactionSqlHelper.getColumns(transactionTable, "transaction"));
-        SelectFromAndJoinCondition selectFrom = Select
+        columns.addAll(additionalColumns);
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(transactionTable)
             .on(Column.create("transaction_id", entityTable))
             .equals(Column.create("id", transactionTable));
-
-        String select = entityManager.createSelect(selectFrom, Output.class, pageable, criteria);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -103,8 +128,8 @@ class OutputRepositoryInternalImpl extends SimpleR2dbcRepository<Output, Long> i
     }
 
     private Output process(Row row, RowMetadata metadata) {
-        Output entity = outputMapper.apply(row, "e");
-        entity.setTransaction(transactionMapper.apply(row, "transaction"));
+        Output entity = outputMapper.apply(row, metadata, "e");
+        entity.setTransaction(transactionMapper.apply(row, metadata, "transaction"));
         return entity;
     }
 
@@ -112,4 +137,14 @@ class OutputRepositoryInternalImpl extends SimpleR2dbcRepository<Output, Long> i
     public <S extends Output> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Output> update(Output output) {
+        return entityManager.update(output, false, null, () -> findById(output.getId()));
+    }
+
+    @Override
+    public Mono<Output> updateNonNull(Output output) {
+        return entityManager.update(output, true, null, () -> findById(output.getId()));
+    }
 }
@@ -0,0 +1,121 @@
+package com.orthoworks.store.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Coalesces the concurrent lookups of the same key: the first lookup runs the query, and the lookups of the key which
+ * arrive while it's in flight share its result, instead of running the query again.
+ * <p>
+ * The shared query runs outside the transaction of the callers, and its result is shared by all of them, it must not be
+ * modified - so it's only meant for the read-only lookups of the {@code GET} requests. The coalescing is enabled per
+ * repository, and {@code repository.lookups} counts the lookups which ran a query and the ones which were coalesced.
+ */
+public class RequestCoalescer {
+
+    public static final String LOOKUPS_METER_NAME = "repository.lookups";
+
+    private final boolean defaultEnabled;
+    private final Map<String, Boolean> repositories = new HashMap<>();
+    private final ConcurrentMap<String, Boolean> enabledRepositories = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Mono<?>> inFlightLookups = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LookupCounters> lookupCounters = new ConcurrentHashMap<>();
+
+    /**
+     * @param defaultEnabled whether the lookups of the repositories, which aren't configured, are coalesced.
+     * @param repositories whether the lookups are coalesced, by repository name - case, dashes and underscores are ignored.
+     * @param meterRegistry registers the counts of the lookups.
+     */
+    public RequestCoalescer(boolean defaultEnabled, Map<String, Boolean> repositories, MeterRegistry meterRegistry) {
+        this.defaultEnabled = defaultEnabled;
+        repositories.forEach((repository, enabled) -> this.repositories.put(normalize(repository), enabled));
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param repository the name of the repository, like {@code collection}.
+     * @return whether the lookups of the repository are coalesced.
+     */
+    public boolean isEnabled(String repository) {
+        return enabledRepositories.computeIfAbsent(repository, name -> repositories.getOrDefault(normalize(name), defaultEnabled));
+    }
+
+    /**
+     * @param repository the name of the repository, like {@code collection}.
+     * @param key the key of the lookup, like the id of the entity.
+     * @param lookup runs the query of the lookup.
+     * @param <T> the type of the result.
+     * @return the result of the lookup, shared with the concurrent lookups of the same key.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> coalesce(String repository, Object key, Supplier<Mono<T>> lookup) {
+        if (!isEnabled(repository)) {
+            return lookup.get();
+        }
+        LookupCounters counters = lookupCounters.computeIfAbsent(repository, this::createLookupCounters);
+        String lookupKey = repository + ":" + key;
+        return Mono.defer(() -> {
+            InFlightLookup<T> created = new InFlightLookup<>();
+            Mono<T> inFlight = (Mono<T>) inFlightLookups.computeIfAbsent(
+                lookupKey,
+                k -> {
+                    created.result =
+                        lookup
+                            .get()
+                            // the query doesn't run in the transaction of the first caller, which may end before the others
+                            .contextWrite(context -> Context.empty())
+                            .doFinally(signal -> inFlightLookups.remove(k, created.result))
+                            .cache();
+                    return created.result;
+                }
+            );
+            if (inFlight == created.result) {
+                counters.executed.increment();
+            } else {
+                counters.coalesced.increment();
+            }
+            return inFlight;
+        });
+    }
+
+    private LookupCounters createLookupCounters(String repository) {
+        return new LookupCounters(lookupCounter(repository, "executed"), lookupCounter(repository, "coalesced"));
+    }
+
+    private Counter lookupCounter(String repository, String result) {
+        return Counter
+            .builder(LOOKUPS_METER_NAME)
+            .description("The number of lookups which ran a query, or were coalesced with a lookup in flight")
+            .tag("repository", repository)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static String normalize(String repository) {
+        return repository.replaceAll("[^A-Za-z0-9]", "").toLowerCase();
+    }
+
+    private static class LookupCounters {
+
+        private final Counter executed;
+        private final Counter coalesced;
+
+        LookupCounters(Counter executed, Counter coalesced) {
+            this.executed = executed;
+            this.coalesced = coalesced;
+        }
+    }
+
+    private static class InFlightLookup<T> {
+
+        private Mono<T> result;
+    }
+}
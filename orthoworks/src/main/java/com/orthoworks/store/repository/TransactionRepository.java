@@ -1,6 +1,8 @@
 package com.orthoworks.store.repository;
 
 import com.orthoworks.store.domain.Transaction;
+import java.util.List;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -42,6 +44,8 @@ public interface TransactionRepository extends ReactiveCrudRepository<Transactio
 interface TransactionRepositoryInternal {
     <S extends Transaction> Mono<S> save(S entity);
 
+    <S extends Transaction> Flux<S> insertAll(List<S> entities);
+
     Flux<Transaction> findAllBy(Pageable pageable);
 
     Flux<Transaction> findAll();
@@ -49,4 +53,19 @@ interface TransactionRepositoryInternal {
     Mono<Transaction> findById(Long id);
 
     Flux<Transaction> findAllBy(Pageable pageable, Criteria criteria);
+
+    Mono<Page<Transaction>> findPageBy(Pageable pageable);
+
+    /**
+     * Updates all the columns of the transaction with a single statement, see {@link EntityManager#update}.
+     *
+     * @param transaction the transaction, with its id.
+     * @return the updated transaction, or an empty {@link Mono} if no transaction has the id.
+     */
+    Mono<Transaction> update(Transaction transaction);
+
+    /**
+     * Like {@link #update(Transaction)}, but only the non-null columns are updated.
+     */
+    Mono<Transaction> updateNonNull(Transaction transaction);
 }
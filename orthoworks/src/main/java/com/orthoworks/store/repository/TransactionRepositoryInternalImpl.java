@@ -15,6 +15,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -78,19 +79,43 @@ class TransactionRepositoryInternalImpl extends SimpleR2dbcRepository<Transactio
         return createQuery(pageable, criteria).all();
     }
 
+    @Override
+    public Mono<Page<Transaction>> findPageBy(Pageable pageable) {
+        return entityManager.createPage(
+            additionalColumns -> createQuery(pageable, null, additionalColumns),
+            this::process,
+            Transaction.class,
+            pageable,
+            null
+        );
+    }
+
     RowsFetchSpec<Transaction> createQuery(Pageable pageable, Criteria criteria) {
+        return createQuery(pageable, criteria, List.of()).map(this::process);
+    }
+
+    DatabaseClient.GenericExecuteSpec createQuery(Pageable pageable, Criteria criteria, List<Expression> additionalColumns) {
+        return entityManager.createQuery(
+            Transaction.class,
+            EntityManager.QueryShape.FULL,
+            additionalColumns,
+            () -> createSelectFrom(additionalColumns),
+            pageable,
+            criteria
+        );
+    }
+
+    private SelectFromAndJoinCondition createSelectFrom(List<Expression> additionalColumns) {
         List<Expression> columns = TransactionSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(CollectionSqlHelper.getColumns(collectionTable, "collection"));
-        SelectFromAndJoinCondition selectFrom = Select
+        columns.addAll(additionalColumns);
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(collectionTable)
             .on(Column.create("collection_id", entityTable))
             .equals(Column.create("id", collectionTable));
-
-        String select = entityManager.createSelect(selectFrom, Transaction.class, pageable, criteria);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -104,8 +129,8 @@ class TransactionRepositoryInternalImpl extends SimpleR2dbcRepository<Transactio
     }
 
     private Transaction process(Row row, RowMetadata metadata) {
-        Transaction entity = transactionMapper.apply(row, "e");
-        entity.setCollection(collectionMapper.apply(row, "collection"));
+        Transaction entity = transactionMapper.apply(row, metadata, "e");
+        entity.setCollection(collectionMapper.apply(row, metadata, "collection"));
         return entity;
     }
 
@@ -113,4 +138,19 @@ class TransactionRepositoryInternalImpl extends SimpleR2dbcRepository<Transactio
     public <S extends Transaction> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Mono<Transaction> update(Transaction transaction) {
+        return entityManager.update(transaction, false, null, () -> findById(transaction.getId()));
+    }
+
+    @Override
+    public Mono<Transaction> updateNonNull(Transaction transaction) {
+        return entityManager.update(transaction, true, null, () -> findById(transaction.getId()));
+    }
+
+    @Override
+    public <S extends Transaction> Flux<S> insertAll(List<S> entities) {
+        return entityManager.insertAll(entities);
+    }
 }
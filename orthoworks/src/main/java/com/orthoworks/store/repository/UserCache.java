@@ -0,0 +1,117 @@
+package com.orthoworks.store.repository;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.orthoworks.store.domain.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Supplier;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches the users with their authorities, by login and by email, for the authentication and the account requests.
+ * <p>
+ * A user is loaded once for all the concurrent requests of its key, and is reused until the time to live expires, or
+ * until it's {@link #evict(User) evicted} by a change of the user. The cached users are shared, they must not be modified.
+ * The users are kept in a Caffeine cache, which evicts the least likely to be used again once it's full, and whose
+ * statistics are reported as {@code cache.gets}, {@code cache.evictions} and {@code cache.size}, tagged {@code cache=users}.
+ */
+public class UserCache {
+
+    public static final String CACHE_NAME = "users";
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final AsyncCache<String, User> cachedUsers;
+
+    /**
+     * @param userRepository loads the users.
+     * @param timeToLive how long a user is reused, the cache is disabled if it's zero.
+     * @param maxEntries the maximum number of cached users.
+     * @param meterRegistry registers the metrics of the cache.
+     */
+    public UserCache(UserRepository userRepository, Duration timeToLive, int maxEntries, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.enabled = !timeToLive.isZero();
+        this.cachedUsers = Caffeine.newBuilder().maximumSize(maxEntries).expireAfterWrite(timeToLive).recordStats().buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cachedUsers.synchronous(), CACHE_NAME);
+    }
+
+    /**
+     * @param login the login of the user, case is ignored.
+     * @return the user with its authorities, or an empty {@link Mono} if there's no such user.
+     */
+    public Mono<User> findOneWithAuthoritiesByLogin(String login) {
+        String lowercaseLogin = login.toLowerCase(Locale.ENGLISH);
+        return get(loginKey(lowercaseLogin), () -> userRepository.findOneWithAuthoritiesByLogin(lowercaseLogin));
+    }
+
+    /**
+     * @param email the email of the user, case is ignored.
+     * @return the user with its authorities, or an empty {@link Mono} if there's no such user.
+     */
+    public Mono<User> findOneWithAuthoritiesByEmailIgnoreCase(String email) {
+        return get(emailKey(email), () -> userRepository.findOneWithAuthoritiesByEmailIgnoreCase(email));
+    }
+
+    /**
+     * Evicts the user by its login and its email. If a transaction is active, the user is evicted again once it
+     * completes, so a request running concurrently can't cache the user as it was before the transaction.
+     *
+     * @param user the user, with the login and the email it's cached with.
+     * @return a {@link Mono} completing once the user is evicted.
+     */
+    public Mono<Void> evict(User user) {
+        String login = user.getLogin();
+        String email = user.getEmail();
+        return Mono
+            .fromRunnable(() -> evict(login, email))
+            .then(TransactionSynchronizationManager.forCurrentTransaction())
+            .filter(TransactionSynchronizationManager::isSynchronizationActive)
+            .doOnNext(synchronizationManager ->
+                synchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCompletion(int status) {
+                            return Mono.fromRunnable(() -> evict(login, email));
+                        }
+                    }
+                )
+            )
+            .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+            .then();
+    }
+
+    private void evict(String login, String email) {
+        if (login != null) {
+            cachedUsers.synchronous().invalidate(loginKey(login.toLowerCase(Locale.ENGLISH)));
+        }
+        if (email != null) {
+            cachedUsers.synchronous().invalidate(emailKey(email));
+        }
+    }
+
+    private Mono<User> get(String key, Supplier<Mono<User>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        // a missing user, or an error, completes the load without a user, and isn't cached
+        return Mono.defer(() ->
+            // the load is shared, a request which is cancelled must not cancel it for the others
+            Mono.fromFuture(cachedUsers.get(key, (k, executor) -> Mono.defer(loader).toFuture()).copy())
+        );
+    }
+
+    private static String loginKey(String lowercaseLogin) {
+        return "login:" + lowercaseLogin;
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email.toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -7,16 +7,20 @@ import com.orthoworks.store.domain.Authority;
 import com.orthoworks.store.domain.User;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import org.apache.commons.beanutils.BeanComparator;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Expression;
 import org.springframework.data.relational.core.sql.Table;
@@ -94,28 +98,35 @@ class UserRepositoryInternalImpl implements UserRepositoryInternal {
 
     @Override
     public Flux<User> findAllWithAuthorities(Pageable pageable) {
-        String property = pageable.getSort().stream().map(Sort.Order::getProperty).findFirst().orElse("id");
-        String direction = String.valueOf(
-            pageable.getSort().stream().map(Sort.Order::getDirection).findFirst().orElse(Sort.DEFAULT_DIRECTION)
-        );
-        long page = pageable.getPageNumber();
-        long size = pageable.getPageSize();
+        // Add the id as a tie-breaker, so that the pages are stable on non-unique sort columns
+        Sort tieBreaker = pageable.getSort().getOrderFor("id") == null ? Sort.by("id") : Sort.unsorted();
+        return r2dbcEntityTemplate
+            .select(User.class)
+            .matching(query(Criteria.empty()).with(pageable).sort(tieBreaker))
+            .all()
+            .collectList()
+            .filter(users -> !users.isEmpty())
+            .flatMap(users ->
+                findAuthoritiesByUserIds(users.stream().map(User::getId).collect(Collectors.toList()))
+                    .map(authoritiesByUserId -> {
+                        users.forEach(user -> user.setAuthorities(authoritiesByUserId.getOrDefault(user.getId(), new HashSet<>())));
+                        return users;
+                    })
+            )
+            .flatMapIterable(Function.identity());
+    }
 
+    private Mono<Map<Long, Set<Authority>>> findAuthoritiesByUserIds(List<Long> userIds) {
         return db
-            .sql("SELECT * FROM jhi_user u LEFT JOIN jhi_user_authority ua ON u.id=ua.user_id")
-            .map((row, metadata) ->
-                Tuples.of(r2dbcConverter.read(User.class, row, metadata), Optional.ofNullable(row.get("authority_name", String.class)))
-            )
+            .sql("SELECT ua.user_id, ua.authority_name FROM jhi_user_authority ua WHERE ua.user_id IN (:userIds)")
+            .bind("userIds", userIds)
+            .map((row, metadata) -> {
+                Authority authority = new Authority();
+                authority.setName(row.get("authority_name", String.class));
+                return Tuples.of(row.get("user_id", Long.class), authority);
+            })
             .all()
-            .groupBy(t -> t.getT1().getLogin())
-            .flatMap(l -> l.collectList().map(t -> updateUserWithAuthorities(t.get(0).getT1(), t)))
-            .sort(
-                Sort.Direction.fromString(direction) == Sort.DEFAULT_DIRECTION
-                    ? new BeanComparator<>(property)
-                    : new BeanComparator<>(property).reversed()
-            )
-            .skip(page * size)
-            .take(size);
+            .collect(Collectors.groupingBy(Tuple2::getT1, Collectors.mapping(Tuple2::getT2, Collectors.toSet())));
     }
 
     @Override
@@ -2,35 +2,49 @@ package com.orthoworks.store.repository.rowmapper;
 
 import com.orthoworks.store.domain.Address;
 import io.r2dbc.spi.Row;
-import java.util.function.BiFunction;
+import io.r2dbc.spi.RowMetadata;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Address}, with proper type conversions.
  */
 @Service
-public class AddressRowMapper implements BiFunction<Row, String, Address> {
+public class AddressRowMapper {
 
-    private final ColumnConverter converter;
+    private final RowReader reader;
+    private final RowReader.Column<Long> id;
+    private final RowReader.Column<String> address1;
+    private final RowReader.Column<String> address2;
+    private final RowReader.Column<String> city;
+    private final RowReader.Column<String> postcode;
+    private final RowReader.Column<String> country;
+    private final RowReader.Column<Long> customerId;
 
     public AddressRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.reader = new RowReader(converter);
+        this.id = reader.column("id", Long.class);
+        this.address1 = reader.column("address_1", String.class);
+        this.address2 = reader.column("address_2", String.class);
+        this.city = reader.column("city", String.class);
+        this.postcode = reader.column("postcode", String.class);
+        this.country = reader.column("country", String.class);
+        this.customerId = reader.column("customer_id", Long.class);
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row}, its metadata and a column prefix, and extract all the fields.
      * @return the {@link Address} stored in the database.
      */
-    @Override
-    public Address apply(Row row, String prefix) {
+    public Address apply(Row row, RowMetadata metadata, String prefix) {
+        RowReader.ResolvedColumns columns = reader.resolve(metadata, prefix);
         Address entity = new Address();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setAddress1(converter.fromRow(row, prefix + "_address_1", String.class));
-        entity.setAddress2(converter.fromRow(row, prefix + "_address_2", String.class));
-        entity.setCity(converter.fromRow(row, prefix + "_city", String.class));
-        entity.setPostcode(converter.fromRow(row, prefix + "_postcode", String.class));
-        entity.setCountry(converter.fromRow(row, prefix + "_country", String.class));
-        entity.setCustomerId(converter.fromRow(row, prefix + "_customer_id", Long.class));
+        entity.setId(columns.get(row, id));
+        entity.setAddress1(columns.get(row, address1));
+        entity.setAddress2(columns.get(row, address2));
+        entity.setCity(columns.get(row, city));
+        entity.setPostcode(columns.get(row, postcode));
+        entity.setCountry(columns.get(row, country));
+        entity.setCustomerId(columns.get(row, customerId));
         return entity;
     }
 }
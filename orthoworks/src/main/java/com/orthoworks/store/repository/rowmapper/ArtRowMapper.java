@@ -4,33 +4,46 @@ import com.orthoworks.store.domain.Art;
 import com.orthoworks.store.domain.enumeration.AssetType;
 import com.orthoworks.store.domain.enumeration.Type;
 import io.r2dbc.spi.Row;
-import java.util.function.BiFunction;
+import io.r2dbc.spi.RowMetadata;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Art}, with proper type conversions.
  */
 @Service
-public class ArtRowMapper implements BiFunction<Row, String, Art> {
+public class ArtRowMapper {
 
-    private final ColumnConverter converter;
+    private final RowReader reader;
+    private final RowReader.Column<Long> id;
+    private final RowReader.Column<String> name;
+    private final RowReader.Column<String> handle;
+    private final RowReader.Column<AssetType> assetType;
+    private final RowReader.Column<Type> type;
+    private final RowReader.Column<Long> version;
 
     public ArtRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.reader = new RowReader(converter);
+        this.id = reader.column("id", Long.class);
+        this.name = reader.column("name", String.class);
+        this.handle = reader.column("handle", String.class);
+        this.assetType = reader.column("asset_type", AssetType.class);
+        this.type = reader.column("type", Type.class);
+        this.version = reader.column("version", Long.class);
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row}, its metadata and a column prefix, and extract all the fields.
      * @return the {@link Art} stored in the database.
      */
-    @Override
-    public Art apply(Row row, String prefix) {
+    public Art apply(Row row, RowMetadata metadata, String prefix) {
+        RowReader.ResolvedColumns columns = reader.resolve(metadata, prefix);
         Art entity = new Art();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setName(converter.fromRow(row, prefix + "_name", String.class));
-        entity.setHandle(converter.fromRow(row, prefix + "_handle", String.class));
-        entity.setAssetType(converter.fromRow(row, prefix + "_asset_type", AssetType.class));
-        entity.setType(converter.fromRow(row, prefix + "_type", Type.class));
+        entity.setId(columns.get(row, id));
+        entity.setName(columns.get(row, name));
+        entity.setHandle(columns.get(row, handle));
+        entity.setAssetType(columns.get(row, assetType));
+        entity.setType(columns.get(row, type));
+        entity.setVersion(columns.get(row, version));
         return entity;
     }
 }
@@ -3,38 +3,58 @@ package com.orthoworks.store.repository.rowmapper;
 import com.orthoworks.store.domain.Artist;
 import com.orthoworks.store.domain.enumeration.Gender;
 import io.r2dbc.spi.Row;
-import java.util.function.BiFunction;
+import io.r2dbc.spi.RowMetadata;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Artist}, with proper type conversions.
  */
 @Service
-public class ArtistRowMapper implements BiFunction<Row, String, Artist> {
+public class ArtistRowMapper {
 
-    private final ColumnConverter converter;
+    private final RowReader reader;
+    private final RowReader.Column<Long> id;
+    private final RowReader.Column<String> firstName;
+    private final RowReader.Column<String> lastName;
+    private final RowReader.Column<Gender> gender;
+    private final RowReader.Column<String> email;
+    private final RowReader.Column<String> phone;
+    private final RowReader.Column<String> addressLine1;
+    private final RowReader.Column<String> addressLine2;
+    private final RowReader.Column<String> city;
+    private final RowReader.Column<String> country;
 
     public ArtistRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.reader = new RowReader(converter);
+        this.id = reader.column("id", Long.class);
+        this.firstName = reader.column("first_name", String.class);
+        this.lastName = reader.column("last_name", String.class);
+        this.gender = reader.column("gender", Gender.class);
+        this.email = reader.column("email", String.class);
+        this.phone = reader.column("phone", String.class);
+        this.addressLine1 = reader.column("address_line_1", String.class);
+        this.addressLine2 = reader.column("address_line_2", String.class);
+        this.city = reader.column("city", String.class);
+        this.country = reader.column("country", String.class);
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row}, its metadata and a column prefix, and extract all the fields.
      * @return the {@link Artist} stored in the database.
      */
-    @Override
-    public Artist apply(Row row, String prefix) {
+    public Artist apply(Row row, RowMetadata metadata, String prefix) {
+        RowReader.ResolvedColumns columns = reader.resolve(metadata, prefix);
         Artist entity = new Artist();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setFirstName(converter.fromRow(row, prefix + "_first_name", String.class));
-        entity.setLastName(converter.fromRow(row, prefix + "_last_name", String.class));
-        entity.setGender(converter.fromRow(row, prefix + "_gender", Gender.class));
-        entity.setEmail(converter.fromRow(row, prefix + "_email", String.class));
-        entity.setPhone(converter.fromRow(row, prefix + "_phone", String.class));
-        entity.setAddressLine1(converter.fromRow(row, prefix + "_address_line_1", String.class));
-        entity.setAddressLine2(converter.fromRow(row, prefix + "_address_line_2", String.class));
-        entity.setCity(converter.fromRow(row, prefix + "_city", String.class));
-        entity.setCountry(converter.fromRow(row, prefix + "_country", String.class));
+        entity.setId(columns.get(row, id));
+        entity.setFirstName(columns.get(row, firstName));
+        entity.setLastName(columns.get(row, lastName));
+        entity.setGender(columns.get(row, gender));
+        entity.setEmail(columns.get(row, email));
+        entity.setPhone(columns.get(row, phone));
+        entity.setAddressLine1(columns.get(row, addressLine1));
+        entity.setAddressLine2(columns.get(row, addressLine2));
+        entity.setCity(columns.get(row, city));
+        entity.setCountry(columns.get(row, country));
         return entity;
     }
 }
@@ -2,35 +2,47 @@ package com.orthoworks.store.repository.rowmapper;
 
 import com.orthoworks.store.domain.BrandCategory;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.time.LocalDate;
-import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link BrandCategory}, with proper type conversions.
  */
 @Service
-public class BrandCategoryRowMapper implements BiFunction<Row, String, BrandCategory> {
+public class BrandCategoryRowMapper {
 
-    private final ColumnConverter converter;
+    private final RowReader reader;
+    private final RowReader.Column<Long> id;
+    private final RowReader.Column<String> description;
+    private final RowReader.Column<Integer> sortOrder;
+    private final RowReader.Column<LocalDate> dateAdded;
+    private final RowReader.Column<LocalDate> dateModified;
+    private final RowReader.Column<Long> parentId;
 
     public BrandCategoryRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.reader = new RowReader(converter);
+        this.id = reader.column("id", Long.class);
+        this.description = reader.column("description", String.class);
+        this.sortOrder = reader.column("sort_order", Integer.class);
+        this.dateAdded = reader.column("date_added", LocalDate.class);
+        this.dateModified = reader.column("date_modified", LocalDate.class);
+        this.parentId = reader.column("parent_id", Long.class);
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row}, its metadata and a column prefix, and extract all the fields.
      * @return the {@link BrandCategory} stored in the database.
      */
-    @Override
-    public BrandCategory apply(Row row, String prefix) {
+    public BrandCategory apply(Row row, RowMetadata metadata, String prefix) {
+        RowReader.ResolvedColumns columns = reader.resolve(metadata, prefix);
         BrandCategory entity = new BrandCategory();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setDescription(converter.fromRow(row, prefix + "_description", String.class));
-        entity.setSortOrder(converter.fromRow(row, prefix + "_sort_order", Integer.class));
-        entity.setDateAdded(converter.fromRow(row, prefix + "_date_added", LocalDate.class));
-        entity.setDateModified(converter.fromRow(row, prefix + "_date_modified", LocalDate.class));
-        entity.setParentId(converter.fromRow(row, prefix + "_parent_id", Long.class));
+        entity.setId(columns.get(row, id));
+        entity.setDescription(columns.get(row, description));
+        entity.setSortOrder(columns.get(row, sortOrder));
+        entity.setDateAdded(columns.get(row, dateAdded));
+        entity.setDateModified(columns.get(row, dateModified));
+        entity.setParentId(columns.get(row, parentId));
         return entity;
     }
 }
@@ -4,42 +4,69 @@ import com.orthoworks.store.domain.Brand;
 import com.orthoworks.store.domain.enumeration.BrandStatus;
 import com.orthoworks.store.domain.enumeration.Size;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Brand}, with proper type conversions.
  */
 @Service
-public class BrandRowMapper implements BiFunction<Row, String, Brand> {
+public class BrandRowMapper {
 
-    private final ColumnConverter converter;
+    private final RowReader reader;
+    private final RowReader.Column<Long> id;
+    private final RowReader.Column<String> title;
+    private final RowReader.Column<String> keywords;
+    private final RowReader.Column<String> description;
+    private final RowReader.Column<String> imageContentType;
+    private final RowReader.Column<byte[]> image;
+    private final RowReader.Column<Long> imageSize;
+    private final RowReader.Column<Integer> rating;
+    private final RowReader.Column<BrandStatus> status;
+    private final RowReader.Column<BigDecimal> price;
+    private final RowReader.Column<Size> brandSize;
+    private final RowReader.Column<LocalDate> dateAdded;
+    private final RowReader.Column<LocalDate> dateModified;
 
     public BrandRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.reader = new RowReader(converter);
+        this.id = reader.column("id", Long.class);
+        this.title = reader.column("title", String.class);
+        this.keywords = reader.column("keywords", String.class);
+        this.description = reader.column("description", String.class);
+        this.imageContentType = reader.column("image_content_type", String.class);
+        this.image = reader.column("image", byte[].class);
+        this.imageSize = reader.column("image_size", Long.class);
+        this.rating = reader.column("rating", Integer.class);
+        this.status = reader.column("status", BrandStatus.class);
+        this.price = reader.column("price", BigDecimal.class);
+        this.brandSize = reader.column("brand_size", Size.class);
+        this.dateAdded = reader.column("date_added", LocalDate.class);
+        this.dateModified = reader.column("date_modified", LocalDate.class);
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row}, its metadata and a column prefix, and extract all the fields.
      * @return the {@link Brand} stored in the database.
      */
-    @Override
-    public Brand apply(Row row, String prefix) {
+    public Brand apply(Row row, RowMetadata metadata, String prefix) {
+        RowReader.ResolvedColumns columns = reader.resolve(metadata, prefix);
         Brand entity = new Brand();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setTitle(converter.fromRow(row, prefix + "_title", String.class));
-        entity.setKeywords(converter.fromRow(row, prefix + "_keywords", String.class));
-        entity.setDescription(converter.fromRow(row, prefix + "_description", String.class));
-        entity.setImageContentType(converter.fromRow(row, prefix + "_image_content_type", String.class));
-        entity.setImage(converter.fromRow(row, prefix + "_image", byte[].class));
-        entity.setRating(converter.fromRow(row, prefix + "_rating", Integer.class));
-        entity.setStatus(converter.fromRow(row, prefix + "_status", BrandStatus.class));
-        entity.setPrice(converter.fromRow(row, prefix + "_price", BigDecimal.class));
-        entity.setBrandSize(converter.fromRow(row, prefix + "_brand_size", Size.class));
-        entity.setDateAdded(converter.fromRow(row, prefix + "_date_added", LocalDate.class));
-        entity.setDateModified(converter.fromRow(row, prefix + "_date_modified", LocalDate.class));
+        entity.setId(columns.get(row, id));
+        entity.setTitle(columns.get(row, title));
+        entity.setKeywords(columns.get(row, keywords));
+        entity.setDescription(columns.get(row, description));
+        entity.setImageContentType(columns.get(row, imageContentType));
+        entity.setImage(columns.get(row, image));
+        entity.setImageSize(entity.getImage() != null ? Long.valueOf(entity.getImage().length) : columns.get(row, imageSize));
+        entity.setRating(columns.get(row, rating));
+        entity.setStatus(columns.get(row, status));
+        entity.setPrice(columns.get(row, price));
+        entity.setBrandSize(columns.get(row, brandSize));
+        entity.setDateAdded(columns.get(row, dateAdded));
+        entity.setDateModified(columns.get(row, dateModified));
         return entity;
     }
 }
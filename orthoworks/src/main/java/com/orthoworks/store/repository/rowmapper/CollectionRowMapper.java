@@ -5,38 +5,58 @@ import com.orthoworks.store.domain.enumeration.AuctionType;
 import com.orthoworks.store.domain.enumeration.CollectionType;
 import com.orthoworks.store.domain.enumeration.Currency;
 import io.r2dbc.spi.Row;
-import java.util.function.BiFunction;
+import io.r2dbc.spi.RowMetadata;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Collection}, with proper type conversions.
  */
 @Service
-public class CollectionRowMapper implements BiFunction<Row, String, Collection> {
+public class CollectionRowMapper {
 
-    private final ColumnConverter converter;
+    private final RowReader reader;
+    private final RowReader.Column<Long> id;
+    private final RowReader.Column<String> name;
+    private final RowReader.Column<String> title;
+    private final RowReader.Column<Integer> count;
+    private final RowReader.Column<CollectionType> collectionType;
+    private final RowReader.Column<AuctionType> auctionType;
+    private final RowReader.Column<Float> minRange;
+    private final RowReader.Column<Float> maxRange;
+    private final RowReader.Column<Currency> currency;
+    private final RowReader.Column<String> owner;
 
     public CollectionRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.reader = new RowReader(converter);
+        this.id = reader.column("id", Long.class);
+        this.name = reader.column("name", String.class);
+        this.title = reader.column("title", String.class);
+        this.count = reader.column("count", Integer.class);
+        this.collectionType = reader.column("collection_type", CollectionType.class);
+        this.auctionType = reader.column("auction_type", AuctionType.class);
+        this.minRange = reader.column("min_range", Float.class);
+        this.maxRange = reader.column("max_range", Float.class);
+        this.currency = reader.column("currency", Currency.class);
+        this.owner = reader.column("owner", String.class);
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row}, its metadata and a column prefix, and extract all the fields.
      * @return the {@link Collection} stored in the database.
      */
-    @Override
-    public Collection apply(Row row, String prefix) {
+    public Collection apply(Row row, RowMetadata metadata, String prefix) {
+        RowReader.ResolvedColumns columns = reader.resolve(metadata, prefix);
         Collection entity = new Collection();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setName(converter.fromRow(row, prefix + "_name", String.class));
-        entity.setTitle(converter.fromRow(row, prefix + "_title", String.class));
-        entity.setCount(converter.fromRow(row, prefix + "_count", Integer.class));
-        entity.setCollectionType(converter.fromRow(row, prefix + "_collection_type", CollectionType.class));
-        entity.setAuctionType(converter.fromRow(row, prefix + "_auction_type", AuctionType.class));
-        entity.setMinRange(converter.fromRow(row, prefix + "_min_range", Float.class));
-        entity.setMaxRange(converter.fromRow(row, prefix + "_max_range", Float.class));
-        entity.setCurrency(converter.fromRow(row, prefix + "_currency", Currency.class));
-        entity.setOwner(converter.fromRow(row, prefix + "_owner", String.class));
+        entity.setId(columns.get(row, id));
+        entity.setName(columns.get(row, name));
+        entity.setTitle(columns.get(row, title));
+        entity.setCount(columns.get(row, count));
+        entity.setCollectionType(columns.get(row, collectionType));
+        entity.setAuctionType(columns.get(row, auctionType));
+        entity.setMinRange(columns.get(row, minRange));
+        entity.setMaxRange(columns.get(row, maxRange));
+        entity.setCurrency(columns.get(row, currency));
+        entity.setOwner(columns.get(row, owner));
         return entity;
     }
 }
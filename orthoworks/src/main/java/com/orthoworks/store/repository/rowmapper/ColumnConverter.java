@@ -46,8 +46,29 @@ public class ColumnConverter {
         return conversionService.convert(value, target);
     }
 
+    /**
+     * Decides whether a column value must be converted with {@link #convert(Object, Class)}, or can be read by the driver
+     * as the target type.
+     * @param columnType the Java type of the column, as reported by the driver, or null, if it's unknown.
+     * @param target class.
+     * @return true if the value must be converted.
+     */
+    public boolean needsConversion(@Nullable Class<?> columnType, Class<?> target) {
+        if (columnType == null || ClassUtils.isAssignable(target, columnType)) {
+            return false;
+        }
+        return (
+            conversions.hasCustomReadTarget(columnType, target) ||
+            Enum.class.isAssignableFrom(target) ||
+            conversionService.canConvert(columnType, target)
+        );
+    }
+
     /**
      * Convert a value from the {@link Row} to a type - throws an exception, it it's impossible.
+     * <p>
+     * The row mappers use a {@link RowReader} instead, which doesn't look up the column by name, and resolves the conversion
+     * once for all the rows of a result.
      * @param row which contains the column values.
      * @param target class.
      * @param columnName the name of the column which to convert.
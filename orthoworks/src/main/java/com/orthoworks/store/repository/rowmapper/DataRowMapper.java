@@ -2,33 +2,46 @@ package com.orthoworks.store.repository.rowmapper;
 
 import com.orthoworks.store.domain.Data;
 import io.r2dbc.spi.Row;
-import java.util.function.BiFunction;
+import io.r2dbc.spi.RowMetadata;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Data}, with proper type conversions.
  */
 @Service
-public class DataRowMapper implements BiFunction<Row, String, Data> {
+public class DataRowMapper {
 
-    private final ColumnConverter converter;
+    private final RowReader reader;
+    private final RowReader.Column<Long> id;
+    private final RowReader.Column<String> name;
+    private final RowReader.Column<String> fileContentType;
+    private final RowReader.Column<byte[]> file;
+    private final RowReader.Column<Long> fileSize;
+    private final RowReader.Column<Long> transactionId;
 
     public DataRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.reader = new RowReader(converter);
+        this.id = reader.column("id", Long.class);
+        this.name = reader.column("name", String.class);
+        this.fileContentType = reader.column("file_content_type", String.class);
+        this.file = reader.column("file", byte[].class);
+        this.fileSize = reader.column("file_size", Long.class);
+        this.transactionId = reader.column("transaction_id", Long.class);
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row}, its metadata and a column prefix, and extract all the fields.
      * @return the {@link Data} stored in the database.
      */
-    @Override
-    public Data apply(Row row, String prefix) {
+    public Data apply(Row row, RowMetadata metadata, String prefix) {
+        RowReader.ResolvedColumns columns = reader.resolve(metadata, prefix);
         Data entity = new Data();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setName(converter.fromRow(row, prefix + "_name", String.class));
-        entity.setFileContentType(converter.fromRow(row, prefix + "_file_content_type", String.class));
-        entity.setFile(converter.fromRow(row, prefix + "_file", byte[].class));
-        entity.setTransactionId(converter.fromRow(row, prefix + "_transaction_id", Long.class));
+        entity.setId(columns.get(row, id));
+        entity.setName(columns.get(row, name));
+        entity.setFileContentType(columns.get(row, fileContentType));
+        entity.setFile(columns.get(row, file));
+        entity.setFileSize(entity.getFile() != null ? Long.valueOf(entity.getFile().length) : columns.get(row, fileSize));
+        entity.setTransactionId(columns.get(row, transactionId));
         return entity;
     }
 }
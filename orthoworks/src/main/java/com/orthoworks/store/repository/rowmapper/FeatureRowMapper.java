@@ -2,32 +2,40 @@ package com.orthoworks.store.repository.rowmapper;
 
 import com.orthoworks.store.domain.Feature;
 import io.r2dbc.spi.Row;
-import java.util.function.BiFunction;
+import io.r2dbc.spi.RowMetadata;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Feature}, with proper type conversions.
  */
 @Service
-public class FeatureRowMapper implements BiFunction<Row, String, Feature> {
+public class FeatureRowMapper {
 
-    private final ColumnConverter converter;
+    private final RowReader reader;
+    private final RowReader.Column<Long> id;
+    private final RowReader.Column<String> name;
+    private final RowReader.Column<Boolean> mandatory;
+    private final RowReader.Column<Long> collectionId;
 
     public FeatureRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.reader = new RowReader(converter);
+        this.id = reader.column("id", Long.class);
+        this.name = reader.column("name", String.class);
+        this.mandatory = reader.column("mandatory", Boolean.class);
+        this.collectionId = reader.column("collection_id", Long.class);
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row}, its metadata and a column prefix, and extract all the fields.
      * @return the {@link Feature} stored in the database.
      */
-    @Override
-    public Feature apply(Row row, String prefix) {
+    public Feature apply(Row row, RowMetadata metadata, String prefix) {
+        RowReader.ResolvedColumns columns = reader.resolve(metadata, prefix);
         Feature entity = new Feature();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setName(converter.fromRow(row, prefix + "_name", String.class));
-        entity.setMandatory(converter.fromRow(row, prefix + "_mandatory", Boolean.class));
-        entity.setCollectionId(converter.fromRow(row, prefix + "_collection_id", Long.class));
+        entity.setId(columns.get(row, id));
+        entity.setName(columns.get(row, name));
+        entity.setMandatory(columns.get(row, mandatory));
+        entity.setCollectionId(columns.get(row, collectionId));
         return entity;
     }
 }
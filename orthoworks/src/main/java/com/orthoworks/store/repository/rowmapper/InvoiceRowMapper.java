@@ -4,38 +4,54 @@ import com.orthoworks.store.domain.Invoice;
 import com.orthoworks.store.domain.enumeration.InvoiceStatus;
 import com.orthoworks.store.domain.enumeration.PaymentMethod;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.math.BigDecimal;
 import java.time.Instant;
-import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Invoice}, with proper type conversions.
  */
 @Service
-public class InvoiceRowMapper implements BiFunction<Row, String, Invoice> {
+public class InvoiceRowMapper {
 
-    private final ColumnConverter converter;
+    private final RowReader reader;
+    private final RowReader.Column<Long> id;
+    private final RowReader.Column<String> code;
+    private final RowReader.Column<Instant> date;
+    private final RowReader.Column<String> details;
+    private final RowReader.Column<InvoiceStatus> status;
+    private final RowReader.Column<PaymentMethod> paymentMethod;
+    private final RowReader.Column<Instant> paymentDate;
+    private final RowReader.Column<BigDecimal> paymentAmount;
 
     public InvoiceRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.reader = new RowReader(converter);
+        this.id = reader.column("id", Long.class);
+        this.code = reader.column("code", String.class);
+        this.date = reader.column("date", Instant.class);
+        this.details = reader.column("details", String.class);
+        this.status = reader.column("status", InvoiceStatus.class);
+        this.paymentMethod = reader.column("payment_method", PaymentMethod.class);
+        this.paymentDate = reader.column("payment_date", Instant.class);
+        this.paymentAmount = reader.column("payment_amount", BigDecimal.class);
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row}, its metadata and a column prefix, and extract all the fields.
      * @return the {@link Invoice} stored in the database.
      */
-    @Override
-    public Invoice apply(Row row, String prefix) {
+    public Invoice apply(Row row, RowMetadata metadata, String prefix) {
+        RowReader.ResolvedColumns columns = reader.resolve(metadata, prefix);
         Invoice entity = new Invoice();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setCode(converter.fromRow(row, prefix + "_code", String.class));
-        entity.setDate(converter.fromRow(row, prefix + "_date", Instant.class));
-        entity.setDetails(converter.fromRow(row, prefix + "_details", String.class));
-        entity.setStatus(converter.fromRow(row, prefix + "_status", InvoiceStatus.class));
-        entity.setPaymentMethod(converter.fromRow(row, prefix + "_payment_method", PaymentMethod.class));
-        entity.setPaymentDate(converter.fromRow(row, prefix + "_payment_date", Instant.class));
-        entity.setPaymentAmount(converter.fromRow(row, prefix + "_payment_amount", BigDecimal.class));
+        entity.setId(columns.get(row, id));
+        entity.setCode(columns.get(row, code));
+        entity.setDate(columns.get(row, date));
+        entity.setDetails(columns.get(row, details));
+        entity.setStatus(columns.get(row, status));
+        entity.setPaymentMethod(columns.get(row, paymentMethod));
+        entity.setPaymentDate(columns.get(row, paymentDate));
+        entity.setPaymentAmount(columns.get(row, paymentAmount));
         return entity;
     }
 }
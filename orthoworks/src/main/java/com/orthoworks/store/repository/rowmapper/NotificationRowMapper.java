@@ -3,36 +3,50 @@ package com.orthoworks.store.repository.rowmapper;
 import com.orthoworks.store.domain.Notification;
 import com.orthoworks.store.domain.enumeration.NotificationType;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.time.Instant;
-import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Notification}, with proper type conversions.
  */
 @Service
-public class NotificationRowMapper implements BiFunction<Row, String, Notification> {
+public class NotificationRowMapper {
 
-    private final ColumnConverter converter;
+    private final RowReader reader;
+    private final RowReader.Column<Long> id;
+    private final RowReader.Column<Instant> date;
+    private final RowReader.Column<String> details;
+    private final RowReader.Column<Instant> sentDate;
+    private final RowReader.Column<NotificationType> format;
+    private final RowReader.Column<Long> userId;
+    private final RowReader.Column<Long> brandId;
 
     public NotificationRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.reader = new RowReader(converter);
+        this.id = reader.column("id", Long.class);
+        this.date = reader.column("date", Instant.class);
+        this.details = reader.column("details", String.class);
+        this.sentDate = reader.column("sent_date", Instant.class);
+        this.format = reader.column("format", NotificationType.class);
+        this.userId = reader.column("user_id", Long.class);
+        this.brandId = reader.column("brand_id", Long.class);
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row}, its metadata and a column prefix, and extract all the fields.
      * @return the {@link Notification} stored in the database.
      */
-    @Override
-    public Notification apply(Row row, String prefix) {
+    public Notification apply(Row row, RowMetadata metadata, String prefix) {
+        RowReader.ResolvedColumns columns = reader.resolve(metadata, prefix);
         Notification entity = new Notification();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setDate(converter.fromRow(row, prefix + "_date", Instant.class));
-        entity.setDetails(converter.fromRow(row, prefix + "_details", String.class));
-        entity.setSentDate(converter.fromRow(row, prefix + "_sent_date", Instant.class));
-        entity.setFormat(converter.fromRow(row, prefix + "_format", NotificationType.class));
-        entity.setUserId(converter.fromRow(row, prefix + "_user_id", Long.class));
-        entity.setBrandId(converter.fromRow(row, prefix + "_brand_id", Long.class));
+        entity.setId(columns.get(row, id));
+        entity.setDate(columns.get(row, date));
+        entity.setDetails(columns.get(row, details));
+        entity.setSentDate(columns.get(row, sentDate));
+        entity.setFormat(columns.get(row, format));
+        entity.setUserId(columns.get(row, userId));
+        entity.setBrandId(columns.get(row, brandId));
         return entity;
     }
 }
@@ -2,33 +2,41 @@ package com.orthoworks.store.repository.rowmapper;
 
 import com.orthoworks.store.domain.Output;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.time.Instant;
-import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Output}, with proper type conversions.
  */
 @Service
-public class OutputRowMapper implements BiFunction<Row, String, Output> {
+public class OutputRowMapper {
 
-    private final ColumnConverter converter;
+    private final RowReader reader;
+    private final RowReader.Column<Long> id;
+    private final RowReader.Column<Instant> date;
+    private final RowReader.Column<String> result;
+    private final RowReader.Column<Long> transactionId;
 
     public OutputRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.reader = new RowReader(converter);
+        this.id = reader.column("id", Long.class);
+        this.date = reader.column("date", Instant.class);
+        this.result = reader.column("result", String.class);
+        this.transactionId = reader.column("transaction_id", Long.class);
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row}, its metadata and a column prefix, and extract all the fields.
      * @return the {@link Output} stored in the database.
      */
-    @Override
-    public Output apply(Row row, String prefix) {
+    public Output apply(Row row, RowMetadata metadata, String prefix) {
+        RowReader.ResolvedColumns columns = reader.resolve(metadata, prefix);
         Output entity = new Output();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setDate(converter.fromRow(row, prefix + "_date", Instant.class));
-        entity.setResult(converter.fromRow(row, prefix + "_result", String.class));
-        entity.setTransactionId(converter.fromRow(row, prefix + "_transaction_id", Long.class));
+        entity.setId(columns.get(row, id));
+        entity.setDate(columns.get(row, date));
+        entity.setResult(columns.get(row, result));
+        entity.setTransactionId(columns.get(row, transactionId));
         return entity;
     }
 }
@@ -0,0 +1,152 @@
+package com.orthoworks.store.repository.rowmapper;
+
+import com.orthoworks.store.repository.EntityManager;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reads the columns of a row mapper from a {@link Row} by index.
+ * <p>
+ * The row mapper declares its columns once, with {@link #column(String, Class)}. The first time a column layout is seen
+ * for a column prefix, the index of every column and the way its value is converted are resolved, see
+ * {@link #resolve(RowMetadata, String)}; every row of the result is then read without building column names, or trying
+ * the conversions of the driver.
+ * <p>
+ * The columns of a result are selected by its SQL template, so the resolved columns are cached by the column names of the
+ * result - one entry per template, however the queries interleave - and the cache stops growing like the SQL template cache
+ * of the {@link EntityManager}.
+ */
+public class RowReader {
+
+    /**
+     * A column of a row mapper.
+     * @param <T> the type of the value.
+     */
+    public static final class Column<T> {
+
+        private final int position;
+        private final String name;
+        private final Class<T> type;
+
+        private Column(int position, String name, Class<T> type) {
+            this.position = position;
+            this.name = name;
+            this.type = type;
+        }
+    }
+
+    /**
+     * The columns of a row mapper, resolved for the column layout of a {@link RowMetadata} and a column prefix.
+     */
+    public final class ResolvedColumns {
+
+        private static final int MISSING = -1;
+
+        private final int[] indexes;
+        private final boolean[] converted;
+
+        private ResolvedColumns(RowMetadata metadata, String prefix) {
+            Map<String, Integer> indexesByName = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            List<ColumnMetadata> columnMetadatas = new ArrayList<>();
+            for (ColumnMetadata columnMetadata : metadata.getColumnMetadatas()) {
+                indexesByName.putIfAbsent(columnMetadata.getName(), columnMetadatas.size());
+                columnMetadatas.add(columnMetadata);
+            }
+
+            this.indexes = new int[columns.size()];
+            this.converted = new boolean[columns.size()];
+            for (Column<?> column : columns) {
+                Integer index = indexesByName.get(prefix + "_" + column.name);
+                indexes[column.position] = index != null ? index : MISSING;
+                converted[column.position] =
+                    index != null && converter.needsConversion(columnMetadatas.get(index).getJavaType(), column.type);
+            }
+        }
+
+        /**
+         * Reads the value of a column from the row.
+         * @param row a row of the result, which has the metadata of these columns.
+         * @param column the column to read.
+         * @param <T> the type of the value.
+         * @return the value of the column, or null, if the query didn't select it.
+         */
+        public <T> T get(Row row, Column<T> column) {
+            int index = indexes[column.position];
+            if (index == MISSING) {
+                return null;
+            }
+            if (converted[column.position]) {
+                return converter.convert(row.get(index), column.type);
+            }
+            return row.get(index, column.type);
+        }
+    }
+
+    private final ColumnConverter converter;
+    private final List<Column<?>> columns = new ArrayList<>();
+    private final ConcurrentMap<List<String>, ResolvedColumns> resolvedColumnsByLayout = new ConcurrentHashMap<>();
+    // the columns resolved for the last result of each prefix, found without computing its layout
+    private final ConcurrentMap<String, LastResolvedColumns> lastResolvedColumnsByPrefix = new ConcurrentHashMap<>();
+
+    public RowReader(ColumnConverter converter) {
+        this.converter = converter;
+    }
+
+    /**
+     * Declares a column of the row mapper - it must be called before the first row is read.
+     * @param name the name of the column, without the prefix.
+     * @param type the type of the value.
+     * @param <T> the type of the value.
+     * @return the column, which can be read from the {@link ResolvedColumns}.
+     */
+    public <T> Column<T> column(String name, Class<T> type) {
+        Column<T> column = new Column<>(columns.size(), name, type);
+        columns.add(column);
+        return column;
+    }
+
+    /**
+     * Resolves the columns for the metadata of a result, the columns are only resolved once for a column layout.
+     * @param metadata the metadata of the rows.
+     * @param prefix the column prefix.
+     * @return the resolved columns.
+     */
+    public ResolvedColumns resolve(RowMetadata metadata, String prefix) {
+        LastResolvedColumns last = lastResolvedColumnsByPrefix.get(prefix);
+        if (last != null && last.metadata == metadata) {
+            return last.columns;
+        }
+        List<String> layout = new ArrayList<>();
+        layout.add(prefix);
+        for (ColumnMetadata columnMetadata : metadata.getColumnMetadatas()) {
+            layout.add(columnMetadata.getName());
+        }
+        ResolvedColumns resolvedColumns = resolvedColumnsByLayout.get(layout);
+        if (resolvedColumns == null) {
+            resolvedColumns = new ResolvedColumns(metadata, prefix);
+            if (resolvedColumnsByLayout.size() < EntityManager.MAX_CACHED_SQL_TEMPLATES) {
+                resolvedColumnsByLayout.putIfAbsent(layout, resolvedColumns);
+            }
+        }
+        lastResolvedColumnsByPrefix.put(prefix, new LastResolvedColumns(metadata, resolvedColumns));
+        return resolvedColumns;
+    }
+
+    private static final class LastResolvedColumns {
+
+        private final RowMetadata metadata;
+        private final ResolvedColumns columns;
+
+        private LastResolvedColumns(RowMetadata metadata, ResolvedColumns columns) {
+            this.metadata = metadata;
+            this.columns = columns;
+        }
+    }
+}
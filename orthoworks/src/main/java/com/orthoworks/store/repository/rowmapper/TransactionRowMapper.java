@@ -3,34 +3,44 @@ package com.orthoworks.store.repository.rowmapper;
 import com.orthoworks.store.domain.Transaction;
 import com.orthoworks.store.domain.enumeration.TransactionStatus;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.time.Instant;
-import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Transaction}, with proper type conversions.
  */
 @Service
-public class TransactionRowMapper implements BiFunction<Row, String, Transaction> {
+public class TransactionRowMapper {
 
-    private final ColumnConverter converter;
+    private final RowReader reader;
+    private final RowReader.Column<Long> id;
+    private final RowReader.Column<String> title;
+    private final RowReader.Column<TransactionStatus> status;
+    private final RowReader.Column<Instant> date;
+    private final RowReader.Column<Long> collectionId;
 
     public TransactionRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.reader = new RowReader(converter);
+        this.id = reader.column("id", Long.class);
+        this.title = reader.column("title", String.class);
+        this.status = reader.column("status", TransactionStatus.class);
+        this.date = reader.column("date", Instant.class);
+        this.collectionId = reader.column("collection_id", Long.class);
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row}, its metadata and a column prefix, and extract all the fields.
      * @return the {@link Transaction} stored in the database.
      */
-    @Override
-    public Transaction apply(Row row, String prefix) {
+    public Transaction apply(Row row, RowMetadata metadata, String prefix) {
+        RowReader.ResolvedColumns columns = reader.resolve(metadata, prefix);
         Transaction entity = new Transaction();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setTitle(converter.fromRow(row, prefix + "_title", String.class));
-        entity.setStatus(converter.fromRow(row, prefix + "_status", TransactionStatus.class));
-        entity.setDate(converter.fromRow(row, prefix + "_date", Instant.class));
-        entity.setCollectionId(converter.fromRow(row, prefix + "_collection_id", Long.class));
+        entity.setId(columns.get(row, id));
+        entity.setTitle(columns.get(row, title));
+        entity.setStatus(columns.get(row, status));
+        entity.setDate(columns.get(row, date));
+        entity.setCollectionId(columns.get(row, collectionId));
         return entity;
     }
 }
@@ -2,41 +2,65 @@ package com.orthoworks.store.repository.rowmapper;
 
 import com.orthoworks.store.domain.User;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.time.Instant;
-import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link User}, with proper type conversions.
  */
 @Service
-public class UserRowMapper implements BiFunction<Row, String, User> {
+public class UserRowMapper {
 
-    private final ColumnConverter converter;
+    private final RowReader reader;
+    private final RowReader.Column<Long> id;
+    private final RowReader.Column<String> login;
+    private final RowReader.Column<String> password;
+    private final RowReader.Column<String> firstName;
+    private final RowReader.Column<String> lastName;
+    private final RowReader.Column<String> email;
+    private final RowReader.Column<Boolean> activated;
+    private final RowReader.Column<String> langKey;
+    private final RowReader.Column<String> imageUrl;
+    private final RowReader.Column<String> activationKey;
+    private final RowReader.Column<String> resetKey;
+    private final RowReader.Column<Instant> resetDate;
 
     public UserRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        this.reader = new RowReader(converter);
+        this.id = reader.column("id", Long.class);
+        this.login = reader.column("login", String.class);
+        this.password = reader.column("password", String.class);
+        this.firstName = reader.column("first_name", String.class);
+        this.lastName = reader.column("last_name", String.class);
+        this.email = reader.column("email", String.class);
+        this.activated = reader.column("activated", Boolean.class);
+        this.langKey = reader.column("lang_key", String.class);
+        this.imageUrl = reader.column("image_url", String.class);
+        this.activationKey = reader.column("activation_key", String.class);
+        this.resetKey = reader.column("reset_key", String.class);
+        this.resetDate = reader.column("reset_date", Instant.class);
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row}, its metadata and a column prefix, and extract all the fields.
      * @return the {@link User} stored in the database.
      */
-    @Override
-    public User apply(Row row, String prefix) {
+    public User apply(Row row, RowMetadata metadata, String prefix) {
+        RowReader.ResolvedColumns columns = reader.resolve(metadata, prefix);
         User entity = new User();
-        entity.setId(row.get(prefix + "_id", Long.class));
-        entity.setLogin(converter.fromRow(row, prefix + "_login", String.class));
-        entity.setPassword(converter.fromRow(row, prefix + "_password", String.class));
-        entity.setFirstName(converter.fromRow(row, prefix + "_first_name", String.class));
-        entity.setLastName(converter.fromRow(row, prefix + "_last_name", String.class));
-        entity.setEmail(converter.fromRow(row, prefix + "_email", String.class));
-        entity.setActivated(Boolean.TRUE.equals(converter.fromRow(row, prefix + "_activated", Boolean.class)));
-        entity.setLangKey(converter.fromRow(row, prefix + "_lang_key", String.class));
-        entity.setImageUrl(converter.fromRow(row, prefix + "_image_url", String.class));
-        entity.setActivationKey(converter.fromRow(row, prefix + "_activation_key", String.class));
-        entity.setResetKey(converter.fromRow(row, prefix + "_reset_key", String.class));
-        entity.setResetDate(converter.fromRow(row, prefix + "_reset_date", Instant.class));
+        entity.setId(columns.get(row, id));
+        entity.setLogin(columns.get(row, login));
+        entity.setPassword(columns.get(row, password));
+        entity.setFirstName(columns.get(row, firstName));
+        entity.setLastName(columns.get(row, lastName));
+        entity.setEmail(columns.get(row, email));
+        entity.setActivated(Boolean.TRUE.equals(columns.get(row, activated)));
+        entity.setLangKey(columns.get(row, langKey));
+        entity.setImageUrl(columns.get(row, imageUrl));
+        entity.setActivationKey(columns.get(row, activationKey));
+        entity.setResetKey(columns.get(row, resetKey));
+        entity.setResetDate(columns.get(row, resetDate));
         return entity;
     }
 }
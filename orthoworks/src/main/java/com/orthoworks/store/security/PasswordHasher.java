@@ -0,0 +1,133 @@
+package com.orthoworks.store.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.RejectedExecutionException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Hashes and checks the passwords on a dedicated scheduler, so the slow password encoders don't block the event loop.
+ * <p>
+ * The scheduler has a bounded number of threads and a bounded queue. When the queue is full, the operation fails with a
+ * {@link RejectedExecutionException} instead of waiting, which is translated to a {@code 503 (Service Unavailable)}.
+ */
+public class PasswordHasher implements DisposableBean {
+
+    public static final String HASHING_METER_NAME = "security.password.hashing";
+    public static final String HASHING_METER_DESCRIPTION = "Indicates the time spent hashing and checking the passwords.";
+    public static final String REJECTED_METER_NAME = "security.password.hashing.rejected";
+    public static final String REJECTED_METER_DESCRIPTION = "Indicates the password operations rejected because the queue was full.";
+    public static final String OPERATION_DIMENSION = "operation";
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final Scheduler scheduler;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchesTimer;
+
+    private final Counter rejectedCounter;
+
+    /**
+     * @param passwordEncoder hashes and checks the passwords.
+     * @param threadCap the maximum number of threads hashing the passwords.
+     * @param queueCapacity the maximum number of operations waiting for a thread.
+     * @param registry registers the metrics of the operations.
+     */
+    public PasswordHasher(PasswordEncoder passwordEncoder, int threadCap, int queueCapacity, MeterRegistry registry) {
+        this.scheduler = Schedulers.newBoundedElastic(threadCap, queueCapacity, "password-hashing");
+        this.encodeTimer = hashingTimerForOperationBuilder("encode").register(registry);
+        this.matchesTimer = hashingTimerForOperationBuilder("matches").register(registry);
+        this.rejectedCounter = Counter.builder(REJECTED_METER_NAME).description(REJECTED_METER_DESCRIPTION).register(registry);
+        this.passwordEncoder = new TimedPasswordEncoder(passwordEncoder);
+    }
+
+    private Timer.Builder hashingTimerForOperationBuilder(String operation) {
+        return Timer
+            .builder(HASHING_METER_NAME)
+            .description(HASHING_METER_DESCRIPTION)
+            .tag(OPERATION_DIMENSION, operation)
+            .publishPercentileHistogram();
+    }
+
+    /**
+     * @param rawPassword the password to hash.
+     * @return the hash of the password, computed on the password hashing scheduler.
+     */
+    public Mono<String> encode(CharSequence rawPassword) {
+        return onScheduler(Mono.fromCallable(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * @param rawPassword the password to check.
+     * @param encodedPassword the hash of the expected password.
+     * @return if the password matches the hash, checked on the password hashing scheduler.
+     */
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return onScheduler(Mono.fromCallable(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * @return the password encoder, which records the duration of the operations.
+     */
+    public PasswordEncoder getPasswordEncoder() {
+        return passwordEncoder;
+    }
+
+    /**
+     * @return the scheduler the passwords must be hashed and checked on.
+     */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    private <T> Mono<T> onScheduler(Mono<T> operation) {
+        return operation.subscribeOn(scheduler).doOnError(this::trackRejected);
+    }
+
+    /**
+     * Counts the operations rejected by the scheduler, for the components scheduling on {@link #getScheduler()} themselves.
+     *
+     * @param error the error of an operation.
+     */
+    public void trackRejected(Throwable error) {
+        if (error instanceof RejectedExecutionException) {
+            rejectedCounter.increment();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+
+    private class TimedPasswordEncoder implements PasswordEncoder {
+
+        private final PasswordEncoder delegate;
+
+        TimedPasswordEncoder(PasswordEncoder delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return encodeTimer.record(() -> delegate.encode(rawPassword));
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return matchesTimer.record(() -> delegate.matches(rawPassword, encodedPassword));
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return delegate.upgradeEncoding(encodedPassword);
+        }
+    }
+}
@@ -1,32 +1,43 @@
 package com.orthoworks.store.security.jwt;
 
 import static com.orthoworks.store.security.jwt.JWTFilter.AUTHORIZATION_HEADER;
+import static com.orthoworks.store.security.jwt.JWTFilter.GATEWAY_CLAIMS_HEADER;
 
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
-@Component
+/**
+ * Relays the token of the requests to the services.
+ * <p>
+ * When the gateway claims are enabled, the claims of a valid token are passed along in the
+ * {@value JWTFilter#GATEWAY_CLAIMS_HEADER} header, so the services don't need to verify the token again. The header is
+ * always removed from the incoming requests, so a client can't forge it.
+ */
 public class JWTRelayGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
 
     private final TokenProvider tokenProvider;
 
-    public JWTRelayGatewayFilterFactory(TokenProvider tokenProvider) {
+    private final boolean gatewayClaimsEnabled;
+
+    public JWTRelayGatewayFilterFactory(TokenProvider tokenProvider, boolean gatewayClaimsEnabled) {
         this.tokenProvider = tokenProvider;
+        this.gatewayClaimsEnabled = gatewayClaimsEnabled;
     }
 
     @Override
     public GatewayFilter apply(Object config) {
         return (exchange, chain) -> {
+            ServerHttpRequest.Builder request = exchange.getRequest().mutate().headers(headers -> headers.remove(GATEWAY_CLAIMS_HEADER));
             String token = this.extractJWTToken(exchange.getRequest());
             if (StringUtils.hasText(token) && this.tokenProvider.validateToken(token)) {
-                ServerHttpRequest request = exchange.getRequest().mutate().header(AUTHORIZATION_HEADER, "Bearer " + token).build();
-
-                return chain.filter(exchange.mutate().request(request).build());
+                request.header(AUTHORIZATION_HEADER, "Bearer " + token);
+                if (gatewayClaimsEnabled) {
+                    request.header(GATEWAY_CLAIMS_HEADER, this.tokenProvider.createGatewayClaims(token));
+                }
             }
-            return chain.filter(exchange);
+            return chain.filter(exchange.mutate().request(request.build()).build());
         };
     }
 
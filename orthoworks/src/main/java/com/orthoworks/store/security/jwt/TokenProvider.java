@@ -1,5 +1,8 @@
 package com.orthoworks.store.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.orthoworks.store.management.SecurityMetersService;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
@@ -7,9 +10,16 @@ import io.jsonwebtoken.jackson.io.JacksonSerializer;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -30,6 +40,10 @@ public class TokenProvider {
 
     private static final String INVALID_JWT_TOKEN = "Invalid JWT token.";
 
+    private static final int MAX_CACHED_TOKENS = 10000;
+
+    private static final String GATEWAY_CLAIMS_ALGORITHM = "HmacSHA256";
+
     private final Key key;
 
     private final JwtParser jwtParser;
@@ -40,6 +54,18 @@ public class TokenProvider {
 
     private final SecurityMetersService securityMetersService;
 
+    private final Clock clock = Clock.systemUTC();
+
+    /**
+     * The verified tokens, bounded in size - the least likely to be used again are evicted first - and each expiring with
+     * its token.
+     */
+    private final Cache<String, VerifiedToken> verifiedTokens = Caffeine
+        .newBuilder()
+        .maximumSize(MAX_CACHED_TOKENS)
+        .expireAfter(new TokenExpiry())
+        .build();
+
     public TokenProvider(JHipsterProperties jHipsterProperties, SecurityMetersService securityMetersService) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
@@ -84,23 +110,54 @@ public class TokenProvider {
             .compact();
     }
 
+    /**
+     * Returns the authentication of a valid token - from the cache of the verified tokens, if the token was already verified.
+     *
+     * @param token the token presented by the client.
+     * @return the authentication of the token.
+     * @throws JwtException if the token is not valid.
+     */
     public Authentication getAuthentication(String token) {
-        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        return getVerifiedToken(token).authentication;
+    }
 
-        Collection<? extends GrantedAuthority> authorities = Arrays
-            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-            .filter(auth -> !auth.trim().isEmpty())
-            .map(SimpleGrantedAuthority::new)
-            .collect(Collectors.toList());
+    /**
+     * Creates the value of the {@value JWTFilter#GATEWAY_CLAIMS_HEADER} header, which passes the claims of a valid token to
+     * the services, so they don't need to parse and verify the token again.
+     * <p>
+     * The header holds the expiration, the authorities and the subject of the token, and their HMAC - computed with the
+     * key of the tokens, over the SHA-256 digest of the token followed by the claims - so it's only valid along with the
+     * token it was created for.
+     *
+     * @param token the token presented by the client.
+     * @return the value of the header.
+     * @throws JwtException if the token is not valid.
+     */
+    public String createGatewayClaims(String token) {
+        VerifiedToken verifiedToken = getVerifiedToken(token);
+        Authentication authentication = verifiedToken.authentication;
+        String authorities = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(","));
+        String subject = authentication.getName();
+        byte[] claims = (verifiedToken.expiration + "\n" + authorities + "\n" + subject).getBytes(StandardCharsets.UTF_8);
 
-        User principal = new User(claims.getSubject(), "", authorities);
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(claims) + "." + encoder.encodeToString(signGatewayClaims(claims, token));
+    }
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    private byte[] signGatewayClaims(byte[] claims, String token) {
+        try {
+            Mac mac = Mac.getInstance(GATEWAY_CLAIMS_ALGORITHM);
+            mac.init(new SecretKeySpec(key.getEncoded(), GATEWAY_CLAIMS_ALGORITHM));
+            mac.update(sha256(token));
+            return mac.doFinal(claims);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign the gateway claims", e);
+        }
     }
 
     public boolean validateToken(String authToken) {
         try {
-            jwtParser.parseClaimsJws(authToken);
+            getVerifiedToken(authToken);
 
             return true;
         } catch (ExpiredJwtException e) {
@@ -125,4 +182,109 @@ public class TokenProvider {
 
         return false;
     }
+
+    private VerifiedToken getVerifiedToken(String token) {
+        String digest = digest(token);
+        VerifiedToken verifiedToken = getCachedToken(digest);
+        if (verifiedToken != null) {
+            return verifiedToken;
+        }
+        return verify(token, digest);
+    }
+
+    /**
+     * Parses and verifies the token, and caches its authentication until the token expires.
+     */
+    private VerifiedToken verify(String token, String digest) {
+        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+
+        Collection<? extends GrantedAuthority> authorities = Arrays
+            .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
+            .filter(auth -> !auth.trim().isEmpty())
+            .map(SimpleGrantedAuthority::new)
+            .collect(Collectors.toList());
+
+        User principal = new User(claims.getSubject(), "", authorities);
+
+        Authentication authentication = new UsernamePasswordAuthenticationToken(principal, token, authorities);
+        if (claims.getExpiration() == null) {
+            return new VerifiedToken(authentication, Long.MAX_VALUE);
+        }
+        VerifiedToken verifiedToken = new VerifiedToken(authentication, claims.getExpiration().getTime());
+        cacheToken(digest, verifiedToken);
+        return verifiedToken;
+    }
+
+    private VerifiedToken getCachedToken(String digest) {
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(digest);
+        if (verifiedToken != null && verifiedToken.isExpired(clock.millis())) {
+            verifiedTokens.asMap().remove(digest, verifiedToken);
+            verifiedToken = null;
+        }
+        if (verifiedToken == null) {
+            this.securityMetersService.trackTokenCacheMiss();
+            return null;
+        }
+        this.securityMetersService.trackTokenCacheHit();
+        return verifiedToken;
+    }
+
+    /**
+     * Caches the authentication of a verified token - when the cache is full, Caffeine evicts a token in constant time.
+     */
+    private void cacheToken(String digest, VerifiedToken verifiedToken) {
+        verifiedTokens.put(digest, verifiedToken);
+    }
+
+    /**
+     * The cache is keyed by the SHA-256 digest of the token, which is shorter, and isn't a credential itself.
+     */
+    private static String digest(String token) {
+        return Base64.getEncoder().encodeToString(sha256(token));
+    }
+
+    private static byte[] sha256(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static class VerifiedToken {
+
+        private final Authentication authentication;
+
+        private final long expiration;
+
+        VerifiedToken(Authentication authentication, long expiration) {
+            this.authentication = authentication;
+            this.expiration = expiration;
+        }
+
+        boolean isExpired(long now) {
+            return now >= expiration;
+        }
+    }
+
+    /**
+     * Expires the cached tokens with the tokens themselves.
+     */
+    private class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String digest, VerifiedToken verifiedToken, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, verifiedToken.expiration - clock.millis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String digest, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+            return expireAfterCreate(digest, verifiedToken, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String digest, VerifiedToken verifiedToken, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -4,6 +4,7 @@ import com.orthoworks.store.domain.Invoice;
 import com.orthoworks.store.repository.InvoiceRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -37,42 +38,25 @@ public class InvoiceService {
     }
 
     /**
-     * Partially update a invoice.
+     * Update a invoice, with a single statement.
+     *
+     * @param invoice the entity to update.
+     * @return the persisted entity, or an empty {@link Mono} if it doesn't exist.
+     */
+    public Mono<Invoice> update(Invoice invoice) {
+        log.debug("Request to update Invoice : {}", invoice);
+        return invoiceRepository.update(invoice);
+    }
+
+    /**
+     * Partially update a invoice: only its non-null fields are written, with a single statement.
      *
      * @param invoice the entity to update partially.
-     * @return the persisted entity.
+     * @return the persisted entity, or an empty {@link Mono} if it doesn't exist.
      */
     public Mono<Invoice> partialUpdate(Invoice invoice) {
         log.debug("Request to partially update Invoice : {}", invoice);
-
-        return invoiceRepository
-            .findById(invoice.getId())
-            .map(existingInvoice -> {
-                if (invoice.getCode() != null) {
-                    existingInvoice.setCode(invoice.getCode());
-                }
-                if (invoice.getDate() != null) {
-                    existingInvoice.setDate(invoice.getDate());
-                }
-                if (invoice.getDetails() != null) {
-                    existingInvoice.setDetails(invoice.getDetails());
-                }
-                if (invoice.getStatus() != null) {
-                    existingInvoice.setStatus(invoice.getStatus());
-                }
-                if (invoice.getPaymentMethod() != null) {
-                    existingInvoice.setPaymentMethod(invoice.getPaymentMethod());
-                }
-                if (invoice.getPaymentDate() != null) {
-                    existingInvoice.setPaymentDate(invoice.getPaymentDate());
-                }
-                if (invoice.getPaymentAmount() != null) {
-                    existingInvoice.setPaymentAmount(invoice.getPaymentAmount());
-                }
-
-                return existingInvoice;
-            })
-            .flatMap(invoiceRepository::save);
+        return invoiceRepository.updateNonNull(invoice);
     }
 
     /**
@@ -87,6 +71,29 @@ public class InvoiceService {
         return invoiceRepository.findAllBy(pageable);
     }
 
+    /**
+     * Get all the invoices, without pagination.
+     *
+     * @return the list of entities.
+     */
+    @Transactional(readOnly = true)
+    public Flux<Invoice> findAll() {
+        log.debug("Request to get all Invoices");
+        return invoiceRepository.findAll();
+    }
+
+    /**
+     * Get a page of invoices, together with the total number of invoices.
+     *
+     * @param pageable the pagination information.
+     * @return the page of entities.
+     */
+    @Transactional(readOnly = true)
+    public Mono<Page<Invoice>> findPage(Pageable pageable) {
+        log.debug("Request to get a page of Invoices");
+        return invoiceRepository.findPageBy(pageable);
+    }
+
     /**
      * Returns the number of invoices available.
      * @return the number of entities in the database.
@@ -0,0 +1,252 @@
+package com.orthoworks.store.web.filter;
+
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.BucketConfiguration;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.distributed.proxy.ProxyManager;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+/**
+ * Limits the rate of the requests with token buckets, and rejects the requests over the limits with a
+ * {@code 429 (Too Many Requests)} and a {@code Retry-After} header.
+ * <p>
+ * The first {@link Rule} matching the path of a request applies, with up to three buckets: one shared by every request
+ * of the rule, one per authenticated user, and one per client IP. A request is only let through if every bucket has a
+ * token left, and a rejected request doesn't take a token from any bucket. The buckets are kept by the given
+ * {@link ProxyManager}. The client IP is read from the {@code X-Forwarded-For} header of the trusted proxies only.
+ * <p>
+ * It's a {@link WebFilter} rather than a gateway filter, so it applies to the endpoints of the gateway as well as to the
+ * proxied routes, and it runs after the security filters, to know the authenticated user.
+ */
+public class RateLimitingFilter implements WebFilter, Ordered {
+
+    public static final String REQUESTS_METER_NAME = "gateway.rate-limiting.requests";
+    public static final String REQUESTS_METER_DESCRIPTION = "Indicates the requests allowed and rejected by the rate limits.";
+    public static final String RULE_DIMENSION = "rule";
+    public static final String RESULT_DIMENSION = "result";
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    private static final Pattern IP_LITERAL = Pattern.compile("[0-9A-Fa-f:.]+");
+
+    private final Logger log = LoggerFactory.getLogger(RateLimitingFilter.class);
+
+    private final List<CompiledRule> rules;
+
+    private final List<IpAddressMatcher> trustedProxies;
+
+    private final ProxyManager<String> buckets;
+
+    /**
+     * @param rules the rules, in the order they're matched.
+     * @param trustedProxies the addresses, or CIDR ranges, of the proxies whose {@code X-Forwarded-For} header is trusted.
+     * @param buckets keeps the buckets, by key.
+     * @param registry registers the counts of the allowed and the rejected requests.
+     */
+    public RateLimitingFilter(List<Rule> rules, List<String> trustedProxies, ProxyManager<String> buckets, MeterRegistry registry) {
+        this.rules = rules.stream().map(rule -> new CompiledRule(rule, registry)).collect(Collectors.toList());
+        this.trustedProxies = trustedProxies.stream().map(IpAddressMatcher::new).collect(Collectors.toList());
+        this.buckets = buckets;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        CompiledRule rule = rules.stream().filter(candidate -> candidate.matches(path)).findFirst().orElse(null);
+        if (rule == null) {
+            return chain.filter(exchange);
+        }
+        return ReactiveSecurityContextHolder
+            .getContext()
+            .map(SecurityContext::getAuthentication)
+            .filter(authentication -> authentication.isAuthenticated() && !(authentication instanceof AnonymousAuthenticationToken))
+            .map(Authentication::getName)
+            .map(login -> consume(rule, exchange, login))
+            .switchIfEmpty(Mono.fromSupplier(() -> consume(rule, exchange, null)))
+            .flatMap(nanosToWait -> {
+                if (nanosToWait == 0) {
+                    rule.allowedCounter.increment();
+                    return chain.filter(exchange);
+                }
+                rule.rejectedCounter.increment();
+                exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(toRetryAfterSeconds(nanosToWait)));
+                return exchange.getResponse().setComplete();
+            });
+    }
+
+    /**
+     * Takes a token from every bucket of the rule. If a bucket is empty, the tokens already taken from the other buckets
+     * are given back, so a rejected request doesn't count against the limits it was within.
+     *
+     * @return 0 if a token was taken from every bucket of the rule, or the nanoseconds to wait for the bucket which is empty.
+     */
+    private long consume(CompiledRule rule, ServerWebExchange exchange, String login) {
+        List<Bucket> taken = new ArrayList<>(3);
+        long nanosToWait = 0;
+        String ip = rule.ipConfiguration != null ? getClientIp(exchange) : null;
+        if (ip != null) {
+            nanosToWait = consume("ip:" + rule.name + ":" + ip, rule.ipConfiguration, taken);
+        }
+        if (nanosToWait == 0 && rule.userConfiguration != null && login != null) {
+            nanosToWait = consume("user:" + rule.name + ":" + login, rule.userConfiguration, taken);
+        }
+        if (nanosToWait == 0 && rule.routeConfiguration != null) {
+            nanosToWait = consume("route:" + rule.name, rule.routeConfiguration, taken);
+        }
+        if (nanosToWait > 0) {
+            taken.forEach(bucket -> bucket.addTokens(1));
+        }
+        return nanosToWait;
+    }
+
+    private long consume(String key, BucketConfiguration configuration, List<Bucket> taken) {
+        Bucket bucket = buckets.builder().build(key, configuration);
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        if (!probe.isConsumed()) {
+            log.debug("Rate limit of the bucket {} reached", key);
+            return Math.max(probe.getNanosToWaitForRefill(), 1);
+        }
+        taken.add(bucket);
+        return 0;
+    }
+
+    /**
+     * Resolves the IP of the client. The {@code X-Forwarded-For} header is only read if the request comes from a trusted
+     * proxy: each proxy appends the address it received the request from, so the client is the rightmost address which
+     * isn't a trusted proxy - the addresses on its left may have been sent by the client itself.
+     */
+    private String getClientIp(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null) {
+            return null;
+        }
+        String ip = remoteAddress.getAddress() != null ? remoteAddress.getAddress().getHostAddress() : remoteAddress.getHostString();
+        if (!isTrustedProxy(ip)) {
+            return ip;
+        }
+        List<String> forwardedFor = exchange.getRequest().getHeaders().getOrEmpty(X_FORWARDED_FOR);
+        for (int header = forwardedFor.size() - 1; header >= 0; header--) {
+            String[] addresses = forwardedFor.get(header).split(",");
+            for (int address = addresses.length - 1; address >= 0; address--) {
+                String forwardedIp = addresses[address].trim();
+                if (!forwardedIp.isEmpty()) {
+                    ip = forwardedIp;
+                    if (!isTrustedProxy(ip)) {
+                        return ip;
+                    }
+                }
+            }
+        }
+        // every address is a trusted proxy, the leftmost one is the closest to the client
+        return ip;
+    }
+
+    private boolean isTrustedProxy(String ip) {
+        // only the IP literals are matched, a host name would be resolved on the event loop
+        return IP_LITERAL.matcher(ip).matches() && trustedProxies.stream().anyMatch(proxy -> proxy.matches(ip));
+    }
+
+    private static long toRetryAfterSeconds(long nanosToWait) {
+        return Math.max(1, (nanosToWait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Override
+    public int getOrder() {
+        // after the security filters, which run at -100
+        return 0;
+    }
+
+    /**
+     * The limits of the requests matching some paths.
+     */
+    public static class Rule {
+
+        private final String name;
+
+        private final List<String> paths;
+
+        private final Bandwidth route;
+
+        private final Bandwidth user;
+
+        private final Bandwidth ip;
+
+        /**
+         * @param name the name of the rule, for the metrics and the bucket keys.
+         * @param paths the path patterns of the requests the rule applies to.
+         * @param route the limit shared by all the requests of the rule, or {@code null}.
+         * @param user the limit of each authenticated user, or {@code null}.
+         * @param ip the limit of each client IP, or {@code null}.
+         */
+        public Rule(String name, List<String> paths, Bandwidth route, Bandwidth user, Bandwidth ip) {
+            this.name = name;
+            this.paths = paths;
+            this.route = route;
+            this.user = user;
+            this.ip = ip;
+        }
+    }
+
+    private static class CompiledRule {
+
+        private final String name;
+        private final List<PathPattern> patterns;
+        private final BucketConfiguration routeConfiguration;
+        private final BucketConfiguration userConfiguration;
+        private final BucketConfiguration ipConfiguration;
+        private final Counter allowedCounter;
+        private final Counter rejectedCounter;
+
+        CompiledRule(Rule rule, MeterRegistry registry) {
+            this.name = rule.name;
+            this.patterns = rule.paths.stream().map(PathPatternParser.defaultInstance::parse).collect(Collectors.toList());
+            this.routeConfiguration = toConfiguration(rule.route);
+            this.userConfiguration = toConfiguration(rule.user);
+            this.ipConfiguration = toConfiguration(rule.ip);
+            this.allowedCounter = requestsCounter(rule.name, "allowed").register(registry);
+            this.rejectedCounter = requestsCounter(rule.name, "rejected").register(registry);
+        }
+
+        boolean matches(PathContainer path) {
+            return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+        }
+
+        private static BucketConfiguration toConfiguration(Bandwidth bandwidth) {
+            return bandwidth != null ? BucketConfiguration.builder().addLimit(bandwidth).build() : null;
+        }
+
+        private static Counter.Builder requestsCounter(String rule, String result) {
+            return Counter
+                .builder(REQUESTS_METER_NAME)
+                .description(REQUESTS_METER_DESCRIPTION)
+                .tag(RULE_DIMENSION, rule)
+                .tag(RESULT_DIMENSION, result);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.orthoworks.store.web.filter;
+
+import com.orthoworks.store.web.util.ResponseCache;
+import com.orthoworks.store.web.util.ResponseCache.CachedResponse;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * Serves the {@code GET} requests of some paths from a {@link ResponseCache}, with a strong {@code ETag}, and answers
+ * {@code 304 (Not Modified)} to the requests with a matching {@code If-None-Match} header.
+ * <p>
+ * A stale response is served as is, and the request is handled once more in the background, to revalidate it. The
+ * streamed responses, like NDJSON, aren't cached.
+ */
+public class ResponseCacheFilter implements WebFilter, Ordered {
+
+    // the headers which are computed for every response
+    private static final Set<String> UNCACHED_HEADER_NAMES = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        UNCACHED_HEADER_NAMES.addAll(
+            List.of(HttpHeaders.CACHE_CONTROL, HttpHeaders.CONTENT_LENGTH, HttpHeaders.ETAG, HttpHeaders.SET_COOKIE)
+        );
+    }
+
+    private final Logger log = LoggerFactory.getLogger(ResponseCacheFilter.class);
+
+    private final ResponseCache responseCache;
+
+    private final List<PathPattern> patterns;
+
+    /**
+     * @param responseCache caches the responses.
+     * @param paths the path patterns of the requests which are cached.
+     */
+    public ResponseCacheFilter(ResponseCache responseCache, List<String> paths) {
+        this.responseCache = responseCache;
+        this.patterns = paths.stream().map(PathPatternParser.defaultInstance::parse).collect(Collectors.toList());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!responseCache.isEnabled() || !HttpMethod.GET.equals(request.getMethod()) || !matches(request)) {
+            return chain.filter(exchange);
+        }
+        String key = responseCache.getKey(request);
+        CachedResponse cached = responseCache.get(key);
+        if (cached == null) {
+            return load(exchange, chain, key);
+        }
+        if (cached.startRevalidation()) {
+            return Mono.deferContextual(context -> {
+                revalidate(exchange, chain, key, cached, context);
+                return write(exchange, cached);
+            });
+        }
+        return write(exchange, cached);
+    }
+
+    private boolean matches(ServerHttpRequest request) {
+        PathContainer path = request.getPath().pathWithinApplication();
+        return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().putAll(cached.getHeaders());
+        return writeBody(exchange, cached);
+    }
+
+    private Mono<Void> writeBody(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        // the browsers may keep the response, but must revalidate it
+        response.getHeaders().setCacheControl(CacheControl.noCache());
+        if (exchange.checkNotModified(cached.getETag())) {
+            return response.setComplete();
+        }
+        response.getHeaders().setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    /**
+     * Handles the request, and caches the response if it's a {@code 200 (OK)}. The body is buffered, to compute its ETag
+     * before the headers are sent.
+     */
+    private Mono<Void> load(ServerWebExchange exchange, WebFilterChain chain, String key) {
+        long generation = responseCache.getGeneration();
+        String path = getPath(exchange);
+        // the headers set before, by the CORS filter for example, aren't part of the cached response
+        Set<String> previousHeaderNames = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        previousHeaderNames.addAll(exchange.getResponse().getHeaders().keySet());
+        ServerHttpResponseDecorator response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (!isOk(getStatusCode())) {
+                    return super.writeWith(body);
+                }
+                return toBytes(body)
+                    .flatMap(bytes -> {
+                        HttpHeaders headers = copyHeaders(getHeaders(), previousHeaderNames);
+                        return writeBody(exchange, responseCache.put(key, path, headers, bytes, generation));
+                    });
+            }
+        };
+        return chain.filter(exchange.mutate().response(response).build());
+    }
+
+    /**
+     * Handles the request once more in the background, with a response kept in memory, and caches the new response, or
+     * removes the stale one if the request fails with a client error, like a {@code 404 (Not Found)}.
+     */
+    private void revalidate(ServerWebExchange exchange, WebFilterChain chain, String key, CachedResponse stale, ContextView context) {
+        long generation = responseCache.getGeneration();
+        String path = getPath(exchange);
+        RevalidationResponse response = new RevalidationResponse(exchange.getResponse().bufferFactory());
+        chain
+            .filter(exchange.mutate().response(response).build())
+            .then(
+                Mono.fromRunnable(() -> {
+                    if (isOk(response.getStatusCode())) {
+                        responseCache.put(key, path, copyHeaders(response.getHeaders(), Set.of()), response.getBody(), generation);
+                    } else {
+                        responseCache.remove(key, stale);
+                    }
+                })
+            )
+            .contextWrite(context)
+            .subscribe(
+                null,
+                e -> {
+                    if (e instanceof ResponseStatusException && ((ResponseStatusException) e).getStatus().is4xxClientError()) {
+                        responseCache.remove(key, stale);
+                    } else {
+                        log.warn("Could not revalidate the cached response of {}: {}", key, e.toString());
+                        stale.endRevalidation();
+                    }
+                }
+            );
+    }
+
+    private static String getPath(ServerWebExchange exchange) {
+        return exchange.getRequest().getPath().pathWithinApplication().value();
+    }
+
+    private static boolean isOk(HttpStatus status) {
+        return status == null || status == HttpStatus.OK;
+    }
+
+    private static HttpHeaders copyHeaders(HttpHeaders headers, Set<String> excludedHeaderNames) {
+        HttpHeaders copy = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            if (!excludedHeaderNames.contains(name) && !UNCACHED_HEADER_NAMES.contains(name)) {
+                copy.put(name, values);
+            }
+        });
+        return copy;
+    }
+
+    private static Mono<byte[]> toBytes(Publisher<? extends DataBuffer> body) {
+        return DataBufferUtils
+            .join(body)
+            .map(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+                return bytes;
+            })
+            .defaultIfEmpty(new byte[0]);
+    }
+
+    @Override
+    public int getOrder() {
+        // after the rate limiting filter, so the cached responses are limited as well
+        return 10;
+    }
+
+    /**
+     * A response which is kept in memory, instead of being sent.
+     */
+    private static class RevalidationResponse extends AbstractServerHttpResponse {
+
+        private byte[] body = new byte[0];
+
+        RevalidationResponse(DataBufferFactory bufferFactory) {
+            super(bufferFactory);
+        }
+
+        byte[] getBody() {
+            return body;
+        }
+
+        @Override
+        public <T> T getNativeResponse() {
+            throw new IllegalStateException("The response is only kept in memory");
+        }
+
+        @Override
+        protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> body) {
+            return toBytes(body).doOnNext(bytes -> this.body = bytes).then();
+        }
+
+        @Override
+        protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return writeWithInternal(Flux.from(body).concatMap(publisher -> publisher));
+        }
+
+        @Override
+        protected void applyStatusCode() {}
+
+        @Override
+        protected void applyHeaders() {}
+
+        @Override
+        protected void applyCookies() {}
+    }
+}
@@ -15,7 +15,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -24,7 +23,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -104,22 +102,14 @@ public class AddressResource {
         }
 
         return addressRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return addressRepository
-                    .save(address)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+            .update(address)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -147,44 +137,14 @@ public class AddressResource {
         }
 
         return addressRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Address> result = addressRepository
-                    .findById(address.getId())
-                    .map(existingAddress -> {
-                        if (address.getAddress1() != null) {
-                            existingAddress.setAddress1(address.getAddress1());
-                        }
-                        if (address.getAddress2() != null) {
-                            existingAddress.setAddress2(address.getAddress2());
-                        }
-                        if (address.getCity() != null) {
-                            existingAddress.setCity(address.getCity());
-                        }
-                        if (address.getPostcode() != null) {
-                            existingAddress.setPostcode(address.getPostcode());
-                        }
-                        if (address.getCountry() != null) {
-                            existingAddress.setCountry(address.getCountry());
-                        }
-
-                        return existingAddress;
-                    })
-                    .flatMap(addressRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+            .updateNonNull(address)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
@@ -201,21 +161,25 @@ public class AddressResource {
     ) {
         log.debug("REST request to get a page of Addresses");
         return addressRepository
-            .count()
-            .zipWith(addressRepository.findAllBy(pageable).collectList())
-            .map(countWithEntities ->
+            .findPageBy(pageable)
+            .map(page ->
                 ResponseEntity
                     .ok()
-                    .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                        )
-                    )
-                    .body(countWithEntities.getT2())
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
             );
     }
 
+    /**
+     * {@code GET  /addresses} : get all the addresses as a stream.
+     * @return the {@link Flux} of addresses.
+     */
+    @GetMapping(value = "/addresses", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Address> getAllAddressesAsStream() {
+        log.debug("REST request to get all Addresses as a stream");
+        return addressRepository.findAll();
+    }
+
     /**
      * {@code GET  /addresses/:id} : get the "id" address.
      *
@@ -3,6 +3,9 @@ package com.orthoworks.store.web.rest;
 import com.orthoworks.store.domain.Art;
 import com.orthoworks.store.repository.ArtRepository;
 import com.orthoworks.store.web.rest.errors.BadRequestAlertException;
+import com.orthoworks.store.web.rest.errors.PreconditionFailedAlertException;
+import com.orthoworks.store.web.rest.vm.BulkItemResultVM;
+import com.orthoworks.store.web.util.BulkInserter;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -15,13 +18,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
@@ -30,7 +33,6 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
-import tech.jhipster.web.util.reactive.ResponseUtil;
 
 /**
  * REST controller for managing {@link com.orthoworks.store.domain.Art}.
@@ -49,8 +51,11 @@ public class ArtResource {
 
     private final ArtRepository artRepository;
 
-    public ArtResource(ArtRepository artRepository) {
+    private final BulkInserter bulkInserter;
+
+    public ArtResource(ArtRepository artRepository, BulkInserter bulkInserter) {
         this.artRepository = artRepository;
+        this.bulkInserter = bulkInserter;
     }
 
     /**
@@ -80,19 +85,42 @@ public class ArtResource {
             });
     }
 
+    /**
+     * {@code POST  /arts/bulk} : Create new arts, from a JSON array or an NDJSON stream.
+     *
+     * @param arts the arts to create.
+     * @return the {@link Flux} with the result of every art, in the order of the request: with status {@code 201 (Created)} and the new ID,
+     * with status {@code 400 (Bad Request)} if the art is not valid or has already an ID,
+     * or with status {@code 409 (Conflict)} if the art couldn't be inserted.
+     */
+    @PostMapping(value = "/arts/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<BulkItemResultVM> bulkCreateArts(@RequestBody Flux<Art> arts) {
+        log.debug("REST request to save Arts in bulk");
+        return bulkInserter.insert(arts, ENTITY_NAME, Art::getId, artRepository::insertAll);
+    }
+
     /**
      * {@code PUT  /arts/:id} : Updates an existing art.
+     * <p>
+     * The update is conditional, if the {@code If-Match} header has the ETag of a version of the art, or else if the art has
+     * a version: it's only updated if it's still at that version.
      *
      * @param id the id of the art to save.
+     * @param ifMatch the ETag of the version of the art which is updated, or {@code *} to update any version.
      * @param art the art to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated art,
      * or with status {@code 400 (Bad Request)} if the art is not valid,
+     * or with status {@code 412 (Precondition Failed)} if the art was updated since that version,
      * or with status {@code 500 (Internal Server Error)} if the art couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/arts/{id}")
-    public Mono<ResponseEntity<Art>> updateArt(@PathVariable(value = "id", required = false) final Long id, @Valid @RequestBody Art art)
-        throws URISyntaxException {
+    public Mono<ResponseEntity<Art>> updateArt(
+        @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @Valid @RequestBody Art art
+    ) throws URISyntaxException {
         log.debug("REST request to update Art : {}, {}", id, art);
         if (art.getId() == null) {
             throw new BadRequestAlertException("Invalid id", ENTITY_NAME, "idnull");
@@ -101,39 +129,37 @@ public class ArtResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
+        Long expectedVersion = getExpectedVersion(ifMatch, art);
         return artRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return artRepository
-                    .save(art)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+            .update(art, expectedVersion)
+            .switchIfEmpty(notUpdated(id, expectedVersion))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .eTag(getETag(result))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
      * {@code PATCH  /arts/:id} : Partial updates given fields of an existing art, field will ignore if it is null
      *
+     * The update is conditional, like a {@link #updateArt PUT}.
+     *
      * @param id the id of the art to save.
+     * @param ifMatch the ETag of the version of the art which is updated, or {@code *} to update any version.
      * @param art the art to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated art,
-     * or with status {@code 400 (Bad Request)} if the art is not valid,
-     * or with status {@code 404 (Not Found)} if the art is not found,
+     * or with status {@code 400 (Bad Request)} if the art is not valid, or not found,
+     * or with status {@code 412 (Precondition Failed)} if the art was updated since that version,
      * or with status {@code 500 (Internal Server Error)} if the art couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/arts/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public Mono<ResponseEntity<Art>> partialUpdateArt(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @NotNull @RequestBody Art art
     ) throws URISyntaxException {
         log.debug("REST request to partial update Art partially : {}, {}", id, art);
@@ -144,42 +170,58 @@ public class ArtResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
+        Long expectedVersion = getExpectedVersion(ifMatch, art);
         return artRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
+            .updateNonNull(art, expectedVersion)
+            .switchIfEmpty(notUpdated(id, expectedVersion))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .eTag(getETag(res))
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
+    }
 
-                Mono<Art> result = artRepository
-                    .findById(art.getId())
-                    .map(existingArt -> {
-                        if (art.getName() != null) {
-                            existingArt.setName(art.getName());
-                        }
-                        if (art.getHandle() != null) {
-                            existingArt.setHandle(art.getHandle());
-                        }
-                        if (art.getAssetType() != null) {
-                            existingArt.setAssetType(art.getAssetType());
-                        }
-                        if (art.getType() != null) {
-                            existingArt.setType(art.getType());
-                        }
-
-                        return existingArt;
-                    })
-                    .flatMap(artRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+    /**
+     * @return the version of the {@code If-Match} header, {@code null} if it's {@code *}, or else the version of the art.
+     */
+    private static Long getExpectedVersion(String ifMatch, Art art) {
+        if (ifMatch == null) {
+            return art.getVersion();
+        }
+        String eTag = ifMatch.trim();
+        if ("*".equals(eTag)) {
+            return null;
+        }
+        if (eTag.startsWith("W/")) {
+            eTag = eTag.substring(2);
+        }
+        try {
+            return Long.valueOf(eTag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            // not the ETag of a version, so it can't match
+            throw new PreconditionFailedAlertException("Entity was changed", ENTITY_NAME, "versionmismatch");
+        }
+    }
+
+    private static String getETag(Art art) {
+        return "\"" + art.getVersion() + "\"";
+    }
+
+    /**
+     * @return an error, telling whether the art doesn't exist, or was updated since the expected version.
+     */
+    private Mono<Art> notUpdated(Long id, Long expectedVersion) {
+        BadRequestAlertException notFound = new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        if (expectedVersion == null) {
+            return Mono.error(notFound);
+        }
+        return artRepository
+            .existsById(id)
+            .flatMap(exists ->
+                Mono.error(exists ? new PreconditionFailedAlertException("Entity was changed", ENTITY_NAME, "versionmismatch") : notFound)
+            );
     }
 
     /**
@@ -197,33 +239,39 @@ public class ArtResource {
         @RequestParam(required = false, defaultValue = "false") boolean eagerload
     ) {
         log.debug("REST request to get a page of Arts");
-        return artRepository
-            .count()
-            .zipWith(artRepository.findAllBy(pageable).collectList())
-            .map(countWithEntities ->
-                ResponseEntity
-                    .ok()
-                    .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                        )
-                    )
-                    .body(countWithEntities.getT2())
-            );
+        Mono<Page<Art>> page = eagerload ? artRepository.findPageWithEagerRelationships(pageable) : artRepository.findPageBy(pageable);
+        return page.map(result ->
+            ResponseEntity
+                .ok()
+                .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), result))
+                .body(result.getContent())
+        );
+    }
+
+    /**
+     * {@code GET  /arts} : get all the arts as a stream.
+     * @return the {@link Flux} of arts.
+     */
+    @GetMapping(value = "/arts", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Art> getAllArtsAsStream() {
+        log.debug("REST request to get all Arts as a stream");
+        return artRepository.findAll();
     }
 
     /**
      * {@code GET  /arts/:id} : get the "id" art.
      *
      * @param id the id of the art to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the art, or with status {@code 404 (Not Found)}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the art, and the ETag of its version,
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/arts/{id}")
     public Mono<ResponseEntity<Art>> getArt(@PathVariable Long id) {
         log.debug("REST request to get Art : {}", id);
-        Mono<Art> art = artRepository.findOneWithEagerRelationships(id);
-        return ResponseUtil.wrapOrNotFound(art);
+        return artRepository
+            .findOneWithEagerRelationshipsCoalesced(id)
+            .map(art -> ResponseEntity.ok().eTag(getETag(art)).body(art))
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
     }
 
     /**
@@ -5,7 +5,6 @@ import com.orthoworks.store.repository.ArtistRepository;
 import com.orthoworks.store.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import javax.validation.Valid;
@@ -18,7 +17,6 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -96,22 +94,14 @@ public class ArtistResource {
         }
 
         return artistRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return artistRepository
-                    .save(artist)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+            .update(artist)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -139,67 +129,25 @@ public class ArtistResource {
         }
 
         return artistRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Artist> result = artistRepository
-                    .findById(artist.getId())
-                    .map(existingArtist -> {
-                        if (artist.getFirstName() != null) {
-                            existingArtist.setFirstName(artist.getFirstName());
-                        }
-                        if (artist.getLastName() != null) {
-                            existingArtist.setLastName(artist.getLastName());
-                        }
-                        if (artist.getGender() != null) {
-                            existingArtist.setGender(artist.getGender());
-                        }
-                        if (artist.getEmail() != null) {
-                            existingArtist.setEmail(artist.getEmail());
-                        }
-                        if (artist.getPhone() != null) {
-                            existingArtist.setPhone(artist.getPhone());
-                        }
-                        if (artist.getAddressLine1() != null) {
-                            existingArtist.setAddressLine1(artist.getAddressLine1());
-                        }
-                        if (artist.getAddressLine2() != null) {
-                            existingArtist.setAddressLine2(artist.getAddressLine2());
-                        }
-                        if (artist.getCity() != null) {
-                            existingArtist.setCity(artist.getCity());
-                        }
-                        if (artist.getCountry() != null) {
-                            existingArtist.setCountry(artist.getCountry());
-                        }
-
-                        return existingArtist;
-                    })
-                    .flatMap(artistRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+            .updateNonNull(artist)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
      * {@code GET  /artists} : get all the artists.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of artists in body.
+     * @return the {@link Flux} of artists, streamed as a JSON array.
      */
     @GetMapping("/artists")
-    public Mono<List<Artist>> getAllArtists() {
+    public Flux<Artist> getAllArtists() {
         log.debug("REST request to get all Artists");
-        return artistRepository.findAll().collectList();
+        return artistRepository.findAll();
     }
 
     /**
@@ -15,7 +15,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -24,7 +23,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -105,22 +103,14 @@ public class BrandCategoryResource {
         }
 
         return brandCategoryRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return brandCategoryRepository
-                    .save(brandCategory)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+            .update(brandCategory)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -148,41 +138,14 @@ public class BrandCategoryResource {
         }
 
         return brandCategoryRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<BrandCategory> result = brandCategoryRepository
-                    .findById(brandCategory.getId())
-                    .map(existingBrandCategory -> {
-                        if (brandCategory.getDescription() != null) {
-                            existingBrandCategory.setDescription(brandCategory.getDescription());
-                        }
-                        if (brandCategory.getSortOrder() != null) {
-                            existingBrandCategory.setSortOrder(brandCategory.getSortOrder());
-                        }
-                        if (brandCategory.getDateAdded() != null) {
-                            existingBrandCategory.setDateAdded(brandCategory.getDateAdded());
-                        }
-                        if (brandCategory.getDateModified() != null) {
-                            existingBrandCategory.setDateModified(brandCategory.getDateModified());
-                        }
-
-                        return existingBrandCategory;
-                    })
-                    .flatMap(brandCategoryRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+            .updateNonNull(brandCategory)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
@@ -200,20 +163,25 @@ public class BrandCategoryResource {
         @RequestParam(required = false, defaultValue = "false") boolean eagerload
     ) {
         log.debug("REST request to get a page of BrandCategories");
-        return brandCategoryRepository
-            .count()
-            .zipWith(brandCategoryRepository.findAllBy(pageable).collectList())
-            .map(countWithEntities ->
-                ResponseEntity
-                    .ok()
-                    .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                        )
-                    )
-                    .body(countWithEntities.getT2())
-            );
+        Mono<Page<BrandCategory>> page = eagerload
+            ? brandCategoryRepository.findPageWithEagerRelationships(pageable)
+            : brandCategoryRepository.findPageBy(pageable);
+        return page.map(result ->
+            ResponseEntity
+                .ok()
+                .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), result))
+                .body(result.getContent())
+        );
+    }
+
+    /**
+     * {@code GET  /brand-categories} : get all the brandCategories as a stream.
+     * @return the {@link Flux} of brandCategories.
+     */
+    @GetMapping(value = "/brand-categories", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BrandCategory> getAllBrandCategoriesAsStream() {
+        log.debug("REST request to get all BrandCategories as a stream");
+        return brandCategoryRepository.findAll();
     }
 
     /**
@@ -3,6 +3,7 @@ package com.orthoworks.store.web.rest;
 import com.orthoworks.store.domain.Brand;
 import com.orthoworks.store.repository.BrandRepository;
 import com.orthoworks.store.web.rest.errors.BadRequestAlertException;
+import com.orthoworks.store.web.util.BinaryContentUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -14,14 +15,15 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
@@ -104,22 +106,14 @@ public class BrandResource {
         }
 
         return brandRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return brandRepository
-                    .save(brand)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+            .update(brand)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -147,62 +141,14 @@ public class BrandResource {
         }
 
         return brandRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Brand> result = brandRepository
-                    .findById(brand.getId())
-                    .map(existingBrand -> {
-                        if (brand.getTitle() != null) {
-                            existingBrand.setTitle(brand.getTitle());
-                        }
-                        if (brand.getKeywords() != null) {
-                            existingBrand.setKeywords(brand.getKeywords());
-                        }
-                        if (brand.getDescription() != null) {
-                            existingBrand.setDescription(brand.getDescription());
-                        }
-                        if (brand.getImage() != null) {
-                            existingBrand.setImage(brand.getImage());
-                        }
-                        if (brand.getImageContentType() != null) {
-                            existingBrand.setImageContentType(brand.getImageContentType());
-                        }
-                        if (brand.getRating() != null) {
-                            existingBrand.setRating(brand.getRating());
-                        }
-                        if (brand.getStatus() != null) {
-                            existingBrand.setStatus(brand.getStatus());
-                        }
-                        if (brand.getPrice() != null) {
-                            existingBrand.setPrice(brand.getPrice());
-                        }
-                        if (brand.getBrandSize() != null) {
-                            existingBrand.setBrandSize(brand.getBrandSize());
-                        }
-                        if (brand.getDateAdded() != null) {
-                            existingBrand.setDateAdded(brand.getDateAdded());
-                        }
-                        if (brand.getDateModified() != null) {
-                            existingBrand.setDateModified(brand.getDateModified());
-                        }
-
-                        return existingBrand;
-                    })
-                    .flatMap(brandRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+            .updateNonNull(brand)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
@@ -219,21 +165,25 @@ public class BrandResource {
     ) {
         log.debug("REST request to get a page of Brands");
         return brandRepository
-            .count()
-            .zipWith(brandRepository.findAllBy(pageable).collectList())
-            .map(countWithEntities ->
+            .findPageBy(pageable)
+            .map(page ->
                 ResponseEntity
                     .ok()
-                    .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                        )
-                    )
-                    .body(countWithEntities.getT2())
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
             );
     }
 
+    /**
+     * {@code GET  /brands} : get all the brands as a stream.
+     * @return the {@link Flux} of brands.
+     */
+    @GetMapping(value = "/brands", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Brand> getAllBrandsAsStream() {
+        log.debug("REST request to get all Brands as a stream");
+        return brandRepository.findAllBy(null);
+    }
+
     /**
      * {@code GET  /brands/:id} : get the "id" brand.
      *
@@ -247,6 +197,37 @@ public class BrandResource {
         return ResponseUtil.wrapOrNotFound(brand);
     }
 
+    /**
+     * {@code GET  /brands/:id/image} : get the image of the "id" brand, streamed as it's read from the database - the list
+     * of the brands only has the size of their images.
+     *
+     * @param id the id of the brand, whose image to retrieve.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param response a {@link ServerHttpResponse} response.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the image, with status
+     * {@code 206 (Partial Content)} and with body the requested range of the image, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/brands/{id}/image")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBrandImage(
+        @PathVariable Long id,
+        ServerHttpRequest request,
+        ServerHttpResponse response
+    ) {
+        log.debug("REST request to get the image of Brand : {}", id);
+        return brandRepository
+            .findSummaryById(id)
+            .filter(brand -> brand.getImageSize() != null)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(brand ->
+                BinaryContentUtil.createBinaryContentResponse(
+                    request,
+                    brandRepository.findImageById(id).map(response.bufferFactory()::wrap),
+                    brand.getImageSize(),
+                    brand.getImageContentType()
+                )
+            );
+    }
+
     /**
      * {@code DELETE  /brands/:id} : delete the "id" brand.
      *
@@ -3,6 +3,9 @@ package com.orthoworks.store.web.rest;
 import com.orthoworks.store.domain.Collection;
 import com.orthoworks.store.repository.CollectionRepository;
 import com.orthoworks.store.web.rest.errors.BadRequestAlertException;
+import com.orthoworks.store.web.rest.vm.BulkItemResultVM;
+import com.orthoworks.store.web.util.BulkInserter;
+import com.orthoworks.store.web.util.ResponseCache;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -15,7 +18,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -23,9 +25,9 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -45,13 +47,22 @@ public class CollectionResource {
 
     private static final String ENTITY_NAME = "collection";
 
+    // the features return their collection
+    private static final String[] CACHED_PATHS = { "/api/collections", "/api/features" };
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final CollectionRepository collectionRepository;
 
-    public CollectionResource(CollectionRepository collectionRepository) {
+    private final BulkInserter bulkInserter;
+
+    private final ResponseCache responseCache;
+
+    public CollectionResource(CollectionRepository collectionRepository, BulkInserter bulkInserter, ResponseCache responseCache) {
         this.collectionRepository = collectionRepository;
+        this.bulkInserter = bulkInserter;
+        this.responseCache = responseCache;
     }
 
     /**
@@ -69,6 +80,7 @@ public class CollectionResource {
         }
         return collectionRepository
             .save(collection)
+            .flatMap(result -> responseCache.invalidate(CACHED_PATHS).thenReturn(result))
             .map(result -> {
                 try {
                     return ResponseEntity
@@ -81,6 +93,23 @@ public class CollectionResource {
             });
     }
 
+    /**
+     * {@code POST  /collections/bulk} : Create new collections, from a JSON array or an NDJSON stream.
+     *
+     * @param collections the collections to create.
+     * @return the {@link Flux} with the result of every collection, in the order of the request: with status {@code 201 (Created)} and the new ID,
+     * with status {@code 400 (Bad Request)} if the collection is not valid or has already an ID,
+     * or with status {@code 409 (Conflict)} if the collection couldn't be inserted.
+     */
+    @PostMapping(value = "/collections/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<BulkItemResultVM> bulkCreateCollections(@RequestBody Flux<Collection> collections) {
+        log.debug("REST request to save Collections in bulk");
+        return bulkInserter
+            .insert(collections, ENTITY_NAME, Collection::getId, collectionRepository::insertAll)
+            .concatWith(responseCache.invalidate(CACHED_PATHS).then(Mono.empty()));
+    }
+
     /**
      * {@code PUT  /collections/:id} : Updates an existing collection.
      *
@@ -105,22 +134,15 @@ public class CollectionResource {
         }
 
         return collectionRepository
-            .existsById(collection.getId())
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return collectionRepository
-                    .save(collection)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+            .update(collection)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .flatMap(result -> responseCache.invalidate(CACHED_PATHS).thenReturn(result))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -148,56 +170,15 @@ public class CollectionResource {
         }
 
         return collectionRepository
-            .existsById(collection.getId())
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Collection> result = collectionRepository
-                    .findById(collection.getId())
-                    .map(existingCollection -> {
-                        if (collection.getName() != null) {
-                            existingCollection.setName(collection.getName());
-                        }
-                        if (collection.getTitle() != null) {
-                            existingCollection.setTitle(collection.getTitle());
-                        }
-                        if (collection.getCount() != null) {
-                            existingCollection.setCount(collection.getCount());
-                        }
-                        if (collection.getCollectionType() != null) {
-                            existingCollection.setCollectionType(collection.getCollectionType());
-                        }
-                        if (collection.getAuctionType() != null) {
-                            existingCollection.setAuctionType(collection.getAuctionType());
-                        }
-                        if (collection.getMinRange() != null) {
-                            existingCollection.setMinRange(collection.getMinRange());
-                        }
-                        if (collection.getMaxRange() != null) {
-                            existingCollection.setMaxRange(collection.getMaxRange());
-                        }
-                        if (collection.getCurrency() != null) {
-                            existingCollection.setCurrency(collection.getCurrency());
-                        }
-                        if (collection.getOwner() != null) {
-                            existingCollection.setOwner(collection.getOwner());
-                        }
-
-                        return existingCollection;
-                    })
-                    .flatMap(collectionRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+            .updateNonNull(collection)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .flatMap(res -> responseCache.invalidate(CACHED_PATHS).thenReturn(res))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
@@ -215,21 +196,26 @@ public class CollectionResource {
     ) {
         log.debug("REST request to get a page of Collections");
         return collectionRepository
-            .count()
-            .zipWith(collectionRepository.findAllBy(pageable).collectList())
-            .map(countWithEntities ->
+            .findPageBy(pageable)
+            .map(page ->
                 ResponseEntity
                     .ok()
-                    .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                        )
-                    )
-                    .body(countWithEntities.getT2())
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
             );
     }
 
+    /**
+     * {@code GET  /collections} : get all the collections as a stream.
+     * @return the {@link Flux} of collections.
+     */
+    @GetMapping(value = "/collections", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("permitAll()")
+    public Flux<Collection> getAllCollectionsAsStream() {
+        log.debug("REST request to get all Collections as a stream");
+        return collectionRepository.findAll();
+    }
+
     /**
      * {@code GET  /collections/:id} : get the "id" collection.
      *
@@ -239,7 +225,7 @@ public class CollectionResource {
     @GetMapping("/collections/{id}")
     public Mono<ResponseEntity<Collection>> getCollection(@PathVariable String id) {
         log.debug("REST request to get Collection : {}", id);
-        Mono<Collection> collection = collectionRepository.findById(id);
+        Mono<Collection> collection = collectionRepository.findByIdCoalesced(id);
         return ResponseUtil.wrapOrNotFound(collection);
     }
 
@@ -255,6 +241,7 @@ public class CollectionResource {
         log.debug("REST request to delete Collection : {}", id);
         return collectionRepository
             .deleteById(id)
+            .then(responseCache.invalidate(CACHED_PATHS))
             .map(result ->
                 ResponseEntity
                     .noContent()
@@ -5,7 +5,6 @@ import com.orthoworks.store.repository.CollectorRepository;
 import com.orthoworks.store.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import javax.validation.Valid;
@@ -18,7 +17,6 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -96,22 +94,14 @@ public class CollectorResource {
         }
 
         return collectorRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return collectorRepository
-                    .save(collector)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+            .update(collector)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -139,67 +129,25 @@ public class CollectorResource {
         }
 
         return collectorRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Collector> result = collectorRepository
-                    .findById(collector.getId())
-                    .map(existingCollector -> {
-                        if (collector.getFirstName() != null) {
-                            existingCollector.setFirstName(collector.getFirstName());
-                        }
-                        if (collector.getLastName() != null) {
-                            existingCollector.setLastName(collector.getLastName());
-                        }
-                        if (collector.getGender() != null) {
-                            existingCollector.setGender(collector.getGender());
-                        }
-                        if (collector.getEmail() != null) {
-                            existingCollector.setEmail(collector.getEmail());
-                        }
-                        if (collector.getPhone() != null) {
-                            existingCollector.setPhone(collector.getPhone());
-                        }
-                        if (collector.getAddressLine1() != null) {
-                            existingCollector.setAddressLine1(collector.getAddressLine1());
-                        }
-                        if (collector.getAddressLine2() != null) {
-                            existingCollector.setAddressLine2(collector.getAddressLine2());
-                        }
-                        if (collector.getCity() != null) {
-                            existingCollector.setCity(collector.getCity());
-                        }
-                        if (collector.getCountry() != null) {
-                            existingCollector.setCountry(collector.getCountry());
-                        }
-
-                        return existingCollector;
-                    })
-                    .flatMap(collectorRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+            .updateNonNull(collector)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
      * {@code GET  /collectors} : get all the collectors.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of collectors in body.
+     * @return the {@link Flux} of collectors, streamed as a JSON array.
      */
     @GetMapping("/collectors")
-    public Mono<List<Collector>> getAllCollectors() {
+    public Flux<Collector> getAllCollectors() {
         log.debug("REST request to get all Collectors");
-        return collectorRepository.findAll().collectList();
+        return collectorRepository.findAll();
     }
 
     /**
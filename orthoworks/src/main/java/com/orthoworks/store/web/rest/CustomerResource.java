@@ -15,7 +15,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -24,7 +23,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -104,22 +102,14 @@ public class CustomerResource {
         }
 
         return customerRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return customerRepository
-                    .save(customer)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+            .update(customer)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -147,56 +137,14 @@ public class CustomerResource {
         }
 
         return customerRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Customer> result = customerRepository
-                    .findById(customer.getId())
-                    .map(existingCustomer -> {
-                        if (customer.getFirstName() != null) {
-                            existingCustomer.setFirstName(customer.getFirstName());
-                        }
-                        if (customer.getLastName() != null) {
-                            existingCustomer.setLastName(customer.getLastName());
-                        }
-                        if (customer.getGender() != null) {
-                            existingCustomer.setGender(customer.getGender());
-                        }
-                        if (customer.getEmail() != null) {
-                            existingCustomer.setEmail(customer.getEmail());
-                        }
-                        if (customer.getPhone() != null) {
-                            existingCustomer.setPhone(customer.getPhone());
-                        }
-                        if (customer.getAddressLine1() != null) {
-                            existingCustomer.setAddressLine1(customer.getAddressLine1());
-                        }
-                        if (customer.getAddressLine2() != null) {
-                            existingCustomer.setAddressLine2(customer.getAddressLine2());
-                        }
-                        if (customer.getCity() != null) {
-                            existingCustomer.setCity(customer.getCity());
-                        }
-                        if (customer.getCountry() != null) {
-                            existingCustomer.setCountry(customer.getCountry());
-                        }
-
-                        return existingCustomer;
-                    })
-                    .flatMap(customerRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+            .updateNonNull(customer)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
@@ -213,21 +161,25 @@ public class CustomerResource {
     ) {
         log.debug("REST request to get a page of Customers");
         return customerRepository
-            .count()
-            .zipWith(customerRepository.findAllBy(pageable).collectList())
-            .map(countWithEntities ->
+            .findPageBy(pageable)
+            .map(page ->
                 ResponseEntity
                     .ok()
-                    .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                        )
-                    )
-                    .body(countWithEntities.getT2())
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
             );
     }
 
+    /**
+     * {@code GET  /customers} : get all the customers as a stream.
+     * @return the {@link Flux} of customers.
+     */
+    @GetMapping(value = "/customers", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Customer> getAllCustomersAsStream() {
+        log.debug("REST request to get all Customers as a stream");
+        return customerRepository.findAll();
+    }
+
     /**
      * {@code GET  /customers/:id} : get the "id" customer.
      *
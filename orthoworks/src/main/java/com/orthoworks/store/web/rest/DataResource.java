@@ -2,7 +2,13 @@ package com.orthoworks.store.web.rest;
 
 import com.orthoworks.store.domain.Data;
 import com.orthoworks.store.repository.DataRepository;
+import com.orthoworks.store.repository.EntityManager;
+import com.orthoworks.store.repository.KeysetPageable;
 import com.orthoworks.store.web.rest.errors.BadRequestAlertException;
+import com.orthoworks.store.web.rest.vm.BulkItemResultVM;
+import com.orthoworks.store.web.util.BinaryContentUtil;
+import com.orthoworks.store.web.util.BulkInserter;
+import com.orthoworks.store.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -14,14 +20,16 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
@@ -49,8 +57,14 @@ public class DataResource {
 
     private final DataRepository dataRepository;
 
-    public DataResource(DataRepository dataRepository) {
+    private final EntityManager entityManager;
+
+    private final BulkInserter bulkInserter;
+
+    public DataResource(DataRepository dataRepository, EntityManager entityManager, BulkInserter bulkInserter) {
         this.dataRepository = dataRepository;
+        this.entityManager = entityManager;
+        this.bulkInserter = bulkInserter;
     }
 
     /**
@@ -80,6 +94,21 @@ public class DataResource {
             });
     }
 
+    /**
+     * {@code POST  /data/bulk} : Create new data, from a JSON array or an NDJSON stream.
+     *
+     * @param data the data to create.
+     * @return the {@link Flux} with the result of every data, in the order of the request: with status {@code 201 (Created)} and the new ID,
+     * with status {@code 400 (Bad Request)} if the data is not valid or has already an ID,
+     * or with status {@code 409 (Conflict)} if the data couldn't be inserted.
+     */
+    @PostMapping(value = "/data/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<BulkItemResultVM> bulkCreateData(@RequestBody Flux<Data> data) {
+        log.debug("REST request to save Data in bulk");
+        return bulkInserter.insert(data, ENTITY_NAME, Data::getId, dataRepository::insertAll);
+    }
+
     /**
      * {@code PUT  /data/:id} : Updates an existing data.
      *
@@ -104,22 +133,14 @@ public class DataResource {
         }
 
         return dataRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return dataRepository
-                    .save(data)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+            .update(data)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -147,38 +168,14 @@ public class DataResource {
         }
 
         return dataRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Data> result = dataRepository
-                    .findById(data.getId())
-                    .map(existingData -> {
-                        if (data.getName() != null) {
-                            existingData.setName(data.getName());
-                        }
-                        if (data.getFile() != null) {
-                            existingData.setFile(data.getFile());
-                        }
-                        if (data.getFileContentType() != null) {
-                            existingData.setFileContentType(data.getFileContentType());
-                        }
-
-                        return existingData;
-                    })
-                    .flatMap(dataRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+            .updateNonNull(data)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
@@ -186,30 +183,56 @@ public class DataResource {
      *
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
+     * @param after the cursor of the last data of the previous page, to get a keyset page instead of an offset page.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of data in body.
      */
     @GetMapping("/data")
     public Mono<ResponseEntity<List<Data>>> getAllData(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
-        ServerHttpRequest request
+        ServerHttpRequest request,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after
     ) {
+        if (after != null) {
+            log.debug("REST request to get a keyset page of Data");
+            KeysetPageable keysetPageable = KeysetPaginationUtil.keysetPageable(pageable, after, Data.class, entityManager, ENTITY_NAME);
+            return dataRepository
+                .findAllBy(keysetPageable)
+                .collectList()
+                .map(data ->
+                    ResponseEntity
+                        .ok()
+                        .headers(
+                            KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                                UriComponentsBuilder.fromHttpRequest(request),
+                                data,
+                                keysetPageable,
+                                entityManager
+                            )
+                        )
+                        .body(data)
+                );
+        }
         log.debug("REST request to get a page of Data");
         return dataRepository
-            .count()
-            .zipWith(dataRepository.findAllBy(pageable).collectList())
-            .map(countWithEntities ->
+            .findPageBy(pageable)
+            .map(page ->
                 ResponseEntity
                     .ok()
-                    .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                        )
-                    )
-                    .body(countWithEntities.getT2())
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
             );
     }
 
+    /**
+     * {@code GET  /data} : get all the data as a stream.
+     * @return the {@link Flux} of data.
+     */
+    @GetMapping(value = "/data", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Data> getAllDataAsStream() {
+        log.debug("REST request to get all Data as a stream");
+        return dataRepository.findAllBy(null);
+    }
+
     /**
      * {@code GET  /data/:id} : get the "id" data.
      *
@@ -223,6 +246,39 @@ public class DataResource {
         return ResponseUtil.wrapOrNotFound(data);
     }
 
+    /**
+     * {@code GET  /data/:id/file} : get the file of the "id" data.
+     * <p>
+     * The file is streamed as it's read from the database, and a single byte range of it can be requested with the
+     * {@code Range} header - several ranges aren't supported, so they're ignored, and the whole file is returned.
+     *
+     * @param id the id of the data, whose file to retrieve.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param response a {@link ServerHttpResponse} response.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the file, with status
+     * {@code 206 (Partial Content)} and with body the requested range of the file, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/data/{id}/file")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getDataFile(
+        @PathVariable Long id,
+        ServerHttpRequest request,
+        ServerHttpResponse response
+    ) {
+        log.debug("REST request to get the file of Data : {}", id);
+        return dataRepository
+            .findSummaryById(id)
+            .filter(data -> data.getFileSize() != null)
+            .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+            .map(data ->
+                BinaryContentUtil.createBinaryContentResponse(
+                    request,
+                    dataRepository.findFileById(id).map(response.bufferFactory()::wrap),
+                    data.getFileSize(),
+                    data.getFileContentType()
+                )
+            );
+    }
+
     /**
      * {@code DELETE  /data/:id} : delete the "id" data.
      *
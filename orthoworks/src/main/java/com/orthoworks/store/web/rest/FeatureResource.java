@@ -3,9 +3,11 @@ package com.orthoworks.store.web.rest;
 import com.orthoworks.store.domain.Feature;
 import com.orthoworks.store.repository.FeatureRepository;
 import com.orthoworks.store.web.rest.errors.BadRequestAlertException;
+import com.orthoworks.store.web.rest.vm.BulkItemResultVM;
+import com.orthoworks.store.web.util.BulkInserter;
+import com.orthoworks.store.web.util.ResponseCache;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import javax.validation.Valid;
@@ -17,9 +19,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -37,13 +39,21 @@ public class FeatureResource {
 
     private static final String ENTITY_NAME = "feature";
 
+    private static final String[] CACHED_PATHS = { "/api/features" };
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final FeatureRepository featureRepository;
 
-    public FeatureResource(FeatureRepository featureRepository) {
+    private final BulkInserter bulkInserter;
+
+    private final ResponseCache responseCache;
+
+    public FeatureResource(FeatureRepository featureRepository, BulkInserter bulkInserter, ResponseCache responseCache) {
         this.featureRepository = featureRepository;
+        this.bulkInserter = bulkInserter;
+        this.responseCache = responseCache;
     }
 
     /**
@@ -61,6 +71,7 @@ public class FeatureResource {
         }
         return featureRepository
             .save(feature)
+            .flatMap(result -> responseCache.invalidate(CACHED_PATHS).thenReturn(result))
             .map(result -> {
                 try {
                     return ResponseEntity
@@ -73,6 +84,23 @@ public class FeatureResource {
             });
     }
 
+    /**
+     * {@code POST  /features/bulk} : Create new features, from a JSON array or an NDJSON stream.
+     *
+     * @param features the features to create.
+     * @return the {@link Flux} with the result of every feature, in the order of the request: with status {@code 201 (Created)} and the new ID,
+     * with status {@code 400 (Bad Request)} if the feature is not valid or has already an ID,
+     * or with status {@code 409 (Conflict)} if the feature couldn't be inserted.
+     */
+    @PostMapping(value = "/features/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<BulkItemResultVM> bulkCreateFeatures(@RequestBody Flux<Feature> features) {
+        log.debug("REST request to save Features in bulk");
+        return bulkInserter
+            .insert(features, ENTITY_NAME, Feature::getId, featureRepository::insertAll)
+            .concatWith(responseCache.invalidate(CACHED_PATHS).then(Mono.empty()));
+    }
+
     /**
      * {@code PUT  /features/:id} : Updates an existing feature.
      *
@@ -97,22 +125,15 @@ public class FeatureResource {
         }
 
         return featureRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return featureRepository
-                    .save(feature)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+            .update(feature)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .flatMap(result -> responseCache.invalidate(CACHED_PATHS).thenReturn(result))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -140,47 +161,27 @@ public class FeatureResource {
         }
 
         return featureRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Feature> result = featureRepository
-                    .findById(feature.getId())
-                    .map(existingFeature -> {
-                        if (feature.getName() != null) {
-                            existingFeature.setName(feature.getName());
-                        }
-                        if (feature.getMandatory() != null) {
-                            existingFeature.setMandatory(feature.getMandatory());
-                        }
-
-                        return existingFeature;
-                    })
-                    .flatMap(featureRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+            .updateNonNull(feature)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .flatMap(res -> responseCache.invalidate(CACHED_PATHS).thenReturn(res))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
      * {@code GET  /features} : get all the features.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of features in body.
+     * @return the {@link Flux} of features, streamed as a JSON array.
      */
     @GetMapping("/features")
     @PreAuthorize("permitAll()")
-    public Mono<List<Feature>> getAllFeatures() {
+    public Flux<Feature> getAllFeatures() {
         log.debug("REST request to get all Features");
-        return featureRepository.findAll().collectList();
+        return featureRepository.findAll();
     }
 
     /**
@@ -218,6 +219,7 @@ public class FeatureResource {
         log.debug("REST request to delete Feature : {}", id);
         return featureRepository
             .deleteById(id)
+            .then(responseCache.invalidate(CACHED_PATHS))
             .map(result ->
                 ResponseEntity
                     .noContent()
@@ -1,8 +1,11 @@
 package com.orthoworks.store.web.rest;
 
 import com.orthoworks.store.domain.Notification;
+import com.orthoworks.store.repository.EntityManager;
+import com.orthoworks.store.repository.KeysetPageable;
 import com.orthoworks.store.repository.NotificationRepository;
 import com.orthoworks.store.web.rest.errors.BadRequestAlertException;
+import com.orthoworks.store.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -13,12 +16,14 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
@@ -41,8 +46,11 @@ public class NotificationResource {
 
     private final NotificationRepository notificationRepository;
 
-    public NotificationResource(NotificationRepository notificationRepository) {
+    private final EntityManager entityManager;
+
+    public NotificationResource(NotificationRepository notificationRepository, EntityManager entityManager) {
         this.notificationRepository = notificationRepository;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -96,22 +104,14 @@ public class NotificationResource {
         }
 
         return notificationRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return notificationRepository
-                    .save(notification)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+            .update(notification)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -139,58 +139,65 @@ public class NotificationResource {
         }
 
         return notificationRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Notification> result = notificationRepository
-                    .findById(notification.getId())
-                    .map(existingNotification -> {
-                        if (notification.getDate() != null) {
-                            existingNotification.setDate(notification.getDate());
-                        }
-                        if (notification.getDetails() != null) {
-                            existingNotification.setDetails(notification.getDetails());
-                        }
-                        if (notification.getSentDate() != null) {
-                            existingNotification.setSentDate(notification.getSentDate());
-                        }
-                        if (notification.getFormat() != null) {
-                            existingNotification.setFormat(notification.getFormat());
-                        }
-                        if (notification.getUserId() != null) {
-                            existingNotification.setUserId(notification.getUserId());
-                        }
-                        if (notification.getBrandId() != null) {
-                            existingNotification.setBrandId(notification.getBrandId());
-                        }
-
-                        return existingNotification;
-                    })
-                    .flatMap(notificationRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+            .updateNonNull(notification)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
      * {@code GET  /notifications} : get all the notifications.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of notifications in body.
+     * @return the {@link Flux} of notifications, streamed as a JSON array.
      */
-    @GetMapping("/notifications")
-    public Mono<List<Notification>> getAllNotifications() {
+    @GetMapping(value = "/notifications", params = "!" + KeysetPaginationUtil.CURSOR_PARAMETER)
+    public Flux<Notification> getAllNotifications() {
         log.debug("REST request to get all Notifications");
-        return notificationRepository.findAll().collectList();
+        return notificationRepository.findAll();
+    }
+
+    /**
+     * {@code GET  /notifications?after=:cursor} : get a keyset page of the notifications.
+     *
+     * @param pageable the pagination information, the page number is ignored.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param after the cursor of the last notification of the previous page, empty for the first page.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of notifications in body.
+     */
+    @GetMapping(value = "/notifications", params = KeysetPaginationUtil.CURSOR_PARAMETER)
+    public Mono<ResponseEntity<List<Notification>>> getAllNotifications(
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request,
+        @RequestParam(KeysetPaginationUtil.CURSOR_PARAMETER) String after
+    ) {
+        log.debug("REST request to get a keyset page of Notifications");
+        KeysetPageable keysetPageable = KeysetPaginationUtil.keysetPageable(
+            pageable,
+            after,
+            Notification.class,
+            entityManager,
+            ENTITY_NAME
+        );
+        return notificationRepository
+            .findAllBy(keysetPageable)
+            .collectList()
+            .map(notifications ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                            UriComponentsBuilder.fromHttpRequest(request),
+                            notifications,
+                            keysetPageable,
+                            entityManager
+                        )
+                    )
+                    .body(notifications)
+            );
     }
 
     /**
@@ -1,8 +1,13 @@
 package com.orthoworks.store.web.rest;
 
 import com.orthoworks.store.domain.Transaction;
+import com.orthoworks.store.repository.EntityManager;
+import com.orthoworks.store.repository.KeysetPageable;
 import com.orthoworks.store.repository.TransactionRepository;
 import com.orthoworks.store.web.rest.errors.BadRequestAlertException;
+import com.orthoworks.store.web.rest.vm.BulkItemResultVM;
+import com.orthoworks.store.web.util.BulkInserter;
+import com.orthoworks.store.web.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -15,16 +20,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -49,8 +53,14 @@ public class TransactionResource {
 
     private final TransactionRepository transactionRepository;
 
-    public TransactionResource(TransactionRepository transactionRepository) {
+    private final EntityManager entityManager;
+
+    private final BulkInserter bulkInserter;
+
+    public TransactionResource(TransactionRepository transactionRepository, EntityManager entityManager, BulkInserter bulkInserter) {
         this.transactionRepository = transactionRepository;
+        this.entityManager = entityManager;
+        this.bulkInserter = bulkInserter;
     }
 
     /**
@@ -80,6 +90,21 @@ public class TransactionResource {
             });
     }
 
+    /**
+     * {@code POST  /transactions/bulk} : Create new transactions, from a JSON array or an NDJSON stream.
+     *
+     * @param transactions the transactions to create.
+     * @return the {@link Flux} with the result of every transaction, in the order of the request: with status {@code 201 (Created)} and the new ID,
+     * with status {@code 400 (Bad Request)} if the transaction is not valid or has already an ID,
+     * or with status {@code 409 (Conflict)} if the transaction couldn't be inserted.
+     */
+    @PostMapping(value = "/transactions/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Flux<BulkItemResultVM> bulkCreateTransactions(@RequestBody Flux<Transaction> transactions) {
+        log.debug("REST request to save Transactions in bulk");
+        return bulkInserter.insert(transactions, ENTITY_NAME, Transaction::getId, transactionRepository::insertAll);
+    }
+
     /**
      * {@code PUT  /transactions/:id} : Updates an existing transaction.
      *
@@ -104,22 +129,14 @@ public class TransactionResource {
         }
 
         return transactionRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                return transactionRepository
-                    .save(transaction)
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(result ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
-                            .body(result)
-                    );
-            });
+            .update(transaction)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(result ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                    .body(result)
+            );
     }
 
     /**
@@ -147,38 +164,14 @@ public class TransactionResource {
         }
 
         return transactionRepository
-            .existsById(id)
-            .flatMap(exists -> {
-                if (!exists) {
-                    return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
-                }
-
-                Mono<Transaction> result = transactionRepository
-                    .findById(transaction.getId())
-                    .map(existingTransaction -> {
-                        if (transaction.getTitle() != null) {
-                            existingTransaction.setTitle(transaction.getTitle());
-                        }
-                        if (transaction.getStatus() != null) {
-                            existingTransaction.setStatus(transaction.getStatus());
-                        }
-                        if (transaction.getDate() != null) {
-                            existingTransaction.setDate(transaction.getDate());
-                        }
-
-                        return existingTransaction;
-                    })
-                    .flatMap(transactionRepository::save);
-
-                return result
-                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
-                    .map(res ->
-                        ResponseEntity
-                            .ok()
-                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
-                            .body(res)
-                    );
-            });
+            .updateNonNull(transaction)
+            .switchIfEmpty(Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound")))
+            .map(res ->
+                ResponseEntity
+                    .ok()
+                    .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, res.getId().toString()))
+                    .body(res)
+            );
     }
 
     /**
@@ -187,35 +180,67 @@ public class TransactionResource {
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
      * @param filter the filter of the request.
+     * @param after the cursor of the last transaction of the previous page, to get a keyset page instead of an offset page.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of transactions in body.
      */
     @GetMapping("/transactions")
     public Mono<ResponseEntity<List<Transaction>>> getAllTransactions(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request,
-        @RequestParam(required = false) String filter
+        @RequestParam(required = false) String filter,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAMETER, required = false) String after
     ) {
         if ("result-is-null".equals(filter)) {
             log.debug("REST request to get all Transactions where result is null");
             return transactionRepository.findAllWhereResultIsNull().collectList().map(ResponseEntity::ok);
         }
+        if (after != null) {
+            log.debug("REST request to get a keyset page of Transactions");
+            KeysetPageable keysetPageable = KeysetPaginationUtil.keysetPageable(
+                pageable,
+                after,
+                Transaction.class,
+                entityManager,
+                ENTITY_NAME
+            );
+            return transactionRepository
+                .findAllBy(keysetPageable)
+                .collectList()
+                .map(transactions ->
+                    ResponseEntity
+                        .ok()
+                        .headers(
+                            KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+                                UriComponentsBuilder.fromHttpRequest(request),
+                                transactions,
+                                keysetPageable,
+                                entityManager
+                            )
+                        )
+                        .body(transactions)
+                );
+        }
         log.debug("REST request to get a page of Transactions");
         return transactionRepository
-            .count()
-            .zipWith(transactionRepository.findAllBy(pageable).collectList())
-            .map(countWithEntities ->
+            .findPageBy(pageable)
+            .map(page ->
                 ResponseEntity
                     .ok()
-                    .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                        )
-                    )
-                    .body(countWithEntities.getT2())
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
             );
     }
 
+    /**
+     * {@code GET  /transactions} : get all the transactions as a stream.
+     * @return the {@link Flux} of transactions.
+     */
+    @GetMapping(value = "/transactions", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Transaction> getAllTransactionsAsStream() {
+        log.debug("REST request to get all Transactions as a stream");
+        return transactionRepository.findAll();
+    }
+
     /**
      * {@code GET  /transactions/:id} : get the "id" transaction.
      *
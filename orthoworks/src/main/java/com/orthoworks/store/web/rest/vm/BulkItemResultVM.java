@@ -0,0 +1,78 @@
+package com.orthoworks.store.web.rest.vm;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.orthoworks.store.web.rest.errors.FieldErrorVM;
+import java.util.List;
+
+/**
+ * View Model object for the outcome of a single item of a bulk request.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class BulkItemResultVM {
+
+    private final long index;
+
+    private final int status;
+
+    private final Long id;
+
+    private final String message;
+
+    private final List<FieldErrorVM> fieldErrors;
+
+    public BulkItemResultVM(long index, int status, Long id, String message, List<FieldErrorVM> fieldErrors) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.message = message;
+        this.fieldErrors = fieldErrors;
+    }
+
+    /**
+     * @return the position of the item in the request, starting from 0.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the HTTP status, which a single request for the item would have returned.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the id of the created entity, or {@code null} if the item was rejected.
+     */
+    public Long getId() {
+        return id;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public List<FieldErrorVM> getFieldErrors() {
+        return fieldErrors;
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "BulkItemResultVM{" +
+            "index=" +
+            index +
+            ", status=" +
+            status +
+            ", id=" +
+            id +
+            ", message='" +
+            message +
+            "'" +
+            ", fieldErrors=" +
+            fieldErrors +
+            "}"
+        );
+    }
+}
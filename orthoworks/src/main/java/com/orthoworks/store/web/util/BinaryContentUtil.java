@@ -0,0 +1,84 @@
+package com.orthoworks.store.web.util;
+
+import java.util.List;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import reactor.core.publisher.Flux;
+
+/**
+ * Utility class for the responses of the binary contents - files and images - which are streamed as they're read from the
+ * database, instead of being sent base64 encoded in the JSON of their entity.
+ */
+public final class BinaryContentUtil {
+
+    private BinaryContentUtil() {}
+
+    /**
+     * Creates the response of a binary content. A single byte range of it can be requested with the {@code Range} header -
+     * several ranges aren't supported, so they're ignored, and the whole content is returned.
+     *
+     * @param request the request of the content.
+     * @param content the content, as it's read.
+     * @param size the size of the content in bytes.
+     * @param contentType the content type of the content, {@code application/octet-stream} if it's null or invalid.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the content, with status
+     * {@code 206 (Partial Content)} and with body the requested range of the content, or with status
+     * {@code 416 (Requested Range Not Satisfiable)}.
+     */
+    public static ResponseEntity<Flux<DataBuffer>> createBinaryContentResponse(
+        ServerHttpRequest request,
+        Flux<DataBuffer> content,
+        long size,
+        String contentType
+    ) {
+        MediaType mediaType = parseContentType(contentType);
+        HttpRange range = getRequestedRange(request);
+        if (range == null) {
+            return ResponseEntity.ok().header(HttpHeaders.ACCEPT_RANGES, "bytes").contentType(mediaType).contentLength(size).body(content);
+        }
+        long start = range.getRangeStart(size);
+        long end = range.getRangeEnd(size);
+        if (start >= size || start > end) {
+            return ResponseEntity
+                .status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                .header(HttpHeaders.CONTENT_RANGE, "bytes */" + size)
+                .<Flux<DataBuffer>>build();
+        }
+        long length = end - start + 1;
+        return ResponseEntity
+            .status(HttpStatus.PARTIAL_CONTENT)
+            .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+            .header(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size)
+            .contentType(mediaType)
+            .contentLength(length)
+            .body(DataBufferUtils.takeUntilByteCount(DataBufferUtils.skipUntilByteCount(content, start), length));
+    }
+
+    private static MediaType parseContentType(String contentType) {
+        if (contentType == null) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+        try {
+            return MediaType.parseMediaType(contentType);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
+
+    private static HttpRange getRequestedRange(ServerHttpRequest request) {
+        try {
+            List<HttpRange> ranges = request.getHeaders().getRange();
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            // An invalid Range header is ignored, like a missing one
+            return null;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.orthoworks.store.web.util;
+
+import com.orthoworks.store.web.rest.errors.ErrorConstants;
+import com.orthoworks.store.web.rest.errors.FieldErrorVM;
+import com.orthoworks.store.web.rest.vm.BulkItemResultVM;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.util.function.Tuple2;
+
+/**
+ * Inserts the entities of a bulk request in chunks, and reports the outcome of every entity.
+ *
+ * <p>
+ * Every entity is validated on its own, and the valid entities of a chunk are inserted in a transaction, through a single
+ * batched statement. If the batch fails, its entities are inserted again one by one, each in its own transaction, so a
+ * rejected entity doesn't prevent the rest of the request from being inserted. The results are emitted in the order of the
+ * request, one chunk at a time.
+ */
+public class BulkInserter {
+
+    private final Logger log = LoggerFactory.getLogger(BulkInserter.class);
+
+    private final Validator validator;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final int chunkSize;
+
+    /**
+     * @param validator validates the entities, before they are inserted.
+     * @param transactionalOperator runs the insertion of every chunk in a transaction.
+     * @param chunkSize the maximum number of entities inserted by a single batch.
+     */
+    public BulkInserter(Validator validator, TransactionalOperator transactionalOperator, int chunkSize) {
+        this.validator = validator;
+        this.transactionalOperator = transactionalOperator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Validates and inserts the given entities.
+     *
+     * @param <T> the type of the entities.
+     * @param entities the entities of the request.
+     * @param entityName the name of the entity, for the error messages.
+     * @param idGetter returns the id of an entity.
+     * @param insertAll inserts a list of valid entities, and returns them with their id, in the same order.
+     * @return the result of every entity, in the order of the request.
+     */
+    public <T> Flux<BulkItemResultVM> insert(
+        Flux<T> entities,
+        String entityName,
+        Function<T, Long> idGetter,
+        Function<List<T>, Flux<T>> insertAll
+    ) {
+        return entities
+            .index()
+            .buffer(chunkSize)
+            .concatMap(chunk -> {
+                List<BulkItemResultVM> rejected = new ArrayList<>();
+                List<Tuple2<Long, T>> valid = new ArrayList<>();
+                for (Tuple2<Long, T> item : chunk) {
+                    BulkItemResultVM result = validate(item.getT1(), item.getT2(), entityName, idGetter);
+                    if (result != null) {
+                        rejected.add(result);
+                    } else {
+                        valid.add(item);
+                    }
+                }
+                return Flux
+                    .concat(Flux.fromIterable(rejected), insertChunk(valid, idGetter, insertAll))
+                    .collectSortedList(Comparator.comparingLong(BulkItemResultVM::getIndex))
+                    .flatMapIterable(Function.identity());
+            });
+    }
+
+    private <T> BulkItemResultVM validate(long index, T entity, String entityName, Function<T, Long> idGetter) {
+        if (idGetter.apply(entity) != null) {
+            return new BulkItemResultVM(index, HttpStatus.BAD_REQUEST.value(), null, "error.idexists", null);
+        }
+        List<FieldErrorVM> fieldErrors = validator
+            .validate(entity)
+            .stream()
+            .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+            .map(violation -> new FieldErrorVM(entityName, violation.getPropertyPath().toString(), violation.getMessage()))
+            .collect(Collectors.toList());
+        if (!fieldErrors.isEmpty()) {
+            return new BulkItemResultVM(index, HttpStatus.BAD_REQUEST.value(), null, ErrorConstants.ERR_VALIDATION, fieldErrors);
+        }
+        return null;
+    }
+
+    private <T> Flux<BulkItemResultVM> insertChunk(
+        List<Tuple2<Long, T>> chunk,
+        Function<T, Long> idGetter,
+        Function<List<T>, Flux<T>> insertAll
+    ) {
+        if (chunk.isEmpty()) {
+            return Flux.empty();
+        }
+        List<T> entities = chunk.stream().map(Tuple2::getT2).collect(Collectors.toList());
+        return insertAll
+            .apply(entities)
+            .as(transactionalOperator::transactional)
+            .collectList()
+            .flatMapIterable(inserted -> chunk)
+            .map(item -> created(item.getT1(), idGetter.apply(item.getT2())))
+            .onErrorResume(e -> {
+                log.debug("Batch of {} entities failed, inserting them one by one: {}", chunk.size(), e.getMessage());
+                return Flux
+                    .fromIterable(chunk)
+                    .concatMap(item ->
+                        insertAll
+                            .apply(List.of(item.getT2()))
+                            .as(transactionalOperator::transactional)
+                            .map(inserted -> created(item.getT1(), idGetter.apply(inserted)))
+                            .onErrorResume(error -> Flux.just(failed(item.getT1(), error)))
+                    );
+            });
+    }
+
+    private static BulkItemResultVM created(long index, Long id) {
+        return new BulkItemResultVM(index, HttpStatus.CREATED.value(), id, null, null);
+    }
+
+    private BulkItemResultVM failed(long index, Throwable error) {
+        if (error instanceof DataIntegrityViolationException) {
+            return new BulkItemResultVM(index, HttpStatus.CONFLICT.value(), null, ErrorConstants.ERR_DATA_INTEGRITY_VIOLATION, null);
+        }
+        log.warn("Bulk insertion of the entity at index {} failed", index, error);
+        return new BulkItemResultVM(index, HttpStatus.INTERNAL_SERVER_ERROR.value(), null, ErrorConstants.ERR_INTERNAL_SERVER_ERROR, null);
+    }
+}
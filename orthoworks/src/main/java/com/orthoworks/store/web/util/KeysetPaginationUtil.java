@@ -0,0 +1,82 @@
+package com.orthoworks.store.web.util;
+
+import com.orthoworks.store.repository.EntityManager;
+import com.orthoworks.store.repository.KeysetPageable;
+import com.orthoworks.store.web.rest.errors.BadRequestAlertException;
+import java.text.MessageFormat;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (cursor based) pagination.
+ *
+ * <p>
+ * A client enters the cursor mode by sending an {@code after} request parameter - an empty one for the first page - and then
+ * follows the {@code Link: rel="next"} header, which carries the cursor of the last row of the page.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String CURSOR_PARAMETER = "after";
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Creates a keyset page from the page size and sort of the request, and the cursor sent by the client.
+     *
+     * @param pageable the pagination information of the request.
+     * @param cursor the cursor sent by the client, empty for the first page.
+     * @param entityType the type of the requested entity.
+     * @param entityManager checks that the entities can be paged by keyset with the sort of the request.
+     * @param entityName the name of the requested entity, for the error message.
+     * @return the keyset page.
+     * @throws BadRequestAlertException if the cursor is invalid, or if the sort has a nullable property.
+     */
+    public static KeysetPageable keysetPageable(
+        Pageable pageable,
+        String cursor,
+        Class<?> entityType,
+        EntityManager entityManager,
+        String entityName
+    ) {
+        KeysetPageable keysetPageable;
+        try {
+            keysetPageable = KeysetPageable.of(pageable, cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+        try {
+            entityManager.checkKeysetSort(entityType, keysetPageable.getSort());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException(e.getMessage(), entityName, "keysetsortinvalid");
+        }
+        return keysetPageable;
+    }
+
+    /**
+     * Generate the pagination headers of a keyset page: a {@code Link} to the next page, if the page is full.
+     *
+     * @param uriBuilder the URI builder of the request.
+     * @param content the content of the page.
+     * @param pageable the keyset page, which was requested.
+     * @param entityManager creates the cursor from the last entity of the page.
+     * @return the {@link HttpHeaders}.
+     */
+    public static HttpHeaders generateKeysetPaginationHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        List<?> content,
+        KeysetPageable pageable,
+        EntityManager entityManager
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!content.isEmpty() && content.size() >= pageable.getPageSize()) {
+            String cursor = entityManager.createCursor(content.get(content.size() - 1), pageable.getSort());
+            String next = uriBuilder.replaceQueryParam("page").replaceQueryParam(CURSOR_PARAMETER, cursor).toUriString();
+            headers.add(HttpHeaders.LINK, MessageFormat.format(HEADER_LINK_FORMAT, next, "next"));
+        }
+        return headers;
+    }
+}
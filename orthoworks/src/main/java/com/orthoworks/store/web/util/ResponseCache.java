@@ -0,0 +1,281 @@
+package com.orthoworks.store.web.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches the serialized bodies of the {@code 200 (OK)} responses, with their headers and a strong ETag, by path, query and
+ * {@code Accept} header.
+ * <p>
+ * A response is fresh during the time to live, and then stale during the stale-while-revalidate period: a stale response
+ * is still served, while a single request revalidates it. The responses of a path are {@link #invalidate(String...)
+ * invalidated} by the changes of the entities it returns. The responses are kept in a Caffeine cache, which evicts the
+ * least likely to be used again once it's full, and drops them once they're expired.
+ */
+public class ResponseCache {
+
+    public static final String CACHE_NAME = "responses";
+
+    private final Duration timeToLive;
+    private final long maxEntrySize;
+    private final Cache<String, CachedResponse> cachedResponses;
+    // incremented by every invalidation, a response which started loading before isn't cached
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hitCounter;
+    private final Counter staleCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    /**
+     * @param timeToLive how long a response is fresh, the cache is disabled if it's zero.
+     * @param staleWhileRevalidate how long a response is still served once it's stale, while it's revalidated.
+     * @param maxEntries the maximum number of cached responses.
+     * @param maxEntrySize the maximum size of a cached body, in bytes.
+     * @param meterRegistry registers the metrics of the cache.
+     */
+    public ResponseCache(
+        Duration timeToLive,
+        Duration staleWhileRevalidate,
+        int maxEntries,
+        long maxEntrySize,
+        MeterRegistry meterRegistry
+    ) {
+        this.timeToLive = timeToLive;
+        this.maxEntrySize = maxEntrySize;
+        this.hitCounter = cacheGetsCounter("hit").register(meterRegistry);
+        this.staleCounter = cacheGetsCounter("stale").register(meterRegistry);
+        this.missCounter = cacheGetsCounter("miss").register(meterRegistry);
+        this.evictionCounter = Counter
+            .builder("cache.evictions")
+            .description("The number of responses evicted from the cache")
+            .tag("cache", CACHE_NAME)
+            .register(meterRegistry);
+        this.cachedResponses =
+            Caffeine
+                .newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(timeToLive.plus(staleWhileRevalidate))
+                .<String, CachedResponse>removalListener((key, cached, cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        evictionCounter.increment();
+                    }
+                })
+                .build();
+        Gauge
+            .builder("cache.size", cachedResponses, Cache::estimatedSize)
+            .description("The number of cached responses")
+            .tag("cache", CACHE_NAME)
+            .register(meterRegistry);
+    }
+
+    private static Counter.Builder cacheGetsCounter(String result) {
+        return Counter
+            .builder("cache.gets")
+            .description("The number of times responses were found in the cache, fresh or stale, or had to be loaded")
+            .tag("cache", CACHE_NAME)
+            .tag("result", result);
+    }
+
+    public boolean isEnabled() {
+        return !timeToLive.isZero();
+    }
+
+    public long getMaxEntrySize() {
+        return maxEntrySize;
+    }
+
+    /**
+     * @param request the request.
+     * @return the key of the response of the request.
+     */
+    public String getKey(ServerHttpRequest request) {
+        String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        return request.getURI().getRawPath() + "?" + nullToEmpty(request.getURI().getRawQuery()) + " " + nullToEmpty(accept);
+    }
+
+    /**
+     * @return the generation to {@link #put(String, String, HttpHeaders, byte[], long) put} the response being loaded with.
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * @param key the key of the response.
+     * @return the response, fresh or stale, or {@code null} if it's not cached or expired.
+     */
+    public CachedResponse get(String key) {
+        CachedResponse cached = cachedResponses.getIfPresent(key);
+        if (cached == null) {
+            missCounter.increment();
+            return null;
+        }
+        if (cached.isStale()) {
+            staleCounter.increment();
+        } else {
+            hitCounter.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * Caches a response, unless it's too large, or the responses of its path were invalidated while it was loaded.
+     *
+     * @param key the key of the response.
+     * @param path the path of the request.
+     * @param headers the headers of the response.
+     * @param body the body of the response.
+     * @param generation the {@link #getGeneration() generation} when the response started loading.
+     * @return the cached response, or a response which isn't cached.
+     */
+    public CachedResponse put(String key, String path, HttpHeaders headers, byte[] body, long generation) {
+        long now = System.nanoTime();
+        CachedResponse cached = new CachedResponse(path, HttpHeaders.readOnlyHttpHeaders(headers), body, now + timeToLive.toNanos());
+        if (body.length > maxEntrySize || generation != this.generation.get()) {
+            return cached;
+        }
+        cachedResponses.put(key, cached);
+        // an invalidation may have happened meanwhile
+        if (generation != this.generation.get()) {
+            cachedResponses.asMap().remove(key, cached);
+        }
+        return cached;
+    }
+
+    /**
+     * Removes a response, for example if it's not found anymore when it's revalidated.
+     *
+     * @param key the key of the response.
+     * @param cached the response which is removed, unless it was replaced meanwhile.
+     */
+    public void remove(String key, CachedResponse cached) {
+        if (cachedResponses.asMap().remove(key, cached)) {
+            evictionCounter.increment();
+        }
+    }
+
+    /**
+     * Invalidates the responses of the paths, and of the paths below them. If a transaction is active, they're invalidated
+     * again once it completes, so a request running concurrently can't cache a response as it was before the transaction.
+     *
+     * @param paths the paths, for example {@code /api/collections}.
+     * @return a {@link Mono} completing once the responses are invalidated.
+     */
+    public Mono<Void> invalidate(String... paths) {
+        if (!isEnabled()) {
+            return Mono.empty();
+        }
+        return Mono
+            .fromRunnable(() -> invalidateNow(paths))
+            .then(TransactionSynchronizationManager.forCurrentTransaction())
+            .filter(TransactionSynchronizationManager::isSynchronizationActive)
+            .doOnNext(synchronizationManager ->
+                synchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCompletion(int status) {
+                            return Mono.fromRunnable(() -> invalidateNow(paths));
+                        }
+                    }
+                )
+            )
+            .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+            .then();
+    }
+
+    private void invalidateNow(String... paths) {
+        generation.incrementAndGet();
+        cachedResponses
+            .asMap()
+            .forEach((key, cached) -> {
+                for (String path : paths) {
+                    if ((cached.path.equals(path) || cached.path.startsWith(path + "/")) && cachedResponses.asMap().remove(key, cached)) {
+                        evictionCounter.increment();
+                        break;
+                    }
+                }
+            });
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    /**
+     * A cached response. It's shared, it must not be modified.
+     */
+    public static class CachedResponse {
+
+        private final String path;
+        private final HttpHeaders headers;
+        private final byte[] body;
+        private final String eTag;
+        private final long staleAt;
+        private final AtomicBoolean revalidating = new AtomicBoolean();
+
+        CachedResponse(String path, HttpHeaders headers, byte[] body, long staleAt) {
+            this.path = path;
+            this.headers = headers;
+            this.body = body;
+            this.eTag = "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(sha256(body)) + "\"";
+            this.staleAt = staleAt;
+        }
+
+        private static byte[] sha256(byte[] body) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(body);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * @return the strong ETag of the body, quoted.
+         */
+        public String getETag() {
+            return eTag;
+        }
+
+        boolean isStale() {
+            return System.nanoTime() - staleAt > 0;
+        }
+
+        /**
+         * @return {@code true} if the response is stale and isn't revalidated by another request yet.
+         */
+        public boolean startRevalidation() {
+            return isStale() && revalidating.compareAndSet(false, true);
+        }
+
+        /**
+         * Lets another request revalidate the response, once a revalidation failed.
+         */
+        public void endRevalidation() {
+            revalidating.set(false);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.orthoworks.store.web.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * JSON encoder, which writes a {@link Flux} as it's emitted, instead of collecting it into a list first.
+ *
+ * <p>
+ * A JSON array is written element by element, between the opening and closing brackets, and a streaming media type - like
+ * {@code application/x-ndjson} - is written with a line per element. Either way, the elements are requested from the
+ * publisher - usually the {@link Flux} of an R2DBC query - in batches of at most {@code prefetch} elements, so only a
+ * batch of rows is held in memory, however many rows are written.
+ */
+public class StreamingJsonEncoder extends Jackson2JsonEncoder {
+
+    private static final byte[] ARRAY_START = "[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ARRAY_SEPARATOR = ",".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] ARRAY_END = "]".getBytes(StandardCharsets.UTF_8);
+
+    private final int prefetch;
+
+    /**
+     * @param mapper the object mapper of the application.
+     * @param prefetch the maximum number of elements requested from the publisher at once.
+     */
+    public StreamingJsonEncoder(ObjectMapper mapper, int prefetch) {
+        super(mapper);
+        this.prefetch = prefetch;
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(
+        Publisher<?> inputStream,
+        DataBufferFactory bufferFactory,
+        ResolvableType elementType,
+        MimeType mimeType,
+        Map<String, Object> hints
+    ) {
+        if (inputStream instanceof Mono) {
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+        Flux<?> elements = Flux.from(inputStream).limitRate(prefetch);
+        if (isStreamingMediaType(mimeType)) {
+            return super.encode(elements, bufferFactory, elementType, mimeType, hints);
+        }
+        return Flux.defer(() -> {
+            AtomicBoolean first = new AtomicBoolean(true);
+            Flux<DataBuffer> body = elements.flatMapIterable(value -> {
+                DataBuffer buffer = encodeValue(value, bufferFactory, elementType, mimeType, hints);
+                return first.getAndSet(false) ? List.of(buffer) : List.of(bufferFactory.wrap(ARRAY_SEPARATOR), buffer);
+            });
+            Mono<DataBuffer> start = Mono.fromCallable(() -> bufferFactory.wrap(ARRAY_START));
+            Mono<DataBuffer> end = Mono.fromCallable(() -> bufferFactory.wrap(ARRAY_END));
+            return Flux.concat(start, body, end).doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+    }
+
+    private boolean isStreamingMediaType(MimeType mimeType) {
+        return mimeType != null && getStreamingMediaTypes().stream().anyMatch(mediaType -> mediaType.isCompatibleWith(mimeType));
+    }
+}
@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { Link, RouteComponentProps } from 'react-router-dom';
 import { Button, Table } from 'reactstrap';
-import { openFile, byteSize, Translate, TextFormat, getSortState, JhiPagination, JhiItemCount } from 'react-jhipster';
+import { Translate, TextFormat, getSortState, JhiPagination, JhiItemCount } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 
 import { getEntities } from './brand.reducer';
@@ -10,6 +10,8 @@ import { APP_DATE_FORMAT, APP_LOCAL_DATE_FORMAT } from 'app/config/constants';
 import { ASC, DESC, ITEMS_PER_PAGE, SORT } from 'app/shared/util/pagination.constants';
 import { overridePaginationStateWithQueryParams } from 'app/shared/util/entity-utils';
 import { useAppDispatch, useAppSelector } from 'app/config/store';
+import { BlobImage } from 'app/shared/BlobImage';
+import { formatByteSize, openBlob } from 'app/shared/util/binary-utils';
 
 export const Brand = (props: RouteComponentProps<{ url: string }>) => {
   const dispatch = useAppDispatch();
@@ -148,16 +150,16 @@ export const Brand = (props: RouteComponentProps<{ url: string }>) => {
                   <td>{brand.keywords}</td>
                   <td>{brand.description}</td>
                   <td>
-                    {brand.image ? (
+                    {brand.imageSize != null ? (
                       <div>
                         {brand.imageContentType ? (
-                          <a onClick={openFile(brand.imageContentType, brand.image)}>
-                            <img src={`data:${brand.imageContentType};base64,${brand.image}`} style={{ maxHeight: '30px' }} />
+                          <a onClick={openBlob(`api/brands/${brand.id}/image`)}>
+                            <BlobImage url={`api/brands/${brand.id}/image`} style={{ maxHeight: '30px' }} />
                             &nbsp;
                           </a>
                         ) : null}
                         <span>
-                          {brand.imageContentType}, {byteSize(brand.image)}
+                          {brand.imageContentType}, {formatByteSize(brand.imageSize)}
                         </span>
                       </div>
                     ) : null}
@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react';
 import { Link, RouteComponentProps } from 'react-router-dom';
 import { Button, Table } from 'reactstrap';
-import { openFile, byteSize, Translate, getSortState, JhiPagination, JhiItemCount } from 'react-jhipster';
+import { Translate, getSortState, JhiPagination, JhiItemCount } from 'react-jhipster';
 import { FontAwesomeIcon } from '@fortawesome/react-fontawesome';
 
 import { getEntities } from './data.reducer';
@@ -10,6 +10,7 @@ import { APP_DATE_FORMAT, APP_LOCAL_DATE_FORMAT } from 'app/config/constants';
 import { ASC, DESC, ITEMS_PER_PAGE, SORT } from 'app/shared/util/pagination.constants';
 import { overridePaginationStateWithQueryParams } from 'app/shared/util/entity-utils';
 import { useAppDispatch, useAppSelector } from 'app/config/store';
+import { formatByteSize, openBlob } from 'app/shared/util/binary-utils';
 
 export const Data = (props: RouteComponentProps<{ url: string }>) => {
   const dispatch = useAppDispatch();
@@ -125,16 +126,16 @@ export const Data = (props: RouteComponentProps<{ url: string }>) => {
                   </td>
                   <td>{data.name}</td>
                   <td>
-                    {data.file ? (
+                    {data.fileSize != null ? (
                       <div>
                         {data.fileContentType ? (
-                          <a onClick={openFile(data.fileContentType, data.file)}>
+                          <a onClick={openBlob(`api/data/${data.id}/file`)}>
                             <Translate contentKey="entity.action.open">Open</Translate>
                             &nbsp;
                           </a>
                         ) : null}
                         <span>
-                          {data.fileContentType}, {byteSize(data.file)}
+                          {data.fileContentType}, {formatByteSize(data.fileSize)}
                         </span>
                       </div>
                     ) : null}
@@ -0,0 +1,40 @@
+import * as React from 'react';
+import { useEffect, useState } from 'react';
+
+import { fetchBlobUrl } from 'app/shared/util/binary-utils';
+
+export interface IBlobImage {
+  url: string;
+  style?: React.CSSProperties;
+}
+
+/**
+ * An image read from the API, which a plain img can't authenticate to.
+ */
+export const BlobImage = ({ url, style }: IBlobImage) => {
+  const [objectUrl, setObjectUrl] = useState<string>(null);
+
+  useEffect(() => {
+    let current: string = null;
+    let cancelled = false;
+    fetchBlobUrl(url).then(
+      fetched => {
+        if (cancelled) {
+          URL.revokeObjectURL(fetched);
+        } else {
+          current = fetched;
+          setObjectUrl(fetched);
+        }
+      },
+      () => setObjectUrl(null)
+    );
+    return () => {
+      cancelled = true;
+      if (current) {
+        URL.revokeObjectURL(current);
+      }
+    };
+  }, [url]);
+
+  return objectUrl ? <img src={objectUrl} style={style} /> : null;
+};
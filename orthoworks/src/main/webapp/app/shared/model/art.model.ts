@@ -8,6 +8,7 @@ export interface IArt {
   handle?: string;
   assetType?: AssetType;
   type?: Type | null;
+  version?: number | null;
   collections?: ICollection[] | null;
 }
 
@@ -10,6 +10,7 @@ export interface IBrand {
   description?: string | null;
   imageContentType?: string | null;
   image?: string | null;
+  imageSize?: number | null;
   rating?: number | null;
   status?: BrandStatus | null;
   price?: number;
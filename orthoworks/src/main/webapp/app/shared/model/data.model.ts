@@ -5,6 +5,7 @@ export interface IData {
   name?: string;
   fileContentType?: string | null;
   file?: string | null;
+  fileSize?: number | null;
   transaction?: ITransaction | null;
 }
 
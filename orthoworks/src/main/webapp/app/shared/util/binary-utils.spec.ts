@@ -0,0 +1,11 @@
+import { formatByteSize } from './binary-utils';
+
+describe('Binary utils', () => {
+  describe('formatByteSize', () => {
+    it('should separate the thousands', () => {
+      expect(formatByteSize(0)).toEqual('0 bytes');
+      expect(formatByteSize(999)).toEqual('999 bytes');
+      expect(formatByteSize(1234567)).toEqual('1 234 567 bytes');
+    });
+  });
+});
@@ -0,0 +1,32 @@
+import axios from 'axios';
+
+/**
+ * Formats a size in bytes the way react-jhipster's byteSize formats the size of a base64 content.
+ *
+ * @param size The size in bytes.
+ * @returns The size, with its thousands separated by spaces.
+ */
+export const formatByteSize = (size: number) => `${size.toString().replace(/\B(?=(\d{3})+(?!\d))/g, ' ')} bytes`;
+
+/**
+ * Fetches a binary content from the API as a blob, so the request is authenticated by the axios interceptors.
+ *
+ * @param url The url of the content.
+ * @returns The url of an object holding the content, to revoke with URL.revokeObjectURL once it's not used anymore.
+ */
+export const fetchBlobUrl = async (url: string) => {
+  const response = await axios.get<Blob>(url, { responseType: 'blob' });
+  return URL.createObjectURL(response.data);
+};
+
+/**
+ * Opens a binary content of the API in a new window, the way react-jhipster's openFile opens a base64 content.
+ *
+ * @param url The url of the content.
+ */
+export const openBlob = (url: string) => () =>
+  fetchBlobUrl(url).then(objectUrl => {
+    window.open(objectUrl, '_blank');
+    // the new window has loaded the content once it's opened
+    setTimeout(() => URL.revokeObjectURL(objectUrl), 60000);
+  });
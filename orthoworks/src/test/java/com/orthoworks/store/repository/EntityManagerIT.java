@@ -0,0 +1,79 @@
+package com.orthoworks.store.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.orthoworks.store.IntegrationTest;
+import com.orthoworks.store.domain.Art;
+import com.orthoworks.store.domain.Collector;
+import com.orthoworks.store.web.rest.ArtResourceIT;
+import com.orthoworks.store.web.rest.CollectorResourceIT;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests of the single statement updates of {@link EntityManager}, on the database of the tests.
+ */
+@IntegrationTest
+class EntityManagerIT {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private CollectorRepository collectorRepository;
+
+    @Autowired
+    private ArtRepository artRepository;
+
+    @AfterEach
+    public void cleanup() {
+        ArtResourceIT.deleteEntities(em);
+        CollectorResourceIT.deleteEntities(em);
+    }
+
+    @Test
+    void testUpdateWritesAllThePropertiesAndReturnsTheUpdatedRow() {
+        Collector collector = collectorRepository.save(CollectorResourceIT.createEntity(em)).block();
+
+        Collector updated = collectorRepository.update(collector.firstName("Updated").addressLine2(null)).block();
+
+        assertThat(updated).isNotNull();
+        assertThat(updated.getFirstName()).isEqualTo("Updated");
+        assertThat(updated.getAddressLine2()).isNull();
+        assertThat(collectorRepository.findById(collector.getId()).block().getFirstName()).isEqualTo("Updated");
+    }
+
+    @Test
+    void testUpdateNonNullKeepsTheNullProperties() {
+        Collector collector = collectorRepository.save(CollectorResourceIT.createEntity(em)).block();
+        String lastName = collector.getLastName();
+
+        Collector updated = collectorRepository.updateNonNull(new Collector().id(collector.getId()).firstName("Updated")).block();
+
+        assertThat(updated).isNotNull();
+        assertThat(updated.getFirstName()).isEqualTo("Updated");
+        assertThat(updated.getLastName()).isEqualTo(lastName);
+    }
+
+    @Test
+    void testUpdateOfAMissingEntityIsEmpty() {
+        Collector collector = CollectorResourceIT.createEntity(em).id(Long.MAX_VALUE);
+
+        assertThat(collectorRepository.update(collector).blockOptional()).isEmpty();
+    }
+
+    @Test
+    void testUpdateWithTheExpectedVersionIncrementsIt() {
+        Art art = artRepository.save(ArtResourceIT.createEntity(em)).block();
+        Long version = art.getVersion();
+
+        Art updated = artRepository.updateNonNull(new Art().id(art.getId()).name("Updated"), version).block();
+
+        assertThat(updated).isNotNull();
+        assertThat(updated.getName()).isEqualTo("Updated");
+        assertThat(updated.getVersion()).isEqualTo(version + 1);
+        // the version is now stale
+        assertThat(artRepository.updateNonNull(new Art().id(art.getId()).name("Stale"), version).blockOptional()).isEmpty();
+    }
+}
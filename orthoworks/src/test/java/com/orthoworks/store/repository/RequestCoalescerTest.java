@@ -0,0 +1,108 @@
+package com.orthoworks.store.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+class RequestCoalescerTest {
+
+    private static final int LOOKUPS = 1000;
+
+    private MeterRegistry meterRegistry;
+
+    private RequestCoalescer requestCoalescer;
+
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestCoalescer = new RequestCoalescer(true, Map.of("ART", false), meterRegistry);
+    }
+
+    @Test
+    void shouldShareTheQueryInFlight() {
+        Sinks.One<String> result = Sinks.one();
+        List<String> found = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < LOOKUPS; i++) {
+            requestCoalescer.coalesce("collection", "drop", () -> query(result.asMono())).subscribe(found::add);
+        }
+        result.tryEmitValue("collection");
+
+        assertThat(found).hasSize(LOOKUPS).containsOnly("collection");
+        assertThat(queries.get()).isEqualTo(1);
+        assertThat(lookupCount("collection", "executed")).isEqualTo(1);
+        assertThat(lookupCount("collection", "coalesced")).isEqualTo(LOOKUPS - 1);
+    }
+
+    @Test
+    void shouldShareTheQueryOfConcurrentThreads() {
+        Long found = Flux
+            .range(0, LOOKUPS)
+            .parallel(8)
+            .runOn(Schedulers.parallel())
+            .flatMap(i ->
+                requestCoalescer.coalesce("collection", "drop", () -> query(Mono.just("collection").delayElement(Duration.ofMillis(100))))
+            )
+            .sequential()
+            .count()
+            .block(Duration.ofSeconds(10));
+
+        assertThat(found).isEqualTo(LOOKUPS);
+        assertThat(queries.get()).isLessThan(LOOKUPS / 10);
+        assertThat(lookupCount("collection", "executed") + lookupCount("collection", "coalesced")).isEqualTo(LOOKUPS);
+    }
+
+    @Test
+    void shouldNotShareTheQueriesOfOtherKeys() {
+        Sinks.One<String> result = Sinks.one();
+        requestCoalescer.coalesce("collection", "drop", () -> query(result.asMono())).subscribe();
+        requestCoalescer.coalesce("collection", "other", () -> query(result.asMono())).subscribe();
+        requestCoalescer.coalesce("art", "drop", () -> query(result.asMono())).subscribe();
+
+        assertThat(queries.get()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRunTheQueriesOfADisabledRepository() {
+        Sinks.One<String> result = Sinks.one();
+        requestCoalescer.coalesce("art", 1L, () -> query(result.asMono())).subscribe();
+        requestCoalescer.coalesce("art", 1L, () -> query(result.asMono())).subscribe();
+
+        assertThat(requestCoalescer.isEnabled("art")).isFalse();
+        assertThat(queries.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRunTheQueryAgainOnceCompletedOrFailed() {
+        Mono<String> failed = requestCoalescer.coalesce("collection", "drop", () -> query(Mono.error(new IllegalStateException())));
+        assertThat(failed.onErrorReturn("failed").block()).isEqualTo("failed");
+        assertThat(requestCoalescer.coalesce("collection", "drop", () -> query(Mono.just("collection"))).block()).isEqualTo("collection");
+        assertThat(requestCoalescer.coalesce("collection", "drop", () -> query(Mono.empty())).block()).isNull();
+
+        assertThat(queries.get()).isEqualTo(3);
+    }
+
+    private <T> Mono<T> query(Mono<T> result) {
+        return Mono.defer(() -> {
+            queries.incrementAndGet();
+            return result;
+        });
+    }
+
+    private double lookupCount(String repository, String result) {
+        return meterRegistry.get(RequestCoalescer.LOOKUPS_METER_NAME).tag("repository", repository).tag("result", result).counter().count();
+    }
+}
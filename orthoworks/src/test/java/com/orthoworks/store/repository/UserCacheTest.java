@@ -0,0 +1,164 @@
+package com.orthoworks.store.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.orthoworks.store.domain.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class UserCacheTest {
+
+    private UserRepository userRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private UserCache userCache;
+
+    private User user;
+
+    @BeforeEach
+    public void setup() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        userCache = new UserCache(userRepository, Duration.ofMinutes(1), 100, meterRegistry);
+
+        user = new User();
+        user.setId(1L);
+        user.setLogin("john");
+        user.setEmail("john@example.com");
+        when(userRepository.findOneWithAuthoritiesByLogin("john")).thenReturn(Mono.just(user));
+        when(userRepository.findOneWithAuthoritiesByEmailIgnoreCase(anyString())).thenReturn(Mono.just(user));
+    }
+
+    @Test
+    void testUserIsLoadedOnceByLogin() {
+        assertThat(userCache.findOneWithAuthoritiesByLogin("john").block()).isSameAs(user);
+        assertThat(userCache.findOneWithAuthoritiesByLogin("JOHN").block()).isSameAs(user);
+
+        verify(userRepository, times(1)).findOneWithAuthoritiesByLogin("john");
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void testUserIsLoadedOnceByLowerCasedEmail() {
+        assertThat(userCache.findOneWithAuthoritiesByEmailIgnoreCase("John@Example.com").block()).isSameAs(user);
+        assertThat(userCache.findOneWithAuthoritiesByEmailIgnoreCase("john@example.com").block()).isSameAs(user);
+
+        verify(userRepository, times(1)).findOneWithAuthoritiesByEmailIgnoreCase(anyString());
+    }
+
+    @Test
+    void testConcurrentRequestsShareTheLoad() {
+        Sinks.One<User> sink = Sinks.one();
+        when(userRepository.findOneWithAuthoritiesByLogin("john")).thenReturn(sink.asMono());
+        List<User> users = new ArrayList<>();
+
+        userCache.findOneWithAuthoritiesByLogin("john").subscribe(users::add);
+        userCache.findOneWithAuthoritiesByLogin("john").subscribe(users::add);
+        sink.tryEmitValue(user);
+
+        assertThat(users).containsExactly(user, user);
+        verify(userRepository, times(1)).findOneWithAuthoritiesByLogin("john");
+    }
+
+    @Test
+    void testConcurrentMissesShareTheLoad() throws Exception {
+        when(userRepository.findOneWithAuthoritiesByLogin("john")).thenReturn(Mono.just(user).delayElement(Duration.ofMillis(100)));
+        int requests = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<User>> users = new ArrayList<>();
+            for (int request = 0; request < requests; request++) {
+                users.add(
+                    executor.submit(() -> {
+                        start.await();
+                        return userCache.findOneWithAuthoritiesByLogin("john").block();
+                    })
+                );
+            }
+            start.countDown();
+
+            for (Future<User> loaded : users) {
+                assertThat(loaded.get(10, TimeUnit.SECONDS)).isSameAs(user);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(userRepository, times(1)).findOneWithAuthoritiesByLogin("john");
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testMissingUserIsNotCached() {
+        when(userRepository.findOneWithAuthoritiesByLogin("jane")).thenReturn(Mono.empty());
+
+        assertThat(userCache.findOneWithAuthoritiesByLogin("jane").blockOptional()).isEmpty();
+        assertThat(userCache.findOneWithAuthoritiesByLogin("jane").blockOptional()).isEmpty();
+
+        verify(userRepository, times(2)).findOneWithAuthoritiesByLogin("jane");
+    }
+
+    @Test
+    void testFailedLoadIsNotCached() {
+        when(userRepository.findOneWithAuthoritiesByLogin("john"))
+            .thenReturn(Mono.error(new IllegalStateException()))
+            .thenReturn(Mono.just(user));
+
+        assertThat(userCache.findOneWithAuthoritiesByLogin("john").onErrorResume(e -> Mono.empty()).blockOptional()).isEmpty();
+        assertThat(userCache.findOneWithAuthoritiesByLogin("john").block()).isSameAs(user);
+    }
+
+    @Test
+    void testEvictionByLoginAndEmail() {
+        userCache.findOneWithAuthoritiesByLogin("john").block();
+        userCache.findOneWithAuthoritiesByEmailIgnoreCase("john@example.com").block();
+
+        userCache.evict(user).block();
+        userCache.findOneWithAuthoritiesByLogin("john").block();
+        userCache.findOneWithAuthoritiesByEmailIgnoreCase("john@example.com").block();
+
+        verify(userRepository, times(2)).findOneWithAuthoritiesByLogin("john");
+        verify(userRepository, times(2)).findOneWithAuthoritiesByEmailIgnoreCase(anyString());
+    }
+
+    @Test
+    void testLeastUsedUsersAreEvictedWhenFull() {
+        userCache = new UserCache(userRepository, Duration.ofMinutes(1), 10, new SimpleMeterRegistry());
+        when(userRepository.findOneWithAuthoritiesByLogin(anyString())).thenAnswer(invocation -> Mono.just(new User()));
+
+        for (int login = 0; login < 100; login++) {
+            userCache.findOneWithAuthoritiesByLogin("user" + login).block();
+            // john stays in use
+            userCache.findOneWithAuthoritiesByLogin("john").block();
+        }
+
+        // the cache isn't cleared at once when it's full, the hot user stays cached
+        verify(userRepository, times(1)).findOneWithAuthoritiesByLogin("john");
+    }
+
+    @Test
+    void testCacheIsDisabledWithoutTimeToLive() {
+        userCache = new UserCache(userRepository, Duration.ZERO, 100, new SimpleMeterRegistry());
+
+        userCache.findOneWithAuthoritiesByLogin("john").block();
+        userCache.findOneWithAuthoritiesByLogin("john").block();
+
+        verify(userRepository, times(2)).findOneWithAuthoritiesByLogin("john");
+    }
+}
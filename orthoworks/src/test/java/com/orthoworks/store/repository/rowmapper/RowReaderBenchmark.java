@@ -0,0 +1,194 @@
+package com.orthoworks.store.repository.rowmapper;
+
+import com.orthoworks.store.config.DatabaseConfiguration;
+import com.orthoworks.store.domain.Transaction;
+import com.orthoworks.store.domain.enumeration.TransactionStatus;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+
+/**
+ * Compares the {@link RowReader} of the row mappers with the name based, exception driven {@link ColumnConverter#fromRow}, by
+ * mapping a page of transactions from an in-memory result, which behaves like the H2 driver: it only decodes a column to its
+ * own Java type, so the {@code date} column must be converted from {@link LocalDateTime} to {@link Instant}.
+ * <p>
+ * Run it with {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.orthoworks.store.repository.rowmapper.RowReaderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowReaderBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final String PREFIX = "e";
+
+    private ColumnConverter converter;
+    private TransactionRowMapper rowMapper;
+    private InMemoryRowMetadata metadata;
+    private List<Row> rows;
+
+    @Setup
+    public void setup() {
+        R2dbcCustomConversions conversions = R2dbcCustomConversions.of(
+            H2Dialect.INSTANCE,
+            List.of(DatabaseConfiguration.InstantReadConverter.INSTANCE, DatabaseConfiguration.InstantWriteConverter.INSTANCE)
+        );
+        converter = new ColumnConverter(conversions, new MappingR2dbcConverter(new R2dbcMappingContext(), conversions));
+        rowMapper = new TransactionRowMapper(converter);
+        metadata =
+            new InMemoryRowMetadata(
+                List.of(
+                    new InMemoryColumnMetadata("E_ID", Long.class),
+                    new InMemoryColumnMetadata("E_TITLE", String.class),
+                    new InMemoryColumnMetadata("E_STATUS", String.class),
+                    new InMemoryColumnMetadata("E_DATE", LocalDateTime.class),
+                    new InMemoryColumnMetadata("E_COLLECTION_ID", Long.class)
+                )
+            );
+        rows = new ArrayList<>();
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            rows.add(new InMemoryRow(metadata, id, "Transaction " + id, TransactionStatus.SUCCESSFUL.name(), LocalDateTime.now(), 1L));
+        }
+    }
+
+    @Benchmark
+    public void columnConverter(Blackhole blackhole) {
+        for (Row row : rows) {
+            Transaction entity = new Transaction();
+            entity.setId(converter.fromRow(row, PREFIX + "_id", Long.class));
+            entity.setTitle(converter.fromRow(row, PREFIX + "_title", String.class));
+            entity.setStatus(converter.fromRow(row, PREFIX + "_status", TransactionStatus.class));
+            entity.setDate(converter.fromRow(row, PREFIX + "_date", Instant.class));
+            entity.setCollectionId(converter.fromRow(row, PREFIX + "_collection_id", Long.class));
+            blackhole.consume(entity);
+        }
+    }
+
+    @Benchmark
+    public void rowReader(Blackhole blackhole) {
+        for (Row row : rows) {
+            blackhole.consume(rowMapper.apply(row, metadata, PREFIX));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RowReaderBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private static class InMemoryColumnMetadata implements ColumnMetadata {
+
+        private final String name;
+        private final Class<?> javaType;
+
+        InMemoryColumnMetadata(String name, Class<?> javaType) {
+            this.name = name;
+            this.javaType = javaType;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Class<?> getJavaType() {
+            return javaType;
+        }
+    }
+
+    private static class InMemoryRowMetadata implements RowMetadata {
+
+        private final List<InMemoryColumnMetadata> columns;
+
+        InMemoryRowMetadata(List<InMemoryColumnMetadata> columns) {
+            this.columns = columns;
+        }
+
+        int indexOf(String name) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i).getName().equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("Unknown column " + name);
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(int index) {
+            return columns.get(index);
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(String name) {
+            return columns.get(indexOf(name));
+        }
+
+        @Override
+        public Iterable<? extends ColumnMetadata> getColumnMetadatas() {
+            return columns;
+        }
+
+        @Override
+        public Collection<String> getColumnNames() {
+            return columns.stream().map(ColumnMetadata::getName).collect(Collectors.toList());
+        }
+    }
+
+    private static class InMemoryRow implements Row {
+
+        private final InMemoryRowMetadata metadata;
+        private final List<Object> values;
+
+        InMemoryRow(InMemoryRowMetadata metadata, Object... values) {
+            this.metadata = metadata;
+            this.values = Arrays.asList(values);
+        }
+
+        @Override
+        public <T> T get(int index, Class<T> type) {
+            Object value = values.get(index);
+            if (value == null || type == Object.class) {
+                return type.cast(value);
+            }
+            if (!type.isInstance(value)) {
+                throw new IllegalArgumentException("Cannot decode value of type " + value.getClass().getName() + " to " + type.getName());
+            }
+            return type.cast(value);
+        }
+
+        @Override
+        public <T> T get(String name, Class<T> type) {
+            return get(metadata.indexOf(name), type);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.orthoworks.store.repository.rowmapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.RowMetadata;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+
+/**
+ * Test class for the {@link RowReader} utility class.
+ */
+class RowReaderTest {
+
+    private RowReader reader;
+
+    @BeforeEach
+    public void setup() {
+        R2dbcCustomConversions conversions = R2dbcCustomConversions.of(H2Dialect.INSTANCE, List.of());
+        reader = new RowReader(new ColumnConverter(conversions, new MappingR2dbcConverter(new R2dbcMappingContext(), conversions)));
+        reader.column("id", Long.class);
+        reader.column("name", String.class);
+    }
+
+    @Test
+    void testInterleavedResultsReuseTheColumnsResolvedForTheirLayout() {
+        RowMetadata page = metadata("e_id", "e_name");
+        RowMetadata pageWithTotal = metadata("e_id", "e_name", "total_count");
+
+        RowReader.ResolvedColumns pageColumns = reader.resolve(page, "e");
+        RowReader.ResolvedColumns pageWithTotalColumns = reader.resolve(pageWithTotal, "e");
+
+        assertThat(pageWithTotalColumns).isNotSameAs(pageColumns);
+        // the next results of the same queries have new metadata, with the same columns
+        assertThat(reader.resolve(metadata("e_id", "e_name"), "e")).isSameAs(pageColumns);
+        assertThat(reader.resolve(metadata("e_id", "e_name", "total_count"), "e")).isSameAs(pageWithTotalColumns);
+        assertThat(reader.resolve(page, "e")).isSameAs(pageColumns);
+    }
+
+    @Test
+    void testTheSameLayoutIsResolvedByPrefix() {
+        RowMetadata metadata = metadata("e_id", "e_name", "c_id", "c_name");
+
+        assertThat(reader.resolve(metadata, "c")).isNotSameAs(reader.resolve(metadata, "e"));
+    }
+
+    private static RowMetadata metadata(String... columnNames) {
+        List<ColumnMetadata> columnMetadatas = Arrays
+            .stream(columnNames)
+            .map(name -> {
+                ColumnMetadata columnMetadata = mock(ColumnMetadata.class);
+                when(columnMetadata.getName()).thenReturn(name);
+                return columnMetadata;
+            })
+            .collect(Collectors.toList());
+        RowMetadata metadata = mock(RowMetadata.class);
+        doReturn(columnMetadatas).when(metadata).getColumnMetadatas();
+        return metadata;
+    }
+}
@@ -0,0 +1,126 @@
+package com.orthoworks.store.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Simulates a login storm, and checks that the passwords are never checked on the event loop, that no more than the
+ * threads of the password hashing scheduler check them at once, and that the logins beyond the queue are rejected.
+ * <p>
+ * The logins are received on a single threaded "event loop": a single BCrypt check on it would delay every other
+ * request on the event loop by its duration.
+ */
+class PasswordHasherLoadTest {
+
+    private static final int LOGINS = 200;
+
+    private static final int THREAD_CAP = 2;
+
+    private Scheduler eventLoop;
+
+    private PasswordHasher passwordHasher;
+
+    private String encodedPassword;
+
+    private final Set<String> checkingThreads = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger runningChecks = new AtomicInteger();
+
+    private final AtomicInteger maxRunningChecks = new AtomicInteger();
+
+    @BeforeEach
+    public void setup() {
+        eventLoop = Schedulers.newSingle("event-loop");
+        passwordHasher = createPasswordHasher(LOGINS, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        passwordHasher.destroy();
+        eventLoop.dispose();
+    }
+
+    @Test
+    void testLoginStormIsCheckedOffTheEventLoop() {
+        Long matched = Flux
+            .range(0, LOGINS)
+            .publishOn(eventLoop)
+            .flatMap(login -> passwordHasher.matches("password", encodedPassword), LOGINS)
+            .filter(Boolean::booleanValue)
+            .count()
+            .block(Duration.ofMinutes(1));
+
+        assertThat(matched).isEqualTo(LOGINS);
+        assertThat(checkingThreads).isNotEmpty().allMatch(thread -> thread.startsWith("password-hashing"));
+        assertThat(maxRunningChecks.get()).isLessThanOrEqualTo(THREAD_CAP);
+    }
+
+    @Test
+    void testLoginStormBeyondTheQueueCapacityFailsFast() {
+        passwordHasher.destroy();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        passwordHasher = createPasswordHasher(10, meterRegistry);
+
+        AtomicInteger rejected = new AtomicInteger();
+        Long matched = Flux
+            .range(0, LOGINS)
+            .publishOn(eventLoop)
+            .flatMap(
+                login ->
+                    passwordHasher
+                        .matches("password", encodedPassword)
+                        .onErrorResume(RejectedExecutionException.class, e -> Mono.fromRunnable(rejected::incrementAndGet)),
+                LOGINS
+            )
+            .count()
+            .block(Duration.ofMinutes(1));
+
+        assertThat(rejected.get()).isPositive();
+        assertThat(matched + rejected.get()).isEqualTo(LOGINS);
+        assertThat(meterRegistry.get(PasswordHasher.REJECTED_METER_NAME).counter().count()).isEqualTo(rejected.get());
+        assertThat(checkingThreads).allMatch(thread -> thread.startsWith("password-hashing"));
+        assertThat(maxRunningChecks.get()).isLessThanOrEqualTo(THREAD_CAP);
+    }
+
+    /**
+     * Creates a password hasher, whose encoder records the threads checking the passwords, and how many checks run at once.
+     */
+    private PasswordHasher createPasswordHasher(int queueCapacity, MeterRegistry meterRegistry) {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(8);
+        encodedPassword = bcrypt.encode("password");
+        PasswordEncoder recordingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return bcrypt.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                checkingThreads.add(Thread.currentThread().getName());
+                maxRunningChecks.accumulateAndGet(runningChecks.incrementAndGet(), Math::max);
+                try {
+                    return bcrypt.matches(rawPassword, encodedPassword);
+                } finally {
+                    runningChecks.decrementAndGet();
+                }
+            }
+        };
+        return new PasswordHasher(recordingEncoder, THREAD_CAP, queueCapacity, meterRegistry);
+    }
+}
@@ -0,0 +1,87 @@
+package com.orthoworks.store.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class PasswordHasherTest {
+
+    private MeterRegistry meterRegistry;
+
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(4), 2, 10, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        passwordHasher.destroy();
+    }
+
+    @Test
+    void testEncodeAndMatchOnThePasswordHashingScheduler() {
+        String encodedPassword = passwordHasher.encode("password").block();
+
+        assertThat(passwordHasher.matches("password", encodedPassword).block()).isTrue();
+        assertThat(passwordHasher.matches("wrong", encodedPassword).block()).isFalse();
+        String thread = passwordHasher.encode("password").map(encoded -> Thread.currentThread().getName()).block();
+        assertThat(thread).startsWith("password-hashing");
+    }
+
+    @Test
+    void testOperationsAreTimed() {
+        String encodedPassword = passwordHasher.encode("password").block();
+        passwordHasher.matches("password", encodedPassword).block();
+        passwordHasher.getPasswordEncoder().matches("password", encodedPassword);
+
+        assertThat(meterRegistry.get(PasswordHasher.HASHING_METER_NAME).tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(PasswordHasher.HASHING_METER_NAME).tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void testOperationsAreRejectedWhenTheQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        passwordHasher.destroy();
+        passwordHasher = new PasswordHasher(blockingEncoder, 1, 1, meterRegistry);
+
+        // the first operation runs, the second waits in the queue
+        passwordHasher.encode("first").subscribe();
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+        passwordHasher.encode("second").subscribe();
+
+        assertThatThrownBy(() -> passwordHasher.encode("third").block()).isInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get(PasswordHasher.REJECTED_METER_NAME).counter().count()).isEqualTo(1);
+        release.countDown();
+    }
+}
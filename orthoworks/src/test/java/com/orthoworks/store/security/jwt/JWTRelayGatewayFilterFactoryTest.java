@@ -0,0 +1,97 @@
+package com.orthoworks.store.security.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.orthoworks.store.management.SecurityMetersService;
+import com.orthoworks.store.security.AuthoritiesConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import tech.jhipster.config.JHipsterProperties;
+
+class JWTRelayGatewayFilterFactoryTest {
+
+    private final GatewayFilterChain filterChain = mock(GatewayFilterChain.class);
+    private final ArgumentCaptor<ServerWebExchange> captor = ArgumentCaptor.forClass(ServerWebExchange.class);
+
+    private TokenProvider tokenProvider;
+
+    private String token;
+
+    @BeforeEach
+    void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        String base64Secret = "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+        jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(base64Secret);
+        tokenProvider = new TokenProvider(jHipsterProperties, new SecurityMetersService(new SimpleMeterRegistry()));
+        token =
+            tokenProvider.createToken(
+                new UsernamePasswordAuthenticationToken(
+                    "test-user",
+                    "test-password",
+                    Collections.singletonList(new SimpleGrantedAuthority(AuthoritiesConstants.USER))
+                ),
+                false
+            );
+
+        when(filterChain.filter(captor.capture())).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void shouldAddGatewayClaimsWhenEnabled() {
+        MockServerHttpRequest request = MockServerHttpRequest
+            .get("/services/invoice/api/invoices")
+            .header(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + token)
+            .build();
+
+        new JWTRelayGatewayFilterFactory(tokenProvider, true)
+            .apply(new Object())
+            .filter(MockServerWebExchange.from(request), filterChain)
+            .block();
+
+        assertThat(captor.getValue().getRequest().getHeaders().getFirst(JWTFilter.AUTHORIZATION_HEADER)).isEqualTo("Bearer " + token);
+        assertThat(captor.getValue().getRequest().getHeaders().getFirst(JWTFilter.GATEWAY_CLAIMS_HEADER))
+            .isEqualTo(tokenProvider.createGatewayClaims(token));
+    }
+
+    @Test
+    void shouldNotAddGatewayClaimsWhenDisabled() {
+        MockServerHttpRequest request = MockServerHttpRequest
+            .get("/services/invoice/api/invoices")
+            .header(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + token)
+            .build();
+
+        new JWTRelayGatewayFilterFactory(tokenProvider, false)
+            .apply(new Object())
+            .filter(MockServerWebExchange.from(request), filterChain)
+            .block();
+
+        assertThat(captor.getValue().getRequest().getHeaders().getFirst(JWTFilter.AUTHORIZATION_HEADER)).isEqualTo("Bearer " + token);
+        assertThat(captor.getValue().getRequest().getHeaders().containsKey(JWTFilter.GATEWAY_CLAIMS_HEADER)).isFalse();
+    }
+
+    @Test
+    void shouldRemoveGatewayClaimsOfTheClient() {
+        MockServerHttpRequest request = MockServerHttpRequest
+            .get("/services/invoice/api/invoices")
+            .header(JWTFilter.GATEWAY_CLAIMS_HEADER, "forged.claims")
+            .build();
+
+        new JWTRelayGatewayFilterFactory(tokenProvider, true)
+            .apply(new Object())
+            .filter(MockServerWebExchange.from(request), filterChain)
+            .block();
+
+        assertThat(captor.getValue().getRequest().getHeaders().containsKey(JWTFilter.GATEWAY_CLAIMS_HEADER)).isFalse();
+    }
+}
@@ -11,7 +11,12 @@ import io.jsonwebtoken.security.Keys;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.*;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -88,6 +93,62 @@ class TokenProviderTest {
         assertThat(isTokenValid).isFalse();
     }
 
+    @Test
+    void testAuthenticationOfVerifiedTokenIsReused() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        assertThat(tokenProvider.validateToken(token)).isTrue();
+        Authentication authentication = tokenProvider.getAuthentication(token);
+
+        assertThat(authentication.getName()).isEqualTo("anonymous");
+        assertThat(authentication.getAuthorities())
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ANONYMOUS);
+        assertThat(tokenProvider.getAuthentication(token)).isSameAs(authentication);
+    }
+
+    @Test
+    void testVerifiedTokenIsEvictedWhenExpired() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+        Authentication authentication = tokenProvider.getAuthentication(token);
+
+        // The cached token expires with the token, so it's verified again
+        ReflectionTestUtils.setField(tokenProvider, "clock", Clock.offset(Clock.systemUTC(), Duration.ofMillis(2 * ONE_MINUTE)));
+
+        assertThat(tokenProvider.getAuthentication(token)).isNotSameAs(authentication);
+    }
+
+    @Test
+    void testTokenWithDifferentSignatureIsNotTakenFromCache() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+        tokenProvider.validateToken(token);
+
+        String otherSignature = createTokenWithDifferentSignature().split("\\.")[2];
+        String tokenWithOtherSignature = token.substring(0, token.lastIndexOf('.') + 1) + otherSignature;
+
+        assertThat(tokenProvider.validateToken(tokenWithOtherSignature)).isFalse();
+    }
+
+    @Test
+    void testGatewayClaimsAreSignedForTheToken() throws Exception {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        String[] gatewayClaims = tokenProvider.createGatewayClaims(token).split("\\.");
+
+        assertThat(gatewayClaims).hasSize(2);
+        byte[] claims = Base64.getUrlDecoder().decode(gatewayClaims[0]);
+        String[] parts = new String(claims, StandardCharsets.UTF_8).split("\n", -1);
+        assertThat(parts).hasSize(3);
+        assertThat(Long.parseLong(parts[0])).isGreaterThan(System.currentTimeMillis());
+        assertThat(parts[1]).isEqualTo(AuthoritiesConstants.ANONYMOUS);
+        assertThat(parts[2]).isEqualTo("anonymous");
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(key.getEncoded(), "HmacSHA256"));
+        mac.update(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        assertThat(Base64.getUrlDecoder().decode(gatewayClaims[1])).isEqualTo(mac.doFinal(claims));
+    }
+
     @Test
     void testKeyIsSetFromSecretWhenSecretIsNotEmpty() {
         final String secret = "NwskoUmKHZtzGRKJKVjsJF7BtQMMxNWi";
@@ -4,20 +4,25 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.orthoworks.store.IntegrationTest;
 import com.orthoworks.store.config.Constants;
+import com.orthoworks.store.domain.Authority;
 import com.orthoworks.store.domain.User;
 import com.orthoworks.store.repository.UserRepository;
+import com.orthoworks.store.security.AuthoritiesConstants;
 import com.orthoworks.store.service.dto.AdminUserDTO;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
 import tech.jhipster.security.RandomUtil;
 
 /**
@@ -38,12 +43,17 @@ class UserServiceIT {
 
     private static final String DEFAULT_LANGKEY = "dummy";
 
+    private static final int MANAGED_USERS = 100;
+
     @Autowired
     private UserRepository userRepository;
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private DatabaseClient db;
+
     private User user;
 
     @BeforeEach
@@ -167,4 +177,60 @@ class UserServiceIT {
         Optional<User> maybeDbUser = userRepository.findById(dbUser.getId()).blockOptional();
         assertThat(maybeDbUser).contains(dbUser);
     }
+
+    @Test
+    void assertThatManagedUsersArePagedInTheDatabase() {
+        for (int i = 0; i < MANAGED_USERS; i++) {
+            User pagedUser = new User();
+            pagedUser.setLogin(pagedLogin(i));
+            pagedUser.setPassword(RandomStringUtils.random(60));
+            pagedUser.setActivated(true);
+            pagedUser.setEmail(i + DEFAULT_EMAIL);
+            pagedUser.setLangKey(DEFAULT_LANGKEY);
+            pagedUser.setCreatedBy(Constants.SYSTEM);
+            userRepository
+                .save(pagedUser)
+                .flatMap(saved -> userRepository.saveUserAuthority(saved.getId(), AuthoritiesConstants.USER))
+                .block();
+        }
+
+        // H2 counts the executions and the rows returned of the statements until it's disabled, which resets the counts
+        db.sql("SET QUERY_STATISTICS TRUE").then().block();
+        List<User> users;
+        Map<String, Object> statistics;
+        try {
+            users = userRepository.findAllWithAuthorities(PageRequest.of(1, 2, Sort.by("login"))).collectList().block();
+            statistics =
+                db
+                    .sql(
+                        "SELECT SUM(EXECUTION_COUNT) AS EXECUTIONS, SUM(CUMULATIVE_ROW_COUNT) AS RETURNED_ROWS " +
+                        "FROM INFORMATION_SCHEMA.QUERY_STATISTICS " +
+                        "WHERE LOWER(SQL_STATEMENT) LIKE '%jhi_user%' AND SQL_STATEMENT NOT LIKE '%QUERY_STATISTICS%'"
+                    )
+                    .fetch()
+                    .one()
+                    .block();
+        } finally {
+            db.sql("SET QUERY_STATISTICS FALSE").then().block();
+        }
+
+        assertThat(users).extracting(User::getLogin).containsExactly(pagedLogin(2), pagedLogin(3));
+        assertThat(users)
+            .allSatisfy(pagedUser ->
+                assertThat(pagedUser.getAuthorities()).extracting(Authority::getName).containsExactly(AuthoritiesConstants.USER)
+            );
+        // the page of users and their authorities, whatever the number of users
+        assertThat(((Number) statistics.get("EXECUTIONS")).longValue()).isEqualTo(2);
+        assertThat(((Number) statistics.get("RETURNED_ROWS")).longValue()).isEqualTo(4);
+
+        List<AdminUserDTO> lastPage = userService
+            .getAllManagedUsers(PageRequest.of(MANAGED_USERS / 2 - 1, 2, Sort.by(Sort.Direction.DESC, "login")))
+            .collectList()
+            .block();
+        assertThat(lastPage).extracting(AdminUserDTO::getLogin).containsExactly(pagedLogin(1), pagedLogin(0));
+    }
+
+    private static String pagedLogin(int i) {
+        return DEFAULT_LOGIN + String.format("%03d", i);
+    }
 }
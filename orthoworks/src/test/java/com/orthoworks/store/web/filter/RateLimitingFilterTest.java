@@ -0,0 +1,242 @@
+package com.orthoworks.store.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Refill;
+import io.github.bucket4j.grid.jcache.JCacheProxyManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+class RateLimitingFilterTest {
+
+    private static final int REQUESTS = 200;
+
+    private static final String TRUSTED_PROXIES = "10.0.4.0/24";
+
+    private CacheManager cacheManager;
+
+    private MeterRegistry meterRegistry;
+
+    private RateLimitingFilter filter;
+
+    private final AtomicInteger forwarded = new AtomicInteger();
+
+    private final WebFilterChain chain = exchange -> Mono.fromRunnable(forwarded::incrementAndGet);
+
+    @BeforeEach
+    void setup() {
+        cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        Cache<String, byte[]> buckets = cacheManager.createCache(
+            "rate-limiting-test",
+            new MutableConfiguration<String, byte[]>().setTypes(String.class, byte[].class).setStoreByValue(false)
+        );
+        meterRegistry = new SimpleMeterRegistry();
+        filter =
+            new RateLimitingFilter(
+                List.of(
+                    new RateLimitingFilter.Rule("authentication", List.of("/api/authenticate"), null, null, perMinute(10)),
+                    new RateLimitingFilter.Rule("catalog", List.of("/api/collections/**"), perMinute(100), perMinute(20), perMinute(50))
+                ),
+                List.of(TRUSTED_PROXIES),
+                new JCacheProxyManager<>(buckets),
+                meterRegistry
+            );
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.destroyCache("rate-limiting-test");
+    }
+
+    private static Bandwidth perMinute(long capacity) {
+        return Bandwidth.classic(capacity, Refill.intervally(capacity, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void shouldNotLimitTheRequestsWithoutRule() {
+        for (int i = 0; i < REQUESTS; i++) {
+            MockServerWebExchange exchange = exchange("/api/arts", "10.0.0.1");
+            filter.filter(exchange, chain).block();
+            assertThat(exchange.getResponse().getStatusCode()).isNull();
+        }
+        assertThat(forwarded.get()).isEqualTo(REQUESTS);
+    }
+
+    @Test
+    void shouldLimitTheRequestsPerIpUnderConcurrentLoad() throws Exception {
+        List<MockServerWebExchange> exchanges = runConcurrently(i -> exchange("/api/authenticate", "10.0.0.1"));
+
+        assertThat(forwarded.get()).isEqualTo(10);
+        List<MockServerWebExchange> rejected = rejected(exchanges);
+        assertThat(rejected).hasSize(REQUESTS - 10);
+        assertThat(rejected)
+            .allSatisfy(exchange -> {
+                long retryAfter = Long.parseLong(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+                assertThat(retryAfter).isBetween(1L, 60L);
+            });
+        assertThat(requests("authentication", "allowed")).isEqualTo(10);
+        assertThat(requests("authentication", "rejected")).isEqualTo(REQUESTS - 10);
+
+        // another IP has its own bucket
+        MockServerWebExchange exchange = exchange("/api/authenticate", "10.0.0.2");
+        filter.filter(exchange, chain).block();
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void shouldLimitTheRequestsPerUser() throws Exception {
+        // every request comes from its own IP, only the user bucket applies
+        List<MockServerWebExchange> exchanges = runConcurrently(i -> exchange("/api/collections/" + i, "10.0.1." + i % 250));
+
+        assertThat(rejected(exchanges)).hasSize(REQUESTS - 20);
+        assertThat(forwarded.get()).isEqualTo(20);
+    }
+
+    @Test
+    void shouldLimitTheRequestsPerRoute() {
+        for (int i = 0; i < REQUESTS; i++) {
+            // every request comes from its own IP, and anonymously, only the route bucket applies
+            MockServerWebExchange exchange = exchange("/api/collections", "10.0.2." + i % 250);
+            filter.filter(exchange, chain).block();
+        }
+
+        assertThat(forwarded.get()).isEqualTo(100);
+        assertThat(requests("catalog", "rejected")).isEqualTo(REQUESTS - 100);
+    }
+
+    @Test
+    void shouldNotTakeATokenFromTheOtherBucketsOfARejectedRequest() {
+        for (int i = 0; i < 60; i++) {
+            // the user bucket rejects the requests after the 20th
+            filterAsUser(exchange("/api/collections", "10.0.3.1"));
+        }
+        assertThat(forwarded.get()).isEqualTo(20);
+
+        // the IP bucket only counted the 20 requests let through
+        for (int i = 0; i < 30; i++) {
+            MockServerWebExchange exchange = exchange("/api/collections", "10.0.3.1");
+            filter.filter(exchange, chain).block();
+            assertThat(exchange.getResponse().getStatusCode()).isNull();
+        }
+        MockServerWebExchange exchange = exchange("/api/collections", "10.0.3.1");
+        filter.filter(exchange, chain).block();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void shouldLimitTheRequestsPerClientIpForwardedByATrustedProxy() {
+        for (int i = 0; i < 20; i++) {
+            // the client forges a new leftmost address on each request, the trusted proxy appends the client's real one
+            filter.filter(forwardedExchange("10.0.4.1", "172.16.0." + i + ", 192.168.0.1"), chain).block();
+        }
+
+        assertThat(forwarded.get()).isEqualTo(10);
+        assertThat(requests("authentication", "rejected")).isEqualTo(10);
+
+        // another client behind the same chain of trusted proxies has its own bucket
+        MockServerWebExchange exchange = forwardedExchange("10.0.4.1", "192.168.0.2, 10.0.4.2");
+        filter.filter(exchange, chain).block();
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void shouldIgnoreTheForwardedClientIpOfAnUntrustedRemoteAddress() {
+        for (int i = 0; i < 20; i++) {
+            filter.filter(forwardedExchange("10.0.5.1", "192.168.0." + i), chain).block();
+        }
+
+        assertThat(forwarded.get()).isEqualTo(10);
+    }
+
+    private static MockServerWebExchange forwardedExchange(String remoteAddress, String forwardedFor) {
+        return MockServerWebExchange.from(
+            MockServerHttpRequest
+                .post("/api/authenticate")
+                .remoteAddress(new InetSocketAddress(remoteAddress, 40000))
+                .header("X-Forwarded-For", forwardedFor)
+        );
+    }
+
+    private void filterAsUser(MockServerWebExchange exchange) {
+        filter
+            .filter(exchange, chain)
+            .contextWrite(
+                ReactiveSecurityContextHolder.withAuthentication(
+                    new UsernamePasswordAuthenticationToken("user", "", List.of(new SimpleGrantedAuthority("ROLE_USER")))
+                )
+            )
+            .block();
+    }
+
+    private List<MockServerWebExchange> runConcurrently(IntFunction<MockServerWebExchange> exchangeFactory) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<MockServerWebExchange>> requests = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                MockServerWebExchange exchange = exchangeFactory.apply(i);
+                requests.add(() -> {
+                    filterAsUser(exchange);
+                    return exchange;
+                });
+            }
+            List<MockServerWebExchange> exchanges = new ArrayList<>();
+            for (Future<MockServerWebExchange> future : executor.invokeAll(requests)) {
+                exchanges.add(future.get());
+            }
+            return exchanges;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<MockServerWebExchange> rejected(List<MockServerWebExchange> exchanges) {
+        List<MockServerWebExchange> rejected = new ArrayList<>();
+        for (MockServerWebExchange exchange : exchanges) {
+            if (HttpStatus.TOO_MANY_REQUESTS.equals(exchange.getResponse().getStatusCode())) {
+                rejected.add(exchange);
+            }
+        }
+        return rejected;
+    }
+
+    private double requests(String rule, String result) {
+        return meterRegistry
+            .get(RateLimitingFilter.REQUESTS_METER_NAME)
+            .tag(RateLimitingFilter.RULE_DIMENSION, rule)
+            .tag(RateLimitingFilter.RESULT_DIMENSION, result)
+            .counter()
+            .count();
+    }
+
+    private static MockServerWebExchange exchange(String path, String ip) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path).remoteAddress(new InetSocketAddress(ip, 40000)));
+    }
+}
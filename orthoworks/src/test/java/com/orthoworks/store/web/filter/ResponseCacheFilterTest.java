@@ -0,0 +1,180 @@
+package com.orthoworks.store.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.orthoworks.store.web.util.ResponseCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+class ResponseCacheFilterTest {
+
+    private MeterRegistry meterRegistry;
+
+    private final AtomicInteger handled = new AtomicInteger();
+
+    private final AtomicReference<String> body = new AtomicReference<>("[{\"id\":1}]");
+
+    private final WebFilterChain chain = exchange -> {
+        handled.incrementAndGet();
+        if (body.get() == null) {
+            return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
+        }
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().add("X-Total-Count", "1");
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body.get().getBytes(StandardCharsets.UTF_8))));
+    };
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private ResponseCacheFilter filter(ResponseCache responseCache) {
+        return new ResponseCacheFilter(responseCache, List.of("/api/collections/**"));
+    }
+
+    private ResponseCache responseCache(Duration timeToLive) {
+        return new ResponseCache(timeToLive, Duration.ofMinutes(1), 100, 1024, meterRegistry);
+    }
+
+    @Test
+    void shouldServeTheCachedResponse() {
+        ResponseCacheFilter filter = filter(responseCache(Duration.ofMinutes(1)));
+
+        MockServerWebExchange first = exchange("/api/collections?page=0");
+        filter.filter(first, chain).block();
+        MockServerWebExchange second = exchange("/api/collections?page=0");
+        filter.filter(second, chain).block();
+
+        assertThat(handled.get()).isEqualTo(1);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("[{\"id\":1}]");
+        assertThat(second.getResponse().getHeaders().getFirst("X-Total-Count")).isEqualTo("1");
+        assertThat(second.getResponse().getHeaders().getCacheControl()).isEqualTo("no-cache");
+        assertThat(second.getResponse().getHeaders().getETag()).isNotNull().doesNotStartWith("W/");
+        assertThat(second.getResponse().getHeaders().getETag()).isEqualTo(first.getResponse().getHeaders().getETag());
+        assertThat(meterRegistry.get("cache.gets").tag("cache", ResponseCache.CACHE_NAME).tag("result", "hit").counter().count())
+            .isEqualTo(1);
+
+        // another query is another response
+        filter.filter(exchange("/api/collections?page=1"), chain).block();
+        assertThat(handled.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldAnswerNotModifiedToAMatchingETag() {
+        ResponseCacheFilter filter = filter(responseCache(Duration.ofMinutes(1)));
+        MockServerWebExchange first = exchange("/api/collections/1");
+        filter.filter(first, chain).block();
+        String eTag = first.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange conditional = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/collections/1").header(HttpHeaders.IF_NONE_MATCH, eTag)
+        );
+        filter.filter(conditional, chain).block();
+
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(conditional.getResponse().getBodyAsString().block()).isEmpty();
+
+        // the ETag changes with the body
+        body.set("[{\"id\":2}]");
+        MockServerWebExchange other = exchange("/api/collections/2");
+        filter.filter(other, chain).block();
+        assertThat(other.getResponse().getHeaders().getETag()).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void shouldLoadTheResponseAgainOnceInvalidated() {
+        ResponseCache responseCache = responseCache(Duration.ofMinutes(1));
+        ResponseCacheFilter filter = filter(responseCache);
+        filter.filter(exchange("/api/collections/1"), chain).block();
+
+        body.set("[{\"id\":1,\"name\":\"updated\"}]");
+        responseCache.invalidate("/api/features").block();
+        filter.filter(exchange("/api/collections/1"), chain).block();
+        assertThat(handled.get()).isEqualTo(1);
+
+        responseCache.invalidate("/api/collections").block();
+        MockServerWebExchange exchange = exchange("/api/collections/1");
+        filter.filter(exchange, chain).block();
+        assertThat(handled.get()).isEqualTo(2);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("[{\"id\":1,\"name\":\"updated\"}]");
+    }
+
+    @Test
+    void shouldServeTheStaleResponseWhileRevalidatingIt() throws Exception {
+        ResponseCacheFilter filter = filter(responseCache(Duration.ofMillis(1)));
+        filter.filter(exchange("/api/collections"), chain).block();
+        Thread.sleep(10);
+
+        body.set("[{\"id\":1,\"name\":\"updated\"}]");
+        MockServerWebExchange stale = exchange("/api/collections");
+        filter.filter(stale, chain).block();
+
+        assertThat(stale.getResponse().getBodyAsString().block()).isEqualTo("[{\"id\":1}]");
+        // the chain completes synchronously, so the revalidation is done already
+        assertThat(handled.get()).isEqualTo(2);
+        MockServerWebExchange revalidated = exchange("/api/collections");
+        filter.filter(revalidated, chain).block();
+        assertThat(revalidated.getResponse().getBodyAsString().block()).isEqualTo("[{\"id\":1,\"name\":\"updated\"}]");
+        assertThat(revalidated.getResponse().getHeaders().getFirst("X-Total-Count")).isEqualTo("1");
+    }
+
+    @Test
+    void shouldRemoveTheStaleResponseOnceNotFound() throws Exception {
+        ResponseCacheFilter filter = filter(responseCache(Duration.ofMillis(1)));
+        filter.filter(exchange("/api/collections/1"), chain).block();
+        Thread.sleep(10);
+
+        body.set(null);
+        filter.filter(exchange("/api/collections/1"), chain).block();
+        assertThat(handled.get()).isEqualTo(2);
+
+        MockServerWebExchange exchange = exchange("/api/collections/1");
+        Mono<Void> result = filter.filter(exchange, chain);
+        assertThat(result.onErrorResume(ResponseStatusException.class, e -> Mono.empty()).block()).isNull();
+        assertThat(handled.get()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldNotCacheOtherRequests() {
+        ResponseCacheFilter filter = filter(responseCache(Duration.ofMinutes(1)));
+
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/api/collections")), chain).block();
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/api/collections")), chain).block();
+        filter.filter(exchange("/api/arts"), chain).block();
+        filter.filter(exchange("/api/arts"), chain).block();
+
+        assertThat(handled.get()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldNotCacheWhenDisabled() {
+        ResponseCacheFilter filter = filter(responseCache(Duration.ZERO));
+
+        filter.filter(exchange("/api/collections"), chain).block();
+        MockServerWebExchange exchange = exchange("/api/collections");
+        filter.filter(exchange, chain).block();
+
+        assertThat(handled.get()).isEqualTo(2);
+        assertThat(exchange.getResponse().getHeaders().getETag()).isNull();
+    }
+
+    private static MockServerWebExchange exchange(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+    }
+}
@@ -5,17 +5,22 @@ import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 
+import com.jayway.jsonpath.JsonPath;
 import com.orthoworks.store.IntegrationTest;
 import com.orthoworks.store.domain.Art;
+import com.orthoworks.store.domain.Collection;
 import com.orthoworks.store.domain.enumeration.AssetType;
 import com.orthoworks.store.domain.enumeration.Type;
 import com.orthoworks.store.repository.ArtRepository;
+import com.orthoworks.store.repository.CollectionRepository;
 import com.orthoworks.store.repository.EntityManager;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,6 +31,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -65,6 +72,9 @@ class ArtResourceIT {
     @Mock
     private ArtRepository artRepositoryMock;
 
+    @Autowired
+    private CollectionRepository collectionRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -160,6 +170,38 @@ class ArtResourceIT {
         assertThat(artList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    void bulkCreateArts() throws Exception {
+        int databaseSizeBeforeCreate = artRepository.findAll().collectList().block().size();
+        Collection collection = collectionRepository.save(CollectionResourceIT.createEntity(em)).block();
+        art.getCollections().add(collection);
+        Art existing = createEntity(em).id(1L);
+
+        byte[] response = webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(List.of(art, existing, createEntity(em).name(UPDATED_NAME))))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].status")
+            .isEqualTo(List.of(201, 400, 201))
+            .jsonPath("$.[1].message")
+            .isEqualTo("error.idexists")
+            .returnResult()
+            .getResponseBody();
+
+        // Validate the Arts, and their relations, in the database
+        List<Art> artList = artRepository.findAll().collectList().block();
+        assertThat(artList).hasSize(databaseSizeBeforeCreate + 2);
+        assertThat(artList).extracting(Art::getName).contains(DEFAULT_NAME, UPDATED_NAME);
+        Long id = ((Number) JsonPath.read(new String(response, StandardCharsets.UTF_8), "$[0].id")).longValue();
+        Art testArt = artRepository.findOneWithEagerRelationships(id).block();
+        assertThat(testArt.getCollections()).extracting(Collection::getId).containsExactly(collection.getId());
+    }
+
     @Test
     void checkNameIsRequired() throws Exception {
         int databaseSizeBeforeTest = artRepository.findAll().collectList().block().size();
@@ -269,6 +311,66 @@ class ArtResourceIT {
         verify(artRepositoryMock, times(1)).findAllWithEagerRelationships(any());
     }
 
+    @Test
+    void getAllArtsWithEagerRelationshipsLoadsCollections() {
+        // Initialize the database
+        Collection collection = collectionRepository.save(CollectionResourceIT.createEntity(em)).block();
+        art.getCollections().add(collection);
+        artRepository.save(art).block();
+
+        // Get all the artList with their collections
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&eagerload=true")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[0].id")
+            .value(is(art.getId().intValue()))
+            .jsonPath("$.[0].collections[*].id")
+            .value(hasItem(collection.getId().intValue()));
+
+        Art eagerArt = artRepository.findOneWithEagerRelationships(art.getId()).block();
+        assertThat(eagerArt.getCollections()).extracting(Collection::getId).containsExactly(collection.getId());
+
+        deleteEntities(em);
+        CollectionResourceIT.deleteEntities(em);
+    }
+
+    @Test
+    void updateArtCollectionsOnlyChangesTheDifference() {
+        // Initialize the database
+        Collection first = collectionRepository.save(CollectionResourceIT.createEntity(em).name("first").title("first")).block();
+        Collection second = collectionRepository.save(CollectionResourceIT.createEntity(em).name("second").title("second")).block();
+        Collection third = collectionRepository.save(CollectionResourceIT.createEntity(em).name("third").title("third")).block();
+        art.getCollections().add(first);
+        art.getCollections().add(second);
+        artRepository.save(art).block();
+
+        // Replace the first collection with the third one
+        EntityManager.LinkTable collectionLink = new EntityManager.LinkTable("rel_art__collection", "art_id", "collection_id");
+        EntityManager.LinkTableUpdate update = em
+            .updateLinkTable(collectionLink, art.getId(), Stream.of(second.getId(), third.getId()))
+            .block();
+        assertThat(update.getDeleted()).isEqualTo(1);
+        assertThat(update.getInserted()).isEqualTo(1);
+
+        // Nothing changes when the links are the same
+        EntityManager.LinkTableUpdate noop = em
+            .updateLinkTable(collectionLink, art.getId(), Stream.of(third.getId(), second.getId()))
+            .block();
+        assertThat(noop.getDeleted()).isZero();
+        assertThat(noop.getInserted()).isZero();
+
+        Art eagerArt = artRepository.findOneWithEagerRelationships(art.getId()).block();
+        assertThat(eagerArt.getCollections()).extracting(Collection::getId).containsExactlyInAnyOrder(second.getId(), third.getId());
+
+        deleteEntities(em);
+        CollectionResourceIT.deleteEntities(em);
+    }
+
     @Test
     void getArt() {
         // Initialize the database
@@ -339,6 +441,104 @@ class ArtResourceIT {
         assertThat(testArt.getType()).isEqualTo(UPDATED_TYPE);
     }
 
+    @Test
+    void putArtIncrementsItsVersion() throws Exception {
+        // Initialize the database
+        artRepository.save(art).block();
+        assertThat(art.getVersion()).isZero();
+
+        Art updatedArt = artRepository.findById(art.getId()).block();
+        updatedArt.name(UPDATED_NAME);
+
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, updatedArt.getId())
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(updatedArt))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, "\"1\"")
+            .expectBody()
+            .jsonPath("$.version")
+            .value(is(1));
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID, art.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals(HttpHeaders.ETAG, "\"1\"");
+    }
+
+    @Test
+    void putArtWithStaleVersion() throws Exception {
+        // Initialize the database
+        artRepository.save(art).block();
+
+        // Another editor updates the art first
+        Art otherArt = artRepository.findById(art.getId()).block();
+        artRepository.update(otherArt.handle(UPDATED_HANDLE), otherArt.getVersion()).block();
+
+        Art updatedArt = artRepository.findById(art.getId()).block();
+        updatedArt.name(UPDATED_NAME);
+
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, updatedArt.getId())
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(updatedArt))
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        // The stale version in the body is checked as well, when there's no If-Match header
+        webTestClient
+            .patch()
+            .uri(ENTITY_API_URL_ID, updatedArt.getId())
+            .contentType(MediaType.valueOf("application/merge-patch+json"))
+            .bodyValue(TestUtil.convertObjectToJsonBytes(new Art().id(art.getId()).name(UPDATED_NAME).version(0L)))
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.PRECONDITION_FAILED);
+
+        // Validate the Art in the database
+        Art testArt = artRepository.findById(art.getId()).block();
+        assertThat(testArt.getName()).isEqualTo(DEFAULT_NAME);
+        assertThat(testArt.getHandle()).isEqualTo(UPDATED_HANDLE);
+        assertThat(testArt.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void patchArtKeepsItsCollections() throws Exception {
+        // Initialize the database
+        Collection collection = collectionRepository.save(CollectionResourceIT.createEntity(em)).block();
+        art.getCollections().add(collection);
+        artRepository.save(art).block();
+
+        webTestClient
+            .patch()
+            .uri(ENTITY_API_URL_ID, art.getId())
+            .contentType(MediaType.valueOf("application/merge-patch+json"))
+            .bodyValue(TestUtil.convertObjectToJsonBytes(new Art().id(art.getId()).name(UPDATED_NAME)))
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        Art eagerArt = artRepository.findOneWithEagerRelationships(art.getId()).block();
+        assertThat(eagerArt.getName()).isEqualTo(UPDATED_NAME);
+        assertThat(eagerArt.getCollections()).extracting(Collection::getId).containsExactly(collection.getId());
+
+        deleteEntities(em);
+        CollectionResourceIT.deleteEntities(em);
+    }
+
     @Test
     void putNonExistingArt() throws Exception {
         int databaseSizeBeforeUpdate = artRepository.findAll().collectList().block().size();
@@ -26,6 +26,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -292,8 +293,10 @@ class BrandResourceIT {
             .value(hasItem(DEFAULT_DESCRIPTION))
             .jsonPath("$.[*].imageContentType")
             .value(hasItem(DEFAULT_IMAGE_CONTENT_TYPE))
-            .jsonPath("$.[*].image")
-            .value(hasItem(Base64Utils.encodeToString(DEFAULT_IMAGE)))
+            .jsonPath("$.[*].imageSize")
+            .value(hasItem(DEFAULT_IMAGE.length))
+            .jsonPath("$.[0].image")
+            .doesNotExist()
             .jsonPath("$.[*].rating")
             .value(hasItem(DEFAULT_RATING))
             .jsonPath("$.[*].status")
@@ -350,6 +353,36 @@ class BrandResourceIT {
             .value(is(DEFAULT_DATE_MODIFIED.toString()));
     }
 
+    @Test
+    void getBrandImage() {
+        // Initialize the database
+        brandRepository.save(brand).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/image", brand.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(DEFAULT_IMAGE_CONTENT_TYPE)
+            .expectHeader()
+            .contentLength(DEFAULT_IMAGE.length)
+            .expectHeader()
+            .valueEquals(HttpHeaders.ACCEPT_RANGES, "bytes")
+            .expectBody(byte[].class)
+            .isEqualTo(DEFAULT_IMAGE);
+    }
+
+    @Test
+    void getNonExistingBrandImage() {
+        // Initialize the database
+        brandRepository.save(brand.image(null)).block();
+
+        webTestClient.get().uri(ENTITY_API_URL_ID + "/image", brand.getId()).exchange().expectStatus().isNotFound();
+        webTestClient.get().uri(ENTITY_API_URL_ID + "/image", Long.MAX_VALUE).exchange().expectStatus().isNotFound();
+    }
+
     @Test
     void getNonExistingBrand() {
         // Get the brand
@@ -8,6 +8,7 @@ import com.orthoworks.store.IntegrationTest;
 import com.orthoworks.store.domain.Data;
 import com.orthoworks.store.repository.DataRepository;
 import com.orthoworks.store.repository.EntityManager;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
 import java.util.Random;
@@ -20,6 +21,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -186,8 +189,10 @@ class DataResourceIT {
             .value(hasItem(DEFAULT_NAME))
             .jsonPath("$.[*].fileContentType")
             .value(hasItem(DEFAULT_FILE_CONTENT_TYPE))
-            .jsonPath("$.[*].file")
-            .value(hasItem(Base64Utils.encodeToString(DEFAULT_FILE)));
+            .jsonPath("$.[*].fileSize")
+            .value(hasItem(DEFAULT_FILE.length))
+            .jsonPath("$.[0].file")
+            .doesNotExist();
     }
 
     @Test
@@ -216,6 +221,67 @@ class DataResourceIT {
             .value(is(Base64Utils.encodeToString(DEFAULT_FILE)));
     }
 
+    @Test
+    void getDataFile() {
+        // Initialize the database
+        dataRepository.save(data).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/file", data.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentType(DEFAULT_FILE_CONTENT_TYPE)
+            .expectHeader()
+            .contentLength(DEFAULT_FILE.length)
+            .expectHeader()
+            .valueEquals(HttpHeaders.ACCEPT_RANGES, "bytes")
+            .expectBody(byte[].class)
+            .isEqualTo(DEFAULT_FILE);
+    }
+
+    @Test
+    void getDataFileRange() {
+        // Initialize the database
+        byte[] file = "0123456789".getBytes(StandardCharsets.US_ASCII);
+        dataRepository.save(data.file(file)).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/file", data.getId())
+            .header(HttpHeaders.RANGE, "bytes=2-5")
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.PARTIAL_CONTENT)
+            .expectHeader()
+            .valueEquals(HttpHeaders.CONTENT_RANGE, "bytes 2-5/10")
+            .expectHeader()
+            .contentLength(4)
+            .expectBody(String.class)
+            .isEqualTo("2345");
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/file", data.getId())
+            .header(HttpHeaders.RANGE, "bytes=10-")
+            .exchange()
+            .expectStatus()
+            .isEqualTo(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+            .expectHeader()
+            .valueEquals(HttpHeaders.CONTENT_RANGE, "bytes */10");
+    }
+
+    @Test
+    void getNonExistingDataFile() {
+        // Initialize the database
+        dataRepository.save(data.file(null)).block();
+
+        webTestClient.get().uri(ENTITY_API_URL_ID + "/file", data.getId()).exchange().expectStatus().isNotFound();
+        webTestClient.get().uri(ENTITY_API_URL_ID + "/file", Long.MAX_VALUE).exchange().expectStatus().isNotFound();
+    }
+
     @Test
     void getNonExistingData() {
         // Get the data
@@ -1,6 +1,7 @@
 package com.orthoworks.store.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 
@@ -9,9 +10,12 @@ import com.orthoworks.store.domain.Transaction;
 import com.orthoworks.store.domain.enumeration.TransactionStatus;
 import com.orthoworks.store.repository.EntityManager;
 import com.orthoworks.store.repository.TransactionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -23,8 +27,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
 /**
@@ -59,6 +65,9 @@ class TransactionResourceIT {
     @Autowired
     private WebTestClient webTestClient;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private Transaction transaction;
 
     /**
@@ -146,6 +155,76 @@ class TransactionResourceIT {
         assertThat(transactionList).hasSize(databaseSizeBeforeCreate);
     }
 
+    @Test
+    void bulkCreateTransactions() throws Exception {
+        int databaseSizeBeforeCreate = transactionRepository.findAll().collectList().block().size();
+        // More transactions than a chunk
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            transactions.add(createEntity(em).title("Transaction " + i));
+        }
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/bulk")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(transactions))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(600)
+            .jsonPath("$.[*].status")
+            .value(everyItem(is(201)))
+            .jsonPath("$.[0].index")
+            .isEqualTo(0)
+            .jsonPath("$.[599].index")
+            .isEqualTo(599);
+
+        // Validate the Transactions in the database
+        List<Transaction> transactionList = transactionRepository.findAll().collectList().block();
+        assertThat(transactionList).hasSize(databaseSizeBeforeCreate + 600);
+        assertThat(transactionList).extracting(Transaction::getTitle).contains("Transaction 0", "Transaction 599");
+    }
+
+    @Test
+    void bulkCreateTransactionsReportsEveryTransaction() throws Exception {
+        int databaseSizeBeforeCreate = transactionRepository.findAll().collectList().block().size();
+        Transaction invalid = createEntity(em).title(null);
+        Transaction orphan = createEntity(em);
+        orphan.setCollectionId(Long.MAX_VALUE);
+        StringBuilder body = new StringBuilder();
+        for (Transaction item : List.of(transaction, invalid, orphan, createEntity(em).title(UPDATED_TITLE))) {
+            body.append(new String(TestUtil.convertObjectToJsonBytes(item), StandardCharsets.UTF_8)).append('\n');
+        }
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/bulk")
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .bodyValue(body.toString())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].index")
+            .isEqualTo(List.of(0, 1, 2, 3))
+            .jsonPath("$.[*].status")
+            .isEqualTo(List.of(201, 400, 409, 201))
+            .jsonPath("$.[1].message")
+            .isEqualTo("error.validation")
+            .jsonPath("$.[1].fieldErrors.[0].field")
+            .isEqualTo("title")
+            .jsonPath("$.[2].id")
+            .doesNotExist();
+
+        // The valid transactions are inserted, despite the failed batch
+        List<Transaction> transactionList = transactionRepository.findAll().collectList().block();
+        assertThat(transactionList).hasSize(databaseSizeBeforeCreate + 2);
+        assertThat(transactionList).extracting(Transaction::getTitle).contains(DEFAULT_TITLE, UPDATED_TITLE);
+    }
+
     @Test
     void checkTitleIsRequired() throws Exception {
         int databaseSizeBeforeTest = transactionRepository.findAll().collectList().block().size();
@@ -214,6 +293,144 @@ class TransactionResourceIT {
             .value(hasItem(DEFAULT_DATE.toString()));
     }
 
+    @Test
+    void getAllTransactionsAsStream() {
+        // Initialize the database with more transactions than a single prefetch batch
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            transactions.add(createEntity(em));
+        }
+        transactionRepository.saveAll(transactions).blockLast();
+
+        List<Transaction> transactionList = webTestClient
+            .get()
+            .uri(ENTITY_API_URL)
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(Transaction.class)
+            .getResponseBody()
+            .collectList()
+            .block(Duration.ofSeconds(5));
+
+        assertThat(transactionList).hasSize(300);
+        assertThat(transactionList).allSatisfy(testTransaction -> assertThat(testTransaction.getTitle()).isEqualTo(DEFAULT_TITLE));
+    }
+
+    @Test
+    void getAllTransactionsWithTotalCount() {
+        // Initialize the database
+        for (int i = 0; i < 3; i++) {
+            transactionRepository.save(createEntity(em)).block();
+        }
+
+        // The last page holds the last transaction, and the total of all of them
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=1&size=2&sort=id,asc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "3")
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(1);
+
+        // A page past the last transaction is empty, but still has the total
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=5&size=2&sort=id,asc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "3")
+            .expectBody()
+            .jsonPath("$.length()")
+            .isEqualTo(0);
+    }
+
+    @Test
+    void getTransactionsReuseTheRenderedSql() {
+        // Initialize the database
+        Transaction first = transactionRepository.save(createEntity(em)).block();
+        Transaction second = transactionRepository.save(createUpdatedEntity(em)).block();
+        assertThat(transactionRepository.findById(first.getId()).block().getTitle()).isEqualTo(DEFAULT_TITLE);
+        double misses = sqlTemplateCacheCount("miss");
+        double hits = sqlTemplateCacheCount("hit");
+
+        // The same query with another id is only rendered once, and the id is bound as a parameter
+        assertThat(transactionRepository.findById(second.getId()).block().getTitle()).isEqualTo(UPDATED_TITLE);
+        assertThat(transactionRepository.findById(first.getId()).block().getTitle()).isEqualTo(DEFAULT_TITLE);
+        assertThat(sqlTemplateCacheCount("miss")).isEqualTo(misses);
+        assertThat(sqlTemplateCacheCount("hit")).isEqualTo(hits + 2);
+    }
+
+    private double sqlTemplateCacheCount(String result) {
+        return meterRegistry.get(EntityManager.SQL_TEMPLATE_CACHE_METER_NAME).tag("result", result).counter().count();
+    }
+
+    @Test
+    void getAllTransactionsWithKeysetPagination() {
+        // Initialize the database
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            ids.add(transactionRepository.save(createEntity(em)).block().getId());
+        }
+
+        // Get the first page, the date is the same for all, so the page is ordered by the id
+        EntityExchangeResult<List<Transaction>> firstPage = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?size=2&sort=date,desc&after=")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBodyList(Transaction.class)
+            .returnResult();
+        assertThat(firstPage.getResponseBody()).extracting(Transaction::getId).containsExactly(ids.get(0), ids.get(1));
+        String link = firstPage.getResponseHeaders().getFirst(HttpHeaders.LINK);
+        assertThat(link).contains("rel=\"next\"");
+
+        // Follow the cursor of the next link
+        EntityExchangeResult<List<Transaction>> secondPage = webTestClient
+            .get()
+            .uri(link.substring(link.indexOf('<') + 1, link.indexOf('>')))
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBodyList(Transaction.class)
+            .returnResult();
+        assertThat(secondPage.getResponseBody()).extracting(Transaction::getId).containsExactly(ids.get(2));
+        assertThat(secondPage.getResponseHeaders().get(HttpHeaders.LINK)).isNull();
+    }
+
+    @Test
+    void getAllTransactionsWithInvalidCursor() {
+        webTestClient.get().uri(ENTITY_API_URL + "?after=invalid").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void getAllTransactionsWithKeysetPaginationOnANullableProperty() {
+        // the transactions without a status would never be found after a cursor
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?size=2&sort=status,asc&after=")
+            .exchange()
+            .expectStatus()
+            .isBadRequest()
+            .expectBody()
+            .jsonPath("$.message")
+            .isEqualTo("error.keysetsortinvalid");
+    }
+
     @Test
     void getTransaction() {
         // Initialize the database
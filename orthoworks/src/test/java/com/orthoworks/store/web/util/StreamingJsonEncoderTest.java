@@ -0,0 +1,74 @@
+package com.orthoworks.store.web.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+class StreamingJsonEncoderTest {
+
+    private static final int PREFETCH = 4;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final StreamingJsonEncoder encoder = new StreamingJsonEncoder(mapper, PREFETCH);
+
+    private String encode(Flux<?> elements) {
+        return DataBufferUtils
+            .join(
+                encoder.encode(
+                    elements,
+                    DefaultDataBufferFactory.sharedInstance,
+                    ResolvableType.forClass(Map.class),
+                    MediaType.APPLICATION_JSON,
+                    Map.of()
+                )
+            )
+            .map(buffer -> {
+                String json = buffer.toString(StandardCharsets.UTF_8);
+                DataBufferUtils.release(buffer);
+                return json;
+            })
+            .block();
+    }
+
+    @Test
+    void shouldEncodeTheElementsAsAJsonArray() throws Exception {
+        String json = encode(Flux.just(Map.of("id", 1), Map.of("id", 2), Map.of("id", 3)));
+
+        assertThat(json).isEqualTo("[{\"id\":1},{\"id\":2},{\"id\":3}]");
+        JsonNode array = mapper.readTree(json);
+        assertThat(array.isArray()).isTrue();
+        assertThat(array).extracting(element -> element.get("id").asInt()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void shouldEncodeAnEmptyFluxAsAnEmptyJsonArray() {
+        assertThat(encode(Flux.empty())).isEqualTo("[]");
+    }
+
+    @Test
+    void shouldRequestTheElementsInBatches() throws Exception {
+        List<Long> requests = new CopyOnWriteArrayList<>();
+        Flux<Map<String, Integer>> elements = Flux
+            .fromIterable(IntStream.range(0, 10).mapToObj(id -> Map.of("id", id)).collect(Collectors.toList()))
+            .doOnRequest(requests::add);
+
+        JsonNode array = mapper.readTree(encode(elements));
+
+        assertThat(array).hasSize(10);
+        assertThat(requests).isNotEmpty().allMatch(request -> request <= PREFETCH);
+    }
+}